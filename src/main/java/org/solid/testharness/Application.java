@@ -38,6 +38,7 @@ import org.eclipse.rdf4j.model.IRI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.solid.testharness.config.Config;
+import org.solid.testharness.reporting.LoadResults;
 import org.solid.testharness.reporting.TestSuiteResults;
 
 import jakarta.inject.Inject;
@@ -45,9 +46,14 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Formatter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static org.eclipse.rdf4j.model.util.Values.iri;
@@ -68,9 +74,22 @@ public class Application implements QuarkusApplication {
     public static final String SKIP_TEARDOWN = "skip-teardown";
     public static final String SKIP_REPORTS = "skip-reports";
     public static final String TOLERABLE = "tolerable-failures";
+    public static final String SHARD = "shard";
+    public static final String MERGE = "merge";
+    public static final String RERUN = "rerun";
+    public static final String NO_CACHE = "no-cache";
+    public static final String DAEMON = "daemon";
+    public static final String LOAD = "load";
+
+    private static final int MAX_PORT = 65_535;
+    private static final Pattern SHARD_PATTERN = Pattern.compile("(\\d+)/(\\d+)");
 
     private List<String> filters;
     private List<String> statuses;
+    private List<File> mergeReports;
+    private Integer daemonPort;
+    private List<IRI> targets;
+    private Integer loadDuration;
 
     private Config.RunMode runMode;
     private boolean skipReports;
@@ -81,6 +100,8 @@ public class Application implements QuarkusApplication {
     Config config;
     @Inject
     ConformanceTestHarness conformanceTestHarness;
+    @Inject
+    DaemonServer daemonServer;
 
     public static void main(final String... args) {
         Quarkus.run(Application.class, args);
@@ -92,22 +113,39 @@ public class Application implements QuarkusApplication {
             final int result = processCommandLine(args);
             if (result >= 0) return result;
 
+            if (mergeReports != null) {
+                final TestSuiteResults results = conformanceTestHarness.mergeReports(mergeReports);
+                conformanceTestHarness.buildReports(Config.RunMode.TEST);
+                return !results.hasFailures() || ignoreFailures ? 0 : 1;
+            }
+
             conformanceTestHarness.initialize();
 
-            if (runMode == Config.RunMode.COVERAGE) {
-                conformanceTestHarness.prepareCoverageReport();
-                conformanceTestHarness.buildReports(Config.RunMode.COVERAGE);
-                return 0;
-            } else {
-                final TestSuiteResults results = conformanceTestHarness.runTestSuites(filters, statuses);
-                if (results.getFeatureTotal() > 0) {
+            if (loadDuration != null) {
+                final LoadResults loadResults = conformanceTestHarness.runLoad(filters, statuses,
+                        Duration.ofSeconds(loadDuration));
+                if (loadResults.getIterations() > 0) {
                     if (!skipReports) {
-                        conformanceTestHarness.buildReports(Config.RunMode.TEST);
+                        conformanceTestHarness.buildLoadReports(loadResults);
                     }
                     if (!skipTearDown) {
                         conformanceTestHarness.cleanUp();
                     }
                 }
+                return 0;
+            } else if (daemonPort != null) {
+                daemonServer.start(daemonPort, skipReports, skipTearDown);
+                daemonServer.awaitShutdown();
+                daemonServer.stop();
+                return 0;
+            } else if (runMode == Config.RunMode.COVERAGE) {
+                conformanceTestHarness.prepareCoverageReport();
+                conformanceTestHarness.buildReports(Config.RunMode.COVERAGE);
+                return 0;
+            } else if (targets != null && targets.size() > 1) {
+                return runTestSubjects() || ignoreFailures ? 0 : 1;
+            } else {
+                final TestSuiteResults results = runTestSuites();
                 return !results.hasFailures() || ignoreFailures ? 0 : 1;
             }
         } catch (Exception e) {
@@ -116,8 +154,65 @@ public class Application implements QuarkusApplication {
         return 1;
     }
 
+    private TestSuiteResults runTestSuites() {
+        final TestSuiteResults results = conformanceTestHarness.runTestSuites(filters, statuses);
+        if (results.getFeatureTotal() > 0) {
+            if (!skipReports) {
+                conformanceTestHarness.buildReports(Config.RunMode.TEST);
+            }
+            if (!skipTearDown) {
+                conformanceTestHarness.cleanUp();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Run the test suite against all the targets at the same time. The test descriptions are discovered once and
+     * shared, while each target gets its own clients, test containers and results, and its reports are written to a
+     * sub-directory of the output directory named after the target.
+     * @return true if all targets passed
+     * @throws IOException if an output directory cannot be created
+     */
+    private boolean runTestSubjects() throws IOException {
+        final File outputDir = config.getOutputDirectory();
+        final Map<IRI, TestSuiteResults> results = conformanceTestHarness.runTestSubjects(targets, filters, statuses);
+        final Map<IRI, String> outcomes = new LinkedHashMap<>();
+        for (final IRI target : targets) {
+            final TestSuiteResults subjectResults = results.get(target);
+            if (subjectResults == null) {
+                // the target could not be reached or set up
+                outcomes.put(target, "ERROR");
+            } else {
+                outcomes.put(target, subjectResults.hasFailures() ? "FAILED" : "PASSED");
+            }
+            if (subjectResults != null && subjectResults.getFeatureTotal() > 0) {
+                if (!skipReports && outputDir != null) {
+                    final File subjectDir = new File(outputDir, subjectDirectoryName(target, outcomes.size()));
+                    Files.createDirectories(subjectDir.toPath());
+                    conformanceTestHarness.buildReports(target, subjectDir);
+                }
+                if (!skipTearDown) {
+                    conformanceTestHarness.cleanUp(target);
+                }
+            }
+        }
+        logger.info("===================== TEST SUBJECT RESULTS ========================");
+        outcomes.forEach((target, outcome) -> logger.info("{}: {}", target, outcome));
+        return outcomes.values().stream().allMatch("PASSED"::equals);
+    }
+
+    static String subjectDirectoryName(final IRI target, final int index) {
+        final String name = target.getLocalName().replaceAll("[^A-Za-z0-9._-]", "_");
+        return StringUtils.isBlank(name) || name.startsWith(".") ? "subject" + index : name;
+    }
+
     private int processCommandLine(final String... args) throws ParseException, IOException {
         logger.debug("Args: {}", Arrays.toString(args));
+        mergeReports = null;
+        daemonPort = null;
+        targets = null;
+        loadDuration = null;
         final Options options = setupOptions();
         final CommandLineParser parser = new DefaultParser();
         final CommandLine cmd = parser.parse(options, args);
@@ -130,9 +225,42 @@ public class Application implements QuarkusApplication {
             logger.error("The skip-reports option cannot apply when the coverage option is used");
             return 1;
         }
+        if (cmd.hasOption(MERGE) && (cmd.hasOption(SKIP_REPORTS) || cmd.hasOption(COVERAGE)
+                || cmd.hasOption(SHARD) || cmd.hasOption(RERUN))) {
+            logger.error("The merge option cannot be combined with the coverage, shard, rerun or skip-reports " +
+                    "options");
+            return 1;
+        }
+        if (cmd.hasOption(DAEMON) && (cmd.hasOption(COVERAGE) || cmd.hasOption(MERGE) || cmd.hasOption(RERUN))) {
+            logger.error("The daemon option cannot be combined with the coverage, merge or rerun options");
+            return 1;
+        }
+        if (cmd.hasOption(LOAD) && (cmd.hasOption(COVERAGE) || cmd.hasOption(MERGE) || cmd.hasOption(RERUN)
+                || cmd.hasOption(DAEMON) || cmd.hasOption(SHARD))) {
+            logger.error("The load option cannot be combined with the coverage, merge, rerun, daemon or shard options");
+            return 1;
+        }
+        if (cmd.hasOption(LOAD) && !handleLoadOption(cmd.getOptionValue(LOAD))) {
+            return 1;
+        }
+        if (cmd.hasOption(TARGET) && cmd.getOptionValues(TARGET).length > 1
+                && (cmd.hasOption(DAEMON) || cmd.hasOption(LOAD) || cmd.hasOption(RERUN))) {
+            logger.error("Only one target can be used with the daemon, load or rerun options");
+            return 1;
+        }
+        if (cmd.hasOption(DAEMON) && !handleDaemonOption(cmd.getOptionValue(DAEMON))) {
+            return 1;
+        }
         if (!cmd.hasOption(SKIP_REPORTS) && !handleReportOptions(cmd)) {
             return 1;
         }
+        if (cmd.hasOption(MERGE)) {
+            if (!handleMergeOptions(cmd)) {
+                return 1;
+            }
+            ignoreFailures = cmd.hasOption(IGNORE_FAILURES);
+            return -1;
+        }
 
         if (cmd.hasOption(SOURCE)) {
             config.setTestSources(Arrays.stream(cmd.getOptionValues(SOURCE))
@@ -143,6 +271,9 @@ public class Application implements QuarkusApplication {
 
         if (!cmd.hasOption(COVERAGE)) {
             handleTestRunOptions(cmd);
+            if (cmd.hasOption(SHARD) && !handleShardOption(cmd.getOptionValue(SHARD))) {
+                return 1;
+            }
         }
         runMode = cmd.hasOption(COVERAGE) ? Config.RunMode.COVERAGE : Config.RunMode.TEST;
         skipReports = cmd.hasOption(SKIP_REPORTS);
@@ -158,14 +289,16 @@ public class Application implements QuarkusApplication {
             logger.debug("Subjects = {}", config.getSubjectsUrl());
         }
         logger.debug("TARGET SETTING {}", cmd.getOptionValue(TARGET));
-        if (cmd.hasOption(TARGET) && !StringUtils.isBlank(cmd.getOptionValue(TARGET))) {
-            final String subjectsBaseUri = iri(config.getSubjectsUrl().toString()).getNamespace();
-            final String target = cmd.getOptionValue(TARGET);
-            final IRI testSubject = target.contains(":")
-                    ? iri(target)
-                    : iri(subjectsBaseUri, target);
-            logger.debug("Target: {}", testSubject);
-            config.setTestSubject(testSubject);
+        if (cmd.hasOption(TARGET)) {
+            targets = Arrays.stream(cmd.getOptionValues(TARGET))
+                    .filter(s -> !StringUtils.isBlank(s))
+                    .map(s -> resolveTarget(config, s.strip()))
+                    .distinct()
+                    .collect(Collectors.toList());
+            logger.debug("Targets: {}", targets);
+            if (!targets.isEmpty()) {
+                config.setTestSubject(targets.get(0));
+            }
         }
         if (cmd.hasOption(FILTER)) {
             filters = Arrays.stream(cmd.getOptionValues(FILTER))
@@ -183,6 +316,90 @@ public class Application implements QuarkusApplication {
             config.setTolerableFailuresFile(cmd.getOptionValue(TOLERABLE));
             logger.debug("Tolerable failures = {}", config.getTolerableFailuresFile());
         }
+        if (cmd.hasOption(NO_CACHE)) {
+            config.setResultCacheDisabled(true);
+        }
+        if (cmd.hasOption(RERUN)) {
+            config.setRerunReport(cmd.getOptionValue(RERUN));
+            logger.debug("Rerun report = {}", config.getRerunReport());
+        }
+    }
+
+    /**
+     * Resolve a target name against the test subjects config unless it is already an IRI.
+     * @param config the configuration holding the location of the test subjects config
+     * @param target the target name or IRI
+     * @return the IRI of the test subject
+     */
+    static IRI resolveTarget(final Config config, final String target) {
+        final String subjectsBaseUri = iri(config.getSubjectsUrl().toString()).getNamespace();
+        return target.contains(":") ? iri(target) : iri(subjectsBaseUri, target);
+    }
+
+    private boolean handleDaemonOption(final String port) {
+        try {
+            daemonPort = Integer.parseInt(StringUtils.strip(port));
+            if (daemonPort < 0 || daemonPort > MAX_PORT) {
+                throw new IllegalArgumentException("expected 0-" + MAX_PORT);
+            }
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid daemon port '{}': {}", port, e.getMessage());
+            daemonPort = null;
+            return false;
+        }
+        logger.debug("Daemon port = {}", daemonPort);
+        return true;
+    }
+
+    private boolean handleLoadOption(final String duration) {
+        try {
+            loadDuration = Integer.parseInt(StringUtils.strip(duration));
+            if (loadDuration <= 0) {
+                throw new IllegalArgumentException("expected a number of seconds greater than 0");
+            }
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid load duration '{}': {}", duration, e.getMessage());
+            loadDuration = null;
+            return false;
+        }
+        logger.debug("Load duration = {}", loadDuration);
+        return true;
+    }
+
+    private boolean handleShardOption(final String shard) {
+        final Matcher matcher = SHARD_PATTERN.matcher(StringUtils.strip(shard));
+        try {
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("expected N/M");
+            }
+            config.setShard(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid shard '{}': {}", shard, e.getMessage());
+            return false;
+        }
+        logger.debug("Shard = {}", shard);
+        return true;
+    }
+
+    private boolean handleMergeOptions(final CommandLine cmd) {
+        mergeReports = Arrays.stream(cmd.getOptionValues(MERGE))
+                .filter(s -> !StringUtils.isBlank(s))
+                .map(s -> Path.of(s).toAbsolutePath().normalize().toFile())
+                .collect(Collectors.toList());
+        if (mergeReports.isEmpty()) {
+            logger.error("The merge option requires at least one report");
+            return false;
+        }
+        final List<File> missing = mergeReports.stream().filter(f -> !f.exists()).collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            logger.error("Reports to merge do not exist: {}", missing);
+            return false;
+        }
+        if (cmd.hasOption(TOLERABLE)) {
+            config.setTolerableFailuresFile(cmd.getOptionValue(TOLERABLE));
+        }
+        logger.info("Merging reports: {}", mergeReports);
+        return true;
     }
 
     private boolean handleReportOptions(final CommandLine cmd) {
@@ -212,10 +429,15 @@ public class Application implements QuarkusApplication {
                 .desc("skip report generation").get());
         options.addOption(Option.builder().longOpt(IGNORE_FAILURES)
                 .desc("return success even if there are failures").get());
+        options.addOption(Option.builder().longOpt(NO_CACHE)
+                .desc("run every feature even if the result cache is configured").get());
         options.addOption(
                 Option.builder().longOpt(SUBJECTS).hasArg().desc("URL or path to test subject config (Turtle)").get()
         );
-        options.addOption("t", TARGET, true, "target server");
+        options.addOption(
+                Option.builder("t").longOpt(TARGET).desc("target server(s), tested at the same time")
+                        .hasArgs().valueSeparator(',').get()
+        );
         options.addOption(
                 Option.builder("s").longOpt(SOURCE).desc("URL or path to test source(s)")
                         .hasArgs().valueSeparator(',').get()
@@ -231,6 +453,29 @@ public class Application implements QuarkusApplication {
         options.addOption(
                 Option.builder().longOpt(TOLERABLE).hasArg().desc("path to a list of tests known to fail").get()
         );
+        options.addOption(
+                Option.builder().longOpt(SHARD).hasArg().argName("N/M")
+                        .desc("run only shard N of M of the test features").get()
+        );
+        options.addOption(
+                Option.builder().longOpt(MERGE).hasArgs().valueSeparator(',')
+                        .desc("merge shard output directories or report.ttl files into one report").get()
+        );
+        options.addOption(
+                Option.builder().longOpt(RERUN).hasArg()
+                        .desc("rerun the failed and cantTell test cases from a previous output directory or report.ttl")
+                        .get()
+        );
+        options.addOption(
+                Option.builder().longOpt(DAEMON).hasArg().argName("port")
+                        .desc("keep running and accept test runs from a local HTTP API on this port (0 picks one)")
+                        .get()
+        );
+        options.addOption(
+                Option.builder().longOpt(LOAD).hasArg().argName("seconds")
+                        .desc("replay the selected features as load for this many seconds and report the latencies")
+                        .get()
+        );
         options.addOption("h", HELP, false, "print this message");
         return options;
     }
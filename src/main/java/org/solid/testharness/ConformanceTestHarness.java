@@ -23,8 +23,11 @@
  */
 package org.solid.testharness;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.intuit.karate.core.Tag;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.util.ModelBuilder;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.slf4j.Logger;
@@ -33,16 +36,20 @@ import org.solid.common.vocab.DOAP;
 import org.solid.common.vocab.EARL;
 import org.solid.common.vocab.RDF;
 import org.solid.testharness.api.SolidClient;
+import org.solid.testharness.config.Bootstrap;
 import org.solid.testharness.config.Config;
 import org.solid.testharness.config.PathMappings;
+import org.solid.testharness.config.SubjectConfig;
 import org.solid.testharness.config.TestSubject;
 import org.solid.testharness.discovery.TestSuiteDescription;
 import org.solid.testharness.http.AuthManager;
 import org.solid.testharness.http.HttpConstants;
+import org.solid.testharness.reporting.LoadResults;
 import org.solid.testharness.reporting.ReportGenerator;
 import org.solid.testharness.reporting.TestSuiteResults;
 import org.solid.testharness.utils.DataRepository;
 import org.solid.testharness.utils.Namespaces;
+import org.solid.testharness.utils.TestHarnessException;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -50,8 +57,11 @@ import jakarta.inject.Inject;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.nio.file.Files;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -64,9 +74,16 @@ import static org.eclipse.rdf4j.model.util.Values.literal;
 @SuppressWarnings("PMD.MoreThanOneLogger")  // Additional logger provided for JSON output
 public class ConformanceTestHarness {
     private static final Logger logger = LoggerFactory.getLogger(ConformanceTestHarness.class);
+    private static final String REPORT_TURTLE = "report.ttl";
+    private static final String LOAD_HISTOGRAM = "load.hgrm";
+    private static final String LOAD_SUMMARY = "load.json";
 
     private Map<String, SolidClient> clients;
+    private IRI clientsSubject;
+    private boolean reuseClients;
     private TestSuiteResults results;
+    private final Map<IRI, TestSubject> subjects = new LinkedHashMap<>();
+    private final Map<IRI, TestSuiteResults> subjectResults = new LinkedHashMap<>();
 
     @Inject
     Config config;
@@ -84,6 +101,10 @@ public class ConformanceTestHarness {
     AuthManager authManager;
     @Inject
     PathMappings pathMappings;
+    @Inject
+    LoadRunner loadRunner;
+    @Inject
+    ObjectMapper objectMapper;
 
     @SuppressWarnings("PMD.UseProperClassLoader") // this is not J2EE and the suggestion fails
     public void initialize() throws IOException {
@@ -115,10 +136,17 @@ public class ConformanceTestHarness {
                         .build());
             }
         }
-        // load the test manifests
-        logger.info("===================== DISCOVER TESTS ========================");
-        testSuiteDescription.load(config.getTestSources());
-        testSuiteDescription.getTestsVersion();
+        if (config.getRerunReport() != null) {
+            // the previous report already describes the test suite along with its results
+            logger.info("===================== LOAD PREVIOUS RESULTS =================");
+            loadReport(config.getRerunReport());
+            dataRepository.identifySpecifications();
+        } else {
+            // load the test manifests
+            logger.info("===================== DISCOVER TESTS ========================");
+            testSuiteDescription.load(config.getTestSources());
+            testSuiteDescription.getTestsVersion();
+        }
         logger.info("==== TEST CASES FOUND: {} - {}",
                 testSuiteDescription.getTestCases(false).size(),
                 testSuiteDescription.getTestCases(false));
@@ -128,13 +156,33 @@ public class ConformanceTestHarness {
         testSuiteDescription.prepareTestCases(Config.RunMode.COVERAGE);
     }
 
+    /**
+     * Remove the results of the previous run so that the test suite can be run again in the same process. The test
+     * descriptions stay loaded and the clients registered by the previous run are reused as long as the test subject
+     * does not change.
+     */
+    public void resetResults() {
+        dataRepository.removeResults(testSuiteDescription.getTestCases(false));
+        reportGenerator.setStartTime(System.currentTimeMillis());
+        results = null;
+        reuseClients = true;
+    }
+
     public TestSuiteResults runTestSuites(final List<String> filters, final List<String> statuses) {
         final List<String> featurePaths;
 
         // TODO: Consider running some initial tests to discover the features provided by a server
         testSubject.loadTestSubjectConfig();
 
-        testSuiteDescription.setNonRunningTestAssertions(filters, statuses);
+        final List<IRI> rerunTestCases;
+        if (config.getRerunReport() != null) {
+            // tests which did not run before already have their assertions so only the failures are reset
+            rerunTestCases = testSuiteDescription.resetFailedTestCases(filters, statuses);
+            logger.info("==== RERUN TEST CASES ({}): {}", rerunTestCases.size(), rerunTestCases);
+        } else {
+            rerunTestCases = null;
+            testSuiteDescription.setNonRunningTestAssertions(filters, statuses);
+        }
         logger.info("==== SKIP TAGS:             {}", testSubject.getTargetServer().getSkipTags());
         logger.info("==== APPLY NAME FILTERS:    {}", filters);
         logger.info("==== APPLY STATUS FILTERS:  {}", statuses);
@@ -142,8 +190,9 @@ public class ConformanceTestHarness {
                 testSuiteDescription.getTestCases(true).size(),
                 testSuiteDescription.getTestCases(true));
 
-        testSuiteDescription.prepareTestCases(Config.RunMode.TEST);
-        featurePaths = testSuiteDescription.getFeaturePaths();
+        testSuiteDescription.prepareTestCases(Config.RunMode.TEST, rerunTestCases);
+        featurePaths = selectShard(testSuiteDescription.getFeaturePaths(), config.getShardIndex(),
+                config.getShardCount());
         if (featurePaths == null || featurePaths.isEmpty()) {
             logger.warn("There are no tests available");
             results = TestSuiteResults.emptyResults();
@@ -157,6 +206,158 @@ public class ConformanceTestHarness {
         return results;
     }
 
+    /**
+     * Run the test suite against several test subjects at the same time. The test descriptions are shared while each
+     * test subject has its own server, users, clients, test containers and results, which are kept in a named graph
+     * of the data repository. A test subject which cannot be set up is left out so that the others can still be
+     * tested.
+     * @param targets the test subjects
+     * @param filters the feature filters or null for all features
+     * @param statuses the test case statuses or null for all statuses
+     * @return the results of each test subject that was tested
+     * @throws TestHarnessInitializationException if any of the test subjects has no settings of its own
+     */
+    public Map<IRI, TestSuiteResults> runTestSubjects(final List<IRI> targets, final List<String> filters,
+                                                      final List<String> statuses) {
+        subjects.clear();
+        subjectResults.clear();
+        logger.info("==== APPLY NAME FILTERS:    {}", filters);
+        logger.info("==== APPLY STATUS FILTERS:  {}", statuses);
+        // each target must have its own server, test container and users, otherwise they would all test one server
+        final Map<IRI, SubjectConfig> subjectConfigs = new LinkedHashMap<>();
+        final List<IRI> unconfigured = new ArrayList<>();
+        for (final IRI target : targets) {
+            final SubjectConfig subjectConfig = config.getSubjectConfig(target);
+            if (subjectConfig != null) {
+                subjectConfigs.put(target, subjectConfig);
+            } else {
+                unconfigured.add(target);
+            }
+        }
+        if (!unconfigured.isEmpty()) {
+            throw new TestHarnessInitializationException(MessageFormat.format(
+                    "Testing several targets needs the users of each target to be configured, e.g. " +
+                    "<target>.users.alice.webid, but these targets have no users: {0}", unconfigured));
+        }
+        final Map<TestSubject, List<String>> featurePaths = new LinkedHashMap<>();
+        for (final IRI target : targets) {
+            logger.info("===================== TEST SUBJECT {} ========================", target);
+            final TestSubject subject = testSubject.forSubject(target, subjectConfigs.get(target));
+            try {
+                final List<String> paths = prepareTestSubject(subject, filters, statuses);
+                subjects.put(target, subject);
+                if (paths == null || paths.isEmpty()) {
+                    logger.warn("There are no tests available for {}", target);
+                    subjectResults.put(target, TestSuiteResults.emptyResults());
+                } else {
+                    featurePaths.put(subject, paths);
+                }
+            } catch (TestHarnessInitializationException e) {
+                // carry on with the other targets if one of them cannot be reached or set up
+                logger.error("Failed to set up the tests for {}", target, e);
+            }
+        }
+        if (!featurePaths.isEmpty()) {
+            featurePaths.keySet().forEach(Bootstrap::register);
+            try {
+                runTests(featurePaths);
+            } finally {
+                featurePaths.keySet().forEach(Bootstrap::unregister);
+            }
+        }
+        final Map<IRI, TestSuiteResults> outcomes = new LinkedHashMap<>();
+        targets.stream()
+                .filter(subjectResults::containsKey)
+                .forEach(target -> outcomes.put(target, subjectResults.get(target)));
+        return outcomes;
+    }
+
+    private List<String> prepareTestSubject(final TestSubject subject, final List<String> filters,
+                                            final List<String> statuses) {
+        final DataRepository repository = subject.getDataRepository();
+        subject.loadTestSubjectConfig();
+        testSuiteDescription.setNonRunningTestAssertions(filters, statuses, repository);
+        logger.info("==== SKIP TAGS:             {}", subject.getTargetServer().getSkipTags());
+        logger.info("==== FILTERED TEST CASES ({}): {}",
+                testSuiteDescription.getTestCases(true, repository).size(),
+                testSuiteDescription.getTestCases(true, repository));
+        testSuiteDescription.prepareTestCases(Config.RunMode.TEST, null, repository);
+        final List<String> featurePaths = selectShard(testSuiteDescription.getFeaturePaths(), config.getShardIndex(),
+                config.getShardCount());
+        if (featurePaths != null && !featurePaths.isEmpty()) {
+            logger.info("==== RUNNING TEST CASES ({}): {}", featurePaths.size(), featurePaths);
+            logger.info("===================== REGISTER CLIENTS ========================");
+            registerClients(subject);
+            logger.info("===================== PREPARE SERVER ========================");
+            subject.prepareServer();
+        }
+        return featurePaths;
+    }
+
+    private void runTests(final Map<TestSubject, List<String>> featurePaths) {
+        logger.info("===================== RUN TESTS ========================");
+        final Map<TestSubject, TestSuiteResults> runResults = testRunner.runTests(featurePaths,
+                config.getMaxThreads());
+        runResults.forEach((subject, subjectResult) -> addMissingAssertions(subjectResult,
+                subject.getTargetServer().getSkipTags(), subject.getDataRepository()));
+        retryFailedSubjectScenarios(runResults.keySet());
+        runResults.forEach((subject, subjectResult) -> {
+            logger.info("===================== RESULTS FOR {} ========================", subject.getSubject());
+            subjectResult.summarizeOutcomes(subject.getDataRepository());
+            subjectResult.log();
+            subjectResults.put(subject.getSubject(), subjectResult);
+        });
+    }
+
+    /**
+     * Replay the selected features against the test subject for a set duration to measure its performance.
+     * @param filters the feature filters or null for all features
+     * @param statuses the test case statuses or null for all statuses
+     * @param duration how long to generate load for
+     * @return the latencies and errors recorded
+     */
+    public LoadResults runLoad(final List<String> filters, final List<String> statuses, final Duration duration) {
+        testSubject.loadTestSubjectConfig();
+        testSuiteDescription.setNonRunningTestAssertions(filters, statuses);
+        logger.info("==== APPLY NAME FILTERS:    {}", filters);
+        logger.info("==== APPLY STATUS FILTERS:  {}", statuses);
+        testSuiteDescription.prepareTestCases(Config.RunMode.TEST);
+        final List<String> featurePaths = testSuiteDescription.getFeaturePaths();
+        if (featurePaths == null || featurePaths.isEmpty()) {
+            logger.warn("There are no tests available");
+            return new LoadResults(config.getLoadRate(), config.getMaxThreads());
+        }
+        logger.info("==== LOAD TEST CASES ({}): {}", featurePaths.size(), featurePaths);
+        setupTestHarness();
+        logger.info("===================== GENERATE LOAD ========================");
+        final LoadResults loadResults = loadRunner.run(featurePaths, testSubject.getTargetServer().getSkipTags(),
+                duration);
+        loadResults.log();
+        return loadResults;
+    }
+
+    /**
+     * Write the latency distribution in the HdrHistogram text format and a JSON summary of the latencies and error
+     * rates for each requirement level and feature.
+     * @param loadResults the results of the load run
+     */
+    public void buildLoadReports(final LoadResults loadResults) {
+        logger.info("===================== BUILD LOAD REPORTS ========================");
+        final File outputDir = config.getOutputDirectory();
+        try {
+            final File histogramFile = new File(outputDir, LOAD_HISTOGRAM);
+            logger.info("Load latency histogram: {}", histogramFile.toPath().toUri());
+            try (OutputStream out = Files.newOutputStream(histogramFile.toPath())) {
+                loadResults.writeHistogram(out);
+            }
+            final File summaryFile = new File(outputDir, LOAD_SUMMARY);
+            logger.info("Load summary: {}", summaryFile.toPath().toUri());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(summaryFile, loadResults.getSummary());
+        } catch (Exception e) {
+            logger.error("Failed to write load reports", e);
+        }
+    }
+
     public void buildReports(final Config.RunMode mode) {
         logger.info("===================== BUILD REPORTS ========================");
         final File outputDir = config.getOutputDirectory();
@@ -168,7 +369,7 @@ public class ConformanceTestHarness {
                 reportGenerator.buildHtmlCoverageReport(Files.newBufferedWriter(coverageHtmlFile.toPath()));
             } else {
                 reportGenerator.setResults(results);
-                final File reportTurtleFile = new File(outputDir, "report.ttl");
+                final File reportTurtleFile = new File(outputDir, REPORT_TURTLE);
                 logger.info("Report Turtle file: {}", reportTurtleFile.toPath().toUri());
                 reportGenerator.buildTurtleReport(Files.newBufferedWriter(reportTurtleFile.toPath()));
 
@@ -181,6 +382,96 @@ public class ConformanceTestHarness {
         }
     }
 
+    /**
+     * Write the reports of one of the test subjects tested by {@link #runTestSubjects(List, List, List)}.
+     * @param target the test subject
+     * @param outputDir the directory for its reports
+     */
+    public void buildReports(final IRI target, final File outputDir) {
+        final TestSubject subject = subjects.get(target);
+        final TestSuiteResults subjectResult = subjectResults.get(target);
+        if (subject == null || subjectResult == null) {
+            return;
+        }
+        logger.info("===================== BUILD REPORTS FOR {} ========================", target);
+        logger.info("Reports location: [{}]", outputDir.getPath());
+        try {
+            final File reportTurtleFile = new File(outputDir, REPORT_TURTLE);
+            logger.info("Report Turtle file: {}", reportTurtleFile.toPath().toUri());
+            reportGenerator.buildTurtleReport(Files.newBufferedWriter(reportTurtleFile.toPath()),
+                    subject.getDataRepository());
+
+            final File reportHtmlFile = new File(outputDir, "report.html");
+            logger.info("Report HTML/RDFa file: {}", reportHtmlFile.toPath().toUri());
+            reportGenerator.buildHtmlResultReport(Files.newBufferedWriter(reportHtmlFile.toPath()),
+                    subject.getDataRepository(), target, subjectResult);
+        } catch (Exception e) {
+            logger.error("Failed to write reports", e);
+        }
+    }
+
+    /**
+     * Select the features for one shard of a test run. The features are sorted and dealt round-robin so that every
+     * process given the same test sources picks a disjoint, similarly sized subset regardless of discovery order.
+     * @param featurePaths the features to run
+     * @param index the 1-based index of the shard
+     * @param count the number of shards
+     * @return the features belonging to the shard
+     */
+    static List<String> selectShard(final List<String> featurePaths, final int index, final int count) {
+        if (featurePaths == null || count <= 1) {
+            return featurePaths;
+        }
+        final List<String> sorted = featurePaths.stream().sorted().collect(Collectors.toList());
+        final List<String> shard = new ArrayList<>();
+        for (int i = index - 1; i < sorted.size(); i += count) {
+            shard.add(sorted.get(i));
+        }
+        logger.info("==== SHARD {}/{}: {} of {} features", index, count, shard.size(), sorted.size());
+        return shard;
+    }
+
+    /**
+     * Merge the Turtle reports written by several shards into the data repository and recompute the scores.
+     * @param reports shard output directories or report files
+     * @return the results summarized from the merged data
+     * @throws IOException if a report cannot be read
+     */
+    public TestSuiteResults mergeReports(final List<File> reports) throws IOException {
+        logger.info("===================== MERGE REPORTS ========================");
+        dataRepository.setFailingScenarios(readTolerableFailures());
+        reportGenerator.setStartTime(System.currentTimeMillis());
+        for (final File report : reports) {
+            loadReport(report);
+        }
+        dataRepository.identifySpecifications();
+        if (config.getTestSubject() == null) {
+            try (
+                    RepositoryConnection conn = dataRepository.getConnection();
+                    var statements = conn.getStatements(null, EARL.subject, null)
+            ) {
+                statements.stream()
+                        .map(Statement::getObject)
+                        .filter(Value::isIRI)
+                        .map(IRI.class::cast)
+                        .findFirst()
+                        .ifPresent(config::setTestSubject);
+            }
+        }
+        results = TestSuiteResults.emptyResults();
+        results.summarizeOutcomes(dataRepository);
+        results.log();
+        return results;
+    }
+
+    private void loadReport(final File report) throws IOException {
+        final File file = report.isDirectory() ? new File(report, REPORT_TURTLE) : report;
+        logger.info("Loading report: {}", file.toPath().toUri());
+        try (Reader reader = Files.newBufferedReader(file.toPath())) {
+            dataRepository.mergeReport(reader, file.getPath());
+        }
+    }
+
     public TestSuiteResults runSingleTest(final String uri) {
         try {
             testSubject.loadTestSubjectConfig();
@@ -194,10 +485,15 @@ public class ConformanceTestHarness {
 
     private void setupTestHarness() {
         logger.info("===================== REGISTER CLIENTS ========================");
-        if (config.getUserRegistrationEndpoint() != null) {
-            registerUsers();
+        if (reuseClients && clients != null && Objects.equals(config.getTestSubject(), clientsSubject)) {
+            logger.info("Reusing the clients registered for {}", clientsSubject);
+        } else {
+            if (config.getUserRegistrationEndpoint() != null) {
+                registerUsers();
+            }
+            registerClients();
         }
-        registerClients();
+        reuseClients = false;
         logger.info("===================== PREPARE SERVER ========================");
         testSubject.prepareServer();
     }
@@ -207,30 +503,100 @@ public class ConformanceTestHarness {
         final List<String> skipTags = testSubject.getTargetServer().getSkipTags();
         results = testRunner.runTests(featurePaths, config.getMaxThreads(),
                 skipTags, enableReporting);
-        // any features which are skipped are not included in the feature reporting phase so add assertions now
-        addMissingAssertions(skipTags);
+        addMissingAssertions(results, skipTags, dataRepository);
+        if (enableReporting) {
+            retryFailedScenarios(skipTags);
+        }
         results.summarizeOutcomes(dataRepository);
         return results;
     }
 
-    private void addMissingAssertions(final List<String> skipTags) {
+    /**
+     * Run the failed scenarios of failed features again to clear failures caused by transient problems such as
+     * network errors. Only the failed scenarios are selected and retries stop when they all pass, when the configured
+     * number of retries is reached or when the retry budget runs out.
+     * @param skipTags the tags of scenarios to skip
+     */
+    void retryFailedScenarios(final List<String> skipTags) {
+        final int retries = config.getRetries();
+        final long deadline = retryDeadline();
+        for (int retry = 1; retry <= retries; retry++) {
+            final List<String> scenarioPaths = toScenarioPaths(dataRepository.getFailedScenarios());
+            if (scenarioPaths.isEmpty()) {
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                logger.warn("The retry budget of {} seconds is used up", config.getRetryBudget());
+                return;
+            }
+            logger.info("===================== RETRY {} OF {} ========================", retry, retries);
+            logger.info("==== RETRYING SCENARIOS ({}): {}", scenarioPaths.size(), scenarioPaths);
+            testRunner.retryScenarios(scenarioPaths, config.getMaxThreads(), skipTags, deadline);
+        }
+    }
+
+    /**
+     * Run the failed scenarios of several test subjects again, at the same time, sharing the retry budget.
+     * @param testSubjects the test subjects, which must be registered with Bootstrap
+     */
+    void retryFailedSubjectScenarios(final Collection<TestSubject> testSubjects) {
+        final int retries = config.getRetries();
+        final long deadline = retryDeadline();
+        for (int retry = 1; retry <= retries; retry++) {
+            final Map<TestSubject, List<String>> scenarioPaths = new LinkedHashMap<>();
+            for (final TestSubject subject : testSubjects) {
+                final List<String> paths = toScenarioPaths(subject.getDataRepository().getFailedScenarios());
+                if (!paths.isEmpty()) {
+                    scenarioPaths.put(subject, paths);
+                }
+            }
+            if (scenarioPaths.isEmpty()) {
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                logger.warn("The retry budget of {} seconds is used up", config.getRetryBudget());
+                return;
+            }
+            logger.info("===================== RETRY {} OF {} ========================", retry, retries);
+            scenarioPaths.forEach((subject, paths) -> logger.info("==== RETRYING SCENARIOS FOR {} ({}): {}",
+                    subject.getSubject(), paths.size(), paths));
+            testRunner.retryScenarios(scenarioPaths, config.getMaxThreads(), deadline);
+        }
+    }
+
+    private long retryDeadline() {
+        return config.getRetryBudget() > 0
+                ? System.currentTimeMillis() + Duration.ofSeconds(config.getRetryBudget()).toMillis()
+                : Long.MAX_VALUE;
+    }
+
+    // Karate runs just the scenario at the line given after the feature path
+    private List<String> toScenarioPaths(final Map<IRI, List<Integer>> failed) {
+        return failed.entrySet().stream()
+                .flatMap(e -> e.getValue().stream().map(line -> pathMappings.mapIri(e.getKey()) + ":" + line))
+                .collect(Collectors.toList());
+    }
+
+    private void addMissingAssertions(final TestSuiteResults runResults, final List<String> skipTags,
+                                      final DataRepository repository) {
+        // any features which are skipped are not included in the feature reporting phase so add assertions now
         if (skipTags != null && !skipTags.isEmpty()) {
-            results.getFeatures().stream()
+            runResults.getFeatures().stream()
                     .map(fc -> fc.feature)
                     .filter(f -> f.getTags() != null)
                     .filter(f -> !f.getTags().isEmpty())
                     .filter(f -> f.getTags().stream().map(Tag::getName).anyMatch(skipTags::contains))
-                    .forEach(f -> dataRepository.createSkippedAssertion(
+                    .forEach(f -> repository.createSkippedAssertion(
                             f, pathMappings.unmapFeaturePath(f.getResource().getRelativePath()), EARL.inapplicable
                     ));
         }
         // any features which are @ignored are not included in the feature reporting phase so add assertions now
-        results.getFeatures().stream()
+        runResults.getFeatures().stream()
                 .map(fc -> fc.feature)
                 .filter(f -> f.getTags() != null)
                 .filter(f -> !f.getTags().isEmpty())
                 .filter(f -> f.getTags().stream().map(Tag::getName).anyMatch("ignore"::equals))
-                .forEach(f -> dataRepository.createSkippedAssertion(
+                .forEach(f -> repository.createSkippedAssertion(
                         f, pathMappings.unmapFeaturePath(f.getResource().getRelativePath()), EARL.untested
                 ));
     }
@@ -258,6 +624,18 @@ public class ConformanceTestHarness {
         testSubject.tearDownServer();
     }
 
+    /**
+     * Delete the test containers of one of the test subjects tested by {@link #runTestSubjects(List, List, List)}.
+     * @param target the test subject
+     */
+    public void cleanUp(final IRI target) {
+        final TestSubject subject = subjects.get(target);
+        if (subject != null) {
+            logger.info("===================== DELETING TEST RESOURCES FOR {} ========================", target);
+            subject.tearDownServer();
+        }
+    }
+
     private void registerUsers() {
         authManager.registerUser(HttpConstants.ALICE);
         authManager.registerUser(HttpConstants.BOB);
@@ -265,7 +643,29 @@ public class ConformanceTestHarness {
 
     private void registerClients() {
         clients = new HashMap<>();
+        clientsSubject = null;
         config.getWebIds().keySet().forEach(user -> clients.put(user, new SolidClient(authManager.authenticate(user))));
+        clientsSubject = config.getTestSubject();
+        testSubject.setClients(clients);
+    }
+
+    private void registerClients(final TestSubject subject) {
+        // each test subject has its own users, which are authenticated by its own identity provider
+        final SubjectConfig subjectConfig = subject.getSubjectConfig();
+        if (subjectConfig.getUserRegistrationEndpoint() != null) {
+            authManager.registerUser(HttpConstants.ALICE, subjectConfig);
+            authManager.registerUser(HttpConstants.BOB, subjectConfig);
+        }
+        final Map<String, SolidClient> subjectClients = new HashMap<>();
+        for (final String user : subject.getWebIds().keySet()) {
+            authManager.authenticate(user, subjectConfig, subject.getClientRegistry());
+            try {
+                subjectClients.put(user, new SolidClient(subject.getClientProvider(user)));
+            } catch (TestHarnessException e) {
+                throw new TestHarnessInitializationException("Failed to register the client for " + user, e);
+            }
+        }
+        subject.setClients(subjectClients);
     }
 
     /**
@@ -0,0 +1,337 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.http.HttpConstants;
+import org.solid.testharness.reporting.Scores;
+import org.solid.testharness.reporting.TestSuiteResults;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the harness resident and accepts test runs over a local HTTP API.
+ *
+ * <p>The test descriptions, authenticated clients and script engines are set up once and each run only repeats the
+ * work needed to execute the selected features. The server binds to the loopback interface only and accepts:</p>
+ * <ul>
+ *     <li><code>POST /run</code> with an optional JSON body of <code>filters</code>, <code>statuses</code> and
+ *     <code>target</code>, returning a summary of the results</li>
+ *     <li><code>GET /status</code> returning whether a run is in progress</li>
+ *     <li><code>POST /shutdown</code> stopping the daemon</li>
+ * </ul>
+ * <p>Binding to loopback does not stop a web page in a local browser from sending requests to the daemon, so requests
+ * carrying an <code>Origin</code> header or naming a host other than loopback (as a DNS rebinding attack would) are
+ * rejected, and the <code>POST</code> requests must have a JSON content type which a page cannot send to another
+ * origin without a CORS preflight that the daemon does not answer.</p>
+ */
+@ApplicationScoped
+public class DaemonServer {
+    private static final Logger logger = LoggerFactory.getLogger(DaemonServer.class);
+
+    static final String RUN_PATH = "/run";
+    static final String STATUS_PATH = "/status";
+    static final String SHUTDOWN_PATH = "/shutdown";
+    private static final String POST = "POST";
+    private static final String ERROR = "error";
+    private static final int HANDLER_THREADS = 2;
+    private static final String HEADER_ORIGIN = "Origin";
+    private static final String HEADER_HOST = "Host";
+    private static final Pattern LOOPBACK_IPV4 = Pattern.compile("127(\\.\\d{1,3}){3}");
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger runs = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService executor;
+    private CountDownLatch shutdown;
+    private boolean skipReports;
+    private boolean skipTearDown;
+
+    @Inject
+    Config config;
+    @Inject
+    ConformanceTestHarness conformanceTestHarness;
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Start listening for requests on the loopback interface.
+     * @param port the port to listen on or 0 to pick a free one
+     * @param skipReports true if the reports should not be written after each run
+     * @param skipTearDown true if the test resources should not be deleted after each run
+     * @throws IOException if the server cannot be started
+     */
+    public synchronized void start(final int port, final boolean skipReports, final boolean skipTearDown)
+            throws IOException {
+        this.skipReports = skipReports;
+        this.skipTearDown = skipTearDown;
+        shutdown = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(RUN_PATH, this::handleRun);
+        server.createContext(STATUS_PATH, this::handleStatus);
+        server.createContext(SHUTDOWN_PATH, this::handleShutdown);
+        // one thread can run tests while another answers status and shutdown requests
+        executor = Executors.newFixedThreadPool(HANDLER_THREADS, r -> {
+            final Thread thread = new Thread(r, "daemon");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+        logger.info("===================== DAEMON LISTENING ON http://{}:{} =====================",
+                server.getAddress().getHostString(), getPort());
+    }
+
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    /**
+     * Block until a shutdown request is received.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitShutdown() throws InterruptedException {
+        shutdown.await();
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("===================== DAEMON STOPPED =====================");
+        }
+        if (shutdown != null) {
+            shutdown.countDown();
+        }
+    }
+
+    /**
+     * Run the test suite against the current or requested target with a fresh set of results.
+     * @param filters the feature filters or null for all features
+     * @param statuses the test case statuses or null for all statuses
+     * @param target the target name or IRI or null to keep the current target
+     * @return a summary of the results
+     */
+    Map<String, Object> run(final List<String> filters, final List<String> statuses, final String target) {
+        final int run = runs.incrementAndGet();
+        logger.info("===================== DAEMON RUN {} ========================", run);
+        if (!StringUtils.isBlank(target)) {
+            config.setTestSubject(Application.resolveTarget(config, target));
+        }
+        conformanceTestHarness.resetResults();
+        final TestSuiteResults results = conformanceTestHarness.runTestSuites(filters, statuses);
+        if (results.getFeatureTotal() > 0) {
+            if (!skipReports) {
+                conformanceTestHarness.buildReports(Config.RunMode.TEST);
+            }
+            if (!skipTearDown) {
+                conformanceTestHarness.cleanUp();
+            }
+        }
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("run", run);
+        summary.put("target", config.getTestSubject() != null ? config.getTestSubject().stringValue() : null);
+        summary.put("featureTotal", results.getFeatureTotal());
+        summary.put("hasFailures", results.hasFailures());
+        summary.put("features", toMap(results.getFeatureScores()));
+        summary.put("scenarios", toMap(results.getScenarioScores()));
+        summary.put("totalTime", results.getTimeTakenMillis());
+        return summary;
+    }
+
+    private void handleRun(final HttpExchange exchange) throws IOException {
+        if (!POST.equals(exchange.getRequestMethod())) {
+            send(exchange, 405, Map.of(ERROR, "Use POST to start a run"));
+            return;
+        }
+        if (!checkRequest(exchange, true)) {
+            return;
+        }
+        final Map<?, ?> request;
+        try (InputStream is = exchange.getRequestBody()) {
+            final byte[] body = is.readAllBytes();
+            request = body.length == 0 ? Map.of() : objectMapper.readValue(body, Map.class);
+        } catch (IOException e) {
+            send(exchange, 400, Map.of(ERROR, "Invalid run request: " + e.getMessage()));
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            send(exchange, 409, Map.of(ERROR, "A test run is already in progress"));
+            return;
+        }
+        try {
+            final Map<String, Object> summary = run(toList(request.get("filters")), toList(request.get("statuses")),
+                    request.get("target") != null ? request.get("target").toString() : null);
+            send(exchange, 200, summary);
+        } catch (Exception e) {
+            logger.error("Daemon run failed", e);
+            send(exchange, 500, Map.of(ERROR, String.valueOf(e.getMessage())));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void handleStatus(final HttpExchange exchange) throws IOException {
+        if (!checkRequest(exchange, false)) {
+            return;
+        }
+        send(exchange, 200, Map.of("running", running.get(), "runs", runs.get()));
+    }
+
+    private void handleShutdown(final HttpExchange exchange) throws IOException {
+        if (!POST.equals(exchange.getRequestMethod())) {
+            send(exchange, 405, Map.of(ERROR, "Use POST to stop the daemon"));
+            return;
+        }
+        if (!checkRequest(exchange, true)) {
+            return;
+        }
+        send(exchange, 202, Map.of("running", running.get()));
+        shutdown.countDown();
+    }
+
+    // reject, with an error response, a request which may have been sent by a web page rather than a local client
+    private boolean checkRequest(final HttpExchange exchange, final boolean requireJson) throws IOException {
+        final Headers headers = exchange.getRequestHeaders();
+        final String origin = checkOrigin(headers);
+        if (origin != null) {
+            logger.warn("Daemon request rejected: {}", origin);
+            send(exchange, 403, Map.of(ERROR, origin));
+            return false;
+        }
+        if (requireJson && !isJson(headers.getFirst(HttpConstants.HEADER_CONTENT_TYPE))) {
+            send(exchange, 415, Map.of(ERROR, "Requests must have the content type "
+                    + HttpConstants.MEDIA_TYPE_APPLICATION_JSON));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check that a request was made directly to the loopback interface and not by a web page.
+     * @param headers the request headers
+     * @return the reason the request is rejected or null if it is accepted
+     */
+    static String checkOrigin(final Headers headers) {
+        if (headers.containsKey(HEADER_ORIGIN)) {
+            return "Requests from web pages are not accepted";
+        }
+        if (!isLoopbackHost(headers.getFirst(HEADER_HOST))) {
+            return "Requests must be addressed to the loopback interface";
+        }
+        return null;
+    }
+
+    static boolean isLoopbackHost(final String hostHeader) {
+        if (StringUtils.isBlank(hostHeader)) {
+            return false;
+        }
+        String host = hostHeader.strip().toLowerCase(Locale.ROOT);
+        if (host.startsWith("[")) {
+            final int end = host.indexOf(']');
+            host = end > 0 ? host.substring(1, end) : host;
+        } else if (host.indexOf(':') == host.lastIndexOf(':') && host.indexOf(':') >= 0) {
+            host = host.substring(0, host.indexOf(':'));
+        }
+        return "localhost".equals(host) || "::1".equals(host) || "0:0:0:0:0:0:0:1".equals(host)
+                || LOOPBACK_IPV4.matcher(host).matches();
+    }
+
+    static boolean isJson(final String contentType) {
+        return contentType != null && HttpConstants.MEDIA_TYPE_APPLICATION_JSON.equalsIgnoreCase(
+                contentType.split(";", 2)[0].strip());
+    }
+
+    private void send(final HttpExchange exchange, final int status, final Map<String, ?> body) throws IOException {
+        final byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set(HttpConstants.HEADER_CONTENT_TYPE, HttpConstants.MEDIA_TYPE_APPLICATION_JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    /**
+     * Accept either a JSON array or a comma separated string for list values.
+     * @param value the value from the request
+     * @return the list of values or null if there are none
+     */
+    @SuppressWarnings("java:S1168") // null means that no filtering is applied
+    static List<String> toList(final Object value) {
+        if (value == null) {
+            return null;
+        }
+        final Collection<?> values = value instanceof Collection
+                ? (Collection<?>) value
+                : Arrays.asList(value.toString().split(","));
+        final List<String> list = values.stream()
+                .filter(v -> v != null && !StringUtils.isBlank(v.toString()))
+                .map(v -> v.toString().strip())
+                .collect(Collectors.toList());
+        return list.isEmpty() ? null : list;
+    }
+
+    private static Map<String, Map<String, Integer>> toMap(final Map<String, Scores> scores) {
+        final Map<String, Map<String, Integer>> map = new LinkedHashMap<>();
+        if (scores != null) {
+            scores.forEach((level, score) -> {
+                final Map<String, Integer> outcomes = new LinkedHashMap<>();
+                outcomes.put(Scores.PASSED, score.getPassed());
+                outcomes.put(Scores.FAILED, score.getFailed());
+                outcomes.put(Scores.CANTTELL, score.getCantTell());
+                outcomes.put(Scores.UNTESTED, score.getUntested());
+                outcomes.put(Scores.INAPPLICABLE, score.getInapplicable());
+                map.put(level, outcomes);
+            });
+        }
+        return map;
+    }
+}
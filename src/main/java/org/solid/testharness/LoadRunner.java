@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness;
+
+import com.intuit.karate.Results;
+import com.intuit.karate.Runner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.config.PathMappings;
+import org.solid.testharness.reporting.LoadResults;
+import org.solid.testharness.utils.DataRepository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+
+/**
+ * Replays features against the test subject for a set duration to measure its performance with conformance traffic.
+ *
+ * <p>With a configured arrival rate the iterations are started on a fixed schedule regardless of how long earlier
+ * iterations take (an open model) and the latency of each is measured from when it was due to start, so time spent
+ * waiting for a free worker counts against the server. Only as many iterations as there are workers can wait for
+ * one; any others, and any still waiting when the duration ends, are recorded as missed rather than run. Without a
+ * rate, a fixed number of workers run iterations back to back (a closed model). In both cases the features are taken
+ * in turn and the number of iterations running at once is limited by the maximum number of threads.</p>
+ *
+ * <p>The latency of an iteration is the wall time of the whole feature, including building its runner, so it is an
+ * upper bound on the time the server took to respond to the requests it made.</p>
+ */
+@ApplicationScoped
+public class LoadRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+
+    @Inject
+    Config config;
+    @Inject
+    PathMappings pathMappings;
+    @Inject
+    DataRepository dataRepository;
+
+    /**
+     * Replay the features for the given duration.
+     * @param featurePaths the features to replay
+     * @param skip the tags of scenarios to skip
+     * @param duration how long to keep starting new iterations
+     * @return the latencies and errors recorded
+     */
+    public LoadResults run(final List<String> featurePaths, final List<String> skip, final Duration duration) {
+        final double rate = config.getLoadRate();
+        final int concurrency = Math.max(config.getMaxThreads(), 1);
+        final LoadResults results = new LoadResults(rate, concurrency);
+        featurePaths.forEach(path -> results.addFeature(path, requirementLevel(path)));
+        logger.info("==== LOAD: {} for {}s with up to {} concurrent iterations",
+                rate > 0 ? rate + " iterations/s" : "back to back", duration.toSeconds(), concurrency);
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        // the queue is bounded so that a slow server cannot build up a backlog to be drained after the duration ends
+        final ExecutorService workers = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(concurrency), r -> {
+                    final Thread thread = new Thread(r, "load-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        try {
+            if (rate > 0) {
+                schedule(featurePaths, skip, results, workers, rate, start, end);
+            } else {
+                for (int i = 0; i < concurrency; i++) {
+                    final int offset = i;
+                    workers.execute(() -> loop(featurePaths, skip, results, offset, concurrency, end));
+                }
+            }
+            workers.shutdown();
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.info("Waiting for load iterations to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+        results.setElapsedNanos(System.nanoTime() - start);
+        return results;
+    }
+
+    private void schedule(final List<String> featurePaths, final List<String> skip, final LoadResults results,
+                          final ExecutorService workers, final double rate, final long start, final long end)
+            throws InterruptedException {
+        final double interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        for (long i = 0; ; i++) {
+            final long due = start + Math.round(i * interval);
+            if (due >= end) {
+                break;
+            }
+            final long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            final String path = featurePaths.get((int) (i % featurePaths.size()));
+            try {
+                workers.execute(() -> {
+                    if (System.nanoTime() < end) {
+                        iterate(path, skip, results, due);
+                    } else {
+                        results.recordMissed(path);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                results.recordMissed(path);
+            }
+        }
+    }
+
+    private void loop(final List<String> featurePaths, final List<String> skip, final LoadResults results,
+                      final int offset, final int step, final long end) {
+        for (long i = offset; System.nanoTime() < end && !Thread.currentThread().isInterrupted(); i += step) {
+            iterate(featurePaths.get((int) (i % featurePaths.size())), skip, results, System.nanoTime());
+        }
+    }
+
+    void iterate(final String path, final List<String> skip, final LoadResults results, final long due) {
+        boolean failed;
+        try {
+            failed = runFeature(path, skip);
+        } catch (RuntimeException e) {
+            logger.debug("Load iteration of {} failed", path, e);
+            failed = true;
+        }
+        results.record(path, System.nanoTime() - due, failed);
+    }
+
+    /**
+     * Run one iteration of a feature without any of the reporting used for conformance runs.
+     * @param path the feature to run
+     * @param skip the tags of scenarios to skip
+     * @return true if the feature failed
+     */
+    @SuppressWarnings("unchecked") // Runner.builder() returns a raw type
+    boolean runFeature(final String path, final List<String> skip) {
+        final Runner.Builder builder = Runner.builder().path(path)
+                .outputHtmlReport(false)
+                .backupReportDir(false);
+        if (skip != null) {
+            builder.tags(skip.stream().map(tag -> "~@" + tag).collect(Collectors.toList()));
+        }
+        final Results results = builder.parallel(1);
+        return results.getFailCount() > 0;
+    }
+
+    private String requirementLevel(final String path) {
+        final String featureIri = pathMappings.unmapFeaturePath(path);
+        return featureIri != null ? dataRepository.getRequirementLevel(iri(featureIri)) : null;
+    }
+}
@@ -23,33 +23,347 @@
  */
 package org.solid.testharness;
 
+import com.intuit.karate.FileUtils;
 import com.intuit.karate.Results;
 import com.intuit.karate.Runner;
+import org.eclipse.rdf4j.model.IRI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.api.SharedFixtures;
+import org.solid.testharness.config.Bootstrap;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.config.TestSubject;
+import org.solid.testharness.http.ClientRegistry;
+import org.solid.testharness.http.RequestListeners;
 import org.solid.testharness.reporting.TestSuiteResults;
+import org.solid.testharness.utils.AdaptiveConcurrency;
+import org.solid.testharness.utils.EventStream;
+import org.solid.testharness.utils.FeatureDurations;
 import org.solid.testharness.utils.FeatureResultHandler;
+import org.solid.testharness.utils.FeatureWatchdog;
+import org.solid.testharness.utils.RequestTimings;
+import org.solid.testharness.utils.ResultCache;
+import org.solid.testharness.utils.RetryResultHandler;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class TestRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TestRunner.class);
+    static final String RETRY_REPORT_DIR = "karate-reports-retry";
+    static final String SUBJECT_REPORT_DIR = "karate-reports-subject";
+
     @Inject
     FeatureResultHandler featureResultHandler;
+    @Inject
+    FeatureDurations featureDurations;
+    @Inject
+    ResultCache resultCache;
+    @Inject
+    AdaptiveConcurrency adaptiveConcurrency;
+    @Inject
+    FeatureWatchdog featureWatchdog;
+    @Inject
+    EventStream eventStream;
+    @Inject
+    RequestTimings requestTimings;
+    @Inject
+    RetryResultHandler retryResultHandler;
+    @Inject
+    ClientRegistry clientRegistry;
+    @Inject
+    Config config;
 
     @SuppressWarnings("unchecked")
     // Unavoidable as Runner.builder().path() takes a list or vararg of Strings
     public TestSuiteResults runTests(final List<String> featurePaths, final int threads, final List<String> skip,
                                      final boolean enableReporting) {
-        final Runner.Builder builder = Runner.builder().path(featurePaths);
+        List<String> paths = featurePaths;
+        if (enableReporting && resultCache.isEnabled()) {
+            // features which passed before against the same server only need their results replaying
+            paths = resultCache.replay(featurePaths);
+            if (paths.isEmpty()) {
+                return TestSuiteResults.emptyResults();
+            }
+        }
+        // shared fixtures only live for the duration of a test run
+        final SharedFixtures sharedFixtures = SharedFixtures.open();
+        // start the slowest features first so they do not stretch the tail of a parallel run
+        final Runner.Builder builder = Runner.builder().path(featureDurations.order(paths))
+                .systemProperties(new HashMap<>(sharedFixtures.getRunProperties()));
+        if (skip != null) {
+            builder.tags(skip.stream().map(tag -> "~@" + tag).collect(Collectors.toList()));
+        }
+        final RunHooks hooks = new RunHooks(enableReporting, threads);
+        hooks.add(builder);
+        hooks.start(config.getTestSubject() != null ? List.of(config.getTestSubject()) : List.of(),
+                List.of(clientRegistry));
+        Results results = null;
+        try {
+            results = builder.parallel(threads);
+        } finally {
+            sharedFixtures.close();
+            hooks.stop(results != null ? List.of(results) : List.of());
+        }
+        featureDurations.record(results);
+        return hooks.toSuiteResults(results);
+    }
+
+    /**
+     * Run the tests of several test subjects at the same time. Each test subject gets its own Karate run, with its
+     * own shared fixtures and report directory, and the runs are told apart by the IRI of the test subject set in
+     * the {@link Bootstrap#SUBJECT_PROPERTY} system property. The hooks observing the runs are started once for all
+     * of them, so the adaptive concurrency limit applies to all the features running at once.
+     * @param featurePaths the features to run for each test subject, which must be registered with Bootstrap
+     * @param threads the number of threads for each test subject
+     * @return the results for each test subject, leaving out those whose run failed
+     */
+    @SuppressWarnings("unchecked") // Runner.builder() returns a raw type
+    public Map<TestSubject, TestSuiteResults> runTests(final Map<TestSubject, List<String>> featurePaths,
+                                                       final int threads) {
+        final Map<TestSubject, TestSuiteResults> suiteResults = new LinkedHashMap<>();
+        final Map<TestSubject, List<String>> remaining = new LinkedHashMap<>();
+        featurePaths.forEach((subject, paths) -> {
+            final List<String> toRun = resultCache.isEnabled() ? resultCache.replay(paths, subject) : paths;
+            if (toRun.isEmpty()) {
+                suiteResults.put(subject, TestSuiteResults.emptyResults());
+            } else {
+                remaining.put(subject, toRun);
+            }
+        });
+        if (remaining.isEmpty()) {
+            return suiteResults;
+        }
+        final RunHooks hooks = new RunHooks(true, threads);
+        final List<SharedFixtures> sharedFixtures = new ArrayList<>();
+        final Map<TestSubject, Runner.Builder> builders = new LinkedHashMap<>();
+        remaining.forEach((subject, paths) -> {
+            final SharedFixtures fixtures = SharedFixtures.open();
+            sharedFixtures.add(fixtures);
+            // each server has its own feature durations
+            final Runner.Builder builder = subjectBuilder(
+                    featureDurations.order(paths, subject.getSubject().stringValue()), subject, fixtures,
+                    SUBJECT_REPORT_DIR + "-" + (builders.size() + 1));
+            hooks.add(builder);
+            builders.put(subject, builder);
+        });
+        hooks.start(builders.keySet().stream().map(TestSubject::getSubject).collect(Collectors.toList()),
+                builders.keySet().stream().map(TestSubject::getClientRegistry).collect(Collectors.toList()));
+        final Map<TestSubject, Results> results = new LinkedHashMap<>();
+        try {
+            results.putAll(runConcurrently(builders, threads));
+        } finally {
+            sharedFixtures.forEach(SharedFixtures::close);
+            hooks.stop(results.values());
+        }
+        results.forEach((subject, result) -> {
+            featureDurations.record(result, subject.getSubject().stringValue());
+            suiteResults.put(subject, hooks.toSuiteResults(result));
+        });
+        return suiteResults;
+    }
+
+    /**
+     * Run failed scenarios again, adding each result as a further attempt of the scenario it repeats.
+     * @param scenarioPaths the scenarios to run, given as feature paths with a line number suffix
+     * @param threads the number of threads
+     * @param skip the tags of scenarios to skip
+     * @param deadline the time in milliseconds since the epoch after which no more scenarios are started
+     * @return the Karate results of the retry
+     */
+    @SuppressWarnings("unchecked") // Runner.builder() returns a raw type
+    public Results retryScenarios(final List<String> scenarioPaths, final int threads, final List<String> skip,
+                                  final long deadline) {
+        final SharedFixtures sharedFixtures = SharedFixtures.open();
+        // keep the Karate reports of the retries apart so they do not replace those of the full run
+        final Runner.Builder builder = Runner.builder().path(scenarioPaths)
+                .systemProperties(new HashMap<>(sharedFixtures.getRunProperties()))
+                .reportDir(FileUtils.getBuildDir() + File.separator + RETRY_REPORT_DIR)
+                .backupReportDir(false)
+                .outputHtmlReport(true)
+                .suiteReports(retryResultHandler)
+                .hook(retryResultHandler);
+        if (skip != null) {
+            builder.tags(skip.stream().map(tag -> "~@" + tag).collect(Collectors.toList()));
+        }
+        retryResultHandler.start(deadline);
+        try {
+            return builder.parallel(threads);
+        } finally {
+            sharedFixtures.close();
+        }
+    }
+
+    /**
+     * Run the failed scenarios of several test subjects again at the same time.
+     * @param scenarioPaths the scenarios to run for each test subject, which must be registered with Bootstrap
+     * @param threads the number of threads for each test subject
+     * @param deadline the time in milliseconds since the epoch after which no more scenarios are started
+     * @return the Karate results for each test subject, leaving out those whose retry failed
+     */
+    public Map<TestSubject, Results> retryScenarios(final Map<TestSubject, List<String>> scenarioPaths,
+                                                    final int threads, final long deadline) {
+        final List<SharedFixtures> sharedFixtures = new ArrayList<>();
+        final Map<TestSubject, Runner.Builder> builders = new LinkedHashMap<>();
+        scenarioPaths.forEach((subject, paths) -> {
+            final SharedFixtures fixtures = SharedFixtures.open();
+            sharedFixtures.add(fixtures);
+            builders.put(subject, subjectBuilder(paths, subject, fixtures,
+                    RETRY_REPORT_DIR + "-" + (builders.size() + 1))
+                    .suiteReports(retryResultHandler)
+                    .hook(retryResultHandler));
+        });
+        retryResultHandler.start(deadline);
+        try {
+            return runConcurrently(builders, threads);
+        } finally {
+            sharedFixtures.forEach(SharedFixtures::close);
+        }
+    }
+
+    @SuppressWarnings("unchecked") // Runner.builder() returns a raw type
+    private Runner.Builder subjectBuilder(final List<String> paths, final TestSubject subject,
+                                          final SharedFixtures sharedFixtures, final String reportDir) {
+        final Map<String, String> properties = new HashMap<>(sharedFixtures.getRunProperties());
+        properties.put(Bootstrap.SUBJECT_PROPERTY, subject.getSubject().stringValue());
+        // each run needs its own report directory as Karate clears it when the run starts
+        final Runner.Builder builder = Runner.builder().path(paths)
+                .systemProperties(properties)
+                .reportDir(FileUtils.getBuildDir() + File.separator + reportDir)
+                .backupReportDir(false)
+                .outputHtmlReport(true);
+        final List<String> skip = subject.getTargetServer().getSkipTags();
         if (skip != null) {
             builder.tags(skip.stream().map(tag -> "~@" + tag).collect(Collectors.toList()));
         }
-        if (enableReporting) {
-            builder.outputHtmlReport(true).suiteReports(featureResultHandler);
+        return builder;
+    }
+
+    private Map<TestSubject, Results> runConcurrently(final Map<TestSubject, Runner.Builder> builders,
+                                                      final int threads) {
+        final ExecutorService executor = Executors.newFixedThreadPool(builders.size());
+        final Map<TestSubject, Future<Results>> futures = new LinkedHashMap<>();
+        builders.forEach((subject, builder) -> futures.put(subject, executor.submit(() -> builder.parallel(threads))));
+        final Map<TestSubject, Results> results = new LinkedHashMap<>();
+        try {
+            for (final Map.Entry<TestSubject, Future<Results>> entry : futures.entrySet()) {
+                try {
+                    results.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    // the other test subjects still get their results
+                    logger.error("Failed to run the tests for {}", entry.getKey().getSubject(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * The hooks observing a test run, which may be made up of the Karate runs of several test subjects.
+     */
+    private final class RunHooks {
+        private final boolean enableReporting;
+        private final int threads;
+        private final boolean adaptive;
+        private final boolean watched;
+        private final boolean streaming;
+        // the harness clients used by this run report their requests to the components observing it
+        private final RequestListeners requestListeners = new RequestListeners();
+        private List<ClientRegistry> registries = List.of();
+
+        RunHooks(final boolean enableReporting, final int threads) {
+            this.enableReporting = enableReporting;
+            this.threads = threads;
+            // with adaptive concurrency the threads are an upper limit and features are held back to suit the server
+            adaptive = config.isAdaptiveConcurrency() && threads > 1;
+            // stop features which hang so they do not hold up the rest of the run, aborting their Karate HTTP calls
+            watched = featureWatchdog.isEnabled();
+            // report each scenario and feature as it completes
+            streaming = eventStream.isEnabled();
+        }
+
+        void add(final Runner.Builder builder) {
+            if (enableReporting) {
+                // profile the server's response times for the report
+                builder.outputHtmlReport(true).suiteReports(featureResultHandler).hook(requestTimings);
+            }
+            if (adaptive) {
+                builder.hook(adaptiveConcurrency);
+            }
+            if (watched) {
+                builder.hook(featureWatchdog).clientFactory(featureWatchdog);
+            }
+            if (streaming) {
+                builder.hook(eventStream);
+            }
+        }
+
+        void start(final List<IRI> subjects, final List<ClientRegistry> clientRegistries) {
+            if (enableReporting) {
+                requestTimings.start();
+                requestListeners.add(requestTimings);
+            }
+            if (adaptive) {
+                adaptiveConcurrency.start(threads);
+                requestListeners.add(adaptiveConcurrency);
+            }
+            if (watched) {
+                featureWatchdog.start();
+                requestListeners.add(featureWatchdog);
+            }
+            if (streaming) {
+                eventStream.start(subjects);
+                requestListeners.add(eventStream);
+            }
+            if (!requestListeners.isEmpty()) {
+                registries = clientRegistries;
+                registries.forEach(registry -> registry.setRequestListener(requestListeners));
+            }
+        }
+
+        void stop(final Collection<Results> results) {
+            registries.forEach(registry -> registry.setRequestListener(null));
+            if (watched) {
+                featureWatchdog.stop();
+            }
+            if (adaptive) {
+                adaptiveConcurrency.stop();
+            }
+            if (streaming) {
+                eventStream.stop(results.isEmpty() ? null : Map.of(
+                        "featuresPassed", results.stream().mapToInt(Results::getFeaturesPassed).sum(),
+                        "featuresFailed", results.stream().mapToInt(Results::getFeaturesFailed).sum(),
+                        "scenariosPassed", results.stream().mapToInt(Results::getScenariosPassed).sum(),
+                        "scenariosFailed", results.stream().mapToInt(Results::getScenariosFailed).sum(),
+                        "durationMillis", Math.round(results.stream()
+                                .mapToDouble(Results::getTimeTakenMillis).max().orElse(0))
+                ));
+            }
+        }
+
+        TestSuiteResults toSuiteResults(final Results results) {
+            final TestSuiteResults suiteResults = new TestSuiteResults(results);
+            if (adaptive) {
+                suiteResults.setConcurrencyHistory(adaptiveConcurrency.getHistory());
+            }
+            return suiteResults;
         }
-        final Results results = builder.parallel(threads);
-        return new TestSuiteResults(results);
     }
 }
@@ -36,6 +36,18 @@ public class AccessControlFactory {
     @Inject
     TestSubject testSubject;
 
+    public AccessControlFactory() {
+        // used by CDI
+    }
+
+    /**
+     * Create a factory for one of several test subjects tested at the same time.
+     * @param testSubject the test subject whose access control mode is used
+     */
+    public AccessControlFactory(final TestSubject testSubject) {
+        this.testSubject = testSubject;
+    }
+
     public <T extends AccessDataset> AccessDatasetBuilder<T> getAccessDatasetBuilder(final String uri) {
         if (TestSubject.AccessControlMode.WAC.equals(testSubject.getAccessControlMode())) {
             return (AccessDatasetBuilder<T>) new AccessDatasetWacBuilder().setBaseUri(uri);
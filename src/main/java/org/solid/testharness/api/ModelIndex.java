@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.api;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Subject, predicate and object indexes over a model which does not change, so that repeated pattern queries are
+ * answered with map lookups. The results of each query are cached as unmodifiable lists of strings.
+ */
+final class ModelIndex {
+    private static final String SUBJECTS = "s";
+    private static final String PREDICATES = "p";
+    private static final String OBJECTS = "o";
+
+    private final Map<Resource, Map<IRI, Set<Value>>> spo = new LinkedHashMap<>();
+    private final Map<IRI, Map<Value, Set<Resource>>> pos = new LinkedHashMap<>();
+    private final Map<Value, Map<Resource, Set<IRI>>> osp = new LinkedHashMap<>();
+    private final Map<List<Object>, List<String>> results = new ConcurrentHashMap<>();
+
+    ModelIndex(final Model model) {
+        for (Statement st : model) {
+            add(spo, st.getSubject(), st.getPredicate(), st.getObject());
+            add(pos, st.getPredicate(), st.getObject(), st.getSubject());
+            add(osp, st.getObject(), st.getSubject(), st.getPredicate());
+        }
+    }
+
+    List<String> subjects(final IRI predicate, final Value object) {
+        return cached(SUBJECTS, predicate, object, () -> {
+            if (predicate != null) {
+                return select(pos.get(predicate), object);
+            } else if (object != null) {
+                return keys(osp.get(object));
+            }
+            return spo.keySet();
+        });
+    }
+
+    List<String> predicates(final Resource subject, final Value object) {
+        return cached(PREDICATES, subject, object, () -> {
+            if (object != null) {
+                return select(osp.get(object), subject);
+            } else if (subject != null) {
+                return keys(spo.get(subject));
+            }
+            return pos.keySet();
+        });
+    }
+
+    List<String> objects(final Resource subject, final IRI predicate) {
+        return cached(OBJECTS, subject, predicate, () -> {
+            if (subject != null) {
+                return select(spo.get(subject), predicate);
+            } else if (predicate != null) {
+                return keys(pos.get(predicate));
+            }
+            return osp.keySet();
+        });
+    }
+
+    boolean contains(final Resource subject, final IRI predicate, final Value object) {
+        if (subject != null) {
+            final Map<IRI, Set<Value>> predicates = spo.getOrDefault(subject, Collections.emptyMap());
+            if (predicate != null) {
+                final Set<Value> objects = predicates.getOrDefault(predicate, Collections.emptySet());
+                return object != null ? objects.contains(object) : !objects.isEmpty();
+            }
+            return object != null
+                    ? osp.getOrDefault(object, Collections.emptyMap()).containsKey(subject)
+                    : !predicates.isEmpty();
+        } else if (predicate != null) {
+            final Map<Value, Set<Resource>> objects = pos.getOrDefault(predicate, Collections.emptyMap());
+            return object != null ? objects.containsKey(object) : !objects.isEmpty();
+        }
+        return object != null ? osp.containsKey(object) : !spo.isEmpty();
+    }
+
+    private List<String> cached(final String query, final Value first, final Value second,
+                                final Supplier<Collection<? extends Value>> lookup) {
+        return results.computeIfAbsent(Arrays.asList(query, first, second),
+                key -> lookup.get().stream().map(Value::stringValue).toList());
+    }
+
+    // values of the second level for a given key, or for all keys if the key is null
+    private static <K, V> Collection<V> select(final Map<K, Set<V>> index, final K key) {
+        if (index == null) {
+            return Collections.emptySet();
+        }
+        if (key != null) {
+            return index.getOrDefault(key, Collections.emptySet());
+        }
+        final Set<V> values = new LinkedHashSet<>();
+        index.values().forEach(values::addAll);
+        return values;
+    }
+
+    // second-level keys are the values found under a given first-level key
+    private static <K, V> Collection<K> keys(final Map<K, Set<V>> index) {
+        return index != null ? index.keySet() : Collections.emptySet();
+    }
+
+    private static <A, B, C> void add(final Map<A, Map<B, Set<C>>> index, final A first, final B second,
+                                      final C third) {
+        index.computeIfAbsent(first, k -> new LinkedHashMap<>())
+                .computeIfAbsent(second, k -> new LinkedHashSet<>())
+                .add(third);
+    }
+}
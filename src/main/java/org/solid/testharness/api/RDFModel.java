@@ -34,9 +34,12 @@ import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.RDFWriter;
 import org.eclipse.rdf4j.rio.Rio;
 import org.solid.testharness.http.HttpConstants;
-import org.solid.testharness.utils.GraalRdfaParser;
+import org.solid.testharness.utils.ParsedModelCache;
+import org.solid.testharness.utils.RdfaParser;
+import org.solid.testharness.utils.RdfaParserProvider;
 
 import jakarta.enterprise.inject.spi.CDI;
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.math.BigDecimal;
@@ -44,8 +47,6 @@ import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Utility methods for testing RDF responses.
@@ -53,6 +54,7 @@ import java.util.stream.Collectors;
 public final class RDFModel {
     private final Model model;
     private final Logger logger;
+    private ModelIndex index;
     private static final Map<String, RDFFormat> CONTENT_TYPES = Map.of(
             HttpConstants.MEDIA_TYPE_TEXT_TURTLE, RDFFormat.TURTLE,
             HttpConstants.MEDIA_TYPE_APPLICATION_JSON_LD, RDFFormat.JSONLD,
@@ -78,21 +80,28 @@ public final class RDFModel {
                 throw new IllegalArgumentException("contentType '" + contentType + "' is not supported");
             }
             final RDFFormat format = CONTENT_TYPES.get(contentType);
-            if (format.equals(RDFFormat.RDFA)) {
-                // Use GraalJS-based RDFa parser (replaces deprecated semargl)
-                final GraalRdfaParser parser = CDI.current().select(GraalRdfaParser.class).get();
-                return new RDFModel(parser.parse(data, baseUri, contentType));
-            } else {
-                return new RDFModel(Rio.parse(new StringReader(data), baseUri, format));
-            }
+            final ParsedModelCache cache = CDI.current().select(ParsedModelCache.class).get();
+            return new RDFModel(cache.get(data, contentType, baseUri,
+                    () -> parseModel(data, contentType, baseUri, format)));
         } catch (Exception e) {
             throw new TestHarnessApiException("Failed to parse data", e);
         }
     }
 
+    private static Model parseModel(final String data, final String contentType, final String baseUri,
+                                    final RDFFormat format) throws IOException {
+        if (format.equals(RDFFormat.RDFA)) {
+            // Use the configured RDFa parser engine (replaces deprecated semargl)
+            final RdfaParser parser = CDI.current().select(RdfaParserProvider.class).get().getParser();
+            return parser.parse(data, baseUri, contentType);
+        } else {
+            return Rio.parse(new StringReader(data), baseUri, format);
+        }
+    }
+
     /**
      * Returns true if the subset model passed in is a subset of the model in this instance. If it is not a subset
-     * the method logs information highlighting the differences.
+     * and debug logging is enabled the method logs information highlighting the differences.
      * @param subset the model to compare to this one
      * @return <code>true</code> if it is a subset
      */
@@ -101,22 +110,12 @@ public final class RDFModel {
             if (subset == null || subset.model.isEmpty()) {
                 throw new IllegalArgumentException("The subset model must exist and have at least one statement");
             }
-            if (Models.isSubset(subset.model, model)) {
+            if (isSubset(subset.model, model)) {
                 return true;
             } else {
-                final StringBuilder sb = new StringBuilder();
-                final int sizeDiff = subset.model.size() - model.size();
-                if (sizeDiff > 0) {
-                    sb.append("This model has ").append(sizeDiff).append(" fewer statements than the other.\n");
+                if (logger != null && logger.isDebugEnabled()) {
+                    log(describeDifference(subset.model, model));
                 }
-                sb.append("The statements missing from this model are:\n");
-                final StringWriter sw = new StringWriter();
-                final RDFWriter writer = Rio.createWriter(RDFFormat.NTRIPLES, sw);
-                writer.startRDF();
-                RepositoryUtil.difference(subset.model, model).forEach(writer::handleStatement);
-                writer.endRDF();
-                sb.append(sw);
-                log(sb.toString());
                 return false;
             }
         } catch (Exception e) {
@@ -124,6 +123,51 @@ public final class RDFModel {
         }
     }
 
+    /**
+     * Ground graphs are compared by looking up each statement in the other model's statement index. The isomorphism
+     * algorithm is only needed when blank nodes are present.
+     */
+    static boolean isSubset(final Model subset, final Model model) {
+        if (hasBlankNodes(subset) || hasBlankNodes(model)) {
+            return Models.isSubset(subset, model);
+        }
+        if (subset.size() > model.size()) {
+            return false;
+        }
+        for (Statement st : subset) {
+            if (!model.contains(st)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasBlankNodes(final Model model) {
+        for (Statement st : model) {
+            if (st.getSubject().isBNode() || st.getObject().isBNode()
+                    || st.getContext() != null && st.getContext().isBNode()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String describeDifference(final Model subset, final Model model) {
+        final StringBuilder sb = new StringBuilder();
+        final int sizeDiff = subset.size() - model.size();
+        if (sizeDiff > 0) {
+            sb.append("This model has ").append(sizeDiff).append(" fewer statements than the other.\n");
+        }
+        sb.append("The statements missing from this model are:\n");
+        final StringWriter sw = new StringWriter();
+        final RDFWriter writer = Rio.createWriter(RDFFormat.NTRIPLES, sw);
+        writer.startRDF();
+        RepositoryUtil.difference(subset, model).forEach(writer::handleStatement);
+        writer.endRDF();
+        sb.append(sw);
+        return sb.toString();
+    }
+
     /**
      * Returns a list of URIs representing the members of a container.
      * @return the list of member urls
@@ -136,12 +180,11 @@ public final class RDFModel {
      * Returns a list of subjects matching the predicate and object.
      * @param predicate the iri of the predicate or null
      * @param object the object value (iri/literal) or null
-     * @return the list of subjects as strings
+     * @return the unmodifiable list of subjects as strings
      */
     public List<String> subjects(final IRI predicate, final Value object) {
         try {
-            final Set<Resource> subjects = model.filter(null, predicate, object).subjects();
-            return subjects.stream().map(Resource::stringValue).collect(Collectors.toList());
+            return getIndex().subjects(predicate, object);
         } catch (Exception e) {
             throw new TestHarnessApiException("Failed to get list of subjects", e);
         }
@@ -151,12 +194,11 @@ public final class RDFModel {
      * Returns a list of predicates matching the subject and object.
      * @param subject the iri of the subject or null
      * @param object the object value (iri/literal) or null
-     * @return the list of predicates as strings
+     * @return the unmodifiable list of predicates as strings
      */
     public List<String> predicates(final IRI subject, final Value object) {
         try {
-            final Set<IRI> predicates = model.filter(subject, null, object).predicates();
-            return predicates.stream().map(IRI::stringValue).collect(Collectors.toList());
+            return getIndex().predicates(subject, object);
         } catch (Exception e) {
             throw new TestHarnessApiException("Failed to get list of predicates", e);
         }
@@ -166,12 +208,11 @@ public final class RDFModel {
      * Returns a list of objects matching the subject and predicate.
      * @param subject the iri of the subject
      * @param predicate the iri of the predicate
-     * @return the list of objects as strings
+     * @return the unmodifiable list of objects as strings
      */
     public List<String> objects(final IRI subject, final IRI predicate) {
         try {
-            final Set<Value> objects = model.filter(subject, predicate, null).objects();
-            return objects.stream().map(Value::stringValue).collect(Collectors.toList());
+            return getIndex().objects(subject, predicate);
         } catch (Exception e) {
             throw new TestHarnessApiException("Failed to get list of objects", e);
         }
@@ -186,7 +227,7 @@ public final class RDFModel {
      */
     public boolean contains(final IRI subject, final IRI predicate, final Value object) {
         try {
-            return model.contains(subject, predicate, object);
+            return getIndex().contains(subject, predicate, object);
         } catch (Exception e) {
             throw new TestHarnessApiException("Failed testing if model contains the statement", e);
         }
@@ -296,6 +337,14 @@ public final class RDFModel {
         }
     }
 
+    // the model does not change so the index is built on the first query and reused
+    private synchronized ModelIndex getIndex() {
+        if (index == null) {
+            index = new ModelIndex(model);
+        }
+        return index;
+    }
+
     private void log(final String msg) {
         if (logger != null) {
             logger.debug(msg);
@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.api;
+
+import org.graalvm.polyglot.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * This class lets tests written in Karate share the results of expensive setup, such as discovering server endpoints
+ * or creating standard fixtures, across all the features in a test run. Results are keyed by a name and the arguments
+ * used to produce them. When several features ask for the same key at once, the setup runs once and the others wait
+ * for its result. Failures are not kept so the next caller tries again.
+ *
+ * <p>Each test run opens its own set of fixtures, which the features of the run find using the id passed to Karate in
+ * the <code>testharness.run</code> property, and closes it at the end so that runs in the same process do not see or
+ * discard each other's results. Results can also expire when their time-to-live is reached.</p>
+ *
+ * <p>Every feature runs its own JavaScript context so, like the result of <code>karate.callSingle()</code>, a result
+ * is converted to plain Java data when it is stored and each caller is given its own copy of it. Results can contain
+ * JSON-like data and Java objects but not JavaScript functions.</p>
+ */
+public final class SharedFixtures {
+    private static final Logger logger = LoggerFactory.getLogger(SharedFixtures.class);
+
+    public static final String RUN_PROPERTY = "testharness.run";
+
+    private static final Map<String, SharedFixtures> RUNS = new ConcurrentHashMap<>();
+
+    private final String id;
+    private final Map<List<Object>, Fixture> fixtures = new ConcurrentHashMap<>();
+
+    /**
+     * Open the shared fixtures of a test run.
+     * @return the fixtures, which must be closed at the end of the run
+     */
+    public static SharedFixtures open() {
+        final var sharedFixtures = new SharedFixtures(UUID.randomUUID().toString());
+        RUNS.put(sharedFixtures.id, sharedFixtures);
+        return sharedFixtures;
+    }
+
+    /**
+     * Find the shared fixtures of a test run.
+     * @param id the id of the run
+     * @return the fixtures or null if the run is not known, for example when features are run directly by Karate
+     */
+    public static SharedFixtures forRun(final String id) {
+        return id != null ? RUNS.get(id) : null;
+    }
+
+    /**
+     * Get the id which features use to find these fixtures.
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Get the system properties which pass the id of these fixtures to the features of a Karate run.
+     * @return the properties
+     */
+    public Map<String, String> getRunProperties() {
+        return Map.of(RUN_PROPERTY, id);
+    }
+
+    /**
+     * Get a shared result, running the setup function if there is no current result for the name and arguments.
+     * @param name the name of the fixture
+     * @param args the arguments passed to the setup function, also used to distinguish results
+     * @param ttl the number of seconds the result may be reused for, 0 or less to keep it for the whole run
+     * @param setup the function producing the result
+     * @return a copy of the result
+     */
+    public Object get(final String name, final Object args, final long ttl, final Function<Object, Object> setup) {
+        return get(name, args, ttl > 0 ? TimeUnit.SECONDS.toNanos(ttl) : 0, setup, System.nanoTime());
+    }
+
+    Object get(final String name, final Object args, final long ttlNanos, final Function<Object, Object> setup,
+               final long now) {
+        if (name == null || setup == null) {
+            throw new TestHarnessApiException("A shared fixture needs a name and a setup function");
+        }
+        final Object sharedArgs = toJava(args);
+        final List<Object> key = Arrays.asList(name, sharedArgs);
+        final var created = new Fixture();
+        final var fixture = fixtures.compute(key, (k, current) ->
+                current != null && !current.isExpired(now) ? current : created);
+        if (fixture == created) {
+            logger.debug("Setting up shared fixture {} {}", name, sharedArgs);
+            try {
+                // convert the result before it is visible to other callers, while its context is still usable
+                final Object result = toJava(setup.apply(copy(sharedArgs)));
+                fixture.expiry = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0;
+                fixture.result.complete(result);
+            } catch (RuntimeException e) {
+                fixtures.remove(key, fixture);
+                fixture.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return copy(fixture.result.get());
+        } catch (ExecutionException e) {
+            throw new TestHarnessApiException("Shared fixture setup failed: " + name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestHarnessApiException("Interrupted waiting for shared fixture: " + name, e);
+        }
+    }
+
+    /**
+     * Discard the shared results at the end of the test run.
+     */
+    public void close() {
+        RUNS.remove(id, this);
+        fixtures.clear();
+    }
+
+    int size() {
+        return fixtures.size();
+    }
+
+    /**
+     * Convert a value, which may be a JavaScript value or a Java view of one, to plain Java data.
+     * @param value the value
+     * @return the value as Java maps, lists, primitive wrappers and Java objects
+     */
+    static Object toJava(final Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character) {
+            return value;
+        }
+        final Value polyglot = value instanceof Value ? (Value) value : Value.asValue(value);
+        if (polyglot.isHostObject()) {
+            final Object object = polyglot.asHostObject();
+            if (object instanceof Map) {
+                final Map<Object, Object> map = new LinkedHashMap<>();
+                ((Map<?, ?>) object).forEach((k, v) -> map.put(toJava(k), toJava(v)));
+                return map;
+            } else if (object instanceof List) {
+                final List<Object> list = new ArrayList<>();
+                ((List<?>) object).forEach(v -> list.add(toJava(v)));
+                return list;
+            }
+            return object;
+        }
+        if (polyglot.isNull()) {
+            return null;
+        } else if (polyglot.isString()) {
+            return polyglot.asString();
+        } else if (polyglot.isBoolean()) {
+            return polyglot.asBoolean();
+        } else if (polyglot.isNumber()) {
+            if (polyglot.fitsInInt()) {
+                return polyglot.asInt();
+            }
+            return polyglot.fitsInLong() ? (Object) polyglot.asLong() : (Object) polyglot.asDouble();
+        } else if (polyglot.hasArrayElements()) {
+            final List<Object> list = new ArrayList<>();
+            for (long i = 0; i < polyglot.getArraySize(); i++) {
+                list.add(toJava(polyglot.getArrayElement(i)));
+            }
+            return list;
+        } else if (polyglot.hasMembers() && !polyglot.canExecute()) {
+            final Map<Object, Object> map = new LinkedHashMap<>();
+            for (String member: polyglot.getMemberKeys()) {
+                map.put(member, toJava(polyglot.getMember(member)));
+            }
+            return map;
+        }
+        throw new TestHarnessApiException("A shared fixture can only hold data and Java objects, not " + polyglot);
+    }
+
+    // each caller gets its own maps and lists so that changing them does not affect other features
+    private static Object copy(final Object value) {
+        if (value instanceof Map) {
+            final Map<Object, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> map.put(k, copy(v)));
+            return map;
+        } else if (value instanceof List) {
+            final List<Object> list = new ArrayList<>();
+            ((List<?>) value).forEach(v -> list.add(copy(v)));
+            return list;
+        }
+        return value;
+    }
+
+    private SharedFixtures(final String id) {
+        this.id = id;
+    }
+
+    private static final class Fixture {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long expiry;
+
+        private boolean isExpired(final long now) {
+            return result.isDone() && expiry != 0 && now - expiry > 0;
+        }
+    }
+}
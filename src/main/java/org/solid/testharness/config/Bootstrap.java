@@ -23,6 +23,7 @@
  */
 package org.solid.testharness.config;
 
+import com.intuit.karate.Suite;
 import io.quarkus.runtime.Application;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,13 +31,21 @@ import org.solid.testharness.ConformanceTestHarness;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 
 import jakarta.enterprise.inject.spi.CDI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This provides the TestSubject into Karate features by accessing the CDI container.
+ *
+ * <p>When several test subjects are tested at the same time each Karate run is given the IRI of its test subject in
+ * the {@link #SUBJECT_PROPERTY} system property, and the features look up the context of that subject here.</p>
  */
 public final class Bootstrap {
     private static final Logger logger = LoggerFactory.getLogger(Bootstrap.class);
 
+    public static final String SUBJECT_PROPERTY = "testharness.subject";
+    private static final Map<String, TestSubject> SUBJECTS = new ConcurrentHashMap<>();
+
     private static Bootstrap instance;
     public static Bootstrap getInstance() {
         synchronized (Bootstrap.class) {
@@ -67,6 +76,16 @@ public final class Bootstrap {
         return CDI.current().select(TestSubject.class).get();
     }
 
+    /**
+     * Return the context of a test subject being tested alongside others.
+     * @param subject the IRI of the test subject or null
+     * @return the registered test subject or the default one if it is not registered
+     */
+    public TestSubject getTestSubject(final String subject) {
+        final TestSubject testSubject = findTestSubject(subject);
+        return testSubject != null ? testSubject : getTestSubject();
+    }
+
     public ConformanceTestHarness getTestHarness() {
         return CDI.current().select(ConformanceTestHarness.class).get();
     }
@@ -74,4 +93,43 @@ public final class Bootstrap {
     public Config getConfig() {
         return CDI.current().select(Config.class).get();
     }
+
+    /**
+     * Register the context of a test subject for the Karate runs testing it.
+     * @param testSubject the test subject
+     */
+    public static void register(final TestSubject testSubject) {
+        SUBJECTS.put(testSubject.getSubject().stringValue(), testSubject);
+    }
+
+    public static void unregister(final TestSubject testSubject) {
+        SUBJECTS.remove(testSubject.getSubject().stringValue());
+    }
+
+    /**
+     * Find a registered test subject.
+     * @param subject the IRI of the test subject or null
+     * @return the test subject or null if it is not registered
+     */
+    public static TestSubject findTestSubject(final String subject) {
+        return subject != null ? SUBJECTS.get(subject) : null;
+    }
+
+    /**
+     * Find the registered test subject that a Karate suite is testing.
+     * @param suite the suite
+     * @return the test subject or null if the suite does not test a registered subject
+     */
+    public static TestSubject findTestSubject(final Suite suite) {
+        return findTestSubject(getSubject(suite));
+    }
+
+    /**
+     * Return the test subject that a Karate suite was started for when several are tested at the same time.
+     * @param suite the suite
+     * @return the IRI of the test subject or null
+     */
+    public static String getSubject(final Suite suite) {
+        return suite != null && suite.systemProperties != null ? suite.systemProperties.get(SUBJECT_PROPERTY) : null;
+    }
 }
@@ -24,6 +24,7 @@
 package org.solid.testharness.config;
 
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.rdf4j.model.IRI;
 import org.hashids.Hashids;
@@ -58,6 +59,10 @@ public class Config {
     private List<URL> testSources;
     private File tolerableFailuresFile;
     private File outputDir;
+    private int shardIndex = 1;
+    private int shardCount = 1;
+    private File rerunReport;
+    private boolean resultCacheDisabled;
     private Map<String, String> webIds;
     private Hashids hashids;
     private final AtomicLong resourceCount = new AtomicLong();
@@ -92,8 +97,36 @@ public class Config {
     Integer readTimeout;
     @ConfigProperty(name = "maxThreads", defaultValue = "8")
     Integer maxThreads;
+    @ConfigProperty(name = "adaptiveConcurrency", defaultValue = "false")
+    Boolean adaptiveConcurrency;
+    @ConfigProperty(name = "minThreads", defaultValue = "1")
+    Integer minThreads;
+    @ConfigProperty(name = "featureTimeout", defaultValue = "0")
+    Integer featureTimeout;
+    @ConfigProperty(name = "scenarioTimeout", defaultValue = "0")
+    Integer scenarioTimeout;
+    @ConfigProperty(name = "retries", defaultValue = "0")
+    Integer retries;
+    @ConfigProperty(name = "retryBudget", defaultValue = "0")
+    Integer retryBudget;
+    @ConfigProperty(name = "loadRate", defaultValue = "0")
+    Double loadRate;
     @ConfigProperty(name = "origin", defaultValue = "https://tester")
     String origin;
+    @ConfigProperty(name = "parseCacheSize", defaultValue = "0")
+    Long parseCacheSize;
+    @ConfigProperty(name = "rdfaParser", defaultValue = "graal")
+    String rdfaParser;
+    @ConfigProperty(name = "rdfaParserPoolSize")
+    Optional<Integer> rdfaParserPoolSize;
+    @ConfigProperty(name = "rdfaParserEngineCache")
+    Optional<String> rdfaParserEngineCache;
+    @ConfigProperty(name = "resultCache")
+    Optional<String> resultCache;
+    @ConfigProperty(name = "serverVersion")
+    Optional<String> serverVersion;
+    @ConfigProperty(name = "events")
+    Optional<String> events;
 
     // properties normally found in environment variables or the .env file
     @ConfigProperty(name = "SOLID_IDENTITY_PROVIDER")
@@ -186,6 +219,45 @@ public class Config {
         this.outputDir = outputDir;
     }
 
+    /**
+     * Restrict the test run to one shard of the test features.
+     * @param index the 1-based index of this shard
+     * @param count the total number of shards
+     */
+    public void setShard(final int index, final int count) {
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException(MessageFormat.format(
+                    "Invalid shard {0}/{1}: expected N/M where 1 <= N <= M", index, count));
+        }
+        this.shardIndex = index;
+        this.shardCount = count;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public File getRerunReport() {
+        return rerunReport;
+    }
+
+    /**
+     * Set the previous report whose failed test cases should be run again.
+     * @param path the report file or the output directory containing it
+     */
+    public void setRerunReport(final String path) {
+        final File file = !StringUtils.isBlank(path) ? new File(path) : null;
+        if (file == null || !file.exists()) {
+            throw new TestHarnessInitializationException(
+                    MessageFormat.format("Invalid file provided for {0}: [{1}]", "rerun", path));
+        }
+        this.rerunReport = file;
+    }
+
     public URI getSolidIdentityProvider() {
         if (solidIdentityProvider.isPresent() && !HttpUtils.isHttpProtocol(solidIdentityProvider.orElse(null))) {
             throw new TestHarnessInitializationException(MessageFormat.format(
@@ -221,6 +293,15 @@ public class Config {
         }
     }
 
+    /**
+     * Return the settings of one of several test subjects tested at the same time.
+     * @param subject the test subject
+     * @return the settings, or null if the test subject does not have its own settings
+     */
+    public SubjectConfig getSubjectConfig(final IRI subject) {
+        return SubjectConfig.load(ConfigProvider.getConfig(), subject.getLocalName());
+    }
+
     // used to provide the test features with the web IDs
     public Map<String, String> getWebIds() {
         if (webIds == null) {
@@ -248,6 +329,101 @@ public class Config {
         return maxThreads;
     }
 
+    public boolean isAdaptiveConcurrency() {
+        return Boolean.TRUE.equals(adaptiveConcurrency);
+    }
+
+    /**
+     * The lower limit on the number of requests allowed in flight when adaptive concurrency is used.
+     * @return the limit, at least 1 and no more than maxThreads
+     */
+    public int getMinThreads() {
+        return Math.min(Math.max(minThreads, 1), Math.max(getMaxThreads(), 1));
+    }
+
+    /**
+     * The wall-clock time allowed for each feature before the watchdog stops it.
+     * @return the time limit in seconds, 0 if there is no limit
+     */
+    public int getFeatureTimeout() {
+        return Math.max(featureTimeout, 0);
+    }
+
+    /**
+     * The wall-clock time allowed for each scenario before the watchdog stops it.
+     * @return the time limit in seconds, 0 if there is no limit
+     */
+    public int getScenarioTimeout() {
+        return Math.max(scenarioTimeout, 0);
+    }
+
+    /**
+     * The number of times failed scenarios are run again before they are reported as failed.
+     * @return the number of retries, 0 if failed scenarios are not retried
+     */
+    public int getRetries() {
+        return Math.max(retries, 0);
+    }
+
+    /**
+     * The wall-clock time allowed for retrying failed scenarios.
+     * @return the time limit in seconds, 0 if there is no limit
+     */
+    public int getRetryBudget() {
+        return Math.max(retryBudget, 0);
+    }
+
+    /**
+     * The rate at which load iterations are started.
+     * @return the iterations per second, 0 if the iterations run back to back on maxThreads workers
+     */
+    public double getLoadRate() {
+        return loadRate != null && loadRate > 0 ? loadRate : 0;
+    }
+
+    public long getParseCacheSize() {
+        return Math.max(parseCacheSize, 0);
+    }
+
+    public String getRdfaParser() {
+        return rdfaParser.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Integer getRdfaParserPoolSize() {
+        return rdfaParserPoolSize.filter(size -> size > 0).orElse(getMaxThreads());
+    }
+
+    public File getRdfaParserEngineCache() {
+        return rdfaParserEngineCache.filter(path -> !StringUtils.isBlank(path))
+                .map(path -> Path.of(path).toAbsolutePath().normalize().toFile())
+                .orElse(null);
+    }
+
+    public File getResultCache() {
+        if (resultCacheDisabled) {
+            return null;
+        }
+        return resultCache.filter(path -> !StringUtils.isBlank(path))
+                .map(path -> Path.of(path).toAbsolutePath().normalize().toFile())
+                .orElse(null);
+    }
+
+    public void setResultCacheDisabled(final boolean resultCacheDisabled) {
+        this.resultCacheDisabled = resultCacheDisabled;
+    }
+
+    public String getServerVersion() {
+        return serverVersion.filter(version -> !StringUtils.isBlank(version)).map(String::strip).orElse(null);
+    }
+
+    /**
+     * Where to write the stream of result events.
+     * @return a file path, <code>-</code> for standard output or null if no events are written
+     */
+    public String getEvents() {
+        return events.filter(path -> !StringUtils.isBlank(path)).map(String::strip).orElse(null);
+    }
+
     public String getOrigin() {
         return origin;
     }
@@ -265,12 +441,22 @@ public class Config {
             logger.info("Sources:            {}", getTestSources());
             logger.info("Path mappings:      {}", pathMappings.stringValue());
             logger.info("Output directory:   {}", getOutputDirectory());
+            logger.info("RDFa parser:        {}", getRdfaParser());
             if (mode == RunMode.TEST) {
                 logger.info("Subjects URL:       {}", getSubjectsUrl());
                 logger.info("Target server:      {}", getTestSubject());
                 logger.info("Connect timeout:    {}", getConnectTimeout());
                 logger.info("Read timeout:       {}", getReadTimeout());
                 logger.info("Max threads:        {}", getMaxThreads());
+                logger.info("Adaptive threads:   {} (min {})", isAdaptiveConcurrency(), getMinThreads());
+                logger.info("Feature timeout:    {}", getFeatureTimeout());
+                logger.info("Scenario timeout:   {}", getScenarioTimeout());
+                logger.info("Retries:            {}", getRetries());
+                logger.info("Retry budget:       {}", getRetryBudget());
+                logger.info("Load rate:          {}", getLoadRate());
+                logger.info("Shard:              {}/{}", getShardIndex(), getShardCount());
+                logger.info("RDFa parser pool:   {}", getRdfaParserPoolSize());
+                logger.info("Parse cache size:   {}", getParseCacheSize());
                 logger.info("Alice WebID:        {}", users.alice().webId());
                 logger.info("Alice IDP:          {}", users.alice().getIdp());
                 logger.info("Bob WebID:          {}", users.bob().webId());
@@ -279,6 +465,10 @@ public class Config {
                 logger.info("Server root:        {}", getServerRoot());
                 logger.info("Test container:     {}", getTestContainer());
                 logger.info("Tolerable failures: {}", getTolerableFailuresFile());
+                logger.info("Rerun report:       {}", getRerunReport());
+                logger.info("Result cache:       {}", getResultCache());
+                logger.info("Server version:     {}", getServerVersion());
+                logger.info("Events:             {}", getEvents());
                 logger.info("Allow self-signed:  {}", isSelfSignedCertsAllowed());
             }
         }
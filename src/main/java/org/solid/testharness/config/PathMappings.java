@@ -29,6 +29,7 @@ import io.smallrye.config.WithParentName;
 import org.eclipse.microprofile.config.spi.Converter;
 import org.eclipse.rdf4j.model.IRI;
 import org.solid.testharness.http.HttpUtils;
+import org.solid.testharness.utils.PrefixTrie;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 
 import java.net.MalformedURLException;
@@ -56,10 +57,7 @@ public interface PathMappings {
         if (!HttpUtils.isFileProtocol(uri)) {
             uri = Path.of(path).toAbsolutePath().normalize().toUri();
         }
-        final String finalPath = uri.toString();
-        final PathMapping mapping = mappings().stream()
-                .filter(m -> finalPath.startsWith(m.path())).findFirst().orElse(null);
-        return mapping != null ? finalPath.replace(mapping.path(), mapping.prefix()) : null;
+        return MappingIndex.of(mappings()).paths.replacePrefix(uri.toString(), PathMapping::prefix);
     }
 
     default URI mapIri(final IRI iri) {
@@ -76,9 +74,8 @@ public interface PathMappings {
     }
 
     private URI mapLocation(final String location) {
-        final PathMapping mapping = mappings().stream()
-                .filter(m -> location.startsWith(m.prefix())).findFirst().orElse(null);
-        return URI.create(mapping != null ? location.replace(mapping.prefix(), mapping.path()) : location);
+        final String mapped = MappingIndex.of(mappings()).prefixes.replacePrefix(location, PathMapping::path);
+        return URI.create(mapped != null ? mapped : location);
     }
 
     interface PathMapping {
@@ -93,6 +90,41 @@ public interface PathMappings {
         }
     }
 
+    /**
+     * Compiled prefix tries for mapping in both directions using the longest matching prefix. The index is built once
+     * and only rebuilt if a different list of mappings is presented.
+     */
+    final class MappingIndex {
+        private static final int CACHE_SIZE = 256;
+        private static volatile MappingIndex current;
+
+        private final List<PathMapping> source;
+        private final PrefixTrie<PathMapping> prefixes;
+        private final PrefixTrie<PathMapping> paths;
+
+        private MappingIndex(final List<PathMapping> source) {
+            this.source = source;
+            final PrefixTrie.Builder<PathMapping> prefixBuilder = PrefixTrie.<PathMapping>builder().memoize(CACHE_SIZE);
+            final PrefixTrie.Builder<PathMapping> pathBuilder = PrefixTrie.<PathMapping>builder().memoize(CACHE_SIZE);
+            source.forEach(m -> {
+                prefixBuilder.add(m.prefix(), m);
+                pathBuilder.add(m.path(), m);
+            });
+            prefixes = prefixBuilder.build();
+            paths = pathBuilder.build();
+        }
+
+        static MappingIndex of(final List<PathMapping> mappings) {
+            final MappingIndex index = current;
+            if (index != null && (index.source == mappings || index.source.equals(mappings))) {
+                return index;
+            }
+            final MappingIndex created = new MappingIndex(mappings);
+            current = created;
+            return created;
+        }
+    }
+
     class PathConverter implements Converter<String> {
         private static final long serialVersionUID = 6105901390387650548L;
 
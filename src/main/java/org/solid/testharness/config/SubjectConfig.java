@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.config;
+
+import org.apache.commons.lang3.StringUtils;
+import org.solid.testharness.http.HttpConstants;
+import org.solid.testharness.http.HttpUtils;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The settings of one of several test subjects tested at the same time. Each test subject needs its own server, test
+ * container and users, so the settings normally taken from the environment are looked up with the local name of the
+ * test subject as a prefix, e.g. <code>css.RESOURCE_SERVER_ROOT</code> or <code>css.users.alice.webid</code>, which
+ * can also be set as the environment variables <code>CSS_RESOURCE_SERVER_ROOT</code> and
+ * <code>CSS_USERS_ALICE_WEBID</code>.
+ */
+public final class SubjectConfig {
+    private static final String USERS = "users.";
+
+    private final String serverRoot;
+    private final String testContainer;
+    private final URI solidIdentityProvider;
+    private final URI loginEndpoint;
+    private final URI userRegistrationEndpoint;
+    private final Map<String, UserCredentials> users;
+    private final Map<String, String> webIds;
+
+    private SubjectConfig(final Lookup lookup, final Map<String, UserCredentials> users) {
+        serverRoot = lookup.get("RESOURCE_SERVER_ROOT").map(HttpUtils::ensureSlashEnd).orElse(null);
+        testContainer = lookup.get("TEST_CONTAINER").map(HttpUtils::ensureSlashEnd).orElse(null);
+        solidIdentityProvider = lookup.get("SOLID_IDENTITY_PROVIDER").map(URI::create).map(u -> u.resolve("/"))
+                .orElse(null);
+        loginEndpoint = lookup.get("LOGIN_ENDPOINT").map(URI::create).orElse(null);
+        userRegistrationEndpoint = lookup.get("USER_REGISTRATION_ENDPOINT").map(URI::create).orElse(null);
+        this.users = users;
+        final Map<String, String> ids = new LinkedHashMap<>();
+        users.forEach((user, credentials) -> ids.put(user, credentials.webId()));
+        webIds = Map.copyOf(ids);
+    }
+
+    /**
+     * Load the settings of a test subject.
+     * @param config the configuration to read the settings from
+     * @param name the local name of the test subject
+     * @return the settings, or null if the test subject does not have its own users
+     */
+    public static SubjectConfig load(final org.eclipse.microprofile.config.Config config, final String name) {
+        if (StringUtils.isBlank(name)) {
+            return null;
+        }
+        final Lookup lookup = key -> config.getOptionalValue(name + "." + key, String.class)
+                .filter(value -> !StringUtils.isBlank(value))
+                .map(String::strip);
+        final Map<String, UserCredentials> users = new LinkedHashMap<>();
+        for (final String user : List.of(HttpConstants.ALICE, HttpConstants.BOB)) {
+            final Lookup userLookup = key -> lookup.get(USERS + user + "." + key);
+            final Optional<String> webId = userLookup.get("webid");
+            if (webId.isEmpty()) {
+                return null;
+            }
+            users.put(user, new Credentials(webId.get(), userLookup));
+        }
+        return new SubjectConfig(lookup, users);
+    }
+
+    public String getServerRoot() {
+        return serverRoot;
+    }
+
+    public String getTestContainer() {
+        return testContainer;
+    }
+
+    public URI getSolidIdentityProvider() {
+        return solidIdentityProvider;
+    }
+
+    public URI getLoginEndpoint() {
+        return loginEndpoint;
+    }
+
+    public URI getUserRegistrationEndpoint() {
+        return userRegistrationEndpoint;
+    }
+
+    public UserCredentials getCredentials(final String user) {
+        return users.get(user);
+    }
+
+    public Map<String, String> getWebIds() {
+        return webIds;
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        Optional<String> get(String key);
+    }
+
+    private static final class Credentials implements UserCredentials {
+        private final String webId;
+        private final Optional<String> refreshToken;
+        private final Optional<String> clientId;
+        private final Optional<String> clientSecret;
+        private final Optional<URI> idp;
+        private final Optional<String> username;
+        private final Optional<String> password;
+
+        Credentials(final String webId, final Lookup lookup) {
+            this.webId = webId;
+            refreshToken = lookup.get("refreshtoken");
+            clientId = lookup.get("clientid");
+            clientSecret = lookup.get("clientsecret");
+            idp = lookup.get("idp").map(URI::create);
+            username = lookup.get("username");
+            password = lookup.get("password");
+        }
+
+        @Override
+        public String webId() {
+            return webId;
+        }
+
+        @Override
+        public Optional<String> refreshToken() {
+            return refreshToken;
+        }
+
+        @Override
+        public Optional<String> clientId() {
+            return clientId;
+        }
+
+        @Override
+        public Optional<String> clientSecret() {
+            return clientSecret;
+        }
+
+        @Override
+        public Optional<URI> idp() {
+            return idp;
+        }
+
+        @Override
+        public Optional<String> username() {
+            return username;
+        }
+
+        @Override
+        public Optional<String> password() {
+            return password;
+        }
+    }
+}
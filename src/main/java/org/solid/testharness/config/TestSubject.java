@@ -29,6 +29,7 @@ import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.Rio;
@@ -38,7 +39,10 @@ import org.slf4j.LoggerFactory;
 import org.solid.common.vocab.EARL;
 import org.solid.common.vocab.PIM;
 import org.solid.common.vocab.RDF;
+import org.solid.testharness.accesscontrol.AccessControlFactory;
+import org.solid.testharness.api.SolidClient;
 import org.solid.testharness.api.TestHarnessApiException;
+import org.solid.testharness.http.Client;
 import org.solid.testharness.http.ClientRegistry;
 import org.solid.testharness.http.HttpConstants;
 import org.solid.testharness.http.HttpUtils;
@@ -56,6 +60,7 @@ import java.net.URI;
 import java.net.http.HttpResponse;
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.eclipse.rdf4j.model.util.Values.iri;
@@ -73,14 +78,42 @@ public class TestSubject {
     private SolidContainerProvider rootTestContainer;
     private SolidContainerProvider testRunContainer;
     private AccessControlMode accessControlMode;
+    private Model subjectModel;
+    private IRI subject;
+    private SubjectConfig subjectConfig;
+    private Map<String, SolidClient> clients;
 
     @Inject
     Config config;
     @Inject
     DataRepository dataRepository;
+    @Inject
+    ClientRegistry clientRegistry;
+    @Inject
+    AccessControlFactory accessControlFactory;
+
+    /**
+     * Create the context of one of several test subjects tested at the same time. It has its own settings, view of
+     * the data repository, access control mode, client registry and test containers, so that the features testing it
+     * can find them through {@link Bootstrap} once it is registered there.
+     * @param subject the IRI of the test subject
+     * @param subjectConfig the server, test container and users of the test subject
+     * @return the context of the test subject
+     */
+    public TestSubject forSubject(final IRI subject, final SubjectConfig subjectConfig) {
+        final TestSubject testSubject = new TestSubject();
+        testSubject.subject = subject;
+        testSubject.subjectConfig = subjectConfig;
+        testSubject.config = config;
+        testSubject.clientRegistry = new ClientRegistry(URI.create(subjectConfig.getWebIds().get(HttpConstants.ALICE)),
+                config.isSelfSignedCertsAllowed());
+        testSubject.dataRepository = dataRepository.forSubject(subject);
+        testSubject.accessControlFactory = new AccessControlFactory(testSubject);
+        return testSubject;
+    }
 
     public void loadTestSubjectConfig()  {
-        final IRI configuredTestSubject = config.getTestSubject();
+        final IRI configuredTestSubject = subject != null ? subject : config.getTestSubject();
         try (final InputStream is = config.getSubjectsUrl().openStream()) {
             final Model model = Rio.parse(is, config.getSubjectsUrl().toString(), RDFFormat.TURTLE);
             final Set<Resource> testSubjects = model.filter(null, RDF.type, EARL.TestSubject).subjects();
@@ -117,17 +150,21 @@ public class TestSubject {
 
     private void loadSubjectIntoRepository(final Model model, final IRI subject) {
         try (RepositoryConnection conn = dataRepository.getConnection()) {
+            // replace any subject loaded by an earlier run in this process so the report only describes this one
+            if (subjectModel != null) {
+                conn.remove(subjectModel);
+            }
             if (subject == null) {
-                conn.add(model);
+                subjectModel = model;
             } else {
-                final Model subjectModel = model.filter(subject, null, null);
-                conn.add(subjectModel);
-                for (Value value : subjectModel.objects()) {
+                subjectModel = new LinkedHashModel(model.filter(subject, null, null));
+                for (Value value : model.filter(subject, null, null).objects()) {
                     if (value.isResource()) {
-                        conn.add(model.filter((Resource) value, null, null));
+                        subjectModel.addAll(model.filter((Resource) value, null, null));
                     }
                 }
             }
+            conn.add(subjectModel);
         }
     }
 
@@ -144,7 +181,7 @@ public class TestSubject {
             final URI testContainerUri = findTestContainer();
             logger.info("Test subject test container: {}", testContainerUri);
 
-            final SolidClientProvider ownerClient = new SolidClientProvider(HttpConstants.ALICE);
+            final SolidClientProvider ownerClient = getClientProvider(HttpConstants.ALICE);
             rootTestContainer = new SolidContainerProvider(ownerClient, testContainerUri);
             determineAccessControlImplementation(ownerClient);
 
@@ -152,8 +189,11 @@ public class TestSubject {
             logger.debug("Root test container content: {}", rootTestContainer.getContentAsTurtle());
             logger.debug("Root test container access controls: {}", rootTestContainer.getAccessDataset());
 
-            // create a root container for all the test cases in this run
-            testRunContainer = rootTestContainer.reserveContainer(rootTestContainer.generateId()).instantiate();
+            // create a root container for all the test cases in this run, named by shard so parallel shards are apart
+            final String runId = config.getShardCount() > 1
+                    ? "shard" + config.getShardIndex() + "-" + rootTestContainer.generateId()
+                    : rootTestContainer.generateId();
+            testRunContainer = rootTestContainer.reserveContainer(runId).instantiate();
             logger.debug("Test run container content: {}", testRunContainer.getContentAsTurtle());
             logger.debug("Test run container access controls: {}", testRunContainer.getAccessDataset());
 
@@ -172,7 +212,7 @@ public class TestSubject {
             final var bobReadAcl = builder
                     .setAgentAccess(
                     aclTestContainer.getUrl().toString(),
-                    config.getWebIds().get(HttpConstants.BOB),
+                    getWebIds().get(HttpConstants.BOB),
                     List.of("read")
             ).build();
             aclTestContainer.setAccessDataset(bobReadAcl); // MOCK THIS PASS/FAIL
@@ -199,7 +239,7 @@ public class TestSubject {
     }
 
     URI findTestContainer() throws TestHarnessException {
-        final String testContainer = config.getTestContainer();
+        final String testContainer = getTestContainer();
         if (StringUtils.isEmpty(testContainer)) {
             // find storage from profile
             return findStorage();
@@ -209,7 +249,7 @@ public class TestSubject {
             // testContainer was absolute
             return uri;
         } else {
-            final String serverRoot = config.getServerRoot();
+            final String serverRoot = getServerRoot();
             if (!StringUtils.isEmpty(serverRoot)) {
                 return URI.create(serverRoot).resolve(testContainer).normalize();
             } else {
@@ -220,9 +260,9 @@ public class TestSubject {
     }
 
     URI findStorage() throws TestHarnessException {
-        final SolidClientProvider publicClient = new SolidClientProvider(ClientRegistry.ALICE_WEBID);
-        final SolidClientProvider ownerClient = new SolidClientProvider(HttpConstants.ALICE);
-        final URI webId = URI.create(config.getWebIds().get(HttpConstants.ALICE));
+        final SolidClientProvider publicClient = getClientProvider(ClientRegistry.ALICE_WEBID);
+        final SolidClientProvider ownerClient = getClientProvider(HttpConstants.ALICE);
+        final URI webId = URI.create(getWebIds().get(HttpConstants.ALICE));
         final Model profile;
         try {
             profile = publicClient.getContentAsModel(webId);
@@ -329,6 +369,72 @@ public class TestSubject {
         }
     }
 
+    /**
+     * Return a client provider for a registered user which creates access controls suited to this test subject.
+     * @param user the user
+     * @return the client provider
+     * @throws TestHarnessException if the user has no registered client
+     */
+    public SolidClientProvider getClientProvider(final String user) throws TestHarnessException {
+        final Client client = clientRegistry.getClient(user);
+        if (client == null) {
+            throw new TestHarnessException("Client has not been registered yet: " + user);
+        }
+        return new SolidClientProvider(client, accessControlFactory, getWebIds().get(user));
+    }
+
+    /**
+     * Return the WebIDs of the users of this test subject, used to provide the test features with the web IDs.
+     * @return the WebIDs for each user
+     */
+    public Map<String, String> getWebIds() {
+        return subjectConfig != null ? subjectConfig.getWebIds() : config.getWebIds();
+    }
+
+    public String getServerRoot() {
+        return subjectConfig != null ? subjectConfig.getServerRoot() : config.getServerRoot();
+    }
+
+    public String getTestContainer() {
+        return subjectConfig != null ? subjectConfig.getTestContainer() : config.getTestContainer();
+    }
+
+    /**
+     * Return the settings of this test subject.
+     * @return the settings, or null if the configured settings apply
+     */
+    public SubjectConfig getSubjectConfig() {
+        return subjectConfig;
+    }
+
+    public ClientRegistry getClientRegistry() {
+        return clientRegistry;
+    }
+
+    /**
+     * Return the IRI of the test subject.
+     * @return the IRI given to this context or else the configured test subject
+     */
+    public IRI getSubject() {
+        return subject != null ? subject : config.getTestSubject();
+    }
+
+    public DataRepository getDataRepository() {
+        return dataRepository;
+    }
+
+    /**
+     * Return a map of the <code>SolidClient</code> instances available to the Karate tests of this test subject.
+     * @return the map of clients
+     */
+    public Map<String, SolidClient> getClients() {
+        return clients;
+    }
+
+    public void setClients(final Map<String, SolidClient> clients) {
+        this.clients = clients;
+    }
+
     public TargetServer getTargetServer() {
         return targetServer;
     }
@@ -38,20 +38,23 @@ import org.solid.testharness.config.Config;
 import org.solid.testharness.config.PathMappings;
 import org.solid.testharness.http.HttpUtils;
 import org.solid.testharness.utils.DataRepository;
-import org.solid.testharness.utils.FeatureFileParser;
+import org.solid.testharness.utils.FeatureFileCache;
 import org.solid.testharness.utils.Namespaces;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.MessageFormat;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -76,6 +79,8 @@ public class TestSuiteDescription {
 
     @Inject
     DataRepository dataRepository;
+    @Inject
+    FeatureFileCache featureFileCache;
 
     @Inject
     PathMappings pathMappings;
@@ -85,8 +90,18 @@ public class TestSuiteDescription {
     }
 
     public List<IRI> getTestCases(final boolean filtered) {
+        return getTestCases(filtered, dataRepository);
+    }
+
+    /**
+     * List the test cases described in a repository.
+     * @param filtered true to leave out the test cases which already have an assertion
+     * @param repository the repository, such as the view of one of several test subjects
+     * @return the test cases
+     */
+    public List<IRI> getTestCases(final boolean filtered, final DataRepository repository) {
         try (
-                RepositoryConnection conn = dataRepository.getConnection();
+                RepositoryConnection conn = repository.getConnection();
                 var statements = conn.getStatements(null, RDF.type, TD.TestCase)
         ) {
             return statements.stream()
@@ -149,12 +164,21 @@ public class TestSuiteDescription {
     }
 
     public void setNonRunningTestAssertions(final List<String> filters, final List<String> statuses) {
-        final List<String> filterList = filters != null && !filters.isEmpty() ? filters : null;
-        final List<IRI> statusList = statuses != null && !statuses.isEmpty()
-                ? statuses.stream().map(s -> iri(TD.NAMESPACE, s)).collect(Collectors.toList())
-                : null;
+        setNonRunningTestAssertions(filters, statuses, dataRepository);
+    }
+
+    /**
+     * Add assertions for the test cases which will not be run to a repository.
+     * @param filters feature filters selecting the test cases to run
+     * @param statuses review statuses selecting the test cases to run
+     * @param repository the repository, such as the view of one of several test subjects
+     */
+    public void setNonRunningTestAssertions(final List<String> filters, final List<String> statuses,
+                                            final DataRepository repository) {
+        final List<String> filterList = toFilterList(filters);
+        final List<IRI> statusList = toStatusList(statuses);
         try (
-                RepositoryConnection conn = dataRepository.getConnection();
+                RepositoryConnection conn = repository.getConnection();
                 var statements = conn.getStatements(null, RDF.type, TD.TestCase)
         ) {
             // add assertions to any filtered out tests
@@ -163,12 +187,45 @@ public class TestSuiteDescription {
                     .filter(Value::isIRI)
                     .map(IRI.class::cast)
                     .filter(tc -> failsFilterCheck(tc, filterList) || failsStatusCheck(conn, tc, statusList))
-                    .forEach(tc -> dataRepository.createAssertion(conn, EARL.untested, new Date(), tc));
+                    .forEach(tc -> repository.createAssertion(conn, EARL.untested, new Date(), tc));
         } catch (RDF4JException e) {
             throw new TestHarnessInitializationException("Failed to set non-running test assertions", e);
         }
     }
 
+    /**
+     * Reset the test cases which failed, or whose outcome could not be told, in a previous run whose report has been
+     * loaded into the repository. Their assertions and scenario results are removed so that running them again
+     * replaces the earlier results, while the results of all other test cases are kept.
+     * @param filters feature filters restricting which of those test cases are reset
+     * @param statuses review statuses restricting which of those test cases are reset
+     * @return the test cases which were reset
+     */
+    public List<IRI> resetFailedTestCases(final List<String> filters, final List<String> statuses) {
+        final List<String> filterList = toFilterList(filters);
+        final List<IRI> statusList = toStatusList(statuses);
+        final List<IRI> testCases;
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            testCases = dataRepository.getTestCasesWithOutcome(EARL.failed, EARL.cantTell).stream()
+                    .filter(tc -> !failsFilterCheck(tc, filterList) && !failsStatusCheck(conn, tc, statusList))
+                    .collect(Collectors.toList());
+        } catch (RDF4JException e) {
+            throw new TestHarnessInitializationException("Failed to reset failed test cases", e);
+        }
+        dataRepository.removeResults(testCases);
+        return testCases;
+    }
+
+    private static List<String> toFilterList(final List<String> filters) {
+        return filters != null && !filters.isEmpty() ? filters : null;
+    }
+
+    private static List<IRI> toStatusList(final List<String> statuses) {
+        return statuses != null && !statuses.isEmpty()
+                ? statuses.stream().map(s -> iri(TD.NAMESPACE, s)).collect(Collectors.toList())
+                : null;
+    }
+
     private boolean failsFilterCheck(final IRI testCase, final List<String> filters) {
         // the test case doesn't match the filter so will not be tested
         return filters != null && filters.stream().noneMatch(f -> testCase.stringValue().contains(f));
@@ -181,17 +238,50 @@ public class TestSuiteDescription {
     }
 
     public void prepareTestCases(final Config.RunMode runMode) {
+        prepareTestCases(runMode, null);
+    }
+
+    /**
+     * Prepare the list of features to run, optionally restricted to a set of test cases.
+     * @param runMode the run mode
+     * @param testCases the test cases to consider or null for all test cases
+     */
+    public void prepareTestCases(final Config.RunMode runMode, final Collection<IRI> testCases) {
+        prepareTestCases(runMode, testCases, dataRepository);
+    }
+
+    /**
+     * Prepare the list of features to run from the test cases in a repository.
+     * @param runMode the run mode
+     * @param testCases the test cases to consider or null for all test cases
+     * @param repository the repository, such as the view of one of several test subjects
+     */
+    public void prepareTestCases(final Config.RunMode runMode, final Collection<IRI> testCases,
+                                 final DataRepository repository) {
         try (
-                RepositoryConnection conn = dataRepository.getConnection();
+                RepositoryConnection conn = repository.getConnection();
                 var statements = conn.getStatements(null, RDF.type, TD.TestCase)
         ) {
-            featurePaths = statements.stream()
-                    // get testcase subjects as IRIs, find features and either extract titles if not executable
-                    // or add to execution list
+            // get testcase subjects as IRIs and find their features
+            final List<Feature> features = statements.stream()
                     .map(Statement::getSubject)
                     .filter(Value::isIRI)
                     .map(IRI.class::cast)
+                    .filter(tc -> testCases == null || testCases.contains(tc))
                     .map(tc -> new Feature(conn, tc, runMode))
+                    .collect(Collectors.toList());
+            // read each feature file once, in parallel, for use in coverage and reporting
+            featureFileCache.clear();
+            featureFileCache.preload(features.stream()
+                    .map(Feature::getFeatureFile)
+                    .filter(Objects::nonNull)
+                    .map(File::toPath)
+                    .collect(Collectors.toList()));
+            // either extract titles if not executable or add to execution list
+            features.stream()
+                    .filter(f -> f.getFeatureFile() != null && !f.isExecutable())
+                    .forEach(Feature::extractTitle);
+            featurePaths = features.stream()
                     .filter(Feature::isExecutable)
                     .map(Feature::getLocation)
                     .collect(Collectors.toList());
@@ -218,10 +308,6 @@ public class TestSuiteDescription {
                 // found feature IRI
                 locateFeature();
             }
-            if (featureFile != null && !runnable) {
-                // found feature file so extract title if not runnable
-                extractTitle();
-            }
         }
 
         private void findFeatureIri() {
@@ -252,11 +338,20 @@ public class TestSuiteDescription {
             }
         }
         private void extractTitle() {
-            final String title = FeatureFileParser.getFeatureTitle(featureFile);
-            if (title != null) {
-                conn.add(testCaseIri, DCTERMS.title, literal(title));
+            try {
+                final String title = featureFileCache.get(featureFile.toPath()).getFeatureTitle();
+                if (title != null) {
+                    conn.add(testCaseIri, DCTERMS.title, literal(title));
+                } else {
+                    logger.warn("FILE DOES NOT START WITH 'Feature:' {}", featureFile.toPath());
+                }
+            } catch (IOException e) {
+                logger.warn("FEATURE NOT READABLE: {} - {}", featureFile.toPath(), e.getMessage());
             }
         }
+        public File getFeatureFile() {
+            return featureFile;
+        }
         public String getLocation() {
             return location;
         }
@@ -30,6 +30,7 @@ import org.jose4j.lang.JoseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.solid.testharness.config.Config;
+import org.solid.testharness.config.SubjectConfig;
 import org.solid.testharness.config.UserCredentials;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 
@@ -77,14 +78,26 @@ public class AuthManager {
      */
 
     public void registerUser(@NotNull final String user) {
-        logger.info("Registering user {} at {}", user, config.getUserRegistrationEndpoint());
-        final UserCredentials userConfig = config.getCredentials(user);
+        registerUser(user, config.getCredentials(user), config.getUserRegistrationEndpoint());
+    }
+
+    /**
+     * Register a user of one of several test subjects tested at the same time.
+     * @param user the user
+     * @param subjectConfig the settings of the test subject
+     */
+    public void registerUser(@NotNull final String user, @NotNull final SubjectConfig subjectConfig) {
+        registerUser(user, subjectConfig.getCredentials(user), subjectConfig.getUserRegistrationEndpoint());
+    }
+
+    private void registerUser(final String user, final UserCredentials userConfig, final URI registrationEndpoint) {
+        logger.info("Registering user {} at {}", user, registrationEndpoint);
         if (userConfig == null) {
             throw new TestHarnessInitializationException(
                     MessageFormat.format("No user credentials were provided for [{0}]", user));
         }
         final Client client = new Client.Builder()
-                .withOptionalLocalhostSupport(config.getUserRegistrationEndpoint(), config.isSelfSignedCertsAllowed())
+                .withOptionalLocalhostSupport(registrationEndpoint, config.isSelfSignedCertsAllowed())
                 .build();
         final Map<Object, Object> data = Map.of(
             HttpConstants.EMAIL, userConfig.username().orElseThrow(),
@@ -95,35 +108,52 @@ public class AuthManager {
             "createWebId", "ok",
             "createPod", "ok"
         );
-        postRequest(client, config.getUserRegistrationEndpoint(),
+        postRequest(client, registrationEndpoint,
                 HttpUtils.ofFormData(data), HttpConstants.MEDIA_TYPE_APPLICATION_FORM_URLENCODED,
                 HttpResponse.BodyHandlers.ofString(),
                 "User registration");
     }
 
     public SolidClientProvider authenticate(@NotNull final String user) {
+        return authenticate(user, null, clientRegistry);
+    }
+
+    /**
+     * Authenticate a user of one of several test subjects tested at the same time, registering the authenticated
+     * client with the test subject's own registry.
+     * @param user the user
+     * @param subjectConfig the settings of the test subject, or null for the configured test subject
+     * @param registry the registry of the test subject's clients
+     * @return the client provider for the user
+     */
+    public SolidClientProvider authenticate(@NotNull final String user, final SubjectConfig subjectConfig,
+                                            @NotNull final ClientRegistry registry) {
         requireNonNull(user, "user must not be null");
         final Client authClient;
-        if (clientRegistry.hasClient(user)) {
-            authClient = clientRegistry.getClient(user);
+        if (registry.hasClient(user)) {
+            authClient = registry.getClient(user);
         } else {
             logger.debug("Build new client for {}", user);
-            final UserCredentials userConfig = config.getCredentials(user);
+            final UserCredentials userConfig = subjectConfig != null
+                    ? subjectConfig.getCredentials(user)
+                    : config.getCredentials(user);
             if (userConfig == null) {
                 logger.warn("UserCredentials missing for {}", user);
                 throw new TestHarnessInitializationException(MessageFormat.format(
                         "No user credentials were provided for {0}", user));
             }
 
-            checkWebId(userConfig.webId());
+            checkWebId(userConfig.webId(), registry);
 
-            final URI oidcIssuer = Optional.ofNullable(userConfig.getIdp()).orElse(config.getSolidIdentityProvider());
+            final URI oidcIssuer = Optional.ofNullable(userConfig.getIdp()).orElse(subjectConfig != null
+                    ? subjectConfig.getSolidIdentityProvider()
+                    : config.getSolidIdentityProvider());
 
             authClient = new Client.Builder(user)
                     .withDpopSupport()
                     .withOptionalLocalhostSupport(oidcIssuer, config.isSelfSignedCertsAllowed())
                     .build();
-            clientRegistry.register(user, authClient);
+            registry.register(user, authClient);
 
             final OidcConfiguration oidcConfiguration = requestOidcConfiguration(authClient, oidcIssuer);
             final JsonWebKeySet jsonWebKeySet = requestJwks(authClient, oidcConfiguration);
@@ -135,7 +165,7 @@ public class AuthManager {
                         .withSessionSupport()
                         .withOptionalLocalhostSupport(oidcIssuer, config.isSelfSignedCertsAllowed())
                         .build();
-                loginAndGetAccessToken(authClient, userConfig, oidcConfiguration, sessionClient);
+                loginAndGetAccessToken(authClient, userConfig, oidcConfiguration, sessionClient, subjectConfig);
             } else if (userConfig.isUsingRefreshToken()) {
                 exchangeRefreshToken(authClient, userConfig, oidcConfiguration);
             } else if (userConfig.isUsingClientCredentials()) {
@@ -151,10 +181,14 @@ public class AuthManager {
     }
 
     void checkWebId(final String webId) {
+        checkWebId(webId, clientRegistry);
+    }
+
+    private void checkWebId(final String webId, final ClientRegistry registry) {
         try {
             Objects.requireNonNull(webId, "webId is required");
             final var webIdUri = URI.create(webId);
-            final var publicClient = new SolidClientProvider(ClientRegistry.ALICE_WEBID);
+            final var publicClient = new SolidClientProvider(registry.getClient(ClientRegistry.ALICE_WEBID));
             publicClient.getContentAsModel(webIdUri);
             logger.info("Loaded WebID Document for [{}]", webId);
         } catch (Exception e) {
@@ -199,15 +233,26 @@ public class AuthManager {
 
     void loginAndGetAccessToken(final Client authClient, final UserCredentials userConfig,
                                   final OidcConfiguration oidcConfig, final Client sessionClient) {
+        loginAndGetAccessToken(authClient, userConfig, oidcConfig, sessionClient, null);
+    }
+
+    private void loginAndGetAccessToken(final Client authClient, final UserCredentials userConfig,
+                                        final OidcConfiguration oidcConfig, final Client sessionClient,
+                                        final SubjectConfig subjectConfig) {
         logger.info("Login and get access token for {}: [{}]", authClient.getUser(), userConfig.webId());
         if (!oidcConfig.getGrantTypesSupported().contains(HttpConstants.AUTHORIZATION_CODE_TYPE)) {
             throw new TestHarnessInitializationException(IDP_GRANT_ERROR +
                     HttpConstants.AUTHORIZATION_CODE_TYPE);
         }
 
-        if (config.getUserRegistrationEndpoint() == null) {
+        final URI registrationEndpoint = subjectConfig != null
+                ? subjectConfig.getUserRegistrationEndpoint()
+                : config.getUserRegistrationEndpoint();
+        if (registrationEndpoint == null) {
             // login to the session at the start instead of during the auth flow
-            startLoginSession(sessionClient, userConfig, config.getLoginEndpoint());
+            startLoginSession(sessionClient, userConfig, subjectConfig != null
+                    ? subjectConfig.getLoginEndpoint()
+                    : config.getLoginEndpoint());
         }
 
         final String appOrigin = config.getOrigin();
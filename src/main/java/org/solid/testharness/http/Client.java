@@ -51,6 +51,8 @@ import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -79,6 +81,7 @@ public class Client {
     private String authHeader;
     private Map<Object, Object> tokenRequestData;
     private int maxRetries = MAX_RETRY;
+    private volatile RequestListener requestListener;
 
     public static class Builder {
         private final HttpClient.Builder clientBuilder;
@@ -131,6 +134,18 @@ public class Client {
         }
     }
 
+    /**
+     * Set the listener observing the requests sent by this client.
+     * @param listener the listener or null to stop observing requests
+     */
+    public void setRequestListener(final RequestListener listener) {
+        requestListener = listener;
+    }
+
+    public RequestListener getRequestListener() {
+        return requestListener;
+    }
+
     public HttpClient getHttpClient() {
         return httpClient;
     }
@@ -272,7 +287,16 @@ public class Client {
         requireNonNull(request, "request is required");
         requireNonNull(responseHandler, "responseHandler is required");
         final var responseFuture = sendAsync(request, responseHandler);
-        return responseFuture.join();
+        try {
+            return responseFuture.get();
+        } catch (InterruptedException e) {
+            // the feature watchdog interrupts tests which are stuck waiting for a response
+            responseFuture.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
     }
 
     public <T> HttpResponse<T> sendAuthorized(final String data, @NotNull final HttpRequest.Builder requestBuilder,
@@ -286,13 +310,18 @@ public class Client {
         return response;
     }
 
-    @SuppressWarnings("checkstyle:MultipleStringLiterals")
     public HttpResponse<String> getAsTurtle(@NotNull final URI url) {
+        return getAsTurtle(url, BodyHandlers.ofString());
+    }
+
+    @SuppressWarnings("checkstyle:MultipleStringLiterals")
+    public <T> HttpResponse<T> getAsTurtle(@NotNull final URI url, @NotNull final BodyHandler<T> responseHandler) {
         requireNonNull(url, "url is required for getAsTurtle");
+        requireNonNull(responseHandler, "responseHandler is required");
         final var builder = HttpUtils.newRequestBuilder(url)
                 .header(HttpConstants.HEADER_ACCEPT, HttpConstants.MEDIA_TYPE_TEXT_TURTLE);
         final var request = authorize(builder).build();
-        return send(request, BodyHandlers.ofString());
+        return send(request, responseHandler);
     }
 
     public HttpResponse<Void> put(@NotNull final URI url, final String data, final String type) {
@@ -334,9 +363,37 @@ public class Client {
                                                              @NotNull final BodyHandler<T> responseHandler) {
         requireNonNull(request, "request is required");
         requireNonNull(responseHandler, "responseHandler is required");
-        return httpClient.sendAsync(request, responseHandler)
-                .handleAsync((r, t) -> tryResend(httpClient, request, responseHandler, 1, r, t))
-                .thenCompose(Function.identity());
+        // take a snapshot so that the listener told about the request is also told about its attempts and completion
+        final RequestListener listener = requestListener;
+        if (listener == null) {
+            return observe(null, httpClient, request, responseHandler)
+                    .handleAsync((r, t) -> tryResend(null, httpClient, request, responseHandler, 1, r, t))
+                    .thenCompose(Function.identity());
+        }
+        listener.beforeRequest(request);
+        final CompletableFuture<HttpResponse<T>> future;
+        try {
+            future = observe(listener, httpClient, request, responseHandler)
+                    .handleAsync((r, t) -> tryResend(listener, httpClient, request, responseHandler, 1, r, t))
+                    .thenCompose(Function.identity());
+        } catch (RuntimeException e) {
+            listener.requestCompleted(request);
+            throw e;
+        }
+        // a side branch so the outcome seen by the caller is unchanged
+        future.whenComplete((r, t) -> listener.requestCompleted(request));
+        return future;
+    }
+
+    // Send a request, reporting the time taken by this attempt to the listener
+    private <T> CompletableFuture<HttpResponse<T>> observe(final RequestListener listener, final HttpClient client,
+                                                           final HttpRequest request, final BodyHandler<T> handler) {
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpResponse<T>> future = client.sendAsync(request, handler);
+        if (listener != null) {
+            future.whenComplete((r, t) -> listener.responseReceived(request, r, t, System.nanoTime() - start));
+        }
+        return future;
     }
 
     // Retry on timeout exception
@@ -346,7 +403,8 @@ public class Client {
                 && (response != null || exception.getCause() instanceof HttpTimeoutException);
     }
 
-    private <T> CompletableFuture<HttpResponse<T>> tryResend(final HttpClient client, final HttpRequest request,
+    private <T> CompletableFuture<HttpResponse<T>> tryResend(final RequestListener listener,
+                                                             final HttpClient client, final HttpRequest request,
                                                              final BodyHandler<T> handler,
                                                              final int count, final HttpResponse<T> response,
                                                              final Throwable exception) {
@@ -355,9 +413,9 @@ public class Client {
                     count,
                     response != null ? response.statusCode() : "",
                     exception != null ? exception.getMessage() : "");
-            return client.sendAsync(request, handler)
+            return observe(listener, client, request, handler)
                     .handleAsync(
-                            (r, t) -> tryResend(client, request, handler, count + 1, r, t),
+                            (r, t) -> tryResend(listener, client, request, handler, count + 1, r, t),
                             CompletableFuture.delayedExecutor(count * RETRY_DELAY, TimeUnit.MILLISECONDS))
                     .thenCompose(Function.identity());
         } else if (exception != null) {
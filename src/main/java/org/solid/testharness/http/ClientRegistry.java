@@ -37,6 +37,7 @@ import java.util.Objects;
 @ApplicationScoped
 public class ClientRegistry {
     private Map<String, Client> registeredClientMap;
+    private RequestListener requestListener;
 
     public static final String DEFAULT = "default";
     public static final String ALICE_WEBID = "alice-webid";
@@ -44,18 +45,49 @@ public class ClientRegistry {
     @Inject
     Config config;
 
+    public ClientRegistry() {
+        // used by CDI
+    }
+
+    /**
+     * Create a registry for one of several test subjects tested at the same time, so that its users are
+     * authenticated with its own identity provider.
+     * @param webId the WebID of the owner of the test subject's pod
+     * @param selfSignedCertsAllowed whether a server on localhost may use a self-signed certificate
+     */
+    public ClientRegistry(final URI webId, final boolean selfSignedCertsAllowed) {
+        init(webId, selfSignedCertsAllowed);
+    }
+
     @PostConstruct
     void postConstruct() {
+        init(URI.create(config.getWebIds().get(HttpConstants.ALICE)), config.isSelfSignedCertsAllowed());
+    }
+
+    private void init(final URI webId, final boolean selfSignedCertsAllowed) {
         registeredClientMap = Collections.synchronizedMap(new HashMap<>());
         register(DEFAULT, new Client.Builder().build());
-        final URI webId = URI.create(config.getWebIds().get(HttpConstants.ALICE));
         final Client client = new Client.Builder().followRedirects()
-                .withOptionalLocalhostSupport(webId, config.isSelfSignedCertsAllowed()).build();
+                .withOptionalLocalhostSupport(webId, selfSignedCertsAllowed).build();
         register(ClientRegistry.ALICE_WEBID, client);
     }
 
     public void register(final String label, final Client client) {
-        registeredClientMap.put(label, client);
+        synchronized (registeredClientMap) {
+            client.setRequestListener(requestListener);
+            registeredClientMap.put(label, client);
+        }
+    }
+
+    /**
+     * Set the listener observing the requests of all registered clients, including those registered later.
+     * @param listener the listener or null to stop observing requests
+     */
+    public void setRequestListener(final RequestListener listener) {
+        synchronized (registeredClientMap) {
+            requestListener = listener;
+            registeredClientMap.values().forEach(c -> c.setRequestListener(listener));
+        }
     }
 
     public void unregister(final String label) {
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.http;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A response body handler which streams a Turtle response body straight into an RDF parser instead of buffering it
+ * as a string first.
+ *
+ * <p>The body is returned as a supplier so that parsing happens on the thread consuming the response rather than on
+ * the HTTP client's executor. Unsuccessful responses are discarded and have a null body. The handler can optionally be
+ * restricted to a set of predicates, such as {@code ldp:contains}, so that only the statements of interest are kept.
+ * </p>
+ */
+public final class ModelBodyHandler implements HttpResponse.BodyHandler<Supplier<Model>> {
+    private final String baseUri;
+    private final Set<IRI> predicates;
+
+    private ModelBodyHandler(final URI baseUri, final Set<IRI> predicates) {
+        requireNonNull(baseUri, "baseUri is required");
+        this.baseUri = baseUri.toString();
+        this.predicates = predicates;
+    }
+
+    /**
+     * Returns a handler which collects every statement in the response.
+     * @param baseUri the base URI used to resolve relative IRIs
+     * @return the handler
+     */
+    public static ModelBodyHandler ofModel(@NotNull final URI baseUri) {
+        return new ModelBodyHandler(baseUri, Set.of());
+    }
+
+    /**
+     * Returns a handler which only collects statements using one of the given predicates.
+     * @param baseUri the base URI used to resolve relative IRIs
+     * @param predicates the predicates to keep
+     * @return the handler
+     */
+    public static ModelBodyHandler ofPredicates(@NotNull final URI baseUri, @NotNull final IRI... predicates) {
+        requireNonNull(predicates, "predicates are required");
+        return new ModelBodyHandler(baseUri, Set.of(predicates));
+    }
+
+    @Override
+    public BodySubscriber<Supplier<Model>> apply(final HttpResponse.ResponseInfo responseInfo) {
+        if (!HttpUtils.isSuccessful(responseInfo.statusCode())) {
+            return BodySubscribers.replacing(null);
+        }
+        return BodySubscribers.mapping(BodySubscribers.ofInputStream(), in -> (Supplier<Model>) () -> parse(in));
+    }
+
+    Model parse(final InputStream in) {
+        final Model model = new LinkedHashModel();
+        final RDFParser parser = Rio.createParser(RDFFormat.TURTLE);
+        parser.setRDFHandler(new Collector(model));
+        try (in) {
+            parser.parse(in, baseUri);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return model;
+    }
+
+    private final class Collector extends AbstractRDFHandler {
+        private final Model model;
+
+        Collector(final Model model) {
+            this.model = model;
+        }
+
+        @Override
+        public void handleNamespace(final String prefix, final String uri) {
+            model.setNamespace(prefix, uri);
+        }
+
+        @Override
+        public void handleStatement(final Statement st) {
+            if (predicates.isEmpty() || predicates.contains(st.getPredicate())) {
+                model.add(st);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.http;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Observes the requests sent by a {@link Client}. A listener is set on each client, normally by
+ * {@link ClientRegistry#setRequestListener(RequestListener)} for the duration of a test run, and is called on the
+ * threads sending requests and receiving responses so it must be thread-safe and quick.
+ */
+public interface RequestListener {
+    /**
+     * Called before a request is first sent.
+     * @param request the request
+     */
+    default void beforeRequest(final HttpRequest request) {
+    }
+
+    /**
+     * Called when each attempt to send a request completes, including attempts which will be retried.
+     * @param request the request
+     * @param response the response or null if the attempt failed
+     * @param exception the failure or null if a response was received
+     * @param durationNanos the time taken by the attempt
+     */
+    default void responseReceived(final HttpRequest request, final HttpResponse<?> response,
+                                  final Throwable exception, final long durationNanos) {
+    }
+
+    /**
+     * Called once a request has completed, after any retries.
+     * @param request the request
+     */
+    default void requestCompleted(final HttpRequest request) {
+    }
+}
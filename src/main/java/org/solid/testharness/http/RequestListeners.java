@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.http;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link RequestListener} which passes each event on to a list of listeners, allowing several components to observe
+ * the requests of a single test run.
+ */
+public class RequestListeners implements RequestListener {
+    private final List<RequestListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void add(final RequestListener listener) {
+        listeners.add(requireNonNull(listener, "listener is required"));
+    }
+
+    public void remove(final RequestListener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean isEmpty() {
+        return listeners.isEmpty();
+    }
+
+    @Override
+    public void beforeRequest(final HttpRequest request) {
+        listeners.forEach(l -> l.beforeRequest(request));
+    }
+
+    @Override
+    public void responseReceived(final HttpRequest request, final HttpResponse<?> response,
+                                 final Throwable exception, final long durationNanos) {
+        listeners.forEach(l -> l.responseReceived(request, response, exception, durationNanos));
+    }
+
+    @Override
+    public void requestCompleted(final HttpRequest request) {
+        listeners.forEach(l -> l.requestCompleted(request));
+    }
+}
@@ -26,8 +26,6 @@ package org.solid.testharness.http;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.vocabulary.LDP;
-import org.eclipse.rdf4j.rio.RDFFormat;
-import org.eclipse.rdf4j.rio.Rio;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.solid.common.vocab.ACP;
@@ -35,6 +33,7 @@ import org.solid.common.vocab.PIM;
 import org.solid.testharness.accesscontrol.AccessControlFactory;
 import org.solid.testharness.accesscontrol.AccessDataset;
 import org.solid.testharness.accesscontrol.AccessDatasetBuilder;
+import org.solid.testharness.config.Config;
 import org.solid.testharness.config.TestSubject;
 import org.solid.testharness.utils.TestHarnessException;
 
@@ -42,7 +41,7 @@ import jakarta.enterprise.inject.spi.CDI;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.core.Link;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
@@ -53,6 +52,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.eclipse.rdf4j.model.util.Values.iri;
@@ -62,11 +62,13 @@ public class SolidClientProvider {
 
     private final Client client;
     private final AccessControlFactory accessControlFactory;
+    private final String webId;
 
     public SolidClientProvider() {
         final ClientRegistry clientRegistry = CDI.current().select(ClientRegistry.class).get();
         client = clientRegistry.getClient(ClientRegistry.DEFAULT);
         accessControlFactory = CDI.current().select(AccessControlFactory.class).get();
+        webId = null;
     }
     public SolidClientProvider(final String user) throws TestHarnessException {
         final ClientRegistry clientRegistry = CDI.current().select(ClientRegistry.class).get();
@@ -75,10 +77,18 @@ public class SolidClientProvider {
             throw new TestHarnessException("Client has not been registered yet: " + user);
         }
         accessControlFactory = CDI.current().select(AccessControlFactory.class).get();
+        webId = null;
     }
     public SolidClientProvider(final Client client) {
         this.client = client;
         accessControlFactory = CDI.current().select(AccessControlFactory.class).get();
+        webId = null;
+    }
+    public SolidClientProvider(final Client client, final AccessControlFactory accessControlFactory,
+                               final String webId) {
+        this.client = client;
+        this.accessControlFactory = accessControlFactory;
+        this.webId = webId;
     }
 
     public static SolidClientProvider create(final String user) throws TestHarnessException {
@@ -89,6 +99,14 @@ public class SolidClientProvider {
         return client;
     }
 
+    /**
+     * Return the WebID of the user of this client, which owns the resources it creates.
+     * @return the WebID, taken from the configured users unless the client belongs to one of several test subjects
+     */
+    public String getWebId() {
+        return webId != null ? webId : CDI.current().select(Config.class).get().getWebIds().get(client.getUser());
+    }
+
     public HttpHeaders createResource(final URI url, final String data, final String type) throws TestHarnessException {
         final HttpResponse<Void> response = client.put(url, data, type);
         if (!HttpUtils.isSuccessful(response.statusCode())) {
@@ -166,7 +184,21 @@ public class SolidClientProvider {
     }
 
     public Model getContentAsModel(final URI url) throws TestHarnessException, IOException {
-        return Rio.parse(new StringReader(getContentAsTurtle(url)), url.toString(), RDFFormat.TURTLE);
+        return getContentAsModel(url, ModelBodyHandler.ofModel(url));
+    }
+
+    private Model getContentAsModel(final URI url, final ModelBodyHandler handler)
+            throws TestHarnessException, IOException {
+        final HttpResponse<Supplier<Model>> response = client.getAsTurtle(url, handler);
+        if (!HttpUtils.isSuccessful(response.statusCode())) {
+            throw new TestHarnessException("Error response=" + response.statusCode() +
+                    " trying to get content for " + url);
+        }
+        try {
+            return response.body().get();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     public void deleteResourceRecursively(final URI url) {
@@ -188,7 +220,7 @@ public class SolidClientProvider {
             // get all members
             final List<URI> members;
             try {
-                members = parseContainerContents(getContentAsTurtle(url), url);
+                members = getContainerMembers(url);
             } catch (Exception e) {
                 logger.error("Failed to get container members: {}", e.toString());
                 // server may have overwritten a container as a resource so attempt to delete it in the resource form
@@ -248,12 +280,12 @@ public class SolidClientProvider {
         return url.getPath().endsWith("/");
     }
 
-    private static List<URI> parseContainerContents(final String data, final URI url) throws TestHarnessException {
+    private List<URI> getContainerMembers(final URI url) throws TestHarnessException {
         final Model model;
         try {
-            model = Rio.parse(new StringReader(data), url.toString(), RDFFormat.TURTLE);
+            model = getContentAsModel(url, ModelBodyHandler.ofPredicates(url, LDP.CONTAINS));
         } catch (IOException | RuntimeException e) {
-            throw new TestHarnessException("Bad container listing in " + data, e);
+            throw new TestHarnessException("Bad container listing in " + url, e);
         }
         return model.filter(iri(url.toString()), LDP.CONTAINS, null).objects().stream()
                 .map(Object::toString)
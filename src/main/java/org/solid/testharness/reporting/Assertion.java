@@ -26,6 +26,7 @@ package org.solid.testharness.reporting;
 import org.eclipse.rdf4j.model.IRI;
 import org.solid.common.vocab.EARL;
 import org.solid.testharness.utils.DataModelBase;
+import org.solid.testharness.utils.DataRepository;
 
 import java.util.List;
 
@@ -33,7 +34,11 @@ public class Assertion extends DataModelBase {
     private TestResult testResult;
 
     public Assertion(final IRI subject) {
-        super(subject, ConstructMode.DEEP);
+        this(subject, null);
+    }
+
+    public Assertion(final IRI subject, final DataRepository dataRepository) {
+        super(subject, ConstructMode.DEEP, dataRepository);
         final List<TestResult> results = getModelList(EARL.result, TestResult.class);
         if (results != null) {
             testResult = results.get(0);
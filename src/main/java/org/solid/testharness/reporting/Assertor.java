@@ -24,9 +24,14 @@
 package org.solid.testharness.reporting;
 
 import org.eclipse.rdf4j.model.IRI;
+import org.solid.testharness.utils.DataRepository;
 
 public class Assertor extends Software {
     public Assertor(final IRI subject) {
-        super(subject);
+        this(subject, null);
+    }
+
+    public Assertor(final IRI subject, final DataRepository dataRepository) {
+        super(subject, dataRepository);
     }
 }
@@ -29,10 +29,15 @@ import org.solid.common.vocab.DCTERMS;
 import org.solid.common.vocab.EARL;
 import org.solid.common.vocab.PROV;
 import org.solid.testharness.utils.DataModelBase;
+import org.solid.testharness.utils.DataRepository;
 
 public class GeneratedOutput extends DataModelBase  {
     public GeneratedOutput(final IRI subject) {
-        super(subject);
+        this(subject, null);
+    }
+
+    public GeneratedOutput(final IRI subject, final DataRepository dataRepository) {
+        super(subject, dataRepository);
     }
 
     public XMLDateTime getTimestamp() {
@@ -0,0 +1,223 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.reporting;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latency and error counts collected while replaying features as load against a test subject.
+ *
+ * <p>Latencies are recorded in microseconds for each feature, for each requirement level and overall, and are reported
+ * in milliseconds. The latency of an iteration covers the whole feature, not the individual requests it made.
+ * Iterations that were due to start but never ran because every worker was busy are counted as missed, separately
+ * from the latencies. The features must be added before any iterations are recorded.</p>
+ */
+public class LoadResults {
+    private static final Logger logger = LoggerFactory.getLogger(LoadResults.class);
+    // iterations taking longer than an hour are recorded as an hour
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String UNKNOWN_LEVEL = "UNKNOWN";
+
+    private final double rate;
+    private final int concurrency;
+    private final Map<String, Stats> features = new LinkedHashMap<>();
+    private final Map<String, Stats> levels = new LinkedHashMap<>();
+    private final Stats overall = new Stats(null);
+    private long elapsedNanos;
+
+    /**
+     * Create the results for a load run.
+     * @param rate the arrival rate in iterations per second or 0 if a fixed concurrency was used
+     * @param concurrency the maximum number of iterations running at once
+     */
+    public LoadResults(final double rate, final int concurrency) {
+        this.rate = rate;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Add a feature to be replayed.
+     * @param path the path used to run the feature
+     * @param level the level of the requirement it tests or null if unknown
+     */
+    public void addFeature(final String path, final String level) {
+        final Stats levelStats = levels.computeIfAbsent(level != null ? level : UNKNOWN_LEVEL, l -> new Stats(null));
+        features.putIfAbsent(path, new Stats(levelStats));
+    }
+
+    /**
+     * Record one iteration of a feature.
+     * @param path the path used to run the feature
+     * @param latencyNanos the time from when the iteration was due to start until it finished
+     * @param failed true if the feature failed
+     */
+    public void record(final String path, final long latencyNanos, final boolean failed) {
+        final Stats stats = features.get(path);
+        if (stats == null) {
+            throw new IllegalArgumentException("Feature was not added to the load results: " + path);
+        }
+        final long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        stats.record(micros, failed);
+        stats.parent.record(micros, failed);
+        overall.record(micros, failed);
+    }
+
+    /**
+     * Record an iteration of a feature that was due to start but could not be run in time.
+     * @param path the path used to run the feature
+     */
+    public void recordMissed(final String path) {
+        final Stats stats = features.get(path);
+        if (stats == null) {
+            throw new IllegalArgumentException("Feature was not added to the load results: " + path);
+        }
+        stats.missed.increment();
+        stats.parent.missed.increment();
+        overall.missed.increment();
+    }
+
+    public void setElapsedNanos(final long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getIterations() {
+        return overall.histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return overall.errors.sum();
+    }
+
+    public long getMissed() {
+        return overall.missed.sum();
+    }
+
+    public double getThroughput() {
+        return elapsedNanos > 0 ? getIterations() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)) : 0;
+    }
+
+    public Histogram getHistogram() {
+        return overall.histogram;
+    }
+
+    /**
+     * Write the overall latency distribution in milliseconds in the HdrHistogram text format.
+     * @param out the destination, which is flushed but not closed
+     */
+    public void writeHistogram(final OutputStream out) {
+        final PrintStream printStream = new PrintStream(out, false, StandardCharsets.UTF_8);
+        overall.histogram.outputPercentileDistribution(printStream, MICROS_PER_MILLI);
+        printStream.flush();
+    }
+
+    /**
+     * Summarize the results for serializing as JSON.
+     * @return the summary
+     */
+    public Map<String, Object> getSummary() {
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("mode", rate > 0 ? "rate" : "concurrency");
+        summary.put("rate", rate);
+        summary.put("concurrency", concurrency);
+        summary.put("durationMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        summary.put("throughput", getThroughput());
+        summary.put("overall", overall.toMap());
+        final Map<String, Object> levelSummaries = new LinkedHashMap<>();
+        levels.forEach((level, stats) -> levelSummaries.put(level, stats.toMap()));
+        summary.put("requirements", levelSummaries);
+        final Map<String, Object> featureSummaries = new LinkedHashMap<>();
+        features.forEach((path, stats) -> featureSummaries.put(path, stats.toMap()));
+        summary.put("features", featureSummaries);
+        return summary;
+    }
+
+    public void log() {
+        logger.info("Load results: {} iterations, {} errors, {} missed, {} per second", getIterations(), getErrors(),
+                getMissed(), String.format("%.2f", getThroughput()));
+        logger.info("  Overall: {}", overall.describe());
+        levels.forEach((level, stats) -> logger.info("  {}: {}", level, stats.describe()));
+    }
+
+    private static final class Stats {
+        private final Stats parent;
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder missed = new LongAdder();
+
+        Stats(final Stats parent) {
+            this.parent = parent;
+        }
+
+        void record(final long micros, final boolean failed) {
+            histogram.recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        double errorRate() {
+            final long count = histogram.getTotalCount();
+            return count > 0 ? errors.sum() / (double) count : 0;
+        }
+
+        Map<String, Object> toMap() {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("iterations", histogram.getTotalCount());
+            map.put("errors", errors.sum());
+            map.put("errorRate", errorRate());
+            map.put("missed", missed.sum());
+            map.put("mean", histogram.getMean() / MICROS_PER_MILLI);
+            map.put("p50", percentile(50));
+            map.put("p90", percentile(90));
+            map.put("p99", percentile(99));
+            map.put("p999", percentile(99.9));
+            map.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+            return map;
+        }
+
+        String describe() {
+            return String.format(
+                    "iterations=%d errorRate=%.2f%% missed=%d p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+                    histogram.getTotalCount(), errorRate() * 100, missed.sum(), percentile(50), percentile(90),
+                    percentile(99), histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+
+        private double percentile(final double percentile) {
+            return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+        }
+    }
+}
@@ -26,7 +26,6 @@ package org.solid.testharness.reporting;
 import io.quarkus.qute.Location;
 import io.quarkus.qute.Template;
 import org.eclipse.rdf4j.model.IRI;
-import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.solid.common.vocab.DOAP;
@@ -59,23 +58,51 @@ public class ReportGenerator {
 
     @SuppressWarnings("java:S1130") // false-positive
     public void buildTurtleReport(final Writer writer) throws TestHarnessException {
-        dataRepository.export(writer, (Resource) null);
+        buildTurtleReport(writer, dataRepository);
+    }
+
+    /**
+     * Write the report of the results held in a repository, such as the view of one of several test subjects.
+     * @param writer the writer for the report
+     * @param repository the repository
+     * @throws TestHarnessException if the report cannot be written
+     */
+    @SuppressWarnings("java:S1130") // false-positive
+    public void buildTurtleReport(final Writer writer, final DataRepository repository) throws TestHarnessException {
+        repository.export(writer, repository.getReportContexts());
     }
 
     public void buildHtmlCoverageReport(final Writer writer) throws IOException {
-        writer.write(coverageTemplate.data(new ResultData(getSpecifications(), getTestCases(), null)).render());
+        writer.write(coverageTemplate.data(new ResultData(getSpecifications(dataRepository),
+                getTestCases(dataRepository), null)).render());
         writer.flush();
     }
 
     public void buildHtmlResultReport(final Writer writer) throws IOException {
-        writer.write(resultTemplate.data(new ResultData(getSpecifications(), getTestCases(), testSuiteResults))
-                .render());
+        writer.write(resultTemplate.data(new ResultData(getSpecifications(dataRepository),
+                getTestCases(dataRepository), testSuiteResults)).render());
+        writer.flush();
+    }
+
+    /**
+     * Write the HTML report of the results of one of several test subjects.
+     * @param writer the writer for the report
+     * @param repository the view of the repository holding the results of the test subject
+     * @param subject the test subject
+     * @param results the results of the test subject
+     * @throws IOException if the report cannot be written
+     */
+    public void buildHtmlResultReport(final Writer writer, final DataRepository repository, final IRI subject,
+                                      final TestSuiteResults results) throws IOException {
+        results.setStartTime(startTime);
+        writer.write(resultTemplate.data(new ResultData(getSpecifications(repository), getTestCases(repository),
+                results, repository, subject)).render());
         writer.flush();
     }
 
-    private List<IRI> getSpecifications() {
+    private List<IRI> getSpecifications(final DataRepository repository) {
         try (
-                RepositoryConnection conn = dataRepository.getConnection();
+                RepositoryConnection conn = repository.getConnection();
                 var statements1 = conn.getStatements(null, RDF.type, SPEC.Specification);
                 var statements2 = conn.getStatements(null, RDF.type, DOAP.Specification)
         ) {
@@ -86,9 +113,9 @@ public class ReportGenerator {
         }
     }
 
-    private List<IRI> getTestCases() {
+    private List<IRI> getTestCases(final DataRepository repository) {
         try (
-                RepositoryConnection conn = dataRepository.getConnection();
+                RepositoryConnection conn = repository.getConnection();
                 var statements = conn.getStatements(null, RDF.type, TD.TestCase)
         ) {
             return statements.stream()
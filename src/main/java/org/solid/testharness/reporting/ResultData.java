@@ -27,6 +27,7 @@ import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.vocabulary.XSD;
 import org.solid.common.vocab.*;
 import org.solid.testharness.config.Config;
+import org.solid.testharness.utils.DataRepository;
 import org.solid.testharness.utils.Namespaces;
 
 import jakarta.enterprise.inject.spi.CDI;
@@ -44,16 +45,33 @@ public class ResultData {
     private TestSuiteResults testSuiteResults;
 
     public ResultData(final List<IRI> specifications, final List<IRI> testCases, final TestSuiteResults results) {
-        assertor = new Assertor(iri(Namespaces.TEST_HARNESS_URI));
-        this.specificationTests = new SpecificationTests(iri(Namespaces.SPECIFICATION_TESTS_IRI));
-        final Config config = CDI.current().select(Config.class).get();
+        this(specifications, testCases, results, null,
+                results != null ? CDI.current().select(Config.class).get().getTestSubject() : null);
+    }
+
+    /**
+     * Gather the data for a report from a repository.
+     * @param specifications the specifications
+     * @param testCases the test cases
+     * @param results the results or null for a coverage report
+     * @param dataRepository the repository or null for the application's repository
+     * @param subject the test subject of the results
+     */
+    public ResultData(final List<IRI> specifications, final List<IRI> testCases, final TestSuiteResults results,
+                      final DataRepository dataRepository, final IRI subject) {
+        assertor = new Assertor(iri(Namespaces.TEST_HARNESS_URI), dataRepository);
+        this.specificationTests = new SpecificationTests(iri(Namespaces.SPECIFICATION_TESTS_IRI), dataRepository);
         if (results != null) {
             // there is a test subject when there are results, but not for coverage reports
-            testSubject = new TestSubject(config.getTestSubject());
+            testSubject = new TestSubject(subject, dataRepository);
             this.testSuiteResults = results;
         }
-        this.specifications = specifications.stream().map(Specification::new).collect(Collectors.toList());
-        this.testCases = testCases.stream().map(TestCase::new).collect(Collectors.toList());
+        this.specifications = specifications.stream()
+                .map(spec -> new Specification(spec, dataRepository))
+                .collect(Collectors.toList());
+        this.testCases = testCases.stream()
+                .map(tc -> new TestCase(tc, dataRepository))
+                .collect(Collectors.toList());
     }
 
     public String getIdentifier() {
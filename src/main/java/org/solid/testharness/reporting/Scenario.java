@@ -27,18 +27,26 @@ import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.datatypes.XMLDateTime;
 import org.solid.common.vocab.DCTERMS;
 import org.solid.common.vocab.PROV;
+import org.solid.common.vocab.SOLID_TEST;
 import org.solid.testharness.utils.DataModelBase;
+import org.solid.testharness.utils.DataRepository;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class Scenario extends DataModelBase {
     private GeneratedOutput generatedOutput;
     private List<Step> steps;
+    private List<Scenario> attempts;
 
     public Scenario(final IRI subject) {
-        super(subject, ConstructMode.DEEP_WITH_LISTS);
+        this(subject, null);
+    }
+
+    public Scenario(final IRI subject, final DataRepository dataRepository) {
+        super(subject, ConstructMode.DEEP_WITH_LISTS, dataRepository);
         final List<GeneratedOutput> generatedOutputs = getModelList(PROV.generated, GeneratedOutput.class);
         if (generatedOutputs != null) {
             generatedOutput = generatedOutputs.get(0);
@@ -47,6 +55,13 @@ public class Scenario extends DataModelBase {
         if (steps == null) {
             steps = Collections.emptyList();
         }
+        attempts = getModelList(SOLID_TEST.attempt, Scenario.class);
+        if (attempts == null) {
+            attempts = Collections.emptyList();
+        } else {
+            attempts.sort(Comparator.comparing(Scenario::getStartTime,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+        }
     }
 
     public String getTitle() {
@@ -68,6 +83,22 @@ public class Scenario extends DataModelBase {
         return getLiteralAsDateTime(PROV.endedAtTime);
     }
 
+    public int getRequestCount() {
+        return getLiteralAsInt(SOLID_TEST.requestCount);
+    }
+
+    public String getRequestTime() {
+        return getLiteralAsString(SOLID_TEST.requestTime);
+    }
+
+    public String getMaxRequestTime() {
+        return getLiteralAsString(SOLID_TEST.maxRequestTime);
+    }
+
+    public String getP95RequestTime() {
+        return getLiteralAsString(SOLID_TEST.p95RequestTime);
+    }
+
     public GeneratedOutput getGeneratedOutput() {
         return generatedOutput;
     }
@@ -80,6 +111,18 @@ public class Scenario extends DataModelBase {
         return steps.stream().filter(Step::isBackground).collect(Collectors.toList());
     }
 
+    /**
+     * Get the later attempts at running this scenario if it was retried after failing.
+     * @return the attempts in the order they were run
+     */
+    public List<Scenario> getAttempts() {
+        return attempts;
+    }
+
+    public boolean isFlaky() {
+        return getLiteralAsBoolean(SOLID_TEST.flaky);
+    }
+
     public boolean isFailed() {
         return generatedOutput.isFailed();
     }
@@ -27,10 +27,15 @@ import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.datatypes.XMLDateTime;
 import org.solid.common.vocab.DOAP;
 import org.solid.testharness.utils.DataModelBase;
+import org.solid.testharness.utils.DataRepository;
 
 public class Software extends DataModelBase  {
     public Software(final IRI subject) {
-        super(subject, ConstructMode.DEEP);
+        this(subject, null);
+    }
+
+    public Software(final IRI subject, final DataRepository dataRepository) {
+        super(subject, ConstructMode.DEEP, dataRepository);
     }
 
     public String getSoftwareName() {
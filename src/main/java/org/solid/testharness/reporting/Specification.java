@@ -26,6 +26,7 @@ package org.solid.testharness.reporting;
 import org.eclipse.rdf4j.model.IRI;
 import org.solid.common.vocab.SPEC;
 import org.solid.testharness.utils.DataModelBase;
+import org.solid.testharness.utils.DataRepository;
 
 import java.util.List;
 
@@ -33,7 +34,11 @@ public class Specification extends DataModelBase {
     private List<SpecificationRequirement> requirements;
 
     public Specification(final IRI subject) {
-        super(subject);
+        this(subject, null);
+    }
+
+    public Specification(final IRI subject, final DataRepository dataRepository) {
+        super(subject, dataRepository);
         requirements = getModelList(SPEC.requirement, SpecificationRequirement.class);
     }
 
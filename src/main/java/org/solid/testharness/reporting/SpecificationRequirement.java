@@ -26,6 +26,7 @@ package org.solid.testharness.reporting;
 import org.eclipse.rdf4j.model.IRI;
 import org.solid.common.vocab.SPEC;
 import org.solid.testharness.utils.DataModelBase;
+import org.solid.testharness.utils.DataRepository;
 import org.solid.testharness.utils.Namespaces;
 
 import java.util.List;
@@ -35,7 +36,11 @@ public class SpecificationRequirement extends DataModelBase {
     private final List<TestCase> testCases;
 
     public SpecificationRequirement(final IRI subject) {
-        super(subject, ConstructMode.INC_REFS);
+        this(subject, null);
+    }
+
+    public SpecificationRequirement(final IRI subject, final DataRepository dataRepository) {
+        super(subject, ConstructMode.INC_REFS, dataRepository);
         testCases = getModelListByObject(SPEC.requirementReference, TestCase.class);
     }
 
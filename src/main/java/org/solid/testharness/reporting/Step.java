@@ -27,6 +27,7 @@ import org.eclipse.rdf4j.model.IRI;
 import org.solid.common.vocab.DCTERMS;
 import org.solid.common.vocab.PROV;
 import org.solid.testharness.utils.DataModelBase;
+import org.solid.testharness.utils.DataRepository;
 
 import java.util.List;
 
@@ -34,7 +35,11 @@ public class Step extends DataModelBase {
     private GeneratedOutput generatedOutput;
 
     public Step(final IRI subject) {
-        super(subject, ConstructMode.DEEP);
+        this(subject, null);
+    }
+
+    public Step(final IRI subject, final DataRepository dataRepository) {
+        super(subject, ConstructMode.DEEP, dataRepository);
         final List<GeneratedOutput> generatedOutputs = getModelList(PROV.generated, GeneratedOutput.class);
         if (generatedOutputs != null) {
             generatedOutput = generatedOutputs.get(0);
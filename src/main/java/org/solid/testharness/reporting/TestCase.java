@@ -29,6 +29,7 @@ import org.solid.common.vocab.EARL;
 import org.solid.common.vocab.SPEC;
 import org.solid.common.vocab.TD;
 import org.solid.testharness.utils.DataModelBase;
+import org.solid.testharness.utils.DataRepository;
 import org.solid.testharness.utils.Namespaces;
 
 import java.util.List;
@@ -38,7 +39,11 @@ public class TestCase extends DataModelBase {
     private Assertion assertion;
 
     public TestCase(final IRI subject) {
-        super(subject, ConstructMode.INC_REFS);
+        this(subject, null);
+    }
+
+    public TestCase(final IRI subject, final DataRepository dataRepository) {
+        super(subject, ConstructMode.INC_REFS, dataRepository);
         scenarios = getModelList(DCTERMS.hasPart, Scenario.class);
         final List<Assertion> assertions = getModelListByObject(EARL.test, Assertion.class);
         if (assertions != null) {
@@ -27,11 +27,17 @@ import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.datatypes.XMLDateTime;
 import org.solid.common.vocab.DCTERMS;
 import org.solid.common.vocab.EARL;
+import org.solid.common.vocab.SOLID_TEST;
 import org.solid.testharness.utils.DataModelBase;
+import org.solid.testharness.utils.DataRepository;
 
 public class TestResult extends DataModelBase  {
     public TestResult(final IRI subject) {
-        super(subject);
+        this(subject, null);
+    }
+
+    public TestResult(final IRI subject, final DataRepository dataRepository) {
+        super(subject, dataRepository);
     }
 
     public String getOutcome() {
@@ -50,7 +56,27 @@ public class TestResult extends DataModelBase  {
         return getAsIri(EARL.outcome).getLocalName();
     }
 
+    public boolean isFlaky() {
+        return getLiteralAsBoolean(SOLID_TEST.flaky);
+    }
+
     public XMLDateTime getDate() {
         return getLiteralAsDateTime(DCTERMS.date);
     }
+
+    public int getRequestCount() {
+        return getLiteralAsInt(SOLID_TEST.requestCount);
+    }
+
+    public String getRequestTime() {
+        return getLiteralAsString(SOLID_TEST.requestTime);
+    }
+
+    public String getMaxRequestTime() {
+        return getLiteralAsString(SOLID_TEST.maxRequestTime);
+    }
+
+    public String getP95RequestTime() {
+        return getLiteralAsString(SOLID_TEST.p95RequestTime);
+    }
 }
@@ -24,9 +24,14 @@
 package org.solid.testharness.reporting;
 
 import org.eclipse.rdf4j.model.IRI;
+import org.solid.testharness.utils.DataRepository;
 
 public class TestSubject extends Software  {
     public TestSubject(final IRI subject) {
-        super(subject);
+        this(subject, null);
+    }
+
+    public TestSubject(final IRI subject, final DataRepository dataRepository) {
+        super(subject, dataRepository);
     }
 }
@@ -27,15 +27,18 @@ import com.intuit.karate.Results;
 import com.intuit.karate.core.FeatureCall;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.solid.testharness.utils.AdaptiveConcurrency;
 import org.solid.testharness.utils.DataRepository;
 
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static io.quarkiverse.loggingjson.providers.KeyValueStructuredArgument.*;
 
@@ -54,6 +57,8 @@ public class TestSuiteResults {
     int mustScenariosPassed;
     int mustScenariosFailed;
     int toleratedScenariosFailing;
+    int flakyScenarios;
+    List<AdaptiveConcurrency.Sample> concurrencyHistory = Collections.emptyList();
 
     public static TestSuiteResults emptyResults() {
         return new TestSuiteResults(null);
@@ -76,7 +81,7 @@ public class TestSuiteResults {
     }
 
     public List<FeatureCall> getFeatures() {
-        return this.results.getSuite().features;
+        return results != null ? results.getSuite().features : List.of();
     }
 
     public String getErrorMessages() {
@@ -91,6 +96,22 @@ public class TestSuiteResults {
         return featuresTotal;
     }
 
+    /**
+     * Get the number of scenarios which failed and then passed when they were retried.
+     * @return the number of flaky scenarios
+     */
+    public int getFlakyScenarios() {
+        return flakyScenarios;
+    }
+
+    public List<AdaptiveConcurrency.Sample> getConcurrencyHistory() {
+        return concurrencyHistory;
+    }
+
+    public void setConcurrencyHistory(final List<AdaptiveConcurrency.Sample> concurrencyHistory) {
+        this.concurrencyHistory = concurrencyHistory != null ? concurrencyHistory : Collections.emptyList();
+    }
+
     public void setStartTime(final long startTime) {
         this.startTime = startTime;
     }
@@ -123,6 +144,7 @@ public class TestSuiteResults {
                 Scores.calcScore(scenarioScores, MUST_NOT, Scores.PASSED);
         mustScenariosFailed = Scores.calcScore(scenarioScores, MUST, Scores.FAILED) +
                 Scores.calcScore(scenarioScores, MUST_NOT, Scores.FAILED);
+        flakyScenarios = dataRepository.countFlakyScenarios();
     }
 
     public void log() {
@@ -138,12 +160,27 @@ public class TestSuiteResults {
                 kv("mustScenarios", mustScenarios),
                 kv("scenarios", scenarioScores),
                 kv("toleratedScenariosFailing", toleratedScenariosFailing),
+                kv("flakyScenarios", flakyScenarios),
+                kv("concurrency", concurrencyHistory.stream().map(Object::toString).collect(Collectors.toList())),
                 kv("elapsedTime", getElapsedTime()),
                 kv("totalTime", getTimeTakenMillis()),
                 kv("resultDate", DateTimeFormatter.ISO_DATE_TIME.format(getResultDate()))
         );
     }
 
+    private String summarizeFlakiness() {
+        return flakyScenarios > 0 ? "\n  Flaky scenarios: " + flakyScenarios + " (passed on retry)" : "";
+    }
+
+    private String summarizeConcurrency() {
+        if (concurrencyHistory.isEmpty()) {
+            return "";
+        }
+        return "\n  Concurrency:     " + concurrencyHistory.stream()
+                .map(Object::toString)
+                .collect(Collectors.joining(" -> "));
+    }
+
     @Override
     public String toString() {
         if (getFeatureTotal() > 0) {
@@ -152,7 +189,7 @@ public class TestSuiteResults {
                             "  MustScenarios passed: %d, failed: %d\n  Total scenarios: %d",
                     mustFeaturesPassed, mustFeaturesFailed, featuresTotal,
                     mustScenariosPassed, mustScenariosFailed, scenariosTotal
-            );
+            ) + summarizeFlakiness() + summarizeConcurrency();
         } else {
             return "Results: No features were run";
         }
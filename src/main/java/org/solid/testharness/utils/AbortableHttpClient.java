@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.KarateException;
+import com.intuit.karate.core.Config;
+import com.intuit.karate.http.HttpClient;
+import com.intuit.karate.http.HttpRequest;
+import com.intuit.karate.http.Response;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A Karate HTTP client which lets the {@link FeatureWatchdog} abort a call. Karate's own client blocks the scenario
+ * thread in a socket read which an interrupt does not end, so the call is made on a separate thread while the
+ * scenario waits for its outcome, which the watchdog can complete with a failure when the feature runs out of time.
+ */
+final class AbortableHttpClient implements HttpClient {
+    private final HttpClient delegate;
+    private final FeatureWatchdog watchdog;
+
+    AbortableHttpClient(final HttpClient delegate, final FeatureWatchdog watchdog) {
+        this.delegate = delegate;
+        this.watchdog = watchdog;
+    }
+
+    @Override
+    public void setConfig(final Config config) {
+        delegate.setConfig(config);
+    }
+
+    @Override
+    public Config getConfig() {
+        return delegate.getConfig();
+    }
+
+    @Override
+    public Response invoke(final HttpRequest request) {
+        try {
+            return watchdog.call(request, () -> delegate.invoke(request)).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new KarateException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KarateException("HTTP call interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.core.FeatureRuntime;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.core.StepResult;
+import com.intuit.karate.http.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.http.RequestListener;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.InterruptedIOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the number of features running at once to what the server under test can sustain.
+ *
+ * <p>Karate runs the features with up to <code>maxThreads</code> threads and this controller, registered as a Karate
+ * hook, holds back features beyond the current limit before they start. The limit follows an AIMD scheme: it starts at
+ * <code>minThreads</code> and grows by one each time a full window of features completes while the limit was being
+ * reached. It is halved when the server signals that it is overloaded (429, 503 or 504 responses to the HTTP calls of
+ * the tests, or calls which time out), which it also learns from each attempt made by the harness clients as it is
+ * registered as their request listener, and cut by a quarter when the smoothed latency rises well above the fastest
+ * seen, never dropping below <code>minThreads</code>. Decreases are applied at most once a second so that a burst of
+ * throttled responses counts as a single signal. Each change is recorded so the run summary can show how the limit
+ * moved.</p>
+ */
+@ApplicationScoped
+public class AdaptiveConcurrency implements RuntimeHook, RequestListener {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrency.class);
+
+    static final double THROTTLE_BACKOFF = 0.5;
+    static final double LATENCY_BACKOFF = 0.75;
+    static final double LATENCY_TOLERANCE = 2.0;
+    static final long LATENCY_FLOOR = TimeUnit.MILLISECONDS.toNanos(50);
+    static final long DECREASE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    @Inject
+    Config config;
+
+    private boolean active;
+    private int minLimit;
+    private int maxLimit;
+    private int limit;
+    private int running;
+    private int completed;
+    private boolean saturated;
+    private long fastest;
+    private double latency;
+    private long startTime;
+    private long lastDecrease;
+    private final Set<Object> admitted = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Sample> history = new ArrayList<>();
+
+    /**
+     * Start controlling the features of a test run.
+     * @param maxThreads the upper limit, normally the number of threads running the tests
+     */
+    public synchronized void start(final int maxThreads) {
+        maxLimit = Math.max(maxThreads, 1);
+        minLimit = Math.min(config.getMinThreads(), maxLimit);
+        limit = minLimit;
+        running = 0;
+        completed = 0;
+        saturated = false;
+        fastest = 0;
+        latency = 0;
+        startTime = System.nanoTime();
+        lastDecrease = startTime - DECREASE_INTERVAL;
+        admitted.clear();
+        history.clear();
+        history.add(new Sample(0, limit));
+        active = true;
+        logger.info("Adaptive concurrency between {} and {}", minLimit, maxLimit);
+    }
+
+    /**
+     * Stop holding back features.
+     */
+    public synchronized void stop() {
+        active = false;
+        admitted.clear();
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * The limits chosen during the run in the order they were set, starting with the initial limit.
+     * @return the history of the limit
+     */
+    public synchronized List<Sample> getHistory() {
+        return List.copyOf(history);
+    }
+
+    @Override
+    public boolean beforeFeature(final FeatureRuntime fr) {
+        // called features run inside the scenario which calls them so only top-level features are held back
+        if (fr.caller.isNone()) {
+            featureStarted(fr);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterFeature(final FeatureRuntime fr) {
+        featureFinished(fr);
+    }
+
+    @Override
+    public void afterHttpCall(final com.intuit.karate.http.HttpRequest request, final Response response,
+                              final ScenarioRuntime sr) {
+        responseReceived(response.getStatus(), TimeUnit.MILLISECONDS.toNanos(response.getResponseTime()));
+    }
+
+    @Override
+    public void responseReceived(final HttpRequest request, final HttpResponse<?> response,
+                                 final Throwable exception, final long durationNanos) {
+        if (response != null) {
+            responseReceived(response.statusCode(), durationNanos);
+        } else if (isTimeout(exception)) {
+            timedOut();
+        }
+    }
+
+    @Override
+    public void afterStep(final StepResult result, final ScenarioRuntime sr) {
+        // Karate does not report HTTP calls which fail so timeouts are picked up from the step which made the call
+        if (result.getResult().isFailed() && isTimeout(result.getResult().getError())) {
+            timedOut();
+        }
+    }
+
+    synchronized void featureStarted(final Object feature) {
+        while (active && running >= limit) {
+            saturated = true;
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!active) {
+            return;
+        }
+        admitted.add(feature);
+        running++;
+        if (running >= limit) {
+            saturated = true;
+        }
+    }
+
+    synchronized void featureFinished(final Object feature) {
+        if (!admitted.remove(feature)) {
+            return;
+        }
+        running--;
+        if (++completed >= limit) {
+            completed = 0;
+            // only grow when the current limit is actually holding the tests back
+            if (saturated && limit < maxLimit) {
+                setLimit(limit + 1);
+            }
+            saturated = false;
+        }
+        notifyAll();
+    }
+
+    synchronized void responseReceived(final int status, final long durationNanos) {
+        if (!active) {
+            return;
+        }
+        if (status == 429 || status == 503 || status == 504) {
+            decrease(THROTTLE_BACKOFF);
+            return;
+        }
+        fastest = fastest == 0 ? durationNanos : Math.min(fastest, durationNanos);
+        latency = latency == 0 ? durationNanos : latency + LATENCY_WEIGHT * (durationNanos - latency);
+        if (latency > LATENCY_TOLERANCE * Math.max(fastest, LATENCY_FLOOR)) {
+            decrease(LATENCY_BACKOFF);
+        }
+    }
+
+    synchronized void timedOut() {
+        if (active) {
+            decrease(THROTTLE_BACKOFF);
+        }
+    }
+
+    private void decrease(final double factor) {
+        final long now = System.nanoTime();
+        if (now - lastDecrease < DECREASE_INTERVAL) {
+            return;
+        }
+        lastDecrease = now;
+        completed = 0;
+        final int reduced = Math.max(minLimit, (int) Math.floor(limit * factor));
+        if (reduced < limit) {
+            setLimit(reduced);
+        }
+    }
+
+    private void setLimit(final int newLimit) {
+        logger.debug("Concurrency limit changed from {} to {}", limit, newLimit);
+        limit = newLimit;
+        history.add(new Sample(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), limit));
+        notifyAll();
+    }
+
+    static boolean isTimeout(final Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            // socket and connection timeouts are both interrupted I/O, unlike the timeouts of the Java HTTP client
+            if (cause instanceof InterruptedIOException || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The concurrency limit chosen at a point in the run.
+     */
+    public static final class Sample {
+        private final long elapsedMillis;
+        private final int limit;
+
+        public Sample(final long elapsedMillis, final int limit) {
+            this.elapsedMillis = elapsedMillis;
+            this.limit = limit;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.1fs:%d", elapsedMillis / 1000.0, limit);
+        }
+    }
+}
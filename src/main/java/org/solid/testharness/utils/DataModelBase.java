@@ -54,6 +54,7 @@ public class DataModelBase {
     protected Model model;
     @NotNull
     protected IRI subject;
+    private final DataRepository dataRepository;
 
     public enum ConstructMode {
         SHALLOW,
@@ -66,8 +67,23 @@ public class DataModelBase {
         this(subject, ConstructMode.SHALLOW);
     }
     protected DataModelBase(final IRI subject, final ConstructMode mode) {
+        this(subject, mode, null);
+    }
+    protected DataModelBase(final IRI subject, final DataRepository dataRepository) {
+        this(subject, ConstructMode.SHALLOW, dataRepository);
+    }
+
+    /**
+     * Construct the model of a subject from a repository, which the models of related subjects also use.
+     * @param subject the subject
+     * @param mode how much of the data around the subject to include
+     * @param dataRepository the repository or null for the application's repository
+     */
+    protected DataModelBase(final IRI subject, final ConstructMode mode, final DataRepository dataRepository) {
         requireNonNull(subject, "subject is required");
-        final DataRepository dataRepository = CDI.current().select(DataRepository.class).get();
+        this.dataRepository = dataRepository != null
+                ? dataRepository
+                : CDI.current().select(DataRepository.class).get();
         this.subject = subject;
         try (
                 RepositoryConnection conn = dataRepository.getConnection();
@@ -183,7 +199,7 @@ public class DataModelBase {
     private <T extends DataModelBase> List<T> getModelList(final Class<T> clazz, final Collection<Value> values) {
         return values.stream().filter(Value::isIRI).map(IRI.class::cast).map(v -> {
             try {
-                return clazz.getDeclaredConstructor(IRI.class).newInstance(v);
+                return clazz.getDeclaredConstructor(IRI.class, DataRepository.class).newInstance(v, dataRepository);
             } catch (InstantiationException | IllegalAccessException |
                     InvocationTargetException | NoSuchMethodException e) {
                 throw new RuntimeException( "Failed to create instance of " + clazz.getName(), e);
@@ -35,7 +35,9 @@ import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.repository.contextaware.ContextAwareRepository;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.repository.util.RDFInserter;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.UnsupportedRDFormatException;
@@ -52,10 +54,11 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.Writer;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -64,19 +67,31 @@ import static org.eclipse.rdf4j.model.util.Values.*;
 @ApplicationScoped
 public class DataRepository implements Repository {
     private static final Logger logger = LoggerFactory.getLogger(DataRepository.class);
-    private static final String GITHUB_LINE_ANCHOR = "#L";
+    static final String GITHUB_LINE_ANCHOR = "#L";
+    private static final String ATTEMPT_TITLE = "Attempt ";
+    // a scenario is not retried again once it passes so a flaky scenario is one whose latest attempt passed
+    private static final String FLAKY_OUTCOME =
+            "  OPTIONAL { ?s solid-test:flaky ?flaky }" +
+            "  BIND (IF(BOUND(?flaky) && ?flaky, earl:passed, ?first) AS ?outcome)";
     private static final String POLYGLOT_EXCEPTION = "org.graalvm.polyglot.PolyglotException: ";
+    // results nodes are minted in a namespace containing a UUID which is unique to each run
+    private static final Pattern RESULTS_NAMESPACE = Pattern.compile(
+            "^" + Pattern.quote(Namespaces.TESTS_REPO_URI) + "[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}#");
 
-    private final Repository repository = new SailRepository(new MemoryStore());
+    private final Repository repository;
+    // the named graph holding the results of one test subject, or null for the whole repository
+    private final IRI graph;
 
     @Inject
-    GraalRdfaParser graalRdfaParser;
+    RdfaParserProvider rdfaParserProvider;
+
+    private RdfaParser rdfaParser;
 
     /**
      * Sets the RDFa parser (for testing when CDI is not available).
      */
-    void setGraalRdfaParser(final GraalRdfaParser parser) {
-        this.graalRdfaParser = parser;
+    void setRdfaParser(final RdfaParser parser) {
+        this.rdfaParser = parser;
     }
 
     // TODO: Determine if this should be a separate IRI to the base
@@ -90,6 +105,44 @@ public class DataRepository implements Repository {
             "skipped", EARL.untested
     );
 
+    public DataRepository() {
+        repository = new SailRepository(new MemoryStore());
+        graph = null;
+    }
+
+    private DataRepository(final DataRepository base, final IRI graph) {
+        // read the shared test descriptions and specifications along with the graph, but only write to the graph
+        final ContextAwareRepository contextAware = new ContextAwareRepository(base.repository);
+        contextAware.setReadContexts(null, Namespaces.SPEC_RELATED_CONTEXT, graph);
+        contextAware.setInsertContext(graph);
+        contextAware.setRemoveContexts(graph);
+        repository = contextAware;
+        this.graph = graph;
+        rdfaParserProvider = base.rdfaParserProvider;
+        rdfaParser = base.rdfaParser;
+        assertor = base.assertor;
+        testSubject = graph;
+        failingScenarios = base.failingScenarios;
+    }
+
+    /**
+     * Create a view of this repository for one of several test subjects tested at the same time. The results added
+     * through the view go into a named graph for the test subject, while the test descriptions are shared.
+     * @param testSubject the test subject, which also names the graph
+     * @return the view of the repository
+     */
+    public DataRepository forSubject(final IRI testSubject) {
+        return new DataRepository(this, testSubject);
+    }
+
+    /**
+     * Return the graphs that make up a report of the results in this repository.
+     * @return the default graph and the graph of the test subject for a view
+     */
+    public Resource[] getReportContexts() {
+        return graph != null ? new Resource[] {null, graph} : new Resource[] {null};
+    }
+
     @PostConstruct
     void postConstruct() {
         Namespaces.addToRepository(repository);
@@ -216,18 +269,32 @@ public class DataRepository implements Repository {
     private void loadRdfaFromConnection(final RepositoryConnection conn, final java.net.URLConnection connection,
                                         final URL url, final String baseUri, final IRI context,
                                         final String contentType) throws IOException {
-        final String content;
+        // Stream the content through the RDFa parser straight into the repository, in a transaction so that a
+        // document which fails part way through leaves nothing behind
+        final var effectiveBaseUri = baseUri != null ? baseUri : url.toString();
+        final var inserter = new RDFInserter(conn);
+        inserter.enforceContext(context);
+        final var ownTransaction = !conn.isActive();
+        if (ownTransaction) {
+            conn.begin();
+        }
         try (final var is = connection.getInputStream()) {
-            content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            getRdfaParser().parse(is, effectiveBaseUri, contentType, inserter);
+            if (ownTransaction) {
+                conn.commit();
+            }
+        } finally {
+            if (ownTransaction && conn.isActive()) {
+                conn.rollback();
+            }
         }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Loaded {} RDFa statements from {}", conn.size(context), url);
+        }
+    }
 
-        // Parse with GraalRdfaParser
-        final var effectiveBaseUri = baseUri != null ? baseUri : url.toString();
-        final var model = graalRdfaParser.parse(content, effectiveBaseUri, contentType);
-
-        // Add statements to the repository in the given context
-        conn.add(model, context);
-        logger.debug("Loaded {} RDFa statements from {}", model.size(), url);
+    private RdfaParser getRdfaParser() {
+        return rdfaParser != null ? rdfaParser : rdfaParserProvider.getParser();
     }
 
     public void identifySpecifications() {
@@ -253,8 +320,30 @@ public class DataRepository implements Repository {
         this.failingScenarios = failingScenarios;
     }
 
-    public void addFeatureResult(final Suite suite, final FeatureResult fr, final IRI featureIri,
-                                 final FeatureFileParser featureFileParser) {
+    /**
+     * Add the results of a feature to the repository.
+     * @param suite the suite which ran the feature
+     * @param fr the feature result
+     * @param featureIri the feature
+     * @param featureFileParser the metadata of the feature file
+     * @return the outcome of the feature or null if its results could not be added
+     */
+    public IRI addFeatureResult(final Suite suite, final FeatureResult fr, final IRI featureIri,
+                                final FeatureFileParser featureFileParser) {
+        return addFeatureResult(suite, fr, featureIri, featureFileParser, null);
+    }
+
+    /**
+     * Add the results of a feature to the repository along with the response times of the requests it made.
+     * @param suite the suite which ran the feature
+     * @param fr the feature result
+     * @param featureIri the feature
+     * @param featureFileParser the metadata of the feature file
+     * @param requestTimings the source of the request timings for each scenario, may be null
+     * @return the outcome of the feature or null if its results could not be added
+     */
+    public IRI addFeatureResult(final Suite suite, final FeatureResult fr, final IRI featureIri,
+                                final FeatureFileParser featureFileParser, final RequestTimings requestTimings) {
         final var startTime = suite.startTime;
         try (var conn = getConnection()) {
             final var testCaseIri = getTestCase(conn, featureIri);
@@ -268,14 +357,19 @@ public class DataRepository implements Repository {
             final var sections = new HashSet<FeatureSection>();
             final var scenarioData = new ScenarioData();
             final var scores = new Scores();
+            final var featureTimings = new ArrayList<RequestTimings.Timings>();
             // find results from reportable scenarios (not @setup)
             final var resultSections = fr.getScenarioResults()
                     .stream()
                     .filter(s -> isReportableScenario(s.getScenario()))
                     .toList();
             for (var sr: resultSections) {
+                final var timings = requestTimings != null ? requestTimings.remove(sr.getScenario()) : null;
+                if (timings != null) {
+                    featureTimings.add(timings);
+                }
                 final var outcome = createScenarioActivity(conn, fr, sr, scenarioData.fromScenario(sr.getScenario()),
-                        testCaseIri, featureIri, featureFileParser);
+                        testCaseIri, featureIri, featureFileParser, timings);
                 sections.add(sr.getScenario().getSection());
                 scores.incrementScore(outcome.getLocalName());
             }
@@ -289,17 +383,273 @@ public class DataRepository implements Repository {
                     .toList();
             for (FeatureSection section: otherSections) {
                 final var outcome = createScenarioActivity(conn, fr, null, scenarioData.fromFeatureSection(section),
-                        testCaseIri, featureIri, featureFileParser);
+                        testCaseIri, featureIri, featureFileParser, null);
                 scores.incrementScore(outcome.getLocalName());
             }
-            createAssertion(conn, scores.getOutcome(), new Date((long) (startTime + fr.getDurationMillis())),
-                    testCaseIri);
+            final var featureResult = createAssertion(conn, scores.getOutcome(),
+                    new Date((long) (startTime + fr.getDurationMillis())), testCaseIri);
+            if (!featureTimings.isEmpty()) {
+                // the profile belongs to this run so it goes on the result rather than the test case description
+                final var builder = new ModelBuilder();
+                addTimings(builder, featureResult, RequestTimings.Timings.combine(featureTimings));
+                conn.add(builder.build());
+            }
+            return scores.getOutcome();
         } catch (Exception e) {
             logger.error("Failed to load feature result", e);
+            return null;
         }
     }
 
-    private boolean isReportableScenario(final Scenario scenario) {
+    /**
+     * Change the outcome of a feature which was stopped by the watchdog to cantTell as its result is incomplete.
+     * @param featureIri the feature
+     * @param reason the description of the timeout to add to the result
+     */
+    public void markTimedOut(final IRI featureIri, final String reason) {
+        try (var conn = getConnection()) {
+            final var testCaseIri = getTestCase(conn, featureIri);
+            if (testCaseIri == null) {
+                return;
+            }
+            final List<Resource> results;
+            try (
+                    var statements = conn.getStatements(null, EARL.test, testCaseIri)
+            ) {
+                results = statements.stream()
+                        .map(Statement::getSubject)
+                        .flatMap(assertion -> conn.getStatements(assertion, EARL.result, null).stream())
+                        .map(Statement::getObject)
+                        .filter(Value::isResource)
+                        .map(Resource.class::cast)
+                        .toList();
+            }
+            for (Resource result: results) {
+                conn.remove(result, EARL.outcome, null);
+                conn.add(result, EARL.outcome, EARL.cantTell);
+                conn.add(result, DCTERMS.description, literal(reason));
+            }
+        }
+    }
+
+    /**
+     * Find the scenarios which failed in features which failed so that they can be run again.
+     * @return the lines of the failed scenarios for each feature
+     */
+    public Map<IRI, List<Integer>> getFailedScenarios() {
+        final var queryString = Namespaces.generateTurtlePrefixes(
+                List.of(SPEC.PREFIX, EARL.PREFIX, PROV.PREFIX, DCTERMS.PREFIX, SOLID_TEST.PREFIX)
+        ) +
+                "SELECT ?feature ?used " +
+                "WHERE {" +
+                "  [] earl:test ?t ;" +
+                "     earl:result/earl:outcome earl:failed ." +
+                "  ?t spec:testScript ?feature ;" +
+                "    dcterms:hasPart ?s ." +
+                "  ?s a prov:Activity ;" +
+                "    prov:used ?used ;" +
+                "    prov:generated/prov:value earl:failed ." +
+                "  FILTER NOT EXISTS { ?s solid-test:flaky true }" +
+                "}";
+        final var failed = new TreeMap<IRI, List<Integer>>(Comparator.comparing(IRI::stringValue));
+        try (
+                var conn = getConnection();
+                TupleQueryResult result = conn.prepareTupleQuery(queryString).evaluate()
+        ) {
+            while (result.hasNext()) {
+                final var bindingSet = result.next();
+                final var feature = (IRI) bindingSet.getValue("feature");
+                final var prefix = feature.stringValue() + GITHUB_LINE_ANCHOR;
+                final var used = bindingSet.getValue("used").stringValue();
+                if (used.startsWith(prefix) && StringUtils.isNumeric(used.substring(prefix.length()))) {
+                    failed.computeIfAbsent(feature, f -> new ArrayList<>())
+                            .add(Integer.parseInt(used.substring(prefix.length())));
+                }
+            }
+        }
+        failed.replaceAll((feature, lines) -> lines.stream().distinct().sorted().toList());
+        return failed;
+    }
+
+    /**
+     * Add the results of a feature which was run again to retry its failed scenarios. Each scenario result is added
+     * as a further attempt of the scenario it repeats, leaving the result of the first attempt unchanged. Scenarios
+     * which now pass are marked as flaky and the outcome of the feature is recalculated from the latest attempt of
+     * each scenario.
+     * @param fr the feature result of the retry
+     * @param featureIri the feature
+     * @return the outcome of the feature or null if the results could not be added
+     */
+    public IRI addRetryResult(final FeatureResult fr, final IRI featureIri) {
+        try (var conn = getConnection()) {
+            final var testCaseIri = getTestCase(conn, featureIri);
+            if (testCaseIri == null) {
+                return null;
+            }
+            final var retried = fr.getScenarioResults()
+                    .stream()
+                    .filter(s -> isReportableScenario(s.getScenario()))
+                    .toList();
+            for (var sr: retried) {
+                final var used = iri(featureIri.stringValue() + GITHUB_LINE_ANCHOR + sr.getScenario().getLine());
+                final var scenarioIri = findScenarioActivity(conn, testCaseIri, used, sr.getScenario().getName());
+                if (scenarioIri != null) {
+                    createAttemptActivity(conn, sr, scenarioIri, used);
+                } else {
+                    logger.warn("No single scenario found at {} to record the retry of '{}' against", used,
+                            sr.getScenario().getName());
+                }
+            }
+            return updateFeatureOutcome(conn, testCaseIri);
+        } catch (Exception e) {
+            logger.error("Failed to load retry result", e);
+            return null;
+        }
+    }
+
+    /**
+     * Count the scenarios which failed and then passed when they were retried.
+     * @return the number of flaky scenarios
+     */
+    public int countFlakyScenarios() {
+        try (
+                var conn = getConnection();
+                var statements = conn.getStatements(null, SOLID_TEST.flaky, literal(true))
+        ) {
+            return (int) statements.stream()
+                    .map(Statement::getSubject)
+                    .filter(s -> conn.hasStatement(s, RDF.type, PROV.Activity, false))
+                    .count();
+        }
+    }
+
+    private List<Resource> getObjectResources(final RepositoryConnection conn, final Resource subject,
+                                              final IRI predicate) {
+        try (var statements = conn.getStatements(subject, predicate, null)) {
+            return statements.stream()
+                    .map(Statement::getObject)
+                    .filter(Value::isResource)
+                    .map(Resource.class::cast)
+                    .toList();
+        }
+    }
+
+    private Resource findScenarioActivity(final RepositoryConnection conn, final IRI testCaseIri, final IRI used,
+                                          final String title) {
+        final var candidates = getObjectResources(conn, testCaseIri, DCTERMS.hasPart).stream()
+                .filter(s -> conn.hasStatement(s, PROV.used, used, false))
+                .toList();
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? null : candidates.get(0);
+        }
+        // examples of a scenario outline share a line so they can only be told apart by their titles, and the retry
+        // is not recorded if several have the same title as it could be attached to the wrong example
+        final var matches = candidates.stream()
+                .filter(s -> title != null && conn.hasStatement(s, DCTERMS.title, literal(title), false))
+                .toList();
+        return matches.size() == 1 ? matches.get(0) : null;
+    }
+
+    private void createAttemptActivity(final RepositoryConnection conn, final ScenarioResult sr,
+                                       final Resource scenarioIri, final IRI used) {
+        final int attempt;
+        try (var statements = conn.getStatements(scenarioIri, SOLID_TEST.attempt, null)) {
+            // the first attempt is the scenario activity itself
+            attempt = (int) statements.stream().count() + 2;
+        }
+        final var attemptIri = createNode();
+        final var attemptResultIri = createNode();
+        final var outcome = getScenarioOutcome(sr);
+        final var builder = new ModelBuilder();
+        builder.subject(attemptIri)
+                .add(RDF.type, PROV.Activity)
+                .add(DCTERMS.title, ATTEMPT_TITLE + attempt)
+                .add(PROV.used, used)
+                .add(PROV.startedAtTime, new Date(sr.getStartTime()))
+                .add(PROV.endedAtTime, new Date(sr.getEndTime()))
+                .add(PROV.generated, attemptResultIri)
+                .add(attemptResultIri, RDF.type, PROV.Entity)
+                .add(attemptResultIri, PROV.generatedAtTime, new Date(sr.getEndTime()))
+                .add(attemptResultIri, PROV.value, outcome)
+                .add(scenarioIri, SOLID_TEST.attempt, attemptIri);
+        if (sr.isFailed() && sr.getError() != null && sr.getError().getMessage() != null) {
+            builder.add(attemptIri, DCTERMS.description, simplify(sr.getError().getMessage()));
+        }
+        conn.add(builder.build());
+        if (EARL.passed.equals(outcome)) {
+            // the scenario is reported as passing but marked so that the earlier failures are not overlooked
+            conn.add(scenarioIri, SOLID_TEST.flaky, literal(true));
+        }
+    }
+
+    private Resource getLatestAttempt(final RepositoryConnection conn, final Resource scenario) {
+        final var attempts = getObjectResources(conn, scenario, SOLID_TEST.attempt);
+        if (attempts.isEmpty()) {
+            return scenario;
+        }
+        // attempts are numbered in the order they were run, which their times cannot show if they are too close
+        final var latest = literal(ATTEMPT_TITLE + (attempts.size() + 1));
+        return attempts.stream()
+                .filter(attempt -> conn.hasStatement(attempt, DCTERMS.title, latest, false))
+                .findFirst()
+                .orElse(scenario);
+    }
+
+    private IRI updateFeatureOutcome(final RepositoryConnection conn, final IRI testCaseIri) {
+        final var scores = new Scores();
+        boolean flaky = false;
+        for (Resource scenario: getObjectResources(conn, testCaseIri, DCTERMS.hasPart)) {
+            for (Resource result: getObjectResources(conn, getLatestAttempt(conn, scenario), PROV.generated)) {
+                getObjectResources(conn, result, PROV.value).stream()
+                        .filter(Value::isIRI)
+                        .forEach(value -> scores.incrementScore(((IRI) value).getLocalName()));
+            }
+            flaky |= conn.hasStatement(scenario, SOLID_TEST.flaky, literal(true), false);
+        }
+        final var outcome = scores.getOutcome();
+        final List<Resource> results;
+        try (var statements = conn.getStatements(null, EARL.test, testCaseIri)) {
+            results = statements.stream()
+                    .map(Statement::getSubject)
+                    .flatMap(assertion -> getObjectResources(conn, assertion, EARL.result).stream())
+                    .toList();
+        }
+        for (Resource result: results) {
+            conn.remove(result, EARL.outcome, null);
+            conn.add(result, EARL.outcome, outcome);
+            if (flaky && !conn.hasStatement(result, SOLID_TEST.flaky, literal(true), false)) {
+                conn.add(result, SOLID_TEST.flaky, literal(true));
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * Get the level of the requirement tested by a feature.
+     * @param featureIri the feature
+     * @return the requirement level, such as MUST, or null if it is not known
+     */
+    public String getRequirementLevel(final IRI featureIri) {
+        try (var conn = getConnection()) {
+            final var testCaseIri = getTestCase(conn, featureIri);
+            if (testCaseIri == null) {
+                return null;
+            }
+            try (var statements = conn.getStatements(testCaseIri, SPEC.requirementReference, null)) {
+                return statements.stream()
+                        .map(Statement::getObject)
+                        .filter(Value::isResource)
+                        .flatMap(req -> conn.getStatements((Resource) req, SPEC.requirementLevel, null).stream())
+                        .map(Statement::getObject)
+                        .filter(Value::isIRI)
+                        .map(level -> ((IRI) level).getLocalName())
+                        .findFirst()
+                        .orElse(null);
+            }
+        }
+    }
+
+    static boolean isReportableScenario(final Scenario scenario) {
         return scenario.getTags() == null ||
                 scenario.getTags()
                 .stream()
@@ -318,8 +668,8 @@ public class DataRepository implements Repository {
         }
     }
 
-    public void createAssertion(final RepositoryConnection conn, final Value outcome, final Date date,
-                                 final IRI testCaseIri) {
+    public Resource createAssertion(final RepositoryConnection conn, final Value outcome, final Date date,
+                                    final IRI testCaseIri) {
         final var featureAssertion = createNode();
         final var builder = new ModelBuilder();
         final var featureResult = createNode();
@@ -336,6 +686,7 @@ public class DataRepository implements Repository {
         if (testCaseIri != null) {
             conn.add(featureAssertion, EARL.test, testCaseIri);
         }
+        return featureResult;
     }
 
     public void createSkippedAssertion(final Feature feature, final String featurePath, final IRI outcome) {
@@ -355,7 +706,8 @@ public class DataRepository implements Repository {
     private IRI createScenarioActivity(final RepositoryConnection conn, final FeatureResult fr,
                                         final ScenarioResult sr, final ScenarioData sc,
                                         final IRI testCaseIri, final IRI featureIri,
-                                        final FeatureFileParser featureFileParser) {
+                                        final FeatureFileParser featureFileParser,
+                                        final RequestTimings.Timings timings) {
         final var scenarioIri = createNode();
         final var scenarioResultIri = createNode();
         final IRI outcome;
@@ -368,6 +720,9 @@ public class DataRepository implements Repository {
                 .add(scenarioResultIri, RDF.type, PROV.Entity)
                 .add(scenarioResultIri, PROV.generatedAtTime, sr != null ? new Date(sr.getEndTime()) : new Date());
         outcome = addOutcomeToScenario(sr, sc, builder, scenarioIri, scenarioResultIri);
+        if (timings != null) {
+            addTimings(builder, scenarioIri, timings);
+        }
         final var scenarioComments = featureFileParser.getScenarioComments(sc.getSection().getIndex());
         if (!StringUtils.isBlank(scenarioComments)) {
             conn.add(scenarioIri, DCTERMS.description, literal(scenarioComments));
@@ -386,11 +741,7 @@ public class DataRepository implements Repository {
                                      final IRI scenarioIri, final IRI scenarioResultIri) {
         final IRI outcome;
         if (sr != null) {
-            if (sr.isFailed() && sr.getFailedStep().getStepLog().contains("\nCANTTELL\n")) {
-                outcome = EARL.cantTell;
-            } else {
-                outcome = sr.isFailed() ? EARL.failed : EARL.passed;
-            }
+            outcome = getScenarioOutcome(sr);
             builder.subject(scenarioIri)
                     .add(PROV.startedAtTime, new Date(sr.getStartTime()))
                     .add(PROV.endedAtTime, new Date(sr.getEndTime()))
@@ -406,6 +757,21 @@ public class DataRepository implements Repository {
         return outcome;
     }
 
+    private void addTimings(final ModelBuilder builder, final Resource subject, final RequestTimings.Timings timings) {
+        builder.subject(subject)
+                .add(SOLID_TEST.requestCount, timings.getRequestCount())
+                .add(SOLID_TEST.requestTime, timings.getTotalTime())
+                .add(SOLID_TEST.maxRequestTime, timings.getMaxTime())
+                .add(SOLID_TEST.p95RequestTime, timings.getP95Time());
+    }
+
+    static IRI getScenarioOutcome(final ScenarioResult sr) {
+        if (sr.isFailed() && sr.getFailedStep().getStepLog().contains("\nCANTTELL\n")) {
+            return EARL.cantTell;
+        }
+        return sr.isFailed() ? EARL.failed : EARL.passed;
+    }
+
     private void createStepActivityList(final RepositoryConnection conn, final FeatureResult fr,
                                         final ScenarioResult sr, final IRI scenarioIri, final IRI featureIri) {
         final List<Resource> steps = sr.getStepResults().stream().map(str -> {
@@ -518,7 +884,7 @@ public class DataRepository implements Repository {
 
     public Map<String, Scores> getScenarioScores() {
         final var queryString = Namespaces.generateTurtlePrefixes(
-                List.of(SPEC.PREFIX, PROV.PREFIX, DCTERMS.PREFIX)
+                List.of(SPEC.PREFIX, PROV.PREFIX, DCTERMS.PREFIX, EARL.PREFIX, SOLID_TEST.PREFIX)
         ) +
                 "SELECT ?level ?outcome (COUNT(?outcome) AS ?count) " +
                 "WHERE {" +
@@ -526,7 +892,8 @@ public class DataRepository implements Repository {
                 "    spec:requirementReference/spec:requirementLevel ?level ." +
                 "  ?s a prov:Activity ;" +
                 "    dcterms:hasPart ?l ;" +
-                "    prov:generated/prov:value ?outcome ." +
+                "    prov:generated/prov:value ?first ." +
+                FLAKY_OUTCOME +
                 "}" +
                 "GROUP BY ?level ?outcome";
         return getScoresByOutcomeLevel(queryString);
@@ -537,7 +904,7 @@ public class DataRepository implements Repository {
             return 0;
         }
         final var queryString = Namespaces.generateTurtlePrefixes(
-                List.of(SPEC.PREFIX, PROV.PREFIX, DCTERMS.PREFIX)
+                List.of(SPEC.PREFIX, PROV.PREFIX, DCTERMS.PREFIX, EARL.PREFIX, SOLID_TEST.PREFIX)
         ) +
                 "SELECT ?scenario ?outcome ?level " +
                 "WHERE {" +
@@ -545,7 +912,8 @@ public class DataRepository implements Repository {
                 "    spec:requirementReference/spec:requirementLevel ?level ." +
                 "  ?s a prov:Activity ;" +
                 "    dcterms:title ?scenario ;" +
-                "    prov:generated/prov:value ?outcome ." +
+                "    prov:generated/prov:value ?first ." +
+                FLAKY_OUTCOME +
                 "  FILTER (?scenario IN (" +
                 failingScenarios.stream().map(s -> "\"" + s + "\"").collect(Collectors.joining(",")) +
                 ")) ." +
@@ -584,6 +952,121 @@ public class DataRepository implements Repository {
         }
     }
 
+    /**
+     * Find the test cases which have an assertion with one of the given outcomes.
+     * @param outcomes the outcomes to look for
+     * @return the test cases
+     */
+    public List<IRI> getTestCasesWithOutcome(final IRI... outcomes) {
+        final var queryString = Namespaces.generateTurtlePrefixes(List.of(EARL.PREFIX)) +
+                "SELECT DISTINCT ?testCase " +
+                "WHERE {" +
+                "  [] earl:test ?testCase ;" +
+                "     earl:result/earl:outcome ?outcome ." +
+                "  FILTER (?outcome IN (" +
+                Arrays.stream(outcomes).map(o -> "<" + o + ">").collect(Collectors.joining(",")) +
+                ")) ." +
+                "}";
+        try (
+                var conn = getConnection();
+                var result = conn.prepareTupleQuery(queryString).evaluate()
+        ) {
+            return result.stream()
+                    .map(bindingSet -> bindingSet.getValue("testCase"))
+                    .filter(Value::isIRI)
+                    .map(IRI.class::cast)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Remove the assertions and scenario results recorded for the given test cases so that they can be run again.
+     * Only nodes minted for the results, in the results namespace or blank nodes, are removed.
+     * @param testCases the test cases to reset
+     */
+    public void removeResults(final Collection<IRI> testCases) {
+        try (var conn = getConnection()) {
+            int removed = 0;
+            for (final IRI testCase : testCases) {
+                final Set<Resource> nodes = findResultNodes(conn, testCase);
+                conn.remove(testCase, DCTERMS.hasPart, null);
+                for (final Resource node : nodes) {
+                    conn.remove(node, null, null);
+                }
+                removed += nodes.size();
+            }
+            logger.debug("Removed {} result nodes for {} test cases", removed, testCases.size());
+        }
+    }
+
+    /**
+     * Write the results recorded for the test case of a feature so that they can be replayed in a later run with
+     * {@link #mergeReport(Reader, String)}. This includes the assertion, the scenario and step activities and the
+     * title, description and scenario links added to the test case when its results were recorded.
+     * @param featureIri the IRI of the feature
+     * @param writer the writer for the results in Turtle
+     * @return true if the feature has a test case with an assertion
+     * @throws TestHarnessException if the results cannot be written
+     */
+    public boolean exportResults(final IRI featureIri, final Writer writer) throws TestHarnessException {
+        final var model = new LinkedHashModel();
+        try (var conn = getConnection()) {
+            final var testCaseIri = getTestCase(conn, featureIri);
+            if (testCaseIri == null || !conn.hasStatement(null, EARL.test, testCaseIri, false)) {
+                return false;
+            }
+            for (final IRI predicate : List.of(DCTERMS.title, DCTERMS.description, DCTERMS.hasPart)) {
+                try (var statements = conn.getStatements(testCaseIri, predicate, null)) {
+                    statements.forEach(model::add);
+                }
+            }
+            for (final Resource node : findResultNodes(conn, testCaseIri)) {
+                try (var statements = conn.getStatements(node, null, null)) {
+                    statements.forEach(model::add);
+                }
+            }
+        }
+        try {
+            Rio.write(model, writer, RDFFormat.TURTLE);
+        } catch (RDF4JException e) {
+            throw new TestHarnessException("Failed to write results for " + featureIri, e);
+        }
+        return true;
+    }
+
+    private Set<Resource> findResultNodes(final RepositoryConnection conn, final IRI testCase) {
+        final var pending = new ArrayDeque<Resource>();
+        try (var statements = conn.getStatements(null, EARL.test, testCase)) {
+            statements.stream().map(Statement::getSubject).forEach(pending::push);
+        }
+        try (var statements = conn.getStatements(testCase, DCTERMS.hasPart, null)) {
+            statements.stream()
+                    .map(Statement::getObject)
+                    .filter(DataRepository::isResultNode)
+                    .map(Resource.class::cast)
+                    .forEach(pending::push);
+        }
+        // follow the links from the assertions and scenarios to all the nodes minted for their results
+        final var nodes = new LinkedHashSet<Resource>();
+        while (!pending.isEmpty()) {
+            final var node = pending.pop();
+            if (nodes.add(node)) {
+                try (var statements = conn.getStatements(node, null, null)) {
+                    statements.stream()
+                            .map(Statement::getObject)
+                            .filter(DataRepository::isResultNode)
+                            .map(Resource.class::cast)
+                            .forEach(pending::push);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    private static boolean isResultNode(final Value value) {
+        return value.isBNode() || value.isIRI() && value.stringValue().startsWith(Namespaces.RESULTS_URI);
+    }
+
     @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     private Map<String, Scores> getScoresByOutcomeLevel(final String queryString) {
         final var counts = new HashMap<String, Scores>();
@@ -616,6 +1099,62 @@ public class DataRepository implements Repository {
         }
     }
 
+    /**
+     * Merge a Turtle report exported by another run, such as one shard of a test run, into this repository.
+     *
+     * <p>Nodes minted in the other run's results namespace are moved into this run's namespace so that the merged data
+     * describes a single report. Assertions for test cases which already have an assertion are dropped since every
+     * shard records the same assertions for test cases that were filtered out of the run.</p>
+     * @param reader the report to merge
+     * @param source the name of the report used in error messages
+     */
+    public void mergeReport(final Reader reader, final String source) {
+        final Model model;
+        try {
+            model = Rio.parse(reader, Namespaces.RESULTS_URI, RDFFormat.TURTLE);
+        } catch (IOException | RDF4JException e) {
+            throw new TestHarnessInitializationException("Failed to read report from [" + source + "]", e);
+        }
+        try (var conn = getConnection()) {
+            final var duplicates = new HashSet<Resource>();
+            model.filter(null, EARL.test, null).forEach(st -> {
+                if (conn.hasStatement(null, EARL.test, st.getObject(), false)) {
+                    duplicates.add(st.getSubject());
+                    model.filter(st.getSubject(), EARL.result, null).objects().stream()
+                            .filter(Value::isResource)
+                            .map(Resource.class::cast)
+                            .forEach(duplicates::add);
+                }
+            });
+            conn.add(model.stream()
+                    .filter(st -> !duplicates.contains(st.getSubject()))
+                    .map(DataRepository::localizeResults)
+                    .collect(Collectors.toList()));
+            logger.debug("Merged report {}, dropped {} duplicate nodes, repository size={}", source,
+                    duplicates.size(), conn.size());
+        } catch (RDF4JException e) {
+            throw new TestHarnessInitializationException("Failed to merge report from [" + source + "]", e);
+        }
+    }
+
+    private static Statement localizeResults(final Statement st) {
+        final var subject = (Resource) localizeResults(st.getSubject());
+        final var object = localizeResults(st.getObject());
+        return subject == st.getSubject() && object == st.getObject()
+                ? st
+                : statement(subject, st.getPredicate(), object, st.getContext());
+    }
+
+    private static Value localizeResults(final Value value) {
+        if (value.isIRI()) {
+            final var matcher = RESULTS_NAMESPACE.matcher(value.stringValue());
+            if (matcher.find()) {
+                return iri(Namespaces.RESULTS_URI + value.stringValue().substring(matcher.end()));
+            }
+        }
+        return value;
+    }
+
     @Override
     public void setDataDir(final File dataDir) {
         repository.setDataDir(dataDir);
@@ -0,0 +1,397 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.FeatureResult;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.http.Response;
+import org.eclipse.rdf4j.model.IRI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Bootstrap;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.config.PathMappings;
+import org.solid.testharness.http.RequestListener;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a line of JSON for each scenario and feature as it completes so that the progress of a run can be followed
+ * while it is still going, for example to drive a dashboard or to stop a run at the first MUST failure.
+ *
+ * <p>Scenario events come from the Karate hooks and feature events from the {@link FeatureResultHandler} once the
+ * feature outcome is known. Each event includes statistics of the HTTP calls made while the scenarios ran, both by
+ * the Karate steps, including those of called features, and by the harness clients. Events are written in the order
+ * they are produced by a single background thread so the test threads never wait for the output. When several test
+ * subjects are tested at the same time, the scenario and feature events name the test subject they belong to.</p>
+ */
+@ApplicationScoped
+public class EventStream implements RuntimeHook, RequestListener {
+    private static final Logger logger = LoggerFactory.getLogger(EventStream.class);
+
+    static final String STDOUT = "-";
+    private static final long SHUTDOWN_TIMEOUT = 30;
+
+    @Inject
+    Config config;
+    @Inject
+    PathMappings pathMappings;
+    @Inject
+    DataRepository dataRepository;
+    @Inject
+    ObjectMapper objectMapper;
+
+    private ExecutorService executor;
+    private Writer writer;
+    private final Map<Object, HttpStats> scenarioStats = new ConcurrentHashMap<>();
+    private final Map<Thread, HttpStats> threadStats = new ConcurrentHashMap<>();
+    private final Map<String, HttpStats> featureStats = new ConcurrentHashMap<>();
+    private final Map<Object, HttpStats> callStats = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<HttpRequest, HttpStats> requestStats = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public boolean isEnabled() {
+        return config.getEvents() != null;
+    }
+
+    /**
+     * Open the event stream for a test run.
+     */
+    public void start() {
+        final var subject = config.getTestSubject();
+        start(subject != null ? List.of(subject) : List.of());
+    }
+
+    /**
+     * Open the event stream for a test run.
+     * @param subjects the test subjects being tested
+     */
+    public synchronized void start(final Collection<IRI> subjects) {
+        final var events = config.getEvents();
+        try {
+            writer = STDOUT.equals(events)
+                    ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                    : Files.newBufferedWriter(Path.of(events), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Failed to open the event stream {}", events, e);
+            return;
+        }
+        scenarioStats.clear();
+        threadStats.clear();
+        featureStats.clear();
+        callStats.clear();
+        requestStats.clear();
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, "event-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Map<String, Object> event = newEvent("start");
+        if (subjects.size() == 1) {
+            event.put("subject", subjects.iterator().next().stringValue());
+        } else if (!subjects.isEmpty()) {
+            event.put("subjects", subjects.stream().map(IRI::stringValue).toList());
+        }
+        emit(event);
+    }
+
+    /**
+     * Write any outstanding events and close the stream.
+     * @param results a summary of the run to include in the final event, may be null
+     */
+    public synchronized void stop(final Map<String, Object> results) {
+        if (executor == null) {
+            return;
+        }
+        final Map<String, Object> event = newEvent("end");
+        if (results != null) {
+            event.putAll(results);
+        }
+        emit(event);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                logger.warn("Not all events were written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        try {
+            if (writer instanceof OutputStreamWriter) {
+                // standard output stays open
+                writer.flush();
+            } else {
+                writer.close();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to close the event stream", e);
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean beforeScenario(final ScenarioRuntime sr) {
+        if (sr.caller.isNone()) {
+            scenarioStarted(sr, Thread.currentThread());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterScenario(final ScenarioRuntime sr) {
+        if (!sr.caller.isNone()) {
+            return;
+        }
+        final var stats = scenarioFinished(sr, Thread.currentThread());
+        if (!DataRepository.isReportableScenario(sr.scenario)) {
+            return;
+        }
+        final String featurePath = sr.featureRuntime.result.getDisplayName();
+        final String subject = Bootstrap.getSubject(sr.featureRuntime.suite);
+        featureStats.computeIfAbsent(featureKey(subject, featurePath), key -> new HttpStats()).add(stats);
+        final String featureIri = pathMappings.unmapFeaturePath(featurePath);
+        final Map<String, Object> event = newEvent("scenario");
+        putSubject(event, subject);
+        event.put("feature", featureIri);
+        event.put("iri", featureIri + DataRepository.GITHUB_LINE_ANCHOR + sr.scenario.getLine());
+        event.put("title", sr.scenario.getName());
+        event.put("outcome", DataRepository.getScenarioOutcome(sr.result).getLocalName());
+        event.put("durationMillis", Math.round(sr.result.getDurationMillis()));
+        event.put("http", stats.toMap());
+        emit(event);
+    }
+
+    /**
+     * Record the completion of a feature once its outcome is known.
+     * @param fr the feature result
+     * @param featureIri the feature
+     * @param outcome the outcome of the feature
+     */
+    public void featureCompleted(final FeatureResult fr, final IRI featureIri, final IRI outcome) {
+        featureCompleted(fr, featureIri, outcome, null);
+    }
+
+    /**
+     * Record the completion of a feature once its outcome is known.
+     * @param fr the feature result
+     * @param featureIri the feature
+     * @param outcome the outcome of the feature
+     * @param suite the suite which ran the feature, naming the test subject when several are tested, may be null
+     */
+    public void featureCompleted(final FeatureResult fr, final IRI featureIri, final IRI outcome, final Suite suite) {
+        if (executor == null) {
+            return;
+        }
+        final String subject = Bootstrap.getSubject(suite);
+        final var stats = featureStats.remove(featureKey(subject, fr.getDisplayName()));
+        final Map<String, Object> event = newEvent("feature");
+        putSubject(event, subject);
+        event.put("iri", featureIri.stringValue());
+        event.put("title", fr.getFeature().getName());
+        event.put("outcome", outcome != null ? outcome.getLocalName() : null);
+        event.put("durationMillis", Math.round(fr.getDurationMillis()));
+        event.put("http", stats != null ? stats.toMap() : new HttpStats().toMap());
+        // the requirement level is looked up on the writer thread to keep the test thread free
+        emit(event, () -> event.put("level", dataRepository.getRequirementLevel(featureIri)));
+    }
+
+    @Override
+    public void beforeHttpCall(final com.intuit.karate.http.HttpRequest request, final ScenarioRuntime sr) {
+        callStarted(request, ScenarioRuntimes.root(sr));
+    }
+
+    @Override
+    public void afterHttpCall(final com.intuit.karate.http.HttpRequest request, final Response response,
+                              final ScenarioRuntime sr) {
+        callCompleted(request, response.getStatus(), TimeUnit.MILLISECONDS.toNanos(response.getResponseTime()));
+    }
+
+    @Override
+    public void beforeRequest(final HttpRequest request) {
+        final var stats = threadStats.get(Thread.currentThread());
+        if (stats != null) {
+            requestStats.put(request, stats);
+        }
+    }
+
+    @Override
+    public void responseReceived(final HttpRequest request, final HttpResponse<?> response,
+                                 final Throwable exception, final long durationNanos) {
+        final var stats = requestStats.get(request);
+        if (stats != null) {
+            stats.record(durationNanos, exception != null || response == null || response.statusCode() >= 500);
+        }
+    }
+
+    @Override
+    public void requestCompleted(final HttpRequest request) {
+        requestStats.remove(request);
+    }
+
+    void scenarioStarted(final Object scenario, final Thread thread) {
+        final var stats = new HttpStats();
+        scenarioStats.put(scenario, stats);
+        // the harness clients are used on the thread running the scenario
+        threadStats.put(thread, stats);
+    }
+
+    HttpStats scenarioFinished(final Object scenario, final Thread thread) {
+        threadStats.remove(thread);
+        final var stats = scenarioStats.remove(scenario);
+        if (stats == null) {
+            return new HttpStats();
+        }
+        // calls which failed without a response are not reported to afterHttpCall
+        synchronized (callStats) {
+            final var pending = callStats.values().iterator();
+            while (pending.hasNext()) {
+                if (pending.next() == stats) {
+                    pending.remove();
+                    stats.record(0, true);
+                }
+            }
+        }
+        return stats;
+    }
+
+    void callStarted(final Object request, final Object scenario) {
+        final var stats = scenarioStats.get(scenario);
+        if (stats != null) {
+            callStats.put(request, stats);
+        }
+    }
+
+    void callCompleted(final Object request, final int status, final long durationNanos) {
+        final var stats = callStats.remove(request);
+        if (stats != null) {
+            stats.record(durationNanos, status >= 500);
+        }
+    }
+
+    // the same feature may be running against several test subjects at once
+    private static String featureKey(final String subject, final String featurePath) {
+        return subject != null ? subject + ' ' + featurePath : featurePath;
+    }
+
+    private static void putSubject(final Map<String, Object> event, final String subject) {
+        if (subject != null) {
+            event.put("subject", subject);
+        }
+    }
+
+    private Map<String, Object> newEvent(final String type) {
+        final Map<String, Object> event = new LinkedHashMap<>();
+        event.put("event", type);
+        event.put("time", Instant.now().toString());
+        return event;
+    }
+
+    private void emit(final Map<String, Object> event) {
+        emit(event, null);
+    }
+
+    private synchronized void emit(final Map<String, Object> event, final Runnable enrich) {
+        if (executor == null) {
+            return;
+        }
+        final var out = writer;
+        executor.execute(() -> {
+            try {
+                if (enrich != null) {
+                    enrich.run();
+                }
+                out.write(objectMapper.writeValueAsString(event));
+                out.write('\n');
+                out.flush();
+            } catch (JsonProcessingException e) {
+                logger.error("Failed to serialize event {}", event.get("event"), e);
+            } catch (IOException e) {
+                logger.error("Failed to write event {}", event.get("event"), e);
+            }
+        });
+    }
+
+    /**
+     * Statistics of the HTTP calls made during a scenario or feature.
+     */
+    static final class HttpStats {
+        private int requests;
+        private int errors;
+        private long totalNanos;
+        private long maxNanos;
+
+        synchronized void record(final long durationNanos, final boolean error) {
+            requests++;
+            if (error) {
+                errors++;
+            }
+            totalNanos += durationNanos;
+            maxNanos = Math.max(maxNanos, durationNanos);
+        }
+
+        synchronized void add(final HttpStats other) {
+            synchronized (other) {
+                requests += other.requests;
+                errors += other.errors;
+                totalNanos += other.totalNanos;
+                maxNanos = Math.max(maxNanos, other.maxNanos);
+            }
+        }
+
+        synchronized Map<String, Object> toMap() {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("requests", requests);
+            map.put("errors", errors);
+            map.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos));
+            map.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxNanos));
+            return map;
+        }
+    }
+}
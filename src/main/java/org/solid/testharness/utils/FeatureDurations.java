@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.Results;
+import com.intuit.karate.core.FeatureResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Config;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Keeps a history of how long each feature took to run so that later runs can start the slowest features first.
+ *
+ * <p>The history is a properties file in the output directory mapping the absolute path of each feature file to its
+ * most recent duration in milliseconds, prefixed by the IRI of the test subject when several are tested at the same
+ * time since each server runs the features at its own speed. Ordering the features longest-first (LPT scheduling)
+ * stops a few slow features from starting late and stretching the tail of a parallel run. Features with no history
+ * are started first since their duration is unknown.</p>
+ */
+@ApplicationScoped
+public class FeatureDurations {
+    private static final Logger logger = LoggerFactory.getLogger(FeatureDurations.class);
+
+    public static final String HISTORY_FILE = "feature-durations.properties";
+
+    @Inject
+    Config config;
+
+    /**
+     * Order the features so that those without history come first, followed by the rest longest-first. Features with
+     * equal durations keep their discovery order.
+     * @param featurePaths the features in discovery order
+     * @return the features in scheduling order
+     */
+    public List<String> order(final List<String> featurePaths) {
+        return order(featurePaths, null);
+    }
+
+    /**
+     * Order the features run against one of several test subjects tested at the same time using its own history.
+     * @param featurePaths the features in discovery order
+     * @param subject the IRI of the test subject or null for the configured test subject
+     * @return the features in scheduling order
+     */
+    public List<String> order(final List<String> featurePaths, final String subject) {
+        if (featurePaths == null || featurePaths.size() < 2) {
+            return featurePaths;
+        }
+        final Map<String, Long> history = load();
+        if (history.isEmpty()) {
+            return featurePaths;
+        }
+        final List<String> ordered = new ArrayList<>(featurePaths);
+        ordered.sort(Comparator.comparingLong(path -> -history.getOrDefault(key(subject, path), Long.MAX_VALUE)));
+        logger.debug("Feature scheduling order: {}", ordered);
+        return ordered;
+    }
+
+    /**
+     * Merge the durations of the features in these results into the history file.
+     * @param results the results of a test run
+     */
+    public void record(final Results results) {
+        record(results, null);
+    }
+
+    /**
+     * Merge the durations of the features run against one of several test subjects into its history.
+     * @param results the results of the test run for the test subject
+     * @param subject the IRI of the test subject or null for the configured test subject
+     */
+    public synchronized void record(final Results results, final String subject) {
+        final File historyFile = getHistoryFile();
+        if (historyFile == null || results == null) {
+            return;
+        }
+        final Map<String, Long> history = load();
+        results.getFeatureResults().forEach(fr -> {
+            final String key = key(subject, fr);
+            if (key != null) {
+                history.put(key, Math.round(fr.getDurationMillis()));
+            }
+        });
+        final Properties properties = new Properties();
+        history.forEach((key, duration) -> properties.setProperty(key, String.valueOf(duration)));
+        try (Writer writer = Files.newBufferedWriter(historyFile.toPath(), StandardCharsets.UTF_8)) {
+            properties.store(writer, "Feature durations in milliseconds");
+        } catch (IOException e) {
+            logger.warn("Failed to write feature durations to {}: {}", historyFile, e.toString());
+        }
+    }
+
+    Map<String, Long> load() {
+        final Map<String, Long> history = new HashMap<>();
+        final File historyFile = getHistoryFile();
+        if (historyFile == null || !historyFile.isFile()) {
+            return history;
+        }
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(historyFile.toPath(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            logger.warn("Failed to read feature durations from {}: {}", historyFile, e.toString());
+            return history;
+        }
+        properties.stringPropertyNames().forEach(key -> {
+            try {
+                history.put(key, Long.parseLong(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring bad duration for {}", key);
+            }
+        });
+        return history;
+    }
+
+    private File getHistoryFile() {
+        final File outputDir = config.getOutputDirectory();
+        return outputDir != null ? new File(outputDir, HISTORY_FILE) : null;
+    }
+
+    static String key(final String featurePath) {
+        // feature locations from discovery are file URIs whereas Karate reports plain file paths
+        final Path path = featurePath.startsWith("file:") ? Path.of(URI.create(featurePath)) : Path.of(featurePath);
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    static String key(final String subject, final String featurePath) {
+        return subject != null ? subject + ' ' + key(featurePath) : key(featurePath);
+    }
+
+    private static String key(final String subject, final FeatureResult fr) {
+        final File file = fr.getFeature().getResource().getFile();
+        return file != null ? key(subject, file.getPath()) : null;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the parsed metadata of each feature file so that every file is only read once, during discovery, and the same
+ * metadata is then used for coverage and for reporting results.
+ */
+@ApplicationScoped
+public class FeatureFileCache {
+    private static final Logger logger = LoggerFactory.getLogger(FeatureFileCache.class);
+
+    private final Map<Path, FeatureFileParser> features = new ConcurrentHashMap<>();
+
+    /**
+     * Parse the feature files in parallel. Files which cannot be read are left out and reported when they are used.
+     * @param files the feature files
+     */
+    public void preload(final Collection<Path> files) {
+        files.parallelStream()
+                .map(FeatureFileCache::key)
+                .distinct()
+                .filter(file -> !features.containsKey(file))
+                .forEach(file -> {
+                    try {
+                        features.put(file, new FeatureFileParser(file));
+                    } catch (IOException e) {
+                        logger.debug("Feature not parsed: {} - {}", file, e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Get the metadata of a feature file, parsing it if it has not been loaded already.
+     * @param file the feature file
+     * @return the parsed feature
+     * @throws IOException if the file cannot be read
+     */
+    public FeatureFileParser get(final Path file) throws IOException {
+        final var key = key(file);
+        final var parser = features.get(key);
+        if (parser != null) {
+            return parser;
+        }
+        // parsing can throw so it is done outside the map, keeping the first parser if another thread got there first
+        final var parsed = new FeatureFileParser(key);
+        final var existing = features.putIfAbsent(key, parsed);
+        return existing != null ? existing : parsed;
+    }
+
+    public void clear() {
+        features.clear();
+    }
+
+    private static Path key(final Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+}
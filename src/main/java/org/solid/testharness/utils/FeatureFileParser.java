@@ -23,51 +23,66 @@
  */
 package org.solid.testharness.utils;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
+/**
+ * The metadata of a feature file which is needed for discovery and reporting: its title and comments. The file is
+ * read once when this is constructed and the result does not change, so parsed features can be shared between threads
+ * using {@link FeatureFileCache}.
+ */
 public class FeatureFileParser {
-    private static final Logger logger = LoggerFactory.getLogger(FeatureFileParser.class);
-
-    private String featureComments;
-    private String backgroundComments;
-    private final List<String> sectionComments = new ArrayList<>();
+    private final String featureTitle;
+    private final String featureComments;
+    private final String backgroundComments;
+    private final List<String> sectionComments;
 
     public FeatureFileParser(final Path file) throws IOException {
-        final var state = new Object() {
-            boolean beforeFeature = true;
-            boolean beforeScenarios = true;
-        };
+        String title = null;
+        String comments = null;
+        String background = null;
+        final List<String> sections = new ArrayList<>();
+        boolean beforeFeature = true;
+        boolean beforeScenarios = true;
         final List<String> commentLines = new ArrayList<>();
-        try (Stream<String> lines = Files.lines(file)) {
-            lines.map(String::strip)
-                    .filter(FeatureFileParser::isEmptyOrNotTagLine)
-                    .forEach(line -> {
-                        if (state.beforeFeature) {
-                            if (handleFeatureLine(commentLines, line)) {
-                                state.beforeFeature = false;
-                            }
-                        } else if (state.beforeScenarios) {
-                            if (handleCommentLines(commentLines, line)) {
-                                state.beforeScenarios = false;
-                            }
-                        } else if (line.startsWith("Scenario")) {
-                            handleScenarioCommentLines(commentLines);
-                        }
-                        handleOtherLines(commentLines, line);
-                    });
+        for (String rawLine: Files.readAllLines(file)) {
+            final String line = rawLine.strip();
+            if (!isEmptyOrNotTagLine(line)) {
+                continue;
+            }
+            if (beforeFeature) {
+                if (line.startsWith("Feature")) {
+                    if (line.startsWith("Feature:")) {
+                        title = line.split("Feature:", 2)[1].split("#", 2)[0].strip();
+                    }
+                    if (!commentLines.isEmpty()) {
+                        comments = String.join("\n", commentLines);
+                    }
+                    beforeFeature = false;
+                }
+            } else if (beforeScenarios) {
+                if (line.startsWith("Background")) {
+                    background = String.join("\n", commentLines);
+                    beforeScenarios = false;
+                } else if (line.startsWith("Scenario")) {
+                    sections.add(String.join("\n", commentLines));
+                    beforeScenarios = false;
+                }
+            } else if (line.startsWith("Scenario")) {
+                sections.add(String.join("\n", commentLines));
+            }
+            handleOtherLines(commentLines, line);
         }
+        featureTitle = title;
+        featureComments = comments;
+        backgroundComments = background;
+        sectionComments = List.copyOf(sections);
     }
 
-    private void handleOtherLines(final List<String> commentLines, final String line) {
+    private static void handleOtherLines(final List<String> commentLines, final String line) {
         if (line.length() == 0 && !commentLines.isEmpty()) {
             // blank line within comments
             commentLines.add(line);
@@ -83,31 +98,6 @@ public class FeatureFileParser {
         return line.length() == 0 || line.charAt(0) != '@';
     }
 
-    private void handleScenarioCommentLines(final List<String> commentLines) {
-        sectionComments.add(!commentLines.isEmpty() ? String.join("\n", commentLines) : "");
-    }
-
-    private boolean handleCommentLines(final List<String> commentLines, final String line) {
-        if (line.startsWith("Background")) {
-            backgroundComments = String.join("\n", commentLines);
-            return true;
-        } else if (line.startsWith("Scenario")) {
-            handleScenarioCommentLines(commentLines);
-            return true;
-        }
-        return false;
-    }
-
-    private boolean handleFeatureLine(final List<String> commentLines, final String line) {
-        if (line.startsWith("Feature")) {
-            if (!commentLines.isEmpty()) {
-                featureComments = String.join("\n", commentLines);
-            }
-            return true;
-        }
-        return false;
-    }
-
     public String getFeatureComments() {
         return featureComments;
     }
@@ -127,20 +117,11 @@ public class FeatureFileParser {
         }
     }
 
-    @SuppressWarnings("PMD.AssignmentInOperand") // this is a common pattern and changing it makes it less readable
-    public static String getFeatureTitle(final File file) {
-        try (Stream<String> lines = Files.lines(file.toPath())) {
-            final String featureLine = lines.map(String::strip)
-                    .filter(line -> line.startsWith("Feature:"))
-                    .findFirst()
-                    .orElse(null);
-            if (featureLine != null) {
-                return featureLine.split("Feature:", 2)[1].split("#",2)[0].strip();
-            }
-            logger.warn("FILE DOES NOT START WITH 'Feature:' {}", file.toPath());
-        } catch (Exception e) { // jacoco will not show full coverage for this try-with-resources line
-            logger.warn("FEATURE NOT READABLE: {} - {}", file.toPath(), e.getMessage());
-        }
-        return null;
+    /**
+     * Get the title from the <code>Feature:</code> line.
+     * @return the title or null if the file does not contain a feature
+     */
+    public String getFeatureTitle() {
+        return featureTitle;
     }
 }
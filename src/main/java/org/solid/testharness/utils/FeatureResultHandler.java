@@ -27,9 +27,13 @@ import com.intuit.karate.Suite;
 import com.intuit.karate.core.FeatureResult;
 import com.intuit.karate.report.Report;
 import com.intuit.karate.report.SuiteReports;
+import org.eclipse.rdf4j.model.IRI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.solid.common.vocab.EARL;
+import org.solid.testharness.config.Bootstrap;
 import org.solid.testharness.config.PathMappings;
+import org.solid.testharness.config.TestSubject;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -46,6 +50,16 @@ public class FeatureResultHandler implements SuiteReports {
     DataRepository dataRepository;
     @Inject
     PathMappings pathMappings;
+    @Inject
+    ResultCache resultCache;
+    @Inject
+    FeatureWatchdog featureWatchdog;
+    @Inject
+    FeatureFileCache featureFileCache;
+    @Inject
+    EventStream eventStream;
+    @Inject
+    RequestTimings requestTimings;
 
     @Override
     @SuppressWarnings("java:S112")
@@ -54,15 +68,25 @@ public class FeatureResultHandler implements SuiteReports {
         final String featureIri = pathMappings.unmapFeaturePath(featurePath);
         final FeatureFileParser featureFileParser;
         try {
-            featureFileParser = new FeatureFileParser(
-                    fr.getFeature().getResource().getFile().toPath()
-            );
+            featureFileParser = featureFileCache.get(fr.getFeature().getResource().getFile().toPath());
         } catch (IOException e) {
             throw new RuntimeException("Failed to read feature file when reporting its results", e);
         }
 
         if (featureIri != null) {
-            dataRepository.addFeatureResult(suite, fr, iri(featureIri), featureFileParser);
+            // when several test subjects are tested at the same time the results go to the one this suite tests
+            final TestSubject testSubject = Bootstrap.findTestSubject(suite);
+            final DataRepository repository = testSubject != null ? testSubject.getDataRepository() : dataRepository;
+            IRI outcome = repository.addFeatureResult(suite, fr, iri(featureIri), featureFileParser,
+                    requestTimings);
+            final String timeout = featureWatchdog.getTimeout(fr.getFeature(), suite);
+            if (timeout != null) {
+                repository.markTimedOut(iri(featureIri), timeout);
+                outcome = EARL.cantTell;
+            } else {
+                resultCache.store(fr, iri(featureIri), testSubject);
+            }
+            eventStream.featureCompleted(fr, iri(featureIri), outcome, suite);
         } else {
             logger.warn("The feature {} could not be mapped back to an IRI", featurePath);
         }
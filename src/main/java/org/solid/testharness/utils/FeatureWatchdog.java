@@ -0,0 +1,422 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.KarateException;
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.FeatureRuntime;
+import com.intuit.karate.core.ScenarioEngine;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.http.ApacheHttpClient;
+import com.intuit.karate.http.HttpClient;
+import com.intuit.karate.http.HttpClientFactory;
+import com.intuit.karate.http.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Bootstrap;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.http.RequestListener;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Stops features and scenarios which run for longer than the configured wall-clock limits.
+ *
+ * <p>The watchdog is registered as a Karate hook to track the running top-level features and scenarios and the HTTP
+ * calls made by their steps, and as a request listener to track the requests of the harness clients. It checks the
+ * limits every second. When a feature or one of its scenarios runs out of time, the thread stacks and in-flight
+ * requests are logged and appended to <code>watchdog.txt</code> in the output directory and any of its scenarios which
+ * have not started are skipped. The threads running the feature are freed for other features by failing the HTTP
+ * calls they are waiting for, which is possible because the watchdog also supplies the Karate HTTP clients, and by
+ * interrupting them to end any other wait. The feature is then reported as <code>cantTell</code> since its result is
+ * incomplete.</p>
+ */
+@ApplicationScoped
+public class FeatureWatchdog implements RuntimeHook, RequestListener, HttpClientFactory {
+    private static final Logger logger = LoggerFactory.getLogger(FeatureWatchdog.class);
+
+    static final String CAPTURE_FILE = "watchdog.txt";
+    static final long CHECK_INTERVAL = 1000L;
+
+    @Inject
+    Config config;
+
+    private long featureLimit;
+    private long scenarioLimit;
+    private ScheduledExecutorService scheduler;
+    private final Map<Object, FeatureWatch> features = new IdentityHashMap<>();
+    private final Map<Object, ScenarioWatch> scenarios = new IdentityHashMap<>();
+    private final Map<Object, RequestWatch> requests = new IdentityHashMap<>();
+    private final Map<String, String> timeouts = new HashMap<>();
+    private ThreadPoolExecutor callExecutor;
+
+    public boolean isEnabled() {
+        return config.getFeatureTimeout() > 0 || config.getScenarioTimeout() > 0;
+    }
+
+    /**
+     * Start checking the time limits for a test run.
+     */
+    public synchronized void start() {
+        featureLimit = TimeUnit.SECONDS.toNanos(config.getFeatureTimeout());
+        scenarioLimit = TimeUnit.SECONDS.toNanos(config.getScenarioTimeout());
+        features.clear();
+        scenarios.clear();
+        requests.clear();
+        timeouts.clear();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "feature-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> check(System.nanoTime()), CHECK_INTERVAL, CHECK_INTERVAL,
+                TimeUnit.MILLISECONDS);
+        logger.info("Feature watchdog started with limits of {}s per feature and {}s per scenario",
+                config.getFeatureTimeout(), config.getScenarioTimeout());
+    }
+
+    /**
+     * Stop checking the time limits. The timeouts found remain available until the next run starts.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        features.clear();
+        scenarios.clear();
+        requests.clear();
+    }
+
+    /**
+     * Stop the threads making HTTP calls when the application shuts down.
+     */
+    @PreDestroy
+    synchronized void shutdown() {
+        stop();
+        if (callExecutor != null) {
+            callExecutor.shutdownNow();
+            callExecutor = null;
+        }
+    }
+
+    /**
+     * Get the reason a feature was stopped.
+     * @param feature the feature
+     * @param suite the suite which ran the feature, used to tell apart the test subjects run at the same time
+     * @return the description of the timeout or null if the feature was not stopped
+     */
+    public synchronized String getTimeout(final Feature feature, final Suite suite) {
+        return timeouts.get(key(Bootstrap.getSubject(suite), feature));
+    }
+
+    @Override
+    public boolean beforeFeature(final FeatureRuntime fr) {
+        if (fr.caller.isNone()) {
+            featureStarted(fr, fr.result.getFeature(), Bootstrap.getSubject(fr.suite), System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterFeature(final FeatureRuntime fr) {
+        featureFinished(fr);
+    }
+
+    @Override
+    public boolean beforeScenario(final ScenarioRuntime sr) {
+        // called features run on the thread of the calling scenario so only top-level scenarios are tracked
+        return !sr.caller.isNone() || scenarioStarted(sr, sr.featureRuntime, sr.scenario.getName(),
+                Thread.currentThread(), System.nanoTime());
+    }
+
+    @Override
+    public void afterScenario(final ScenarioRuntime sr) {
+        if (sr.caller.isNone()) {
+            scenarioFinished(sr);
+        }
+    }
+
+    @Override
+    public HttpClient create(final ScenarioEngine engine) {
+        return new AbortableHttpClient(new ApacheHttpClient(engine), this);
+    }
+
+    @Override
+    public void beforeHttpCall(final com.intuit.karate.http.HttpRequest request, final ScenarioRuntime sr) {
+        final var scenario = ScenarioRuntimes.root(sr);
+        callStarted(request, request.getMethod(), request.getUrl(), scenario, scenario.featureRuntime,
+                Thread.currentThread(), System.nanoTime());
+    }
+
+    @Override
+    public synchronized void afterHttpCall(final com.intuit.karate.http.HttpRequest request, final Response response,
+                                           final ScenarioRuntime sr) {
+        requests.remove(request);
+    }
+
+    @Override
+    public synchronized void beforeRequest(final HttpRequest request) {
+        requests.put(request, new RequestWatch(request.method(), request.uri().toString(), Thread.currentThread(),
+                System.nanoTime(), null, null));
+    }
+
+    @Override
+    public synchronized void requestCompleted(final HttpRequest request) {
+        requests.remove(request);
+    }
+
+    synchronized void featureStarted(final Object runtime, final Feature feature, final String subject,
+                                     final long now) {
+        features.put(runtime, new FeatureWatch(key(subject, feature), now));
+    }
+
+    synchronized void featureFinished(final Object runtime) {
+        features.remove(runtime);
+    }
+
+    synchronized boolean scenarioStarted(final Object runtime, final Object featureRuntime, final String name,
+                                         final Thread thread, final long now) {
+        final var feature = features.get(featureRuntime);
+        if (feature != null && feature.reason != null) {
+            // the rest of a feature which ran out of time is skipped
+            return false;
+        }
+        scenarios.put(runtime, new ScenarioWatch(featureRuntime, name, thread, now));
+        return true;
+    }
+
+    synchronized void callStarted(final Object request, final String method, final String uri, final Object scenario,
+                                  final Object featureRuntime, final Thread thread, final long now) {
+        requests.put(request, new RequestWatch(method, uri, thread, now, scenario, featureRuntime));
+    }
+
+    /**
+     * Make an HTTP call which can be aborted if the feature making it runs out of time.
+     * @param request the request, which must have been passed to {@link #beforeHttpCall} to be aborted
+     * @param invoke the call
+     * @return the outcome of the call
+     */
+    CompletableFuture<Response> call(final Object request, final Supplier<Response> invoke) {
+        final CompletableFuture<Response> call = new CompletableFuture<>();
+        synchronized (this) {
+            final var watch = requests.get(request);
+            if (watch != null) {
+                final var feature = features.get(watch.featureRuntime);
+                if (feature != null && feature.reason != null) {
+                    call.completeExceptionally(new KarateException(feature.reason));
+                    return call;
+                }
+                watch.call = call;
+            }
+        }
+        CompletableFuture.supplyAsync(invoke, getCallExecutor()).whenComplete((r, t) -> {
+            if (t != null) {
+                call.completeExceptionally(t instanceof CompletionException && t.getCause() != null
+                        ? t.getCause() : t);
+            } else {
+                call.complete(r);
+            }
+        });
+        return call;
+    }
+
+    private synchronized ExecutorService getCallExecutor() {
+        if (callExecutor == null) {
+            // each worker waits for one call at a time and the spare threads make up for calls abandoned by stopped
+            // features, which hold their thread until the read times out; further calls wait for a free thread
+            final int size = Math.max(config.getMaxThreads(), 1) * 2;
+            callExecutor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        final var thread = new Thread(runnable, "feature-watchdog-http");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            callExecutor.allowCoreThreadTimeOut(true);
+        }
+        return callExecutor;
+    }
+
+    synchronized void scenarioFinished(final Object runtime) {
+        // calls which failed are not reported to afterHttpCall
+        requests.values().removeIf(request -> request.scenario == runtime);
+        final var scenario = scenarios.remove(runtime);
+        if (scenario != null && scenario.interrupted && scenario.thread == Thread.currentThread()) {
+            // clear any interrupt which was not consumed so the worker can run the next feature
+            Thread.interrupted();
+        }
+    }
+
+    synchronized void check(final long now) {
+        if (featureLimit > 0) {
+            features.forEach((runtime, feature) -> {
+                if (feature.reason == null && now - feature.start > featureLimit) {
+                    timeout(runtime, feature, String.format(Locale.ROOT,
+                            "Feature stopped after exceeding the time limit of %ds", config.getFeatureTimeout()), now);
+                }
+            });
+        }
+        if (scenarioLimit > 0) {
+            scenarios.values().forEach(scenario -> {
+                final var feature = features.get(scenario.featureRuntime);
+                if (feature != null && feature.reason == null && now - scenario.start > scenarioLimit) {
+                    timeout(scenario.featureRuntime, feature, String.format(Locale.ROOT,
+                            "Scenario '%s' stopped after exceeding the time limit of %ds", scenario.name,
+                            config.getScenarioTimeout()), now);
+                }
+            });
+        }
+        // an interrupt does not end a blocking socket read so the HTTP calls of the feature are failed instead
+        requests.values().forEach(request -> {
+            final var feature = features.get(request.featureRuntime);
+            if (request.call != null && feature != null && feature.reason != null) {
+                request.call.completeExceptionally(new KarateException(feature.reason));
+            }
+        });
+        // keep interrupting the threads in case a test swallows the interrupt
+        scenarios.values().forEach(scenario -> {
+            final var feature = features.get(scenario.featureRuntime);
+            if (feature != null && feature.reason != null) {
+                scenario.interrupted = true;
+                scenario.thread.interrupt();
+            }
+        });
+    }
+
+    private void timeout(final Object runtime, final FeatureWatch feature, final String reason, final long now) {
+        feature.reason = reason;
+        timeouts.put(feature.key, reason);
+        final var threads = scenarios.values().stream()
+                .filter(scenario -> scenario.featureRuntime == runtime)
+                .map(scenario -> scenario.thread)
+                .distinct()
+                .toList();
+        final var capture = capture(runtime, feature, threads, now);
+        logger.warn("==== WATCHDOG TIMEOUT\n{}", capture);
+        final var outputDir = config.getOutputDirectory();
+        if (outputDir != null) {
+            try {
+                Files.writeString(outputDir.toPath().resolve(CAPTURE_FILE), capture + "\n", StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                logger.error("Failed to write the watchdog capture", e);
+            }
+        }
+    }
+
+    private String capture(final Object runtime, final FeatureWatch feature, final List<Thread> threads,
+                           final long now) {
+        final var sb = new StringBuilder();
+        sb.append(feature.key).append(": ").append(feature.reason).append('\n');
+        final var inFlight = requests.values().stream()
+                .filter(request -> request.featureRuntime == runtime || threads.contains(request.thread))
+                .toList();
+        sb.append(inFlight.isEmpty() ? "In-flight requests: none\n" : "In-flight requests:\n");
+        inFlight.forEach(request -> sb.append(String.format(Locale.ROOT, "  %s %s (%.1fs) on %s%n",
+                request.method, request.uri,
+                TimeUnit.NANOSECONDS.toMillis(now - request.start) / 1000.0, request.thread.getName())));
+        threads.forEach(thread -> {
+            sb.append("Thread ").append(thread.getName()).append(" (").append(thread.getState()).append(")\n");
+            for (StackTraceElement element: thread.getStackTrace()) {
+                sb.append("    at ").append(element).append('\n');
+            }
+        });
+        return sb.toString();
+    }
+
+    private static String key(final String subject, final Feature feature) {
+        final var path = feature.getResource().getRelativePath();
+        return subject != null ? subject + ' ' + path : path;
+    }
+
+    private static final class FeatureWatch {
+        private final String key;
+        private final long start;
+        private String reason;
+
+        private FeatureWatch(final String key, final long start) {
+            this.key = key;
+            this.start = start;
+        }
+    }
+
+    private static final class ScenarioWatch {
+        private final Object featureRuntime;
+        private final String name;
+        private final Thread thread;
+        private final long start;
+        private boolean interrupted;
+
+        private ScenarioWatch(final Object featureRuntime, final String name, final Thread thread, final long start) {
+            this.featureRuntime = featureRuntime;
+            this.name = name;
+            this.thread = thread;
+            this.start = start;
+        }
+    }
+
+    private static final class RequestWatch {
+        private final String method;
+        private final String uri;
+        private final Thread thread;
+        private final long start;
+        private final Object scenario;
+        private final Object featureRuntime;
+        private CompletableFuture<Response> call;
+
+        private RequestWatch(final String method, final String uri, final Thread thread, final long start,
+                             final Object scenario, final Object featureRuntime) {
+            this.method = method;
+            this.uri = uri;
+            this.thread = thread;
+            this.start = start;
+            this.scenario = scenario;
+            this.featureRuntime = featureRuntime;
+        }
+    }
+}
@@ -27,60 +27,105 @@ import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.util.Values;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Config;
 
-import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * RDFa parser using GraalJS and rdfa-streaming-parser.
  * This replaces the deprecated semargl-rdf4j parser for RDF4J v5 compatibility.
  *
  * <p>The parser uses a JavaScript bundle (rdfa-parser-bundle.js) that wraps the
- * rdfa-streaming-parser npm package. Quads are streamed back to Java via a callback.</p>
+ * rdfa-streaming-parser npm package. Quads are streamed back to Java in batches via a callback. Documents can be
+ * passed as a complete string or read from a stream in chunks, in which case statements are sent to the caller's
+ * {@link RDFHandler} as they are found rather than being collected into a model first.</p>
+ *
+ * <p>A GraalJS context can only be used by one thread at a time so a bounded pool of contexts is maintained. The
+ * contexts share a single polyglot engine so the parsed bundle code is shared between them. Contexts are created on
+ * demand up to the pool size, which defaults to the number of threads used to run tests.</p>
+ *
+ * <p>The engine is not created until the first document is parsed so runs which never see HTML do not pay for
+ * loading the bundle. Where the GraalVM runtime supports it, an auxiliary engine cache file can be configured so
+ * that the parsed bundle is persisted and reloaded by later invocations.</p>
  */
 @ApplicationScoped
-public class GraalRdfaParser {
+public class GraalRdfaParser implements RdfaParser {
     private static final Logger logger = LoggerFactory.getLogger(GraalRdfaParser.class);
     private static final String BUNDLE_RESOURCE = "/rdfa-parser-bundle.js";
     private static final java.lang.String JS = "js";
+    private static final int DEFAULT_POOL_SIZE = 1;
+    private static final int BATCH_SIZE = 512;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final String NAMED_NODE = "NamedNode";
+    private static final String BLANK_NODE = "BlankNode";
+
+    @Inject
+    Config config;
 
-    private Context context;
-    private boolean initialized = false;
+    private Engine engine;
+    private Source bundleSource;
+    private BlockingQueue<ParserContext> pool;
+    private final AtomicInteger contextCount = new AtomicInteger();
+    private int poolSize = DEFAULT_POOL_SIZE;
+    private volatile boolean initialized = false;
+    private volatile boolean closed = false;
 
     /**
-     * Initialize the GraalJS context and load the parser bundle.
+     * Initialize the shared GraalJS engine and load the parser bundle into the first context. This is called on first
+     * use and does nothing if the parser is already initialized.
      */
-    @PostConstruct
-    void initialize() {
+    synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
         try {
             logger.debug("Initializing GraalJS RDFa parser");
+            final File engineCache;
+            if (config != null) {
+                poolSize = config.getRdfaParserPoolSize();
+                engineCache = config.getRdfaParserEngineCache();
+            } else {
+                engineCache = null;
+            }
 
-            // Create GraalJS context with host access for callbacks
-            context = Context.newBuilder(JS)
-                    .allowHostAccess(HostAccess.ALL)
-                    .allowHostClassLookup(className -> true)
-                    .option("engine.WarnInterpreterOnly", "false")
-                    .build();
-
-            // Load the bundle from classpath
-            final var bundleCode = loadBundle();
-            context.eval(JS, bundleCode);
+            engine = createEngine(engineCache);
+            bundleSource = Source.newBuilder(JS, loadBundle(), BUNDLE_RESOURCE).build();
+            pool = new ArrayBlockingQueue<>(poolSize);
 
-            // Verify the parser loaded correctly
-            final var version = context.eval(JS, "RdfaParser.getVersion()");
-            logger.info("GraalJS RDFa parser initialized: {}", version.asString());
+            // Create the first context eagerly to verify the parser loaded correctly
+            final ParserContext parserContext = createContext();
+            final var version = parserContext.parser.getMember("getVersion").execute();
+            logger.info("GraalJS RDFa parser initialized: {} (pool size {})", version.asString(), poolSize);
+            pool.add(parserContext);
+            contextCount.set(1);
 
+            closed = false;
             initialized = true;
         } catch (Exception e) {
             logger.error("Failed to initialize GraalJS RDFa parser", e);
@@ -89,57 +134,167 @@ public class GraalRdfaParser {
     }
 
     /**
-     * Clean up the GraalJS context.
+     * Clean up the GraalJS contexts and the shared engine.
      */
     @PreDestroy
     void cleanup() {
-        if (context != null) {
-            logger.debug("Closing GraalJS context");
-            context.close();
-            context = null;
+        closed = true;
+        if (engine != null) {
+            logger.debug("Closing GraalJS contexts");
             initialized = false;
+            for (ParserContext parserContext = pool.poll(); parserContext != null; parserContext = pool.poll()) {
+                parserContext.context.close();
+            }
+            contextCount.set(0);
+            engine.close();
+            engine = null;
+        }
+    }
+
+    /**
+     * Set the maximum number of contexts to create (for testing when CDI is not available).
+     */
+    void setPoolSize(final int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    @Override
+    public Model parse(final String content, final String baseUri, final String contentType) {
+        ensureInitialized();
+
+        final Model model = new LinkedHashModel();
+        final var handler = new BatchHandler(model);
+
+        final ParserContext parserContext = acquireContext();
+        try {
+            // Call the pre-bound parser function passing the handler so JS can send batches of quads to it
+            checkResult(parserContext.parseFunction.execute(content, baseUri, contentType, handler, BATCH_SIZE));
+        } finally {
+            releaseContext(parserContext);
         }
+
+        return model;
     }
 
     /**
-     * Parse RDFa content and return an RDF4J Model.
+     * Parse RDFa content from a reader, sending the statements to the handler as they are found. The content is
+     * passed to the JavaScript parser in chunks so the whole document is never held as a single string.
      *
-     * @param content the HTML/XHTML content containing RDFa
+     * @param reader the HTML/XHTML content containing RDFa
      * @param baseUri the base URI for resolving relative IRIs
      * @param contentType the content type ("text/html" or "application/xhtml+xml")
-     * @return the parsed RDF model
+     * @param rdfHandler the handler to receive the statements
+     * @throws IOException if the reader fails
      * @throws RdfaParseException if parsing fails
      */
-    public Model parse(final String content, final String baseUri, final String contentType) {
+    @Override
+    public void parse(final Reader reader, final String baseUri, final String contentType,
+                      final RDFHandler rdfHandler) throws IOException {
+        ensureInitialized();
+
+        final var handler = new BatchHandler(rdfHandler);
+        final ParserContext parserContext = acquireContext();
+        try {
+            rdfHandler.startRDF();
+            final var session = parserContext.startFunction.execute(baseUri, contentType, handler, BATCH_SIZE);
+            final var buffer = new char[READ_BUFFER_SIZE];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                if (read > 0) {
+                    session.invokeMember("write", new String(buffer, 0, read));
+                }
+            }
+            checkResult(session.invokeMember("end"));
+            rdfHandler.endRDF();
+        } finally {
+            releaseContext(parserContext);
+        }
+    }
+
+    private void ensureInitialized() {
+        if (closed) {
+            throw new IllegalStateException("GraalRdfaParser has been closed");
+        }
         if (!initialized) {
-            throw new IllegalStateException("GraalRdfaParser not initialized");
+            initialize();
         }
+    }
 
-        final Model model = new LinkedHashModel();
-        final var handler = new QuadHandler(model);
-
-        synchronized (context) {
-            // Bind the handler so JS can call it
-            context.getBindings(JS).putMember("quadHandler", handler);
-
-            // Call the parser
-            final var result = context.eval(JS, String.format(
-                    "RdfaParser.parseRdfa(%s, %s, %s, quadHandler)",
-                    escapeJsString(content),
-                    escapeJsString(baseUri),
-                    escapeJsString(contentType)
-            ));
-
-            // Check for errors
-            final boolean success = result.getMember("success").asBoolean();
-            if (!success) {
-                final var error = result.getMember("error");
-                final var errorMsg = error.isNull() ? "Unknown parse error" : error.asString();
-                throw new RdfaParseException("Failed to parse RDFa: " + errorMsg);
+    private static void checkResult(final org.graalvm.polyglot.Value result) {
+        final boolean success = result.getMember("success").asBoolean();
+        if (!success) {
+            final var error = result.getMember("error");
+            final var errorMsg = error.isNull() ? "Unknown parse error" : error.asString();
+            throw new RdfaParseException("Failed to parse RDFa: " + errorMsg);
+        }
+    }
+
+    private Engine createEngine(final File engineCache) {
+        if (engineCache != null) {
+            // the auxiliary engine cache is only available on runtimes which support it (e.g. Oracle GraalVM
+            // native images) so fall back to an uncached engine if the options are not recognized
+            final var cacheOption = engineCache.isFile() ? "engine.CacheLoad" : "engine.CacheStore";
+            try {
+                final Engine cachedEngine = Engine.newBuilder()
+                        .option("engine.WarnInterpreterOnly", "false")
+                        .option(cacheOption, engineCache.getAbsolutePath())
+                        .build();
+                logger.info("GraalJS RDFa parser using engine cache ({}): {}", cacheOption, engineCache);
+                return cachedEngine;
+            } catch (IllegalArgumentException | IllegalStateException | PolyglotException e) {
+                logger.warn("GraalJS engine cache is not supported by this runtime: {}", e.getMessage());
             }
         }
+        return Engine.newBuilder()
+                .option("engine.WarnInterpreterOnly", "false")
+                .build();
+    }
 
-        return model;
+    private ParserContext createContext() {
+        final Context context = Context.newBuilder(JS)
+                .engine(engine)
+                .allowHostAccess(HostAccess.ALL)
+                .allowHostClassLookup(className -> true)
+                .build();
+        context.eval(bundleSource);
+        return new ParserContext(context);
+    }
+
+    private ParserContext acquireContext() {
+        final ParserContext available = pool.poll();
+        if (available != null) {
+            return available;
+        }
+        // grow the pool if there is capacity, otherwise wait for a context to be released
+        while (true) {
+            final int count = contextCount.get();
+            if (count >= poolSize) {
+                break;
+            }
+            if (contextCount.compareAndSet(count, count + 1)) {
+                try {
+                    final ParserContext parserContext = createContext();
+                    logger.debug("Created GraalJS context {} of {}", count + 1, poolSize);
+                    return parserContext;
+                } catch (RuntimeException e) {
+                    contextCount.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+        try {
+            return pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RdfaParseException("Interrupted while waiting for an RDFa parser", e);
+        }
+    }
+
+    private void releaseContext(final ParserContext parserContext) {
+        if (!initialized || !pool.offer(parserContext)) {
+            contextCount.decrementAndGet();
+            parserContext.context.close();
+        }
     }
 
     private String loadBundle() throws IOException {
@@ -151,15 +306,30 @@ public class GraalRdfaParser {
         }
     }
 
-    private String escapeJsString(final String s) {
-        if (s == null) {
-            return "null";
+    /**
+     * A pooled context with the parser functions resolved once so that documents are passed as host arguments rather
+     * than being embedded in a new script for every parse.
+     */
+    private static final class ParserContext {
+        private final Context context;
+        private final org.graalvm.polyglot.Value parser;
+        private final org.graalvm.polyglot.Value parseFunction;
+        private final org.graalvm.polyglot.Value startFunction;
+
+        ParserContext(final Context context) {
+            this.context = context;
+            this.parser = context.getBindings(JS).getMember("RdfaParser");
+            this.parseFunction = getFunction("parseRdfaBatched");
+            this.startFunction = getFunction("startRdfaBatched");
+        }
+
+        private org.graalvm.polyglot.Value getFunction(final String name) {
+            final var function = parser.getMember(name);
+            if (function == null || !function.canExecute()) {
+                throw new IllegalStateException("RdfaParser." + name + " is not available in the bundle");
+            }
+            return function;
         }
-        return "'" + s.replace("\\", "\\\\")
-                .replace("'", "\\'")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t") + "'";
     }
 
     /**
@@ -191,70 +361,123 @@ public class GraalRdfaParser {
             if (term == null) {
                 return null;
             }
-            final var termType = (String) term.get("termType");
-            final var value = (String) term.get("value");
-
-            return switch (termType) {
-                case "NamedNode" -> Values.iri(value);
-                case "BlankNode" -> Values.bnode(value);
-                default -> null;
-            };
+            return toResource((String) term.get("termType"), (String) term.get("value"), Values::iri);
         }
 
         private IRI convertToIRI(final Map<String, Object> term) {
             if (term == null) {
                 return null;
             }
-            final var termType = (String) term.get("termType");
-            if (!"NamedNode".equals(termType)) {
-                return null;
-            }
-            return Values.iri((String) term.get("value"));
+            return toIri((String) term.get("termType"), (String) term.get("value"), Values::iri);
         }
 
         private Value convertToValue(final Map<String, Object> term) {
             if (term == null) {
                 return null;
             }
-            final var termType = (String) term.get("termType");
-            final var value = (String) term.get("value");
-
-            return switch (termType) {
-                case "NamedNode" -> Values.iri(value);
-                case "BlankNode" -> Values.bnode(value);
-                case "Literal" -> {
-                    final var language = (String) term.get("language");
-                    final var datatype = (String) term.get("datatype");
-
-                    if (language != null && !language.isEmpty()) {
-                        yield Values.literal(value, language);
-                    } else if (datatype != null && !datatype.isEmpty()) {
-                        // Handle rdf:langString without language tag - treat as plain literal
-                        // This can occur when HTML has lang="" to reset language context
-                        if (datatype.equals("http://www.w3.org/1999/02/22-rdf-syntax-ns#langString")) {
-                            yield Values.literal(value);
-                        } else {
-                            yield Values.literal(value, Values.iri(datatype));
-                        }
+            return toValue((String) term.get("termType"), (String) term.get("value"),
+                    (String) term.get("language"), (String) term.get("datatype"), Values::iri);
+        }
+    }
+
+    /**
+     * Callback handler that receives batches of quads from the JavaScript parser. Each batch is a single string of
+     * length-prefixed fields, 8 per quad, so only one value crosses the language boundary per batch. IRIs which are
+     * repeated within a document are interned to avoid creating the same value many times.
+     */
+    public static class BatchHandler {
+        static final int FIELDS_PER_QUAD = 8;
+        private static final int MAX_INTERNED_IRIS = 4096;
+        private static final char NULL_FIELD = '~';
+        private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+        private final RDFHandler rdfHandler;
+        private final Map<String, IRI> iris = new HashMap<>();
+
+        public BatchHandler(final Model model) {
+            this(new StatementCollector(model));
+        }
+
+        public BatchHandler(final RDFHandler rdfHandler) {
+            this.rdfHandler = rdfHandler;
+        }
+
+        @HostAccess.Export
+        @SuppressWarnings("unused") // Called from JavaScript
+        public void onBatch(final String chunk, final int count) {
+            final var fields = new String[FIELDS_PER_QUAD];
+            int pos = 0;
+            for (int i = 0; i < count; i++) {
+                for (int f = 0; f < FIELDS_PER_QUAD; f++) {
+                    if (chunk.charAt(pos) == NULL_FIELD) {
+                        fields[f] = null;
+                        pos++;
                     } else {
-                        yield Values.literal(value);
+                        final int colon = chunk.indexOf(':', pos);
+                        final int length = Integer.parseInt(chunk, pos, colon, 10);
+                        fields[f] = chunk.substring(colon + 1, colon + 1 + length);
+                        pos = colon + 1 + length;
                     }
                 }
-                default -> null;
-            };
+                final var s = toResource(fields[0], fields[1], this::intern);
+                final var p = toIri(fields[2], fields[3], this::intern);
+                final var o = toValue(fields[4], fields[5], fields[6], fields[7], this::intern);
+                if (s != null && p != null && o != null) {
+                    rdfHandler.handleStatement(VALUE_FACTORY.createStatement(s, p, o));
+                }
+            }
+        }
+
+        private IRI intern(final String iri) {
+            if (iris.size() >= MAX_INTERNED_IRIS) {
+                iris.clear();
+            }
+            return iris.computeIfAbsent(iri, Values::iri);
         }
     }
 
-    /**
-     * Exception thrown when RDFa parsing fails.
-     */
-    public static class RdfaParseException extends RuntimeException {
-        public RdfaParseException(final String message) {
-            super(message);
+    static Resource toResource(final String termType, final String value, final Function<String, IRI> iriFactory) {
+        if (termType == null) {
+            return null;
         }
+        return switch (termType) {
+            case NAMED_NODE -> iriFactory.apply(value);
+            case BLANK_NODE -> Values.bnode(value);
+            default -> null;
+        };
+    }
+
+    static IRI toIri(final String termType, final String value, final Function<String, IRI> iriFactory) {
+        if (!NAMED_NODE.equals(termType)) {
+            return null;
+        }
+        return iriFactory.apply(value);
+    }
 
-        public RdfaParseException(final String message, final Throwable cause) {
-            super(message, cause);
+    static Value toValue(final String termType, final String value, final String language, final String datatype,
+                         final Function<String, IRI> iriFactory) {
+        if (termType == null) {
+            return null;
         }
+        return switch (termType) {
+            case NAMED_NODE -> iriFactory.apply(value);
+            case BLANK_NODE -> Values.bnode(value);
+            case "Literal" -> {
+                if (language != null && !language.isEmpty()) {
+                    yield Values.literal(value, language);
+                } else if (datatype != null && !datatype.isEmpty()) {
+                    // Handle rdf:langString without language tag - treat as plain literal
+                    // This can occur when HTML has lang="" to reset language context
+                    if (datatype.equals("http://www.w3.org/1999/02/22-rdf-syntax-ns#langString")) {
+                        yield Values.literal(value);
+                    } else {
+                        yield Values.literal(value, iriFactory.apply(datatype));
+                    }
+                } else {
+                    yield Values.literal(value);
+                }
+            }
+            default -> null;
+        };
     }
 }
@@ -0,0 +1,678 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.eclipse.rdf4j.common.net.ParsedIRI;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * RDFa 1.1 processor written in Java, using jsoup to build the document tree.
+ *
+ * <p>This follows the processing sequence of RDFa Core 1.1 with the HTML+RDFa 1.1 host language rules (head and body
+ * elements, <code>@datetime</code> and <code>time</code> values, and dropping non-CURIE <code>@rel</code> values
+ * alongside <code>@property</code>). The parser holds no state between documents so it can be used by any number of
+ * threads, and it does not need a JavaScript runtime. It is selected by setting the <code>rdfaParser</code> option to
+ * <code>java</code>.</p>
+ */
+@ApplicationScoped
+public class JavaRdfaParser implements RdfaParser {
+    static final String XHTML_VOCAB = "http://www.w3.org/1999/xhtml/vocab#";
+    private static final String RDFA_NS = "http://www.w3.org/ns/rdfa#";
+    private static final String XHTML_CONTENT_TYPE = "application/xhtml+xml";
+    private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+    private static final IRI USES_VOCABULARY = VALUE_FACTORY.createIRI(RDFA_NS, "usesVocabulary");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PREFIX_DECLARATION = Pattern.compile("([^\\s:]+):\\s+(\\S+)");
+
+    // attribute names
+    private static final String ABOUT = "about";
+    private static final String CONTENT = "content";
+    private static final String DATATYPE = "datatype";
+    private static final String DATETIME = "datetime";
+    private static final String HREF = "href";
+    private static final String INLIST = "inlist";
+    private static final String PROPERTY = "property";
+    private static final String REL = "rel";
+    private static final String RESOURCE = "resource";
+    private static final String REV = "rev";
+    private static final String SRC = "src";
+    private static final String TYPEOF = "typeof";
+    private static final String VOCAB = "vocab";
+
+    // datatypes recognized for HTML date and time values, most specific first
+    private static final String TIMEZONE = "(Z|[+-]\\d{2}:\\d{2})?";
+    private static final Map<Pattern, IRI> TEMPORAL_TYPES = new LinkedHashMap<>();
+
+    // RDFa Core 1.1 initial context
+    private static final Map<String, String> INITIAL_PREFIXES = Map.ofEntries(
+            Map.entry("as", "https://www.w3.org/ns/activitystreams#"),
+            Map.entry("cc", "http://creativecommons.org/ns#"),
+            Map.entry("csvw", "http://www.w3.org/ns/csvw#"),
+            Map.entry("ctag", "http://commontag.org/ns#"),
+            Map.entry("dc", "http://purl.org/dc/terms/"),
+            Map.entry("dc11", "http://purl.org/dc/elements/1.1/"),
+            Map.entry("dcat", "http://www.w3.org/ns/dcat#"),
+            Map.entry("dcterms", "http://purl.org/dc/terms/"),
+            Map.entry("dqv", "http://www.w3.org/ns/dqv#"),
+            Map.entry("duv", "https://www.w3.org/ns/duv#"),
+            Map.entry("foaf", "http://xmlns.com/foaf/0.1/"),
+            Map.entry("gr", "http://purl.org/goodrelations/v1#"),
+            Map.entry("grddl", "http://www.w3.org/2003/g/data-view#"),
+            Map.entry("ical", "http://www.w3.org/2002/12/cal/icaltzd#"),
+            Map.entry("jsonld", "http://www.w3.org/ns/json-ld#"),
+            Map.entry("ldp", "http://www.w3.org/ns/ldp#"),
+            Map.entry("ma", "http://www.w3.org/ns/ma-ont#"),
+            Map.entry("oa", "http://www.w3.org/ns/oa#"),
+            Map.entry("odrl", "http://www.w3.org/ns/odrl/2/"),
+            Map.entry("og", "http://ogp.me/ns#"),
+            Map.entry("org", "http://www.w3.org/ns/org#"),
+            Map.entry("owl", "http://www.w3.org/2002/07/owl#"),
+            Map.entry("prov", "http://www.w3.org/ns/prov#"),
+            Map.entry("qb", "http://purl.org/linked-data/cube#"),
+            Map.entry("rdf", "http://www.w3.org/1999/02/22-rdf-syntax-ns#"),
+            Map.entry("rdfa", RDFA_NS),
+            Map.entry("rdfs", "http://www.w3.org/2000/01/rdf-schema#"),
+            Map.entry("rev", "http://purl.org/stuff/rev#"),
+            Map.entry("rif", "http://www.w3.org/2007/rif#"),
+            Map.entry("rr", "http://www.w3.org/ns/r2rml#"),
+            Map.entry("schema", "http://schema.org/"),
+            Map.entry("sd", "http://www.w3.org/ns/sparql-service-description#"),
+            Map.entry("sioc", "http://rdfs.org/sioc/ns#"),
+            Map.entry("skos", "http://www.w3.org/2004/02/skos/core#"),
+            Map.entry("skosxl", "http://www.w3.org/2008/05/skos-xl#"),
+            Map.entry("sosa", "http://www.w3.org/ns/sosa/"),
+            Map.entry("ssn", "http://www.w3.org/ns/ssn/"),
+            Map.entry("time", "http://www.w3.org/2006/time#"),
+            Map.entry("v", "http://rdf.data-vocabulary.org/#"),
+            Map.entry("vcard", "http://www.w3.org/2006/vcard/ns#"),
+            Map.entry("void", "http://rdfs.org/ns/void#"),
+            Map.entry("wdr", "http://www.w3.org/2007/05/powder#"),
+            Map.entry("wdrs", "http://www.w3.org/2007/05/powder-s#"),
+            Map.entry("xhv", XHTML_VOCAB),
+            Map.entry("xml", "http://www.w3.org/XML/1998/namespace"),
+            Map.entry("xsd", "http://www.w3.org/2001/XMLSchema#")
+    );
+    private static final Map<String, String> INITIAL_TERMS = Map.of(
+            "describedby", "http://www.w3.org/2007/05/powder-s#describedby",
+            "license", XHTML_VOCAB + "license",
+            "role", XHTML_VOCAB + "role"
+    );
+
+    static {
+        TEMPORAL_TYPES.put(Pattern.compile("-?P(\\d+Y)?(\\d+M)?(\\d+D)?(T(\\d+H)?(\\d+M)?(\\d+(\\.\\d+)?S)?)?"),
+                XSD.DURATION);
+        TEMPORAL_TYPES.put(Pattern.compile("-?\\d{4,}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}(\\.\\d+)?" + TIMEZONE),
+                XSD.DATETIME);
+        TEMPORAL_TYPES.put(Pattern.compile("-?\\d{4,}-\\d{2}-\\d{2}" + TIMEZONE), XSD.DATE);
+        TEMPORAL_TYPES.put(Pattern.compile("\\d{2}:\\d{2}:\\d{2}(\\.\\d+)?" + TIMEZONE), XSD.TIME);
+        TEMPORAL_TYPES.put(Pattern.compile("-?\\d{4,}-\\d{2}"), XSD.GYEARMONTH);
+        TEMPORAL_TYPES.put(Pattern.compile("-?\\d{4,}"), XSD.GYEAR);
+    }
+
+    @Override
+    public Model parse(final String content, final String baseUri, final String contentType) {
+        final Model model = new LinkedHashModel();
+        try {
+            parse(new StringReader(content), baseUri, contentType, new StatementCollector(model));
+        } catch (IOException e) {
+            throw new RdfaParseException("Failed to parse RDFa: " + e.getMessage(), e);
+        }
+        return model;
+    }
+
+    @Override
+    public void parse(final Reader reader, final String baseUri, final String contentType,
+                      final RDFHandler rdfHandler) throws IOException {
+        final Parser parser = XHTML_CONTENT_TYPE.equalsIgnoreCase(contentType)
+                ? Parser.xmlParser()
+                : Parser.htmlParser();
+        final Document document = parser.parseInput(reader, baseUri);
+        document.outputSettings().prettyPrint(false);
+        final Element root = document.children().first();
+
+        rdfHandler.startRDF();
+        if (root != null) {
+            new Processor(document, baseUri, rdfHandler).process(root);
+        }
+        rdfHandler.endRDF();
+    }
+
+    static IRI getTemporalType(final String value) {
+        if (value.length() > 1) {
+            for (Map.Entry<Pattern, IRI> entry : TEMPORAL_TYPES.entrySet()) {
+                if (entry.getKey().matcher(value).matches()) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The state passed from an element to its children, as described in RDFa Core 1.1 section 7.1.
+     */
+    private static final class EvaluationContext {
+        private Resource parentSubject;
+        private Resource parentObject;
+        private Map<String, String> prefixes;
+        private Map<String, String> terms;
+        private String vocabulary;
+        private String language;
+        private List<IncompleteTriple> incompleteTriples;
+        private Map<IRI, List<Value>> listMapping;
+
+        private EvaluationContext copy() {
+            final EvaluationContext context = new EvaluationContext();
+            context.parentSubject = parentSubject;
+            context.parentObject = parentObject;
+            context.prefixes = prefixes;
+            context.terms = terms;
+            context.vocabulary = vocabulary;
+            context.language = language;
+            context.incompleteTriples = incompleteTriples;
+            context.listMapping = listMapping;
+            return context;
+        }
+    }
+
+    /**
+     * A predicate waiting for the subject or object to be found in a descendant element. Where the list is set the
+     * resource is added to that list instead.
+     */
+    private static final class IncompleteTriple {
+        private final IRI predicate;
+        private final boolean reverse;
+        private final List<Value> list;
+
+        IncompleteTriple(final IRI predicate, final boolean reverse, final List<Value> list) {
+            this.predicate = predicate;
+            this.reverse = reverse;
+            this.list = list;
+        }
+    }
+
+    /**
+     * Processes a single document, holding the blank nodes which are shared across the document.
+     */
+    private static final class Processor {
+        private final RDFHandler rdfHandler;
+        private final ParsedIRI base;
+        private final IRI baseIri;
+        private final Map<String, BNode> blankNodes = new HashMap<>();
+
+        Processor(final Document document, final String baseUri, final RDFHandler rdfHandler) {
+            this.rdfHandler = rdfHandler;
+            ParsedIRI parsedBase;
+            try {
+                parsedBase = ParsedIRI.create(baseUri);
+                final Element baseElement = document.selectFirst("head > base[href]");
+                if (baseElement != null) {
+                    parsedBase = ParsedIRI.create(parsedBase.resolve(baseElement.attr(HREF)));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new RdfaParseException("Invalid base URI: " + baseUri, e);
+            }
+            this.base = parsedBase;
+            this.baseIri = VALUE_FACTORY.createIRI(base.resolve(""));
+        }
+
+        void process(final Element root) {
+            final EvaluationContext context = new EvaluationContext();
+            context.parentSubject = baseIri;
+            context.prefixes = INITIAL_PREFIXES;
+            context.terms = INITIAL_TERMS;
+            context.incompleteTriples = Collections.emptyList();
+            context.listMapping = Collections.emptyMap();
+            process(root, context, true);
+        }
+
+        @SuppressWarnings({"PMD.CognitiveComplexity", "PMD.CyclomaticComplexity", "PMD.NPathComplexity"})
+        private void process(final Element element, final EvaluationContext context, final boolean isRoot) {
+            // step 1
+            boolean skip = false;
+            Resource newSubject = null;
+            Resource currentObject = null;
+            Resource typedResource = null;
+            final EvaluationContext local = context.copy();
+            final List<IncompleteTriple> localIncompleteTriples = new ArrayList<>();
+
+            // step 2: default vocabulary
+            if (element.hasAttr(VOCAB)) {
+                final String vocab = element.attr(VOCAB).trim();
+                if (vocab.isEmpty()) {
+                    local.vocabulary = null;
+                } else {
+                    local.vocabulary = resolveIri(vocab);
+                    if (local.vocabulary != null) {
+                        emit(baseIri, USES_VOCABULARY, VALUE_FACTORY.createIRI(local.vocabulary));
+                    }
+                }
+            }
+
+            // step 3: prefix mappings
+            local.prefixes = updatePrefixes(element, context.prefixes);
+
+            // step 4: language
+            if (element.hasAttr("xml:lang")) {
+                local.language = element.attr("xml:lang").trim();
+            } else if (element.hasAttr("lang")) {
+                local.language = element.attr("lang").trim();
+            }
+
+            final Resource about = element.hasAttr(ABOUT) ? resolveResource(element.attr(ABOUT), local) : null;
+            final Resource resource = firstResource(element, local);
+            final boolean hasProperty = element.hasAttr(PROPERTY);
+            final boolean hasTypeOf = element.hasAttr(TYPEOF);
+            final boolean isHeadOrBody = "head".equalsIgnoreCase(element.tagName())
+                    || "body".equalsIgnoreCase(element.tagName());
+            final boolean hasRel = hasRelAttribute(element, REL, hasProperty);
+            final boolean hasRev = hasRelAttribute(element, REV, hasProperty);
+            final List<IRI> rels = hasRel ? resolvePredicates(element.attr(REL), local) : Collections.emptyList();
+            final List<IRI> revs = hasRev ? resolvePredicates(element.attr(REV), local) : Collections.emptyList();
+
+            if (!hasRel && !hasRev) {
+                if (hasProperty && !element.hasAttr(CONTENT) && !element.hasAttr(DATATYPE)) {
+                    // step 5.1
+                    if (about != null) {
+                        newSubject = about;
+                    } else if (isRoot) {
+                        newSubject = baseIri;
+                    } else if (isHeadOrBody || context.parentObject != null) {
+                        newSubject = context.parentObject;
+                    }
+                    if (hasTypeOf) {
+                        if (about != null || isRoot) {
+                            typedResource = newSubject;
+                        } else {
+                            typedResource = resource != null ? resource : VALUE_FACTORY.createBNode();
+                            currentObject = typedResource;
+                        }
+                    }
+                } else {
+                    // step 5.2
+                    if (about != null) {
+                        newSubject = about;
+                    } else if (resource != null) {
+                        newSubject = resource;
+                    } else if (isHeadOrBody && !isRoot) {
+                        newSubject = context.parentObject;
+                    } else if (isRoot) {
+                        newSubject = baseIri;
+                    } else if (hasTypeOf) {
+                        newSubject = VALUE_FACTORY.createBNode();
+                    } else if (context.parentObject != null) {
+                        newSubject = context.parentObject;
+                        skip = !hasProperty;
+                    }
+                    if (hasTypeOf) {
+                        typedResource = newSubject;
+                    }
+                }
+            } else {
+                // step 6
+                if (about != null) {
+                    newSubject = about;
+                    if (hasTypeOf) {
+                        typedResource = newSubject;
+                    }
+                } else if (isHeadOrBody && !isRoot) {
+                    newSubject = context.parentObject;
+                } else if (isRoot) {
+                    newSubject = baseIri;
+                } else {
+                    newSubject = context.parentObject;
+                }
+                if (resource != null) {
+                    currentObject = resource;
+                } else if (hasTypeOf && about == null) {
+                    currentObject = VALUE_FACTORY.createBNode();
+                }
+                if (hasTypeOf && about == null) {
+                    typedResource = currentObject;
+                }
+            }
+
+            // step 7: types
+            if (typedResource != null) {
+                for (IRI type : resolvePredicates(element.attr(TYPEOF), local)) {
+                    emit(typedResource, RDF.TYPE, type);
+                }
+            }
+
+            // step 8: start a new list mapping for a new subject
+            if (newSubject != null && !newSubject.equals(context.parentObject)) {
+                local.listMapping = new LinkedHashMap<>();
+            }
+
+            final boolean inList = element.hasAttr(INLIST);
+            if (currentObject != null) {
+                // step 9
+                for (IRI rel : rels) {
+                    if (inList) {
+                        listFor(local, rel).add(currentObject);
+                    } else {
+                        emit(newSubject, rel, currentObject);
+                    }
+                }
+                for (IRI rev : revs) {
+                    emit(currentObject, rev, newSubject);
+                }
+            } else if (!rels.isEmpty() || !revs.isEmpty()) {
+                // step 10
+                for (IRI rel : rels) {
+                    localIncompleteTriples.add(new IncompleteTriple(rel, false, inList ? listFor(local, rel) : null));
+                }
+                for (IRI rev : revs) {
+                    localIncompleteTriples.add(new IncompleteTriple(rev, true, null));
+                }
+                currentObject = VALUE_FACTORY.createBNode();
+            }
+
+            // step 11: property values
+            if (hasProperty && newSubject != null) {
+                final Value value = propertyValue(element, local, !hasRel && !hasRev, about, resource,
+                        typedResource);
+                for (IRI property : resolvePredicates(element.attr(PROPERTY), local)) {
+                    if (inList) {
+                        listFor(local, property).add(value);
+                    } else {
+                        emit(newSubject, property, value);
+                    }
+                }
+            }
+
+            // step 12: complete the incomplete triples of the parent
+            if (!skip && newSubject != null) {
+                for (IncompleteTriple incomplete : context.incompleteTriples) {
+                    if (incomplete.list != null) {
+                        incomplete.list.add(newSubject);
+                    } else if (incomplete.reverse) {
+                        emit(newSubject, incomplete.predicate, context.parentSubject);
+                    } else {
+                        emit(context.parentSubject, incomplete.predicate, newSubject);
+                    }
+                }
+            }
+
+            // step 13: process the children, the local context becomes the evaluation context for each child
+            final EvaluationContext childContext = local;
+            if (!skip) {
+                childContext.parentSubject = newSubject != null ? newSubject : context.parentSubject;
+                if (currentObject != null) {
+                    childContext.parentObject = currentObject;
+                } else {
+                    childContext.parentObject = newSubject != null ? newSubject : context.parentSubject;
+                }
+                childContext.incompleteTriples = localIncompleteTriples;
+            }
+            for (Element child : element.children()) {
+                process(child, childContext, false);
+            }
+
+            // step 14: generate the lists started on this element
+            if (local.listMapping != context.listMapping) {
+                for (Map.Entry<IRI, List<Value>> entry : local.listMapping.entrySet()) {
+                    emitList(newSubject, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        private Value propertyValue(final Element element, final EvaluationContext local, final boolean noRels,
+                                    final Resource about, final Resource resource, final Resource typedResource) {
+            final String language = local.language;
+            if (element.hasAttr(DATATYPE)) {
+                final String datatypeValue = element.attr(DATATYPE).trim();
+                final IRI datatype = datatypeValue.isEmpty() ? null : resolvePredicate(datatypeValue, local);
+                if (datatype != null) {
+                    if (RDF.XMLLITERAL.equals(datatype) || RDF.HTML.equals(datatype)) {
+                        return VALUE_FACTORY.createLiteral(element.html(), datatype);
+                    }
+                    return VALUE_FACTORY.createLiteral(textValue(element), datatype);
+                }
+                return plainLiteral(textValue(element), language);
+            } else if (element.hasAttr(CONTENT)) {
+                return plainLiteral(element.attr(CONTENT), language);
+            } else if (element.hasAttr(DATETIME)) {
+                return temporalLiteral(element.attr(DATETIME), language);
+            } else if ("time".equalsIgnoreCase(element.tagName())) {
+                return temporalLiteral(element.wholeText(), language);
+            } else if (noRels && resource != null) {
+                return resource;
+            } else if (typedResource != null && about == null) {
+                return typedResource;
+            }
+            return plainLiteral(element.wholeText(), language);
+        }
+
+        private String textValue(final Element element) {
+            return element.hasAttr(CONTENT) ? element.attr(CONTENT) : element.wholeText();
+        }
+
+        private Value plainLiteral(final String value, final String language) {
+            return language != null && !language.isEmpty()
+                    ? VALUE_FACTORY.createLiteral(value, language)
+                    : VALUE_FACTORY.createLiteral(value);
+        }
+
+        private Value temporalLiteral(final String value, final String language) {
+            final IRI datatype = getTemporalType(value);
+            return datatype != null ? VALUE_FACTORY.createLiteral(value, datatype) : plainLiteral(value, language);
+        }
+
+        private List<Value> listFor(final EvaluationContext local, final IRI predicate) {
+            return local.listMapping.computeIfAbsent(predicate, p -> new ArrayList<>());
+        }
+
+        private void emitList(final Resource subject, final IRI predicate, final List<Value> list) {
+            if (list.isEmpty()) {
+                emit(subject, predicate, RDF.NIL);
+                return;
+            }
+            Resource head = VALUE_FACTORY.createBNode();
+            emit(subject, predicate, head);
+            for (int i = 0; i < list.size(); i++) {
+                emit(head, RDF.FIRST, list.get(i));
+                final Resource rest = i < list.size() - 1 ? VALUE_FACTORY.createBNode() : RDF.NIL;
+                emit(head, RDF.REST, rest);
+                head = rest;
+            }
+        }
+
+        private void emit(final Resource subject, final IRI predicate, final Value object) {
+            if (subject != null && predicate != null && object != null) {
+                rdfHandler.handleStatement(VALUE_FACTORY.createStatement(subject, predicate, object));
+            }
+        }
+
+        private Map<String, String> updatePrefixes(final Element element, final Map<String, String> prefixes) {
+            Map<String, String> updated = prefixes;
+            for (Attribute attribute : element.attributes()) {
+                final String key = attribute.getKey();
+                if (key.startsWith("xmlns:")) {
+                    updated = addPrefix(updated, prefixes, key.substring(6), attribute.getValue().trim());
+                }
+            }
+            if (element.hasAttr("prefix")) {
+                final var matcher = PREFIX_DECLARATION.matcher(element.attr("prefix"));
+                while (matcher.find()) {
+                    updated = addPrefix(updated, prefixes, matcher.group(1), matcher.group(2));
+                }
+            }
+            return updated;
+        }
+
+        private Map<String, String> addPrefix(final Map<String, String> updated, final Map<String, String> original,
+                                              final String prefix, final String namespace) {
+            final String name = prefix.toLowerCase(Locale.ROOT);
+            if (name.isEmpty() || "_".equals(name) || namespace.isEmpty()) {
+                return updated;
+            }
+            // copy on first change so unchanged mappings are shared with the parent
+            final Map<String, String> result = updated == original ? new HashMap<>(original) : updated;
+            result.put(name, namespace);
+            return result;
+        }
+
+        private boolean hasRelAttribute(final Element element, final String name, final boolean hasProperty) {
+            if (!element.hasAttr(name)) {
+                return false;
+            }
+            if (!hasProperty) {
+                return true;
+            }
+            // HTML+RDFa: alongside @property only CURIE and IRI values are used
+            for (String token : WHITESPACE.split(element.attr(name).trim())) {
+                if (token.indexOf(':') >= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Resource firstResource(final Element element, final EvaluationContext local) {
+            if (element.hasAttr(RESOURCE)) {
+                final Resource resource = resolveResource(element.attr(RESOURCE), local);
+                if (resource != null) {
+                    return resource;
+                }
+            }
+            for (String attribute : List.of(HREF, SRC)) {
+                if (element.hasAttr(attribute)) {
+                    final String iri = resolveIri(element.attr(attribute).trim());
+                    if (iri != null) {
+                        return VALUE_FACTORY.createIRI(iri);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private List<IRI> resolvePredicates(final String value, final EvaluationContext local) {
+            final String trimmed = value.trim();
+            if (trimmed.isEmpty()) {
+                return Collections.emptyList();
+            }
+            final List<IRI> predicates = new ArrayList<>();
+            for (String token : WHITESPACE.split(trimmed)) {
+                final IRI predicate = resolvePredicate(token, local);
+                if (predicate != null) {
+                    predicates.add(predicate);
+                }
+            }
+            return predicates;
+        }
+
+        // TERMorCURIEorAbsIRI
+        private IRI resolvePredicate(final String value, final EvaluationContext local) {
+            if (value.indexOf(':') < 0) {
+                if (local.vocabulary != null) {
+                    return VALUE_FACTORY.createIRI(local.vocabulary + value);
+                }
+                final String term = local.terms.getOrDefault(value, local.terms.get(value.toLowerCase(Locale.ROOT)));
+                return term != null ? VALUE_FACTORY.createIRI(term) : null;
+            }
+            final Resource curie = resolveCurie(value, local);
+            if (curie != null) {
+                return curie.isIRI() ? (IRI) curie : null;
+            }
+            return isAbsolute(value) ? VALUE_FACTORY.createIRI(value) : null;
+        }
+
+        // SafeCURIEorCURIEorIRI
+        private Resource resolveResource(final String value, final EvaluationContext local) {
+            final String trimmed = value.trim();
+            if (trimmed.length() >= 2 && trimmed.charAt(0) == '[' && trimmed.charAt(trimmed.length() - 1) == ']') {
+                // an invalid safe CURIE means the attribute is ignored
+                return resolveCurie(trimmed.substring(1, trimmed.length() - 1), local);
+            }
+            final Resource curie = resolveCurie(trimmed, local);
+            if (curie != null) {
+                return curie;
+            }
+            final String iri = resolveIri(trimmed);
+            return iri != null ? VALUE_FACTORY.createIRI(iri) : null;
+        }
+
+        private Resource resolveCurie(final String value, final EvaluationContext local) {
+            final int colon = value.indexOf(':');
+            if (colon < 0) {
+                return null;
+            }
+            final String prefix = value.substring(0, colon).toLowerCase(Locale.ROOT);
+            final String reference = value.substring(colon + 1);
+            if ("_".equals(prefix)) {
+                return blankNodes.computeIfAbsent(reference, r -> VALUE_FACTORY.createBNode());
+            }
+            if (prefix.isEmpty()) {
+                return VALUE_FACTORY.createIRI(XHTML_VOCAB + reference);
+            }
+            final String namespace = local.prefixes.get(prefix);
+            return namespace != null ? VALUE_FACTORY.createIRI(namespace + reference) : null;
+        }
+
+        private String resolveIri(final String value) {
+            try {
+                return base.resolve(value);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private boolean isAbsolute(final String value) {
+            try {
+                return ParsedIRI.create(value).isAbsolute();
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+    }
+}
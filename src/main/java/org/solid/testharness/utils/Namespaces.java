@@ -37,6 +37,8 @@ import static org.solid.testharness.api.RDFModel.iri;
 
 public final class Namespaces {
     private static final Map<String, Namespace> namespaceMap;
+    private static final PrefixTrie<Namespace> namespaceTrie;
+    private static final int SHORTEN_CACHE_SIZE = 512;
     static final Map<String, String> specNamespacesMap = new HashMap<>();
 
     public static final String TESTS_REPO_URI = "https://github.com/solid-contrib/specification-tests/";
@@ -54,12 +56,8 @@ public final class Namespaces {
 
     public static String shorten(final IRI iri) {
         final String term = iri.stringValue();
-        for (Namespace namespace : namespaceMap.values()) {
-            if (term.startsWith(namespace.iri)) {
-                return term.replace(namespace.iri, namespace.prefix + ":");
-            }
-        }
-        return term;
+        final String shortened = namespaceTrie.replacePrefix(term, namespace -> namespace.prefix + ":");
+        return shortened != null ? shortened : term;
     }
 
     public static String generateAllTurtlePrefixes() {
@@ -105,7 +103,10 @@ public final class Namespaces {
     }
 
     public static String getSpecificationNamespace(final IRI iri) {
-        return specNamespacesMap.get(iri.getNamespace().replaceFirst("#?$", ""));
+        final String namespace = iri.getNamespace();
+        return specNamespacesMap.get(namespace.endsWith("#")
+                ? namespace.substring(0, namespace.length() - 1)
+                : namespace);
     }
 
     static {
@@ -124,6 +125,10 @@ public final class Namespaces {
         namespaceMap.put(RDFS.PREFIX, new Namespace(RDFS.PREFIX, RDFS.NAMESPACE));
         namespaceMap.put(OWL.PREFIX, new Namespace(OWL.PREFIX, OWL.NAMESPACE));
         namespaceMap.put(SCHEMA_PREFIX, new Namespace(SCHEMA_PREFIX, SCHEMA_NS));
+
+        final PrefixTrie.Builder<Namespace> builder = PrefixTrie.<Namespace>builder().memoize(SHORTEN_CACHE_SIZE);
+        namespaceMap.values().forEach(namespace -> builder.add(namespace.iri, namespace));
+        namespaceTrie = builder.build();
     }
 
     private static class Namespace {
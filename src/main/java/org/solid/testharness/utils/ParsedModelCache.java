@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.eclipse.rdf4j.model.Model;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of parsed models keyed by a hash of the content along with its content type and base URI, so that
+ * identical documents (such as shared fixtures or unchanged container listings) are only parsed once across all
+ * scenarios. The models are shared so they are returned as unmodifiable views.
+ *
+ * <p>The cache is limited by the total size in bytes of the content that produced the cached models and evicts the
+ * least recently used entries first. It is disabled unless the <code>parseCacheSize</code> option is set.</p>
+ */
+@ApplicationScoped
+public class ParsedModelCache {
+    private static final Logger logger = LoggerFactory.getLogger(ParsedModelCache.class);
+
+    @Inject
+    Config config;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long maxBytes;
+    private long totalBytes;
+    private long hits;
+    private long misses;
+
+    @PostConstruct
+    void postConstruct() {
+        if (config != null) {
+            maxBytes = config.getParseCacheSize();
+        }
+    }
+
+    /**
+     * Set the maximum total size of the cached content (for testing when CDI is not available).
+     */
+    void setMaxBytes(final long maxBytes) {
+        synchronized (entries) {
+            this.maxBytes = maxBytes;
+            evict();
+        }
+    }
+
+    /**
+     * Returns the model for this content, parsing it with the loader if it is not already cached. Failures are not
+     * cached.
+     * @param data the content to parse
+     * @param contentType the content type of the data
+     * @param baseUri the base URI used when parsing
+     * @param loader the parser to use if the model is not cached
+     * @return the parsed model which must not be modified
+     * @throws IOException if the loader fails
+     */
+    public Model get(final String data, final String contentType, final String baseUri, final Loader loader)
+            throws IOException {
+        final long limit;
+        synchronized (entries) {
+            limit = maxBytes;
+        }
+        if (limit <= 0 || data == null) {
+            return loader.load();
+        }
+        final byte[] content = data.getBytes(StandardCharsets.UTF_8);
+        if (content.length > limit) {
+            return loader.load();
+        }
+        final String key = createKey(content, contentType, baseUri);
+        synchronized (entries) {
+            final Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return entry.model;
+            }
+            misses++;
+        }
+        // parse outside the lock, if another thread parses the same content first its model is kept
+        final Model model = loader.load().unmodifiable();
+        synchronized (entries) {
+            final Entry existing = entries.putIfAbsent(key, new Entry(model, content.length));
+            if (existing != null) {
+                return existing.model;
+            }
+            totalBytes += content.length;
+            evict();
+        }
+        return model;
+    }
+
+    /**
+     * Remove all cached models.
+     */
+    public void clear() {
+        synchronized (entries) {
+            if (hits + misses > 0) {
+                logger.debug("Parse cache cleared: {} hits, {} misses", hits, misses);
+            }
+            entries.clear();
+            totalBytes = 0;
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long getHits() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    private void evict() {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            totalBytes -= iterator.next().size;
+            iterator.remove();
+        }
+    }
+
+    private static String createKey(final byte[] content, final String contentType, final String baseUri) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content)) + ' ' + contentType + ' ' + baseUri;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Parses the content when it is not found in the cache.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        Model load() throws IOException;
+    }
+
+    private static final class Entry {
+        private final Model model;
+        private final long size;
+
+        Entry(final Model model, final long size) {
+            this.model = model;
+            this.size = size;
+        }
+    }
+}
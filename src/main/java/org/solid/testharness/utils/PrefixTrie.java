@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A compiled prefix tree which finds the longest registered prefix of a string in a single pass.
+ *
+ * <p>This is used for shortening IRIs to prefixed names and for mapping between URLs and local paths. An optional
+ * bounded memo cache can be enabled for callers that look up the same strings repeatedly.</p>
+ *
+ * @param <V> the type of value associated with each prefix
+ */
+public final class PrefixTrie<V> {
+    private static final Match<?> NO_MATCH = new Match<>("", null);
+
+    private final Node<V> root;
+    private final Map<String, Match<V>> cache;
+
+    private PrefixTrie(final Node<V> root, final int cacheSize) {
+        this.root = root;
+        this.cache = cacheSize > 0 ? Collections.synchronizedMap(new LruCache<>(cacheSize)) : null;
+    }
+
+    /**
+     * Returns a new builder.
+     * @param <V> the type of value associated with each prefix
+     * @return the builder
+     */
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Find the longest registered prefix of the key.
+     * @param key the string to look up
+     * @return the match or null if no prefix matches
+     */
+    public Match<V> longestMatch(final String key) {
+        Objects.requireNonNull(key, "key is required");
+        if (cache == null) {
+            return find(key);
+        }
+        final Match<V> cached = cache.get(key);
+        if (cached != null) {
+            return cached == NO_MATCH ? null : cached;
+        }
+        final Match<V> match = find(key);
+        cache.put(key, match != null ? match : noMatch());
+        return match;
+    }
+
+    /**
+     * Replace the longest registered prefix at the start of the key, leaving the rest of the key untouched.
+     * @param key the string to rewrite
+     * @param replacement the function providing the replacement for the matched prefix
+     * @return the rewritten string or null if no prefix matches
+     */
+    public String replacePrefix(final String key, final Function<V, String> replacement) {
+        final Match<V> match = longestMatch(key);
+        return match != null ? replacement.apply(match.getValue()) + key.substring(match.getPrefix().length()) : null;
+    }
+
+    private Match<V> find(final String key) {
+        Node<V> node = root;
+        Node<V> best = root.match != null ? root : null;
+        final int length = key.length();
+        for (int i = 0; i < length && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+            if (node != null && node.match != null) {
+                best = node;
+            }
+        }
+        return best != null ? best.match : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Match<V> noMatch() {
+        return (Match<V>) NO_MATCH;
+    }
+
+    /**
+     * The result of a lookup holding the matched prefix and its associated value.
+     * @param <V> the type of value associated with each prefix
+     */
+    public static final class Match<V> {
+        private final String prefix;
+        private final V value;
+
+        Match(final String prefix, final V value) {
+            this.prefix = prefix;
+            this.value = value;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public V getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Builder for compiling a set of prefixes into a trie.
+     * @param <V> the type of value associated with each prefix
+     */
+    public static final class Builder<V> {
+        private final Node<V> root = new Node<>();
+        private int cacheSize;
+
+        private Builder() { }
+
+        /**
+         * Register a prefix. If the prefix is already registered the first value is retained.
+         * @param prefix the prefix
+         * @param value the value to return when this is the longest matching prefix
+         * @return this builder
+         */
+        public Builder<V> add(final String prefix, final V value) {
+            Objects.requireNonNull(prefix, "prefix is required");
+            Node<V> node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node<>());
+            }
+            if (node.match == null) {
+                node.match = new Match<>(prefix, value);
+            }
+            return this;
+        }
+
+        /**
+         * Enable a memo cache of lookup results.
+         * @param size the maximum number of keys to remember
+         * @return this builder
+         */
+        public Builder<V> memoize(final int size) {
+            this.cacheSize = size;
+            return this;
+        }
+
+        public PrefixTrie<V> build() {
+            return new PrefixTrie<>(root, cacheSize);
+        }
+    }
+
+    private static final class Node<V> {
+        private final Map<Character, Node<V>> children = new HashMap<>();
+        private Match<V> match;
+    }
+
+    private static final class LruCache<K, T> extends LinkedHashMap<K, T> {
+        private static final long serialVersionUID = 2904917442366745731L;
+        private final int maxSize;
+
+        LruCache(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, T> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
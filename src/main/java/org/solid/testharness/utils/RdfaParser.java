@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An RDFa 1.1 processor for HTML and XHTML documents. Implementations must be safe to use from multiple threads.
+ */
+public interface RdfaParser {
+    /**
+     * Parse RDFa content and return an RDF4J Model.
+     *
+     * @param content the HTML/XHTML content containing RDFa
+     * @param baseUri the base URI for resolving relative IRIs
+     * @param contentType the content type ("text/html" or "application/xhtml+xml")
+     * @return the parsed RDF model
+     * @throws RdfaParseException if parsing fails
+     */
+    Model parse(String content, String baseUri, String contentType);
+
+    /**
+     * Parse RDFa content from a reader, sending the statements to the handler.
+     *
+     * @param reader the HTML/XHTML content containing RDFa
+     * @param baseUri the base URI for resolving relative IRIs
+     * @param contentType the content type ("text/html" or "application/xhtml+xml")
+     * @param rdfHandler the handler to receive the statements
+     * @throws IOException if the reader fails
+     * @throws RdfaParseException if parsing fails
+     */
+    void parse(Reader reader, String baseUri, String contentType, RDFHandler rdfHandler) throws IOException;
+
+    /**
+     * Parse RDFa content from a UTF-8 encoded stream, sending the statements to the handler.
+     *
+     * @param inputStream the HTML/XHTML content containing RDFa
+     * @param baseUri the base URI for resolving relative IRIs
+     * @param contentType the content type ("text/html" or "application/xhtml+xml")
+     * @param rdfHandler the handler to receive the statements
+     * @throws IOException if the stream cannot be read
+     * @throws RdfaParseException if parsing fails
+     */
+    default void parse(final InputStream inputStream, final String baseUri, final String contentType,
+                       final RDFHandler rdfHandler) throws IOException {
+        parse(new InputStreamReader(inputStream, StandardCharsets.UTF_8), baseUri, contentType, rdfHandler);
+    }
+}
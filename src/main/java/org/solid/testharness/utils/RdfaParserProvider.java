@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.solid.testharness.config.Config;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Provides the RDFa parser engine selected by the <code>rdfaParser</code> option: <code>graal</code> (the default)
+ * runs the rdfa-streaming-parser bundle in GraalJS and <code>java</code> uses {@link JavaRdfaParser}.
+ */
+@ApplicationScoped
+public class RdfaParserProvider {
+    public static final String GRAAL = "graal";
+    public static final String JAVA = "java";
+
+    @Inject
+    Config config;
+
+    @Inject
+    GraalRdfaParser graalRdfaParser;
+
+    @Inject
+    JavaRdfaParser javaRdfaParser;
+
+    public RdfaParser getParser() {
+        final String engine = config.getRdfaParser();
+        return switch (engine) {
+            case GRAAL -> graalRdfaParser;
+            case JAVA -> javaRdfaParser;
+            default -> throw new TestHarnessInitializationException("Unknown RDFa parser engine: " + engine);
+        };
+    }
+}
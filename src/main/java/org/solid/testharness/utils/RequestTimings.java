@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.core.Scenario;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.http.Response;
+import org.solid.testharness.http.RequestListener;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the response times of the HTTP requests made during each scenario so that a profile of the server's
+ * performance can be added to the results.
+ *
+ * <p>The calls made by Karate steps are timed by Karate and reported to the <code>afterHttpCall</code> hook, with
+ * those of called features attributed to the top-level scenario. The requests made by the harness clients are also
+ * timed, attributed to the scenario running on the thread which sends them. The timings of a scenario are held until
+ * its feature is reported and then handed over by {@link #remove(Scenario)}.</p>
+ */
+@ApplicationScoped
+public class RequestTimings implements RuntimeHook, RequestListener {
+    private final Map<Object, Timings> scenarioTimings = new ConcurrentHashMap<>();
+    private final Map<Thread, Timings> threadTimings = new ConcurrentHashMap<>();
+    private final Map<HttpRequest, Timings> requestTimings = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<Scenario, Timings> completedTimings = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Discard any timings left over from a previous run.
+     */
+    public void start() {
+        scenarioTimings.clear();
+        threadTimings.clear();
+        requestTimings.clear();
+        completedTimings.clear();
+    }
+
+    /**
+     * Take the timings of a completed scenario.
+     * @param scenario the scenario
+     * @return the timings or null if none were collected
+     */
+    public Timings remove(final Scenario scenario) {
+        return completedTimings.remove(scenario);
+    }
+
+    @Override
+    public boolean beforeScenario(final ScenarioRuntime sr) {
+        if (sr.caller.isNone()) {
+            scenarioStarted(sr, Thread.currentThread());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterScenario(final ScenarioRuntime sr) {
+        if (!sr.caller.isNone()) {
+            return;
+        }
+        final var timings = scenarioFinished(sr, Thread.currentThread());
+        if (timings != null && DataRepository.isReportableScenario(sr.scenario)) {
+            completedTimings.put(sr.scenario, timings);
+        }
+    }
+
+    @Override
+    public void afterHttpCall(final com.intuit.karate.http.HttpRequest request, final Response response,
+                              final ScenarioRuntime sr) {
+        callCompleted(ScenarioRuntimes.root(sr), TimeUnit.MILLISECONDS.toNanos(response.getResponseTime()));
+    }
+
+    @Override
+    public void beforeRequest(final HttpRequest request) {
+        final var timings = threadTimings.get(Thread.currentThread());
+        if (timings != null) {
+            requestTimings.put(request, timings);
+        }
+    }
+
+    @Override
+    public void responseReceived(final HttpRequest request, final HttpResponse<?> response,
+                                 final Throwable exception, final long durationNanos) {
+        final var timings = requestTimings.get(request);
+        if (timings != null) {
+            timings.record(durationNanos);
+        }
+    }
+
+    @Override
+    public void requestCompleted(final HttpRequest request) {
+        requestTimings.remove(request);
+    }
+
+    void scenarioStarted(final Object scenario, final Thread thread) {
+        final var timings = new Timings();
+        scenarioTimings.put(scenario, timings);
+        // the harness clients are used on the thread running the scenario
+        threadTimings.put(thread, timings);
+    }
+
+    Timings scenarioFinished(final Object scenario, final Thread thread) {
+        threadTimings.remove(thread);
+        return scenarioTimings.remove(scenario);
+    }
+
+    void callCompleted(final Object scenario, final long durationNanos) {
+        final var timings = scenarioTimings.get(scenario);
+        if (timings != null) {
+            timings.record(durationNanos);
+        }
+    }
+
+    /**
+     * The response times of the requests made during a scenario or a set of scenarios.
+     */
+    public static final class Timings {
+        private static final int INITIAL_CAPACITY = 16;
+        private static final double PERCENTILE_95 = 0.95;
+        private static final int MILLIS_SCALE = 3;
+        private static final BigDecimal NANOS_PER_MILLI = BigDecimal.valueOf(1_000_000);
+
+        private long[] durations = new long[INITIAL_CAPACITY];
+        private int count;
+
+        /**
+         * Combine the timings of several scenarios.
+         * @param timings the timings to combine, entries may be null
+         * @return the combined timings
+         */
+        public static Timings combine(final Collection<Timings> timings) {
+            final var combined = new Timings();
+            timings.stream().filter(Objects::nonNull).forEach(t -> {
+                synchronized (t) {
+                    for (int i = 0; i < t.count; i++) {
+                        combined.record(t.durations[i]);
+                    }
+                }
+            });
+            return combined;
+        }
+
+        synchronized void record(final long durationNanos) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = durationNanos;
+        }
+
+        public synchronized int getRequestCount() {
+            return count;
+        }
+
+        /**
+         * Get the total time spent waiting for responses.
+         * @return the time in milliseconds
+         */
+        public synchronized BigDecimal getTotalTime() {
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += durations[i];
+            }
+            return toMillis(total);
+        }
+
+        /**
+         * Get the longest response time.
+         * @return the time in milliseconds
+         */
+        public synchronized BigDecimal getMaxTime() {
+            long max = 0;
+            for (int i = 0; i < count; i++) {
+                max = Math.max(max, durations[i]);
+            }
+            return toMillis(max);
+        }
+
+        /**
+         * Get the 95th percentile response time using the nearest rank method.
+         * @return the time in milliseconds
+         */
+        public synchronized BigDecimal getP95Time() {
+            if (count == 0) {
+                return toMillis(0);
+            }
+            final long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            final int rank = (int) Math.ceil(PERCENTILE_95 * count);
+            return toMillis(sorted[rank - 1]);
+        }
+
+        private static BigDecimal toMillis(final long nanos) {
+            return BigDecimal.valueOf(nanos).divide(NANOS_PER_MILLI, MILLIS_SCALE, RoundingMode.HALF_UP);
+        }
+    }
+}
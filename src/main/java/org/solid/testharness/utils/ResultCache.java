@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.core.FeatureResult;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.config.TargetServer;
+import org.solid.testharness.config.TestSubject;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An opt-in cache of the results of features which passed, so that unchanged features are not run again against an
+ * unchanged server.
+ *
+ * <p>Each entry is a Turtle file in the cache directory holding the assertion and activities recorded for one feature.
+ * It is keyed by a SHA-256 hash of the feature file, the files it reads (called features, JavaScript and data
+ * fixtures found in literal <code>read('...')</code> calls) and a fingerprint of the test subject made up of its
+ * <code>TargetServer</code> configuration, its server root and test container and the user-supplied server version.
+ * Changing any of these gives a new key, so stale entries are never replayed; they can simply be deleted. The cache
+ * is not used without a server version as a new build of the server could not be told apart from the one cached.</p>
+ */
+@ApplicationScoped
+public class ResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(ResultCache.class);
+
+    private static final Pattern READ_PATTERN = Pattern.compile("\\bread\\(\\s*['\"]([^'\"]+)['\"]\\s*\\)");
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    private static final String THIS_PREFIX = "this:";
+    private static final String FILE_PREFIX = "file:";
+
+    @Inject
+    Config config;
+    @Inject
+    TestSubject testSubject;
+    @Inject
+    DataRepository dataRepository;
+
+    public boolean isEnabled() {
+        if (config.getResultCache() != null && config.getServerVersion() == null) {
+            logger.warn("The result cache is disabled as no server version is set");
+            return false;
+        }
+        return config.getResultCache() != null;
+    }
+
+    /**
+     * Replay the cached results of any features which passed in an earlier run.
+     * @param featurePaths the features to be run
+     * @return the features which still need to be run
+     */
+    public List<String> replay(final List<String> featurePaths) {
+        return replay(featurePaths, null);
+    }
+
+    /**
+     * Replay the cached results of any features which passed in an earlier run against a test subject.
+     * @param featurePaths the features to be run
+     * @param subject one of several test subjects tested at the same time or null for the configured test subject
+     * @return the features which still need to be run
+     */
+    public List<String> replay(final List<String> featurePaths, final TestSubject subject) {
+        final File cacheDir = getCacheDir();
+        if (cacheDir == null || featurePaths == null) {
+            return featurePaths;
+        }
+        final TestSubject target = subject != null ? subject : testSubject;
+        final String fingerprint = subjectFingerprint(target);
+        final List<String> remaining = new ArrayList<>();
+        for (final String featurePath : featurePaths) {
+            final String key = key(toPath(featurePath), fingerprint);
+            final File entry = key != null ? new File(cacheDir, key + ".ttl") : null;
+            if (entry != null && entry.isFile() && replayEntry(entry, repositoryOf(subject))) {
+                logger.debug("Replayed cached results for {}", featurePath);
+            } else {
+                remaining.add(featurePath);
+            }
+        }
+        logger.info("==== CACHED RESULTS REPLAYED ({} of {})", featurePaths.size() - remaining.size(),
+                featurePaths.size());
+        return remaining;
+    }
+
+    /**
+     * Store the results of a feature in the cache if it passed.
+     * @param fr the result of the feature
+     * @param featureIri the IRI of the feature
+     */
+    public void store(final FeatureResult fr, final IRI featureIri) {
+        store(fr, featureIri, null);
+    }
+
+    /**
+     * Store the results of a feature run against a test subject in the cache if it passed.
+     * @param fr the result of the feature
+     * @param featureIri the IRI of the feature
+     * @param subject one of several test subjects tested at the same time or null for the configured test subject
+     */
+    public void store(final FeatureResult fr, final IRI featureIri, final TestSubject subject) {
+        final File cacheDir = getCacheDir();
+        final File featureFile = fr.getFeature().getResource().getFile();
+        if (cacheDir == null || featureFile == null || fr.isFailed() || fr.isEmpty()) {
+            return;
+        }
+        final String key = key(featureFile.toPath(), subjectFingerprint(subject != null ? subject : testSubject));
+        if (key == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(cacheDir.toPath());
+            // write to a temporary file first so that a partial entry is never replayed
+            final Path tmp = Files.createTempFile(cacheDir.toPath(), key, ".tmp");
+            final boolean exported;
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                exported = repositoryOf(subject).exportResults(featureIri, writer);
+            }
+            if (exported) {
+                Files.move(tmp, cacheDir.toPath().resolve(key + ".ttl"), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.delete(tmp);
+            }
+        } catch (IOException | TestHarnessException e) {
+            logger.warn("Failed to cache the results of {}: {}", featureFile, e.toString());
+        }
+    }
+
+    private File getCacheDir() {
+        return config.getServerVersion() != null ? config.getResultCache() : null;
+    }
+
+    private DataRepository repositoryOf(final TestSubject subject) {
+        return subject != null ? subject.getDataRepository() : dataRepository;
+    }
+
+    private boolean replayEntry(final File entry, final DataRepository repository) {
+        try (Reader reader = Files.newBufferedReader(entry.toPath(), StandardCharsets.UTF_8)) {
+            repository.mergeReport(reader, entry.getPath());
+            return true;
+        } catch (IOException | TestHarnessInitializationException e) {
+            logger.warn("Ignoring unreadable cache entry {}: {}", entry, e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Describe the test subject so that results are only replayed against the same server configuration and version.
+     * Blank node labels are dropped as they differ between runs.
+     * @return the fingerprint
+     */
+    String subjectFingerprint() {
+        return subjectFingerprint(testSubject);
+    }
+
+    private String subjectFingerprint(final TestSubject subject) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("version:").append(config.getServerVersion()).append('\n');
+        sb.append("serverRoot:").append(subject.getServerRoot()).append('\n');
+        sb.append("testContainer:").append(subject.getTestContainer()).append('\n');
+        final TargetServer targetServer = subject.getTargetServer();
+        if (targetServer != null) {
+            targetServer.getModel().stream()
+                    .map(ResultCache::describe)
+                    .sorted()
+                    .forEach(st -> sb.append(st).append('\n'));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Calculate the cache key for a feature.
+     * @param feature the feature file
+     * @param fingerprint the test subject fingerprint
+     * @return the key or null if the feature cannot be read
+     */
+    String key(final Path feature, final String fingerprint) {
+        if (feature == null || !Files.isRegularFile(feature)) {
+            return null;
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final Set<Path> visited = new LinkedHashSet<>();
+            digestFile(digest, feature.toAbsolutePath().normalize(), visited);
+            digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.warn("Failed to calculate the cache key for {}: {}", feature, e.toString());
+            return null;
+        }
+    }
+
+    private void digestFile(final MessageDigest digest, final Path file, final Set<Path> visited) throws IOException {
+        if (!visited.add(file)) {
+            return;
+        }
+        final String name = file.getFileName().toString();
+        final byte[] content = Files.readAllBytes(file);
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update(content);
+        if (!name.endsWith(".feature") && !name.endsWith(".js")) {
+            return;
+        }
+        // follow the fixtures read by this file, including the setup features it calls
+        final Matcher matcher = READ_PATTERN.matcher(new String(content, StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            final String reference = matcher.group(1);
+            final Path fixture = resolve(file, reference);
+            if (fixture != null && Files.isRegularFile(fixture)) {
+                digestFile(digest, fixture, visited);
+            } else {
+                // dynamic or unresolvable references still contribute their text to the key
+                digest.update(reference.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static Path resolve(final Path file, final String reference) {
+        try {
+            if (reference.startsWith(CLASSPATH_PREFIX)) {
+                final URL url = Thread.currentThread().getContextClassLoader()
+                        .getResource(reference.substring(CLASSPATH_PREFIX.length()));
+                return url != null && "file".equals(url.getProtocol())
+                        ? Path.of(url.toURI()).normalize()
+                        : null;
+            }
+            if (reference.startsWith(FILE_PREFIX)) {
+                return Path.of(reference.substring(FILE_PREFIX.length())).toAbsolutePath().normalize();
+            }
+            final String relative = reference.startsWith(THIS_PREFIX)
+                    ? reference.substring(THIS_PREFIX.length())
+                    : reference;
+            return file.resolveSibling(relative).normalize();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Path toPath(final String featurePath) {
+        try {
+            return featurePath.startsWith(FILE_PREFIX) ? Path.of(URI.create(featurePath)) : Path.of(featurePath);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String describe(final Statement st) {
+        return (st.getSubject().isBNode() ? "_:" : st.getSubject().stringValue()) + ' ' +
+                st.getPredicate().stringValue() + ' ' +
+                (st.getObject().isBNode() ? "_:" : st.getObject().stringValue());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.FeatureResult;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.report.Report;
+import com.intuit.karate.report.SuiteReports;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.solid.testharness.config.Bootstrap;
+import org.solid.testharness.config.PathMappings;
+import org.solid.testharness.config.TestSubject;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+
+/**
+ * Records the results of features which are run again to retry their failed scenarios as further attempts of those
+ * scenarios. Scenarios which have not started when the time allowed for retries runs out are skipped so that they
+ * keep their original results.
+ */
+@ApplicationScoped
+public class RetryResultHandler implements SuiteReports, RuntimeHook {
+    private static final Logger logger = LoggerFactory.getLogger(RetryResultHandler.class);
+
+    @Inject
+    DataRepository dataRepository;
+    @Inject
+    PathMappings pathMappings;
+
+    private volatile long deadline = Long.MAX_VALUE;
+
+    /**
+     * Set the time after which no more scenarios are retried.
+     * @param deadline the time in milliseconds since the epoch
+     */
+    public void start(final long deadline) {
+        this.deadline = deadline;
+    }
+
+    @Override
+    public boolean beforeScenario(final ScenarioRuntime sr) {
+        if (!sr.caller.isNone() || System.currentTimeMillis() < deadline) {
+            return true;
+        }
+        logger.warn("Retry budget exhausted, skipping {}", sr.scenario.getName());
+        return false;
+    }
+
+    @Override
+    public Report featureReport(final Suite suite, final FeatureResult fr) {
+        final String featureIri = pathMappings.unmapFeaturePath(fr.getDisplayName());
+        if (featureIri != null) {
+            final TestSubject testSubject = Bootstrap.findTestSubject(suite);
+            final DataRepository repository = testSubject != null ? testSubject.getDataRepository() : dataRepository;
+            repository.addRetryResult(fr, iri(featureIri));
+        } else {
+            logger.warn("The feature {} could not be mapped back to an IRI", fr.getDisplayName());
+        }
+        return SuiteReports.super.featureReport(suite, fr);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.core.ScenarioRuntime;
+
+/**
+ * Helpers for the Karate scenario runtimes passed to the hooks.
+ */
+final class ScenarioRuntimes {
+    /**
+     * Get the top-level scenario which a scenario runs in. Scenarios of called features run inside the scenario which
+     * calls them so their HTTP calls are attributed to that scenario.
+     * @param sr the scenario runtime
+     * @return the runtime of the top-level scenario, which is <code>sr</code> itself if it is not called
+     */
+    static ScenarioRuntime root(final ScenarioRuntime sr) {
+        ScenarioRuntime runtime = sr;
+        while (!runtime.caller.isNone() && runtime.caller.parentRuntime != null) {
+            runtime = runtime.caller.parentRuntime;
+        }
+        return runtime;
+    }
+
+    private ScenarioRuntimes() { }
+}
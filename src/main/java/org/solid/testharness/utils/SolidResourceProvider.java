@@ -128,8 +128,7 @@ public class SolidResourceProvider {
 
     public <T extends AccessDataset> AccessDatasetBuilder<T> getAccessDatasetBuilder() {
         final AccessDatasetBuilder<T> builder = solidClientProvider.getAccessDatasetBuilder(getAclUrl());
-        final String owner = config.getWebIds().get(solidClientProvider.getClient().getUser());
-        builder.setOwnerAccess(url.toString(), owner);
+        builder.setOwnerAccess(url.toString(), solidClientProvider.getWebId());
         return builder;
     }
 
@@ -50,41 +50,76 @@ function termToObject(term) {
 }
 
 /**
- * Parse HTML/XHTML containing RDFa and call the handler for each quad.
+ * Default number of quads sent to Java in each batch.
+ */
+const DEFAULT_BATCH_SIZE = 512;
+
+/**
+ * Encode a string field with a length prefix so that a batch can be decoded without escaping.
+ * Null or undefined values are encoded as '~'.
+ *
+ * @param {string} value - The value to encode
+ * @returns {string} The encoded field
+ */
+function encodeField(value) {
+  if (value === null || value === undefined) {
+    return '~';
+  }
+  return value.length + ':' + value;
+}
+
+/**
+ * Encode a quad as 8 fields: subject (termType, value), predicate (termType, value) and
+ * object (termType, value, language, datatype). The graph is not used by the Java side.
+ *
+ * @param {Object} quad - RDF/JS Quad
+ * @returns {string} The encoded quad
+ */
+function encodeQuad(quad) {
+  const object = quad.object;
+  return encodeField(quad.subject.termType) + encodeField(quad.subject.value) +
+    encodeField(quad.predicate.termType) + encodeField(quad.predicate.value) +
+    encodeField(object.termType) + encodeField(object.value) +
+    encodeField(object.language || null) + encodeField(object.datatype ? object.datatype.value : null);
+}
+
+/**
+ * Convert an error into a failed result object.
+ *
+ * @param {Error} err - The error
+ * @returns {Object} Result object with success false and the error message
+ */
+function failure(err) {
+  return {
+    success: false,
+    error: err.message || String(err)
+  };
+}
+
+/**
+ * Create a parsing session which accepts the content in one or more chunks.
  *
- * @param {string} html - The HTML/XHTML content to parse
  * @param {string} baseIRI - The base IRI for resolving relative IRIs
  * @param {string} contentType - The content type ('text/html' or 'application/xhtml+xml')
- * @param {Object} quadHandler - Java callback object with onQuad(s, p, o, g) method
- * @returns {Object} Result object with success boolean and optional error message
+ * @param {Function} onQuad - Called for each parsed quad
+ * @param {Function} onEnd - Called after all content has been parsed
+ * @returns {Object} Session with write(chunk) and end() methods, end() returns the result object
  */
-function parseRdfa(html, baseIRI, contentType, quadHandler) {
+function createSession(baseIRI, contentType, onQuad, onEnd) {
+  let parser = null;
+  let fatalError = null;
+  // Track errors (ignoring langString validation errors which occur when
+  // HTML content lacks explicit lang attributes - these are validation
+  // warnings not parsing failures, and semargl didn't enforce this)
+  let parseError = null;
   try {
-    const parser = new RdfaParser({
+    parser = new RdfaParser({
       baseIRI: baseIRI,
       contentType: contentType,
       // RDFa 1.1 profile
       profile: 'html'
     });
-
-    // Set up quad handler - called for each parsed quad
-    parser.on('data', (quad) => {
-      try {
-        quadHandler.onQuad(
-          termToObject(quad.subject),
-          termToObject(quad.predicate),
-          termToObject(quad.object),
-          termToObject(quad.graph)
-        );
-      } catch (e) {
-        // Ignore errors in quad handling - continue parsing
-      }
-    });
-
-    // Track errors (ignoring langString validation errors which occur when
-    // HTML content lacks explicit lang attributes - these are validation
-    // warnings not parsing failures, and semargl didn't enforce this)
-    let parseError = null;
+    parser.on('data', onQuad);
     parser.on('error', (err) => {
       const msg = err.message || String(err);
       // Ignore known non-fatal errors
@@ -94,25 +129,122 @@ function parseRdfa(html, baseIRI, contentType, quadHandler) {
       }
       parseError = err;
     });
+  } catch (err) {
+    fatalError = err;
+  }
 
-    // Parse synchronously (htmlparser2 processes synchronously despite streaming API)
-    parser.write(html);
-    parser.end();
+  return {
+    write: (chunk) => {
+      if (fatalError) {
+        return;
+      }
+      try {
+        // htmlparser2 processes each chunk synchronously despite the streaming API
+        parser.write(chunk);
+      } catch (err) {
+        fatalError = err;
+      }
+    },
+    end: () => {
+      if (fatalError) {
+        return failure(fatalError);
+      }
+      try {
+        parser.end();
+        onEnd();
+      } catch (err) {
+        return failure(err);
+      }
+      return parseError ? failure(parseError) : { success: true };
+    }
+  };
+}
 
-    if (parseError) {
-      return {
-        success: false,
-        error: parseError.message || String(parseError)
-      };
+/**
+ * Create a batching quad callback which sends quads to the handler as length-prefixed strings (see encodeQuad)
+ * so that only one value crosses to Java per batch.
+ *
+ * @param {Object} batchHandler - Java callback object with onBatch(chunk, count) method
+ * @param {number} batchSize - Maximum number of quads in each batch
+ * @returns {Object} Object with onQuad and flush functions
+ */
+function createBatcher(batchHandler, batchSize) {
+  const size = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+  let parts = [];
+  const flush = () => {
+    if (parts.length > 0) {
+      const count = parts.length;
+      const chunk = parts.join('');
+      parts = [];
+      batchHandler.onBatch(chunk, count);
     }
+  };
+  return {
+    onQuad: (quad) => {
+      parts.push(encodeQuad(quad));
+      if (parts.length >= size) {
+        flush();
+      }
+    },
+    flush
+  };
+}
 
-    return { success: true };
-  } catch (err) {
-    return {
-      success: false,
-      error: err.message || String(err)
-    };
-  }
+/**
+ * Parse HTML/XHTML containing RDFa and call the handler for each quad.
+ *
+ * @param {string} html - The HTML/XHTML content to parse
+ * @param {string} baseIRI - The base IRI for resolving relative IRIs
+ * @param {string} contentType - The content type ('text/html' or 'application/xhtml+xml')
+ * @param {Object} quadHandler - Java callback object with onQuad(s, p, o, g) method
+ * @returns {Object} Result object with success boolean and optional error message
+ */
+function parseRdfa(html, baseIRI, contentType, quadHandler) {
+  const session = createSession(baseIRI, contentType, (quad) => {
+    try {
+      quadHandler.onQuad(
+        termToObject(quad.subject),
+        termToObject(quad.predicate),
+        termToObject(quad.object),
+        termToObject(quad.graph)
+      );
+    } catch (e) {
+      // Ignore errors in quad handling - continue parsing
+    }
+  }, () => {});
+  session.write(html);
+  return session.end();
+}
+
+/**
+ * Parse HTML/XHTML containing RDFa and send the quads to the handler in batches.
+ *
+ * @param {string} html - The HTML/XHTML content to parse
+ * @param {string} baseIRI - The base IRI for resolving relative IRIs
+ * @param {string} contentType - The content type ('text/html' or 'application/xhtml+xml')
+ * @param {Object} batchHandler - Java callback object with onBatch(chunk, count) method
+ * @param {number} batchSize - Maximum number of quads in each batch
+ * @returns {Object} Result object with success boolean and optional error message
+ */
+function parseRdfaBatched(html, baseIRI, contentType, batchHandler, batchSize) {
+  const session = startRdfaBatched(baseIRI, contentType, batchHandler, batchSize);
+  session.write(html);
+  return session.end();
+}
+
+/**
+ * Start a streaming parse which accepts the HTML/XHTML content in chunks via write(chunk) and sends the quads
+ * to the handler in batches as they are found. Call end() once all content has been written.
+ *
+ * @param {string} baseIRI - The base IRI for resolving relative IRIs
+ * @param {string} contentType - The content type ('text/html' or 'application/xhtml+xml')
+ * @param {Object} batchHandler - Java callback object with onBatch(chunk, count) method
+ * @param {number} batchSize - Maximum number of quads in each batch
+ * @returns {Object} Session with write(chunk) and end() methods, end() returns the result object
+ */
+function startRdfaBatched(baseIRI, contentType, batchHandler, batchSize) {
+  const batcher = createBatcher(batchHandler, batchSize);
+  return createSession(baseIRI, contentType, batcher.onQuad, batcher.flush);
 }
 
 /**
@@ -127,11 +259,15 @@ function getVersion() {
 // Export for GraalJS
 module.exports = {
   parseRdfa,
+  parseRdfaBatched,
+  startRdfaBatched,
   getVersion
 };
 
 // Also expose as default export for webpack library config
 module.exports.default = {
   parseRdfa,
+  parseRdfaBatched,
+  startRdfaBatched,
   getVersion
 };
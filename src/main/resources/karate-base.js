@@ -31,8 +31,8 @@ function fn() {
     }
 
     const config = bootstrap.getConfig();
-    const testHarness = bootstrap.getTestHarness();
-    const testSubject = bootstrap.getTestSubject();
+    // the test subject of this run when several are tested at the same time, otherwise the configured one
+    const testSubject = bootstrap.getTestSubject(karate.properties['testharness.subject']);
     const target = testSubject.targetServer;
     if (target == null) {
         karate.log('Check the environment properties - config is not defined');
@@ -48,12 +48,15 @@ function fn() {
     const SolidContainer = Java.type('org.solid.testharness.api.SolidContainer');
     const SolidResource = Java.type('org.solid.testharness.api.SolidResource');
     const RDFModel = Java.type('org.solid.testharness.api.RDFModel');
+    // the shared fixtures of the test run, if it was started by the harness
+    const sharedFixtures = Java.type('org.solid.testharness.api.SharedFixtures')
+        .forRun(karate.properties['testharness.run']);
 
     return {
         // global variables
         rootTestContainer: new SolidContainer(testSubject.getTestRunContainer()),
-        clients: karate.toMap(testHarness.clients),
-        webIds: config.webIds,
+        clients: karate.toMap(testSubject.clients),
+        webIds: testSubject.webIds,
         config,
 
         // namespaces
@@ -90,6 +93,12 @@ function fn() {
         parseLinkHeaders: (headers) => Utils.parseLinkHeaders(karate.toJava(headers)),
         resolveUri: (base, target) => Utils.resolveUri(base, target),
         pause: (pause) => java.lang.Thread.sleep(pause),
-        cantTellIf: (failed) => { if (failed) karate.fail("CANTTELL"); }
+        cantTellIf: (failed) => { if (failed) karate.fail("CANTTELL"); },
+        // run setup once per test run for each name and arguments, sharing the result between features
+        shared: (name, setup, args, ttl) => {
+            const sharedArgs = typeof args === 'undefined' ? null : karate.toJava(args);
+            return sharedFixtures ? sharedFixtures.get(name, sharedArgs, ttl || 0, karate.toJava(setup))
+                : setup(sharedArgs);
+        }
     };
 }
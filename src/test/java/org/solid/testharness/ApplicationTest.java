@@ -25,6 +25,7 @@ package org.solid.testharness;
 
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
+import org.eclipse.rdf4j.model.IRI;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +33,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
 import org.solid.testharness.config.Config;
+import org.solid.testharness.reporting.LoadResults;
 import org.solid.testharness.reporting.TestSuiteResults;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 
@@ -40,7 +42,9 @@ import java.io.File;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.eclipse.rdf4j.model.util.Values.iri;
 import static org.junit.jupiter.api.Assertions.*;
@@ -57,6 +61,8 @@ class ApplicationTest {
     Config config;
     @InjectMock
     ConformanceTestHarness conformanceTestHarness;
+    @InjectMock
+    DaemonServer daemonServer;
 
     @Captor
     private ArgumentCaptor<List<String>> captor;
@@ -182,6 +188,67 @@ class ApplicationTest {
         verify(config).setTestSubject(iri("https://example.org/test"));
     }
 
+    @Test
+    void multipleTargets() throws Exception {
+        final Path output = Files.createTempDirectory(null);
+        output.toFile().deleteOnExit();
+        when(config.getSubjectsUrl()).thenReturn(URI.create("https://example.org/subjects.ttl").toURL());
+        when(config.getOutputDirectory()).thenReturn(output.toFile());
+        final IRI test1 = iri("https://example.org/test1");
+        final IRI test2 = iri("https://example.org/test2");
+        final TestSuiteResults passed = mockResults(1, false);
+        final TestSuiteResults failed = mockResults(1, true);
+        when(conformanceTestHarness.runTestSubjects(any(), any(), any())).thenReturn(Map.of(test1, passed,
+                test2, failed));
+        assertEquals(1, application.run("--target", "test1,test2", "--output", output.toString()));
+        verify(config).setTestSubject(test1);
+        verify(conformanceTestHarness).initialize();
+        verify(conformanceTestHarness).runTestSubjects(eq(List.of(test1, test2)), any(), any());
+        verify(conformanceTestHarness, never()).runTestSuites(any(), any());
+        verify(conformanceTestHarness, never()).resetResults();
+        assertTrue(Files.isDirectory(output.resolve("test2")));
+        verify(conformanceTestHarness).buildReports(test1, output.resolve("test1").toFile());
+        verify(conformanceTestHarness).buildReports(test2, output.resolve("test2").toFile());
+        verify(conformanceTestHarness).cleanUp(test1);
+        verify(conformanceTestHarness).cleanUp(test2);
+    }
+
+    @Test
+    void multipleTargetsContinueAfterError() throws Exception {
+        when(config.getSubjectsUrl()).thenReturn(URI.create("https://example.org/subjects.ttl").toURL());
+        final IRI test2 = iri("https://example.org/test2");
+        final TestSuiteResults passed = mockResults(1, false);
+        // the first target could not be set up so it has no results
+        when(conformanceTestHarness.runTestSubjects(any(), any(), any())).thenReturn(Map.of(test2, passed));
+        assertEquals(1, application.run("--target", "test1", "--target", "test2", "--skip-reports"));
+        verify(conformanceTestHarness, never()).buildReports(any(), any());
+        verify(conformanceTestHarness, never()).cleanUp(iri("https://example.org/test1"));
+        verify(conformanceTestHarness).cleanUp(test2);
+    }
+
+    @Test
+    void multipleTargetsIgnoringFailures() throws Exception {
+        when(config.getSubjectsUrl()).thenReturn(URI.create("https://example.org/subjects.ttl").toURL());
+        final TestSuiteResults failed = mockResults(1, true);
+        when(conformanceTestHarness.runTestSubjects(any(), any(), any())).thenReturn(Map.of(
+                iri("https://example.org/test1"), failed, iri("https://example.org/test2"), failed));
+        assertEquals(0, application.run("--target", "test1,test2", "--skip-reports", "--ignore-failures"));
+    }
+
+    @Test
+    void multipleTargetsClash() throws Exception {
+        assertEquals(1, application.run("--target", "test1,test2", "--daemon", "0"));
+        assertEquals(1, application.run("--target", "test1,test2", "--rerun", "."));
+        verify(conformanceTestHarness, never()).initialize();
+    }
+
+    @Test
+    void subjectDirectoryName() {
+        assertEquals("css", Application.subjectDirectoryName(iri("https://example.org/subjects#css"), 1));
+        assertEquals("my_20server", Application.subjectDirectoryName(iri("https://example.org/my%20server"), 1));
+        assertEquals("subject2", Application.subjectDirectoryName(iri("https://example.org/servers/"), 2));
+    }
+
     @Test
     void subjectsBlank() throws Exception {
         assertEquals(1, application.run("--subjects", ""));
@@ -214,6 +281,20 @@ class ApplicationTest {
         verify(config, never()).setTolerableFailuresFile(any());
     }
 
+    @Test
+    void rerun() throws Exception {
+        when(conformanceTestHarness.runTestSuites(any(), any())).thenReturn(mockResults(1, false));
+        assertEquals(0, application.run("--rerun", "target"));
+        verify(config).setRerunReport("target");
+    }
+
+    @Test
+    void noCache() throws Exception {
+        when(conformanceTestHarness.runTestSuites(any(), any())).thenReturn(mockResults(1, false));
+        assertEquals(0, application.run("--no-cache"));
+        verify(config).setResultCacheDisabled(true);
+    }
+
     @Test
     void filtersBlank() throws Exception {
         application.run("--filter", "");
@@ -340,6 +421,131 @@ class ApplicationTest {
         assertDoesNotThrow(() -> application.run());
     }
 
+    @Test
+    void shard() throws Exception {
+        final TestSuiteResults results = mockResults(1, false);
+        when(conformanceTestHarness.runTestSuites(any(), any())).thenReturn(results);
+        assertEquals(0, application.run("--shard", "2/3"));
+        verify(config).setShard(2, 3);
+    }
+
+    @Test
+    void shardBadFormat() throws Exception {
+        assertEquals(1, application.run("--shard", "2of3"));
+        verify(config, never()).setShard(anyInt(), anyInt());
+        verify(conformanceTestHarness, never()).runTestSuites(any(), any());
+    }
+
+    @Test
+    void shardOutOfRange() throws Exception {
+        doThrow(new IllegalArgumentException("FAIL")).when(config).setShard(4, 3);
+        assertEquals(1, application.run("--shard", "4/3"));
+        verify(conformanceTestHarness, never()).runTestSuites(any(), any());
+    }
+
+    @Test
+    void merge() throws Exception {
+        final Path shard1 = Files.createTempDirectory(null);
+        shard1.toFile().deleteOnExit();
+        final Path shard2 = Files.createTempDirectory(null);
+        shard2.toFile().deleteOnExit();
+        final TestSuiteResults results = mockResults(2, false);
+        when(conformanceTestHarness.mergeReports(any())).thenReturn(results);
+        assertEquals(0, application.run("--merge", shard1 + "," + shard2));
+        verify(conformanceTestHarness).mergeReports(List.of(shard1.toFile(), shard2.toFile()));
+        verify(conformanceTestHarness).buildReports(Config.RunMode.TEST);
+        verify(conformanceTestHarness, never()).initialize();
+        verify(conformanceTestHarness, never()).runTestSuites(any(), any());
+    }
+
+    @Test
+    void mergeFailures() throws Exception {
+        final Path shard1 = Files.createTempDirectory(null);
+        shard1.toFile().deleteOnExit();
+        final TestSuiteResults results = mockResults(2, true);
+        when(conformanceTestHarness.mergeReports(any())).thenReturn(results);
+        assertEquals(1, application.run("--merge", shard1.toString()));
+        assertEquals(0, application.run("--merge", shard1.toString(), "--ignore-failures"));
+    }
+
+    @Test
+    void mergeMissing() throws Exception {
+        assertEquals(1, application.run("--merge", "./missing"));
+        verify(conformanceTestHarness, never()).mergeReports(any());
+    }
+
+    @Test
+    void mergeClash() throws Exception {
+        assertEquals(1, application.run("--merge", ".", "--shard", "1/2"));
+        assertEquals(1, application.run("--merge", ".", "--coverage"));
+        assertEquals(1, application.run("--merge", ".", "--skip-reports"));
+        assertEquals(1, application.run("--merge", ".", "--rerun", "."));
+        verify(conformanceTestHarness, never()).mergeReports(any());
+    }
+
+    @Test
+    void daemon() throws Exception {
+        assertEquals(0, application.run("--daemon", "0", "--skip-teardown"));
+        verify(conformanceTestHarness).initialize();
+        verify(daemonServer).start(0, false, true);
+        verify(daemonServer).awaitShutdown();
+        verify(daemonServer).stop();
+        verify(conformanceTestHarness, never()).runTestSuites(any(), any());
+    }
+
+    @Test
+    void daemonBadPort() throws Exception {
+        assertEquals(1, application.run("--daemon", "port"));
+        assertEquals(1, application.run("--daemon", "70000"));
+        verify(daemonServer, never()).start(anyInt(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void daemonClash() throws Exception {
+        assertEquals(1, application.run("--daemon", "0", "--coverage"));
+        assertEquals(1, application.run("--daemon", "0", "--merge", "."));
+        assertEquals(1, application.run("--daemon", "0", "--rerun", "."));
+        verify(daemonServer, never()).start(anyInt(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void load() throws Exception {
+        final LoadResults loadResults = mock(LoadResults.class);
+        when(loadResults.getIterations()).thenReturn(10L);
+        when(conformanceTestHarness.runLoad(any(), any(), any())).thenReturn(loadResults);
+        assertEquals(0, application.run("--load", "60", "--filter", "feature1"));
+        verify(conformanceTestHarness).runLoad(List.of("feature1"), null, Duration.ofSeconds(60));
+        verify(conformanceTestHarness).buildLoadReports(loadResults);
+        verify(conformanceTestHarness).cleanUp();
+        verify(conformanceTestHarness, never()).runTestSuites(any(), any());
+        verify(conformanceTestHarness, never()).buildReports(any());
+    }
+
+    @Test
+    void loadNoIterations() throws Exception {
+        final LoadResults loadResults = mock(LoadResults.class);
+        when(conformanceTestHarness.runLoad(any(), any(), any())).thenReturn(loadResults);
+        assertEquals(0, application.run("--load", "60"));
+        verify(conformanceTestHarness, never()).buildLoadReports(any());
+        verify(conformanceTestHarness, never()).cleanUp();
+    }
+
+    @Test
+    void loadBadDuration() throws Exception {
+        assertEquals(1, application.run("--load", "soon"));
+        assertEquals(1, application.run("--load", "0"));
+        verify(conformanceTestHarness, never()).runLoad(any(), any(), any());
+    }
+
+    @Test
+    void loadClash() throws Exception {
+        assertEquals(1, application.run("--load", "60", "--coverage"));
+        assertEquals(1, application.run("--load", "60", "--daemon", "0"));
+        assertEquals(1, application.run("--load", "60", "--shard", "1/2"));
+        assertEquals(1, application.run("--load", "60", "--target", "test1,test2"));
+        verify(conformanceTestHarness, never()).runLoad(any(), any(), any());
+    }
+
     private TestSuiteResults mockResults(final int features, final boolean failed) {
         final TestSuiteResults results = mock(TestSuiteResults.class);
         when(results.getFeatureTotal()).thenReturn(features);
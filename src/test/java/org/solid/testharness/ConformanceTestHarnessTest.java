@@ -29,6 +29,7 @@ import com.intuit.karate.core.Tag;
 import com.intuit.karate.resource.Resource;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
@@ -43,16 +44,22 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
+import org.solid.testharness.config.Bootstrap;
 import org.solid.testharness.config.Config;
+import org.solid.testharness.config.SubjectConfig;
 import org.solid.testharness.config.TargetServer;
 import org.solid.testharness.config.TestSubject;
 import org.solid.testharness.discovery.TestSuiteDescription;
 import org.solid.testharness.http.AuthManager;
+import org.solid.testharness.http.ClientRegistry;
 import org.solid.testharness.http.HttpConstants;
+import org.solid.testharness.http.SolidClientProvider;
+import org.solid.testharness.reporting.LoadResults;
 import org.solid.testharness.reporting.ReportGenerator;
 import org.solid.testharness.reporting.TestSuiteResults;
 import org.solid.testharness.utils.DataRepository;
 import org.solid.testharness.utils.Namespaces;
+import org.solid.testharness.utils.TestHarnessException;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 
 import jakarta.inject.Inject;
@@ -63,10 +70,12 @@ import java.io.StringWriter;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static org.eclipse.rdf4j.model.util.Values.iri;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -92,6 +101,8 @@ class ConformanceTestHarnessTest {
     TestRunner testRunner;
     @InjectMock
     AuthManager authManager;
+    @InjectMock
+    LoadRunner loadRunner;
     @Captor
     private ArgumentCaptor<List<String>> captor;
 
@@ -165,6 +176,19 @@ class ConformanceTestHarnessTest {
         assertThrows(TestHarnessInitializationException.class, () -> conformanceTestHarness.initialize());
     }
 
+    @Test
+    void initializeRerun() throws Exception {
+        mockRepository();
+        final Path output = Files.createTempDirectory(tmp, "previous");
+        Files.writeString(output.resolve("report.ttl"), "<https://example.org/a> <https://example.org/b> 1 .");
+        when(config.getRerunReport()).thenReturn(output.toFile());
+        conformanceTestHarness.initialize();
+        verify(dataRepository).mergeReport(any(), eq(output.resolve("report.ttl").toString()));
+        verify(dataRepository).identifySpecifications();
+        verify(testSuiteDescription, never()).load(any());
+        verify(testSuiteDescription, never()).getTestsVersion();
+    }
+
     @Test
     void prepareCoverageReport() {
         assertDoesNotThrow(() -> conformanceTestHarness.prepareCoverageReport());
@@ -220,6 +244,86 @@ class ConformanceTestHarnessTest {
         verify(authManager).registerUser(HttpConstants.BOB);
     }
 
+    @Test
+    void resetResultsReusesClients() {
+        mockTargetServer();
+        final IRI testCase = iri("https://example.org/test#testCase");
+        when(config.getTestSubject()).thenReturn(iri("https://example.org/test"));
+        when(config.getUserRegistrationEndpoint()).thenReturn(URI.create("https://example.org/register"));
+        when(testSuiteDescription.getTestCases(false)).thenReturn(List.of(testCase));
+        when(testSuiteDescription.getFeaturePaths()).thenReturn(List.of("feature"));
+        final TestSuiteResults results = mockResults(false);
+        when(testRunner.runTests(any(), anyInt(), any(), anyBoolean())).thenReturn(results);
+        conformanceTestHarness.runTestSuites(null, null);
+        conformanceTestHarness.resetResults();
+        assertFalse(conformanceTestHarness.runTestSuites(null, null).hasFailures());
+        verify(dataRepository).removeResults(List.of(testCase));
+        verify(authManager).registerUser(HttpConstants.ALICE);
+        verify(authManager).authenticate(HttpConstants.ALICE);
+        verify(testSubject, times(2)).prepareServer();
+    }
+
+    @Test
+    void resetResultsNewTarget() {
+        mockTargetServer();
+        when(config.getTestSubject()).thenReturn(iri("https://example.org/test1"));
+        when(testSuiteDescription.getFeaturePaths()).thenReturn(List.of("feature"));
+        final TestSuiteResults results = mockResults(false);
+        when(testRunner.runTests(any(), anyInt(), any(), anyBoolean())).thenReturn(results);
+        conformanceTestHarness.runTestSuites(null, null);
+        conformanceTestHarness.resetResults();
+        when(config.getTestSubject()).thenReturn(iri("https://example.org/test2"));
+        conformanceTestHarness.runTestSuites(null, null);
+        verify(authManager, times(2)).authenticate(HttpConstants.ALICE);
+    }
+
+    @Test
+    void runTestSubjects() throws Exception {
+        final IRI test1 = iri("https://example.org/test1");
+        final IRI test2 = iri("https://example.org/test2");
+        final TestSubject subject1 = mock(TestSubject.class);
+        doThrow(new TestHarnessInitializationException("FAIL")).when(subject1).loadTestSubjectConfig();
+        final TestSubject subject2 = mockSubject(test2);
+        final DataRepository repository2 = subject2.getDataRepository();
+        final SubjectConfig subjectConfig1 = mock(SubjectConfig.class);
+        final SubjectConfig subjectConfig2 = subject2.getSubjectConfig();
+        final ClientRegistry registry2 = subject2.getClientRegistry();
+        when(config.getSubjectConfig(test1)).thenReturn(subjectConfig1);
+        when(config.getSubjectConfig(test2)).thenReturn(subjectConfig2);
+        when(testSubject.forSubject(test1, subjectConfig1)).thenReturn(subject1);
+        when(testSubject.forSubject(test2, subjectConfig2)).thenReturn(subject2);
+        when(testSuiteDescription.getFeaturePaths()).thenReturn(List.of("feature"));
+        final TestSuiteResults results = mockResults(true);
+        when(testRunner.runTests(anyMap(), anyInt())).thenReturn(Map.of(subject2, results));
+
+        final Map<IRI, TestSuiteResults> subjectResults = conformanceTestHarness.runTestSubjects(List.of(test1, test2),
+                null, null);
+
+        assertEquals(Map.of(test2, results), subjectResults);
+        verify(testRunner).runTests(eq(Map.of(subject2, List.of("feature"))), anyInt());
+        verify(authManager).authenticate(HttpConstants.ALICE, subjectConfig2, registry2);
+        verify(authManager).authenticate(HttpConstants.BOB, subjectConfig2, registry2);
+        verify(authManager, never()).authenticate(any());
+        verify(subject2).setClients(any());
+        verify(subject2).prepareServer();
+        verify(subject1, never()).prepareServer();
+        verify(results).summarizeOutcomes(repository2);
+        assertNull(Bootstrap.findTestSubject(test2.stringValue()));
+    }
+
+    @Test
+    void runTestSubjectsWithoutOwnConfig() {
+        final IRI test1 = iri("https://example.org/test1");
+        final IRI test2 = iri("https://example.org/test2");
+        when(config.getSubjectConfig(test1)).thenReturn(mock(SubjectConfig.class));
+        final List<IRI> targets = List.of(test1, test2);
+        final Exception exception = assertThrows(TestHarnessInitializationException.class,
+                () -> conformanceTestHarness.runTestSubjects(targets, null, null));
+        assertTrue(exception.getMessage().contains(test2.stringValue()));
+        verify(testSubject, never()).forSubject(any(), any());
+        verify(testRunner, never()).runTests(anyMap(), anyInt());
+    }
+
     @Test
     void runTestSuiteInitError() {
         mockTargetServer();
@@ -237,6 +341,42 @@ class ConformanceTestHarnessTest {
         assertTrue(conformanceTestHarness.runTestSuites(null, null).hasFailures());
     }
 
+    @Test
+    void runTestSuiteRetriesFailedScenarios() {
+        mockTargetServer();
+        when(config.getRetries()).thenReturn(2);
+        when(testSuiteDescription.getFeaturePaths()).thenReturn(List.of("feature"));
+        final TestSuiteResults results = mockResults(false);
+        when(testRunner.runTests(any(), anyInt(), any(), anyBoolean())).thenReturn(results);
+        when(dataRepository.getFailedScenarios())
+                .thenReturn(Map.of(iri("https://example.org/features/test.feature"), List.of(7, 12)), Map.of());
+        conformanceTestHarness.runTestSuites(null, null);
+        verify(testRunner).retryScenarios(captor.capture(), anyInt(), any(), eq(Long.MAX_VALUE));
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().get(0).endsWith("src/test/resources/test.feature:7"));
+        assertTrue(captor.getValue().get(1).endsWith("src/test/resources/test.feature:12"));
+        verify(results).summarizeOutcomes(dataRepository);
+    }
+
+    @Test
+    void retryFailedScenariosUpToLimit() {
+        when(config.getRetries()).thenReturn(3);
+        when(config.getRetryBudget()).thenReturn(600);
+        when(dataRepository.getFailedScenarios())
+                .thenReturn(Map.of(iri("https://example.org/features/test.feature"), List.of(7)));
+        final long now = System.currentTimeMillis();
+        conformanceTestHarness.retryFailedScenarios(null);
+        verify(testRunner, times(3)).retryScenarios(any(), anyInt(), isNull(),
+                longThat(deadline -> deadline >= now + 600_000 && deadline < Long.MAX_VALUE));
+    }
+
+    @Test
+    void retryFailedScenariosDisabled() {
+        conformanceTestHarness.retryFailedScenarios(null);
+        verify(dataRepository, never()).getFailedScenarios();
+        verify(testRunner, never()).retryScenarios(any(), anyInt(), any(), anyLong());
+    }
+
     @Test
     void runTestSuiteNullSkips() {
         mockTargetServerWithSkips(null);
@@ -306,6 +446,100 @@ class ConformanceTestHarnessTest {
         assertTrue(Files.exists(tmp.resolve("report.ttl")));
     }
 
+    @Test
+    void runLoad() {
+        mockTargetServerWithSkips(List.of("skip"));
+        when(config.getMaxThreads()).thenReturn(2);
+        when(testSuiteDescription.getFeaturePaths()).thenReturn(List.of("feature1", "feature2"));
+        final LoadResults loadResults = new LoadResults(0, 2);
+        when(loadRunner.run(any(), any(), any())).thenReturn(loadResults);
+        assertSame(loadResults, conformanceTestHarness.runLoad(List.of("feature"), null, Duration.ofSeconds(10)));
+        verify(testSuiteDescription).setNonRunningTestAssertions(List.of("feature"), null);
+        verify(testSuiteDescription).prepareTestCases(Config.RunMode.TEST);
+        verify(testSubject).prepareServer();
+        verify(loadRunner).run(List.of("feature1", "feature2"), List.of("skip"), Duration.ofSeconds(10));
+        verify(testRunner, never()).runTests(any(), anyInt(), any(), anyBoolean());
+    }
+
+    @Test
+    void runLoadNoTests() {
+        mockTargetServer();
+        when(testSuiteDescription.getFeaturePaths()).thenReturn(List.of());
+        assertEquals(0, conformanceTestHarness.runLoad(null, null, Duration.ofSeconds(10)).getIterations());
+        verify(loadRunner, never()).run(any(), any(), any());
+        verify(testSubject, never()).prepareServer();
+    }
+
+    @Test
+    void buildLoadReports() throws IOException {
+        final LoadResults loadResults = new LoadResults(0, 1);
+        loadResults.addFeature("feature1", "MUST");
+        loadResults.record("feature1", 10_000_000, false);
+        conformanceTestHarness.buildLoadReports(loadResults);
+        assertTrue(Files.readString(tmp.resolve("load.hgrm")).contains("Total count    =            1"));
+        assertTrue(Files.readString(tmp.resolve("load.json")).contains("\"MUST\""));
+    }
+
+    @Test
+    void runTestSuiteShard() {
+        mockTargetServer();
+        when(config.getShardIndex()).thenReturn(2);
+        when(config.getShardCount()).thenReturn(2);
+        when(testSuiteDescription.getFeaturePaths()).thenReturn(List.of("d", "a", "c", "b", "e"));
+        final TestSuiteResults results = mockResults(false);
+        when(testRunner.runTests(any(), anyInt(), any(), anyBoolean())).thenReturn(results);
+        conformanceTestHarness.runTestSuites(null, null);
+        verify(testRunner).runTests(captor.capture(), anyInt(), any(), anyBoolean());
+        assertEquals(List.of("b", "d"), captor.getValue());
+    }
+
+    @Test
+    void runTestSuiteRerun() {
+        mockTargetServer();
+        final List<IRI> rerun = List.of(iri("https://example.org/test"));
+        when(config.getRerunReport()).thenReturn(tmp.toFile());
+        when(testSuiteDescription.resetFailedTestCases(any(), any())).thenReturn(rerun);
+        when(testSuiteDescription.getFeaturePaths()).thenReturn(List.of("feature"));
+        final TestSuiteResults results = mockResults(false);
+        when(testRunner.runTests(any(), anyInt(), any(), anyBoolean())).thenReturn(results);
+        assertFalse(conformanceTestHarness.runTestSuites(null, null).hasFailures());
+        verify(testSuiteDescription, never()).setNonRunningTestAssertions(any(), any());
+        verify(testSuiteDescription).prepareTestCases(Config.RunMode.TEST, rerun);
+    }
+
+    @Test
+    void selectShard() {
+        final List<String> paths = List.of("e", "b", "a", "d", "c");
+        assertSame(paths, ConformanceTestHarness.selectShard(paths, 1, 1));
+        assertNull(ConformanceTestHarness.selectShard(null, 1, 2));
+        assertEquals(List.of("a", "d"), ConformanceTestHarness.selectShard(paths, 1, 3));
+        assertEquals(List.of("b", "e"), ConformanceTestHarness.selectShard(paths, 2, 3));
+        assertEquals(List.of("c"), ConformanceTestHarness.selectShard(paths, 3, 3));
+        assertEquals(List.of(), ConformanceTestHarness.selectShard(paths, 6, 6));
+    }
+
+    @Test
+    void mergeReports() throws IOException {
+        final Path shard = Files.createTempDirectory(tmp, "shard");
+        Files.writeString(shard.resolve("report.ttl"), "<https://example.org/a> <https://example.org/b> 1 .");
+        final Path report = tmp.resolve("other.ttl");
+        Files.writeString(report, "<https://example.org/a> <https://example.org/b> 2 .");
+        when(config.getTestSubject()).thenReturn(iri("https://example.org/test"));
+
+        final TestSuiteResults results = conformanceTestHarness.mergeReports(List.of(shard.toFile(), report.toFile()));
+        assertNotNull(results);
+        verify(dataRepository).mergeReport(any(), eq(shard.resolve("report.ttl").toString()));
+        verify(dataRepository).mergeReport(any(), eq(report.toString()));
+        verify(dataRepository).getFeatureScores();
+        verify(config, never()).setTestSubject(any());
+    }
+
+    @Test
+    void mergeReportsMissing() {
+        final File missing = tmp.resolve("missing.ttl").toFile();
+        assertThrows(IOException.class, () -> conformanceTestHarness.mergeReports(List.of(missing)));
+    }
+
     @Test
     void runSingleTestInitError() {
         mockTargetServer();
@@ -367,6 +601,21 @@ class ConformanceTestHarnessTest {
         when(testSubject.getTargetServer()).thenReturn(targetServer);
     }
 
+    private TestSubject mockSubject(final IRI subject) throws TestHarnessException {
+        final TestSubject mockSubject = mock(TestSubject.class);
+        final TargetServer targetServer = mock(TargetServer.class);
+        final DataRepository repository = mock(DataRepository.class);
+        when(mockSubject.getSubject()).thenReturn(subject);
+        when(mockSubject.getTargetServer()).thenReturn(targetServer);
+        when(mockSubject.getDataRepository()).thenReturn(repository);
+        when(mockSubject.getClientProvider(any())).thenReturn(mock(SolidClientProvider.class));
+        when(mockSubject.getSubjectConfig()).thenReturn(mock(SubjectConfig.class));
+        when(mockSubject.getClientRegistry()).thenReturn(mock(ClientRegistry.class));
+        when(mockSubject.getWebIds()).thenReturn(Map.of(HttpConstants.ALICE, "https://alice.example.org/#me",
+                HttpConstants.BOB, "https://bob.example.org/#me"));
+        return mockSubject;
+    }
+
     private TestSuiteResults mockResults(final boolean failed) {
         final TestSuiteResults results = mock(TestSuiteResults.class);
         when(results.hasFailures()).thenReturn(failed);
@@ -0,0 +1,279 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.Headers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.http.HttpConstants;
+import org.solid.testharness.reporting.Scores;
+import org.solid.testharness.reporting.TestSuiteResults;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DaemonServerTest {
+    private DaemonServer daemonServer;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setup() throws IOException {
+        daemonServer = new DaemonServer();
+        daemonServer.config = mock(Config.class);
+        daemonServer.conformanceTestHarness = mock(ConformanceTestHarness.class);
+        daemonServer.objectMapper = objectMapper;
+        daemonServer.start(0, false, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        daemonServer.stop();
+    }
+
+    @Test
+    void run() throws Exception {
+        final TestSuiteResults results = mockResults(1);
+        when(daemonServer.conformanceTestHarness.runTestSuites(any(), any())).thenReturn(results);
+        final HttpResponse<String> response = post(DaemonServer.RUN_PATH,
+                "{\"filters\": [\"feature1\", \"feature2\"], \"statuses\": \"accepted\"}");
+        assertEquals(200, response.statusCode());
+        final JsonNode summary = objectMapper.readTree(response.body());
+        assertEquals(1, summary.get("run").asInt());
+        assertEquals(1, summary.get("featureTotal").asInt());
+        assertFalse(summary.get("hasFailures").asBoolean());
+        assertEquals(1, summary.get("features").get("MUST").get(Scores.PASSED).asInt());
+        verify(daemonServer.conformanceTestHarness).resetResults();
+        verify(daemonServer.conformanceTestHarness).runTestSuites(List.of("feature1", "feature2"), List.of("accepted"));
+        verify(daemonServer.conformanceTestHarness).buildReports(Config.RunMode.TEST);
+        verify(daemonServer.conformanceTestHarness).cleanUp();
+        verify(daemonServer.config, never()).setTestSubject(any());
+    }
+
+    @Test
+    void runEmptyBody() throws Exception {
+        final TestSuiteResults results = mockResults(0);
+        when(daemonServer.conformanceTestHarness.runTestSuites(any(), any())).thenReturn(results);
+        assertEquals(200, post(DaemonServer.RUN_PATH, "").statusCode());
+        verify(daemonServer.conformanceTestHarness).runTestSuites(null, null);
+        verify(daemonServer.conformanceTestHarness, never()).buildReports(any());
+        verify(daemonServer.conformanceTestHarness, never()).cleanUp();
+    }
+
+    @Test
+    void runTarget() throws Exception {
+        when(daemonServer.config.getSubjectsUrl()).thenReturn(new URL("https://example.org/subjects.ttl"));
+        final TestSuiteResults results = mockResults(0);
+        when(daemonServer.conformanceTestHarness.runTestSuites(any(), any())).thenReturn(results);
+        assertEquals(200, post(DaemonServer.RUN_PATH, "{\"target\": \"test\"}").statusCode());
+        verify(daemonServer.config).setTestSubject(iri("https://example.org/test"));
+    }
+
+    @Test
+    void runSkipsReportsAndTearDown() throws Exception {
+        daemonServer.stop();
+        daemonServer.start(0, true, true);
+        final TestSuiteResults results = mockResults(1);
+        when(daemonServer.conformanceTestHarness.runTestSuites(any(), any())).thenReturn(results);
+        assertEquals(200, post(DaemonServer.RUN_PATH, "{}").statusCode());
+        verify(daemonServer.conformanceTestHarness, never()).buildReports(any());
+        verify(daemonServer.conformanceTestHarness, never()).cleanUp();
+    }
+
+    @Test
+    void runFails() throws Exception {
+        when(daemonServer.conformanceTestHarness.runTestSuites(any(), any()))
+                .thenThrow(new IllegalStateException("FAIL"));
+        final HttpResponse<String> response = post(DaemonServer.RUN_PATH, "{}");
+        assertEquals(500, response.statusCode());
+        assertEquals("FAIL", objectMapper.readTree(response.body()).get("error").asText());
+    }
+
+    @Test
+    void runBadRequest() throws Exception {
+        assertEquals(400, post(DaemonServer.RUN_PATH, "not json").statusCode());
+        verify(daemonServer.conformanceTestHarness, never()).runTestSuites(any(), any());
+    }
+
+    @Test
+    void runWrongMethod() throws Exception {
+        assertEquals(405, get(DaemonServer.RUN_PATH).statusCode());
+        verify(daemonServer.conformanceTestHarness, never()).runTestSuites(any(), any());
+    }
+
+    @Test
+    void runRequiresJson() throws Exception {
+        final HttpResponse<String> response = httpClient.send(request(DaemonServer.RUN_PATH)
+                .header(HttpConstants.HEADER_CONTENT_TYPE, "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString("{}")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(415, response.statusCode());
+        assertEquals(415, httpClient.send(request(DaemonServer.RUN_PATH)
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+        verify(daemonServer.conformanceTestHarness, never()).runTestSuites(any(), any());
+    }
+
+    @Test
+    void runRejectsWebPages() throws Exception {
+        final HttpResponse<String> response = httpClient.send(request(DaemonServer.RUN_PATH)
+                .header("Origin", "https://attacker.example")
+                .header(HttpConstants.HEADER_CONTENT_TYPE, HttpConstants.MEDIA_TYPE_APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString("{}")).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(403, response.statusCode());
+        verify(daemonServer.conformanceTestHarness, never()).runTestSuites(any(), any());
+    }
+
+    @Test
+    void runRejectedWhileRunning() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final TestSuiteResults results = mockResults(0);
+        when(daemonServer.conformanceTestHarness.runTestSuites(any(), any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return results;
+        });
+        final var first = httpClient.sendAsync(request(DaemonServer.RUN_PATH)
+                .header(HttpConstants.HEADER_CONTENT_TYPE, HttpConstants.MEDIA_TYPE_APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString("{}")).build(), HttpResponse.BodyHandlers.ofString());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(objectMapper.readTree(get(DaemonServer.STATUS_PATH).body()).get("running").asBoolean());
+        assertEquals(409, post(DaemonServer.RUN_PATH, "{}").statusCode());
+        release.countDown();
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).statusCode());
+        verify(daemonServer.conformanceTestHarness).runTestSuites(any(), any());
+    }
+
+    @Test
+    void status() throws Exception {
+        final HttpResponse<String> response = get(DaemonServer.STATUS_PATH);
+        assertEquals(200, response.statusCode());
+        final JsonNode status = objectMapper.readTree(response.body());
+        assertFalse(status.get("running").asBoolean());
+        assertEquals(0, status.get("runs").asInt());
+    }
+
+    @Test
+    void shutdown() throws Exception {
+        assertEquals(405, get(DaemonServer.SHUTDOWN_PATH).statusCode());
+        assertEquals(202, post(DaemonServer.SHUTDOWN_PATH, "").statusCode());
+        assertDoesNotThrow(() -> daemonServer.awaitShutdown());
+    }
+
+    @Test
+    void shutdownRejectsWebPages() throws Exception {
+        assertEquals(415, httpClient.send(request(DaemonServer.SHUTDOWN_PATH)
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertEquals(403, httpClient.send(request(DaemonServer.SHUTDOWN_PATH).header("Origin", "null")
+                .header(HttpConstants.HEADER_CONTENT_TYPE, HttpConstants.MEDIA_TYPE_APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    void checkOrigin() {
+        final Headers headers = new Headers();
+        assertNotNull(DaemonServer.checkOrigin(headers));
+        headers.add("Host", "127.0.0.1:8765");
+        assertNull(DaemonServer.checkOrigin(headers));
+        headers.add("Origin", "http://127.0.0.1:8765");
+        assertNotNull(DaemonServer.checkOrigin(headers));
+    }
+
+    @Test
+    void isLoopbackHost() {
+        assertTrue(DaemonServer.isLoopbackHost("localhost:8765"));
+        assertTrue(DaemonServer.isLoopbackHost("LOCALHOST"));
+        assertTrue(DaemonServer.isLoopbackHost("127.0.0.1"));
+        assertTrue(DaemonServer.isLoopbackHost("127.1.2.3:80"));
+        assertTrue(DaemonServer.isLoopbackHost("[::1]:8765"));
+        assertFalse(DaemonServer.isLoopbackHost(null));
+        assertFalse(DaemonServer.isLoopbackHost(""));
+        assertFalse(DaemonServer.isLoopbackHost("attacker.example:8765"));
+        assertFalse(DaemonServer.isLoopbackHost("localhost.attacker.example"));
+        assertFalse(DaemonServer.isLoopbackHost("127.0.0.1.attacker.example"));
+        assertFalse(DaemonServer.isLoopbackHost("192.168.1.10"));
+    }
+
+    @Test
+    void isJson() {
+        assertTrue(DaemonServer.isJson("application/json"));
+        assertTrue(DaemonServer.isJson("Application/JSON; charset=UTF-8"));
+        assertFalse(DaemonServer.isJson(null));
+        assertFalse(DaemonServer.isJson("text/plain"));
+        assertFalse(DaemonServer.isJson("application/x-www-form-urlencoded"));
+    }
+
+    @Test
+    void stopTwice() {
+        daemonServer.stop();
+        assertEquals(-1, daemonServer.getPort());
+        assertDoesNotThrow(() -> daemonServer.stop());
+    }
+
+    @Test
+    void toList() {
+        assertNull(DaemonServer.toList(null));
+        assertNull(DaemonServer.toList(" , "));
+        assertNull(DaemonServer.toList(List.of()));
+        assertEquals(List.of("a", "b"), DaemonServer.toList("a, b"));
+        assertEquals(List.of("a", "b"), DaemonServer.toList(List.of("a", " ", "b")));
+    }
+
+    private HttpRequest.Builder request(final String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + daemonServer.getPort() + path));
+    }
+
+    private HttpResponse<String> get(final String path) throws IOException, InterruptedException {
+        return httpClient.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(final String path, final String body) throws IOException, InterruptedException {
+        return httpClient.send(request(path)
+                .header(HttpConstants.HEADER_CONTENT_TYPE, "application/json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private TestSuiteResults mockResults(final int features) {
+        final TestSuiteResults results = mock(TestSuiteResults.class);
+        when(results.getFeatureTotal()).thenReturn(features);
+        when(results.getFeatureScores()).thenReturn(Map.of("MUST", new Scores(features, 0, 0, 0, 0)));
+        return results;
+    }
+}
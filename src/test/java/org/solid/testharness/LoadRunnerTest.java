@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.config.PathMappings;
+import org.solid.testharness.reporting.LoadResults;
+import org.solid.testharness.utils.DataRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LoadRunnerTest {
+    private static final List<String> FEATURES = List.of("feature1", "feature2");
+
+    private LoadRunner loadRunner;
+
+    @BeforeEach
+    void setup() {
+        loadRunner = spy(new LoadRunner());
+        loadRunner.config = mock(Config.class);
+        loadRunner.pathMappings = mock(PathMappings.class);
+        loadRunner.dataRepository = mock(DataRepository.class);
+        when(loadRunner.config.getMaxThreads()).thenReturn(2);
+        when(loadRunner.pathMappings.unmapFeaturePath(any())).thenAnswer(inv -> "https://example.org/" +
+                inv.getArgument(0));
+        when(loadRunner.dataRepository.getRequirementLevel(iri("https://example.org/feature1"))).thenReturn("MUST");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runAtRate() {
+        when(loadRunner.config.getLoadRate()).thenReturn(20.0);
+        doReturn(false).when(loadRunner).runFeature(eq("feature1"), any());
+        doReturn(true).when(loadRunner).runFeature(eq("feature2"), any());
+        final LoadResults results = loadRunner.run(FEATURES, List.of("skip"), Duration.ofMillis(500));
+        // 20 per second for half a second starts 10 iterations taking the features in turn
+        assertEquals(10, results.getIterations());
+        assertEquals(5, results.getErrors());
+        verify(loadRunner, times(5)).runFeature("feature1", List.of("skip"));
+        final Map<String, Object> levels = (Map<String, Object>) results.getSummary().get("requirements");
+        assertEquals(5L, ((Map<String, Object>) levels.get("MUST")).get("iterations"));
+        assertEquals(5L, ((Map<String, Object>) levels.get("UNKNOWN")).get("iterations"));
+    }
+
+    @Test
+    void runAtRateWithSlowServer() {
+        when(loadRunner.config.getLoadRate()).thenReturn(100.0);
+        doAnswer(inv -> {
+            Thread.sleep(200);
+            return false;
+        }).when(loadRunner).runFeature(any(), any());
+        final long start = System.nanoTime();
+        final LoadResults results = loadRunner.run(FEATURES, null, Duration.ofMillis(300));
+        // 30 iterations are due but 2 workers with room for 2 more to wait cannot keep up
+        assertEquals(30, results.getIterations() + results.getMissed());
+        assertTrue(results.getMissed() > 0);
+        // the backlog is not drained after the duration ends
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void runBackToBack() {
+        when(loadRunner.config.getLoadRate()).thenReturn(0.0);
+        doAnswer(inv -> {
+            Thread.sleep(10);
+            return false;
+        }).when(loadRunner).runFeature(any(), any());
+        final LoadResults results = loadRunner.run(FEATURES, null, Duration.ofMillis(200));
+        assertTrue(results.getIterations() >= 2);
+        assertEquals(0, results.getErrors());
+        assertEquals("concurrency", results.getSummary().get("mode"));
+        assertEquals(2, results.getSummary().get("concurrency"));
+    }
+
+    @Test
+    void iterationException() {
+        final LoadResults results = new LoadResults(0, 1);
+        results.addFeature("feature1", null);
+        doThrow(new IllegalStateException("FAIL")).when(loadRunner).runFeature(any(), any());
+        loadRunner.iterate("feature1", null, results, System.nanoTime());
+        assertEquals(1, results.getIterations());
+        assertEquals(1, results.getErrors());
+    }
+}
@@ -23,6 +23,7 @@
  */
 package org.solid.testharness;
 
+import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectSpy;
 import org.eclipse.rdf4j.model.IRI;
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.TestInstance;
 import org.solid.testharness.reporting.TestSuiteResults;
 import org.solid.testharness.utils.DataRepository;
 import org.solid.testharness.utils.FeatureResultHandler;
+import org.solid.testharness.utils.ResultCache;
 import org.solid.testharness.utils.TestUtils;
 
 import jakarta.inject.Inject;
@@ -43,6 +45,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @QuarkusTest
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -56,6 +59,8 @@ class TestRunnerTest {
     DataRepository dataRepository;
     @InjectSpy
     FeatureResultHandler featureResultHandler;
+    @InjectMock
+    ResultCache resultCache;
 
     @BeforeAll
     void setup() {
@@ -127,6 +132,26 @@ class TestRunnerTest {
                 Collections.emptyList(), true));
     }
 
+    @Test
+    void runTestsAllCached() {
+        final List<String> paths = List.of("src/test/resources/test.feature");
+        when(resultCache.isEnabled()).thenReturn(true);
+        when(resultCache.replay(paths)).thenReturn(Collections.emptyList());
+        final TestSuiteResults results = testRunner.runTests(paths, 1, Collections.emptyList(), true);
+        assertNotNull(results);
+        assertNull(results.getResults());
+        verify(featureResultHandler, never()).featureReport(any(), any());
+    }
+
+    @Test
+    void runTestsCacheNotUsedWithoutReporting() {
+        when(resultCache.isEnabled()).thenReturn(true);
+        final TestSuiteResults results = testRunner.runTests(List.of("src/test/resources/test.feature"), 1,
+                Collections.emptyList(), false);
+        assertEquals(1, results.getResults().getFeaturesFailed());
+        verify(resultCache, never()).replay(any());
+    }
+
     @Test
     void runTestNoReporting() {
         final TestSuiteResults results = testRunner.runTests(List.of("src/test/resources/test.feature"), 1,
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.api;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.util.ModelBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelIndexTest {
+    private static final String NS = "https://example.org/";
+    private static final IRI S1 = iri(NS, "s1");
+    private static final IRI S2 = iri(NS, "s2");
+    private static final IRI P1 = iri(NS, "p1");
+    private static final IRI P2 = iri(NS, "p2");
+    private static final IRI O1 = iri(NS, "o1");
+    private static final Model MODEL = new ModelBuilder()
+            .subject(S1).add(P1, O1).add(P2, literal("text"))
+            .subject(S2).add(P1, O1).add(P1, S1)
+            .build();
+
+    private final ModelIndex index = new ModelIndex(MODEL);
+
+    @Test
+    void subjects() {
+        assertEquals(List.of(S1.stringValue(), S2.stringValue()), index.subjects(P1, O1));
+        assertEquals(List.of(S1.stringValue(), S2.stringValue()), index.subjects(P1, null));
+        assertEquals(List.of(S2.stringValue()), index.subjects(null, S1));
+        assertEquals(List.of(S1.stringValue(), S2.stringValue()), index.subjects(null, null));
+        assertTrue(index.subjects(P2, O1).isEmpty());
+        assertTrue(index.subjects(iri(NS, "missing"), null).isEmpty());
+    }
+
+    @Test
+    void predicates() {
+        assertEquals(List.of(P1.stringValue()), index.predicates(S1, O1));
+        assertEquals(List.of(P1.stringValue(), P2.stringValue()), index.predicates(S1, null));
+        assertEquals(List.of(P1.stringValue()), index.predicates(null, O1));
+        assertEquals(List.of(P1.stringValue(), P2.stringValue()), index.predicates(null, null));
+        assertTrue(index.predicates(S2, literal("text")).isEmpty());
+    }
+
+    @Test
+    void objects() {
+        assertEquals(List.of(O1.stringValue(), S1.stringValue()), index.objects(S2, P1));
+        assertEquals(List.of(O1.stringValue(), "text"), index.objects(S1, null));
+        assertEquals(List.of(O1.stringValue(), S1.stringValue()), index.objects(null, P1));
+        assertEquals(3, index.objects(null, null).size());
+        assertTrue(index.objects(S2, P2).isEmpty());
+    }
+
+    @Test
+    void contains() {
+        assertTrue(index.contains(S1, P1, O1));
+        assertTrue(index.contains(S1, P2, null));
+        assertTrue(index.contains(S2, null, S1));
+        assertTrue(index.contains(S2, null, null));
+        assertTrue(index.contains(null, P2, literal("text")));
+        assertTrue(index.contains(null, P1, null));
+        assertTrue(index.contains(null, null, O1));
+        assertTrue(index.contains(null, null, null));
+        assertFalse(index.contains(S1, P1, S1));
+        assertFalse(index.contains(S1, null, S1));
+        assertFalse(index.contains(null, P2, O1));
+        assertFalse(index.contains(null, null, S2));
+        assertFalse(new ModelIndex(new ModelBuilder().build()).contains(null, null, null));
+    }
+
+    @Test
+    void resultsAreCachedAndUnmodifiable() {
+        final List<String> subjects = index.subjects(P1, null);
+        assertSame(subjects, index.subjects(P1, null));
+        assertThrows(UnsupportedOperationException.class, () -> subjects.add("x"));
+    }
+}
@@ -42,6 +42,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.List;
 
+import static org.eclipse.rdf4j.model.util.Values.bnode;
 import static org.eclipse.rdf4j.model.util.Values.iri;
 import static org.eclipse.rdf4j.model.util.Values.literal;
 import static org.junit.jupiter.api.Assertions.*;
@@ -157,6 +158,24 @@ class RDFModelTest {
         assertFalse(model.contains(new RDFModel(SAMPLE_HTML_MODEL)));
     }
 
+    @Test
+    void isSubsetGround() {
+        assertTrue(RDFModel.isSubset(SAMPLE_MODEL, SAMPLE_MODEL2));
+        assertFalse(RDFModel.isSubset(SAMPLE_MODEL2, SAMPLE_MODEL));
+        assertFalse(RDFModel.isSubset(SAMPLE_HTML_MODEL, SAMPLE_MODEL));
+    }
+
+    @Test
+    void isSubsetBlankNodes() {
+        final IRI knows = iri(TestUtils.SAMPLE_NS, "knows");
+        final Model model = new ModelBuilder().subject(BOB_IRI).add(knows, bnode("a"))
+                .subject(bnode("a")).add(RDF.type, FOAF.Person).build();
+        final Model subset = new ModelBuilder().subject(BOB_IRI).add(knows, bnode("x")).build();
+        final Model otherSubset = new ModelBuilder().subject(bnode("x")).add(RDF.type, FOAF.Agent).build();
+        assertTrue(RDFModel.isSubset(subset, model));
+        assertFalse(RDFModel.isSubset(otherSubset, model));
+    }
+
 
     @Test
     void getMembers() {
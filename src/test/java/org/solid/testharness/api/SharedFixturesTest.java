@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.api;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedFixturesTest {
+    private final SharedFixtures sharedFixtures = SharedFixtures.open();
+
+    @AfterEach
+    void tearDown() {
+        sharedFixtures.close();
+    }
+
+    @Test
+    void getRunsSetupOnce() {
+        final AtomicInteger count = new AtomicInteger();
+        assertEquals(1, sharedFixtures.get("fixture", null, 0, a -> count.incrementAndGet()));
+        assertEquals(1, sharedFixtures.get("fixture", null, 0, a -> count.incrementAndGet()));
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    void getKeyedByArguments() {
+        assertEquals("a", sharedFixtures.get("fixture", Map.of("x", "a"), 0, a -> ((Map<?, ?>) a).get("x")));
+        assertEquals("b", sharedFixtures.get("fixture", Map.of("x", "b"), 0, a -> ((Map<?, ?>) a).get("x")));
+        assertEquals("a", sharedFixtures.get("fixture", Map.of("x", "a"), 0, a -> "other"));
+        assertEquals("c", sharedFixtures.get("other", Map.of("x", "a"), 0, a -> "c"));
+        assertEquals(3, sharedFixtures.size());
+    }
+
+    @Test
+    void getExpired() {
+        final long ttl = TimeUnit.SECONDS.toNanos(10);
+        final long now = System.nanoTime();
+        assertEquals(1, sharedFixtures.get("fixture", null, ttl, a -> 1, now));
+        assertEquals(1, sharedFixtures.get("fixture", null, ttl, a -> 2, now));
+        assertEquals(2, sharedFixtures.get("fixture", null, ttl, a -> 2, now + 2 * ttl));
+    }
+
+    @Test
+    void getFailureNotKept() {
+        assertThrows(IllegalStateException.class, () -> sharedFixtures.get("fixture", null, 0, a -> {
+            throw new IllegalStateException("setup failed");
+        }));
+        assertEquals(0, sharedFixtures.size());
+        assertEquals("ok", sharedFixtures.get("fixture", null, 0, a -> "ok"));
+    }
+
+    @Test
+    void getMissingSetup() {
+        assertThrows(TestHarnessApiException.class, () -> sharedFixtures.get("fixture", null, 0, null));
+        assertThrows(TestHarnessApiException.class, () -> sharedFixtures.get(null, null, 0, a -> 1));
+    }
+
+    @Test
+    void getConcurrentCallersShareSetup() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Object>> results = executor.invokeAll(List.of(
+                    () -> sharedFixtures.get("fixture", null, 0, a -> slowSetup(count, release)),
+                    () -> sharedFixtures.get("fixture", null, 0, a -> slowSetup(count, release)),
+                    () -> sharedFixtures.get("fixture", null, 0, a -> slowSetup(count, release)),
+                    () -> {
+                        Thread.sleep(100);
+                        release.countDown();
+                        return sharedFixtures.get("fixture", null, 0, a -> slowSetup(count, release));
+                    }
+            ), 10, TimeUnit.SECONDS);
+            for (Future<Object> result: results) {
+                assertEquals(1, result.get());
+            }
+            assertEquals(1, count.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void runsAreSeparate() {
+        assertSame(sharedFixtures, SharedFixtures.forRun(sharedFixtures.getId()));
+        assertEquals(Map.of(SharedFixtures.RUN_PROPERTY, sharedFixtures.getId()), sharedFixtures.getRunProperties());
+        final SharedFixtures other = SharedFixtures.open();
+        assertEquals(1, sharedFixtures.get("fixture", null, 0, a -> 1));
+        assertEquals(2, other.get("fixture", null, 0, a -> 2));
+        other.close();
+        assertNull(SharedFixtures.forRun(other.getId()));
+        // closing one run leaves the results of another
+        assertEquals(1, sharedFixtures.get("fixture", null, 0, a -> 3));
+        assertNull(SharedFixtures.forRun(null));
+        assertNull(SharedFixtures.forRun("unknown"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void callersGetCopies() {
+        final List<Object> first = (List<Object>) sharedFixtures.get("fixture", null, 0,
+                a -> new ArrayList<>(List.of(Map.of("x", 1))));
+        first.clear();
+        final List<Object> second = (List<Object>) sharedFixtures.get("fixture", null, 0, a -> List.of());
+        assertEquals(List.of(Map.of("x", 1)), second);
+        ((Map<Object, Object>) second.get(0)).put("y", 2);
+        assertEquals(List.of(Map.of("x", 1)), sharedFixtures.get("fixture", null, 0, a -> List.of()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void javaScriptResultOutlivesContext() {
+        final Object result;
+        try (Context context = createContext()) {
+            context.getBindings("js").putMember("fixtures", sharedFixtures);
+            result = context.eval("js", "fixtures.get('fixture', null, 0, (a) => "
+                    + "({ name: 'alice', count: 2, ratio: 0.5, tags: ['a', 'b'], nested: { ok: true } }))")
+                    .as(Object.class);
+        }
+        // the context which produced the result is closed but the result is plain Java data
+        final Map<String, Object> expected = Map.of("name", "alice", "count", 2, "ratio", 0.5,
+                "tags", List.of("a", "b"), "nested", Map.of("ok", true));
+        assertEquals(expected, result);
+        try (Context context = createContext()) {
+            context.getBindings("js").putMember("fixtures", sharedFixtures);
+            assertEquals("b", context.eval("js", "fixtures.get('fixture', null, 0, (a) => null).get('tags').get(1)")
+                    .asString());
+        }
+        assertEquals(expected, sharedFixtures.get("fixture", null, 0, a -> null));
+        assertInstanceOf(List.class, ((Map<String, Object>) sharedFixtures.get("fixture", null, 0, a -> null))
+                .get("tags"));
+    }
+
+    @Test
+    void javaScriptFunctionRejected() {
+        try (Context context = createContext()) {
+            context.getBindings("js").putMember("fixtures", sharedFixtures);
+            assertThrows(PolyglotException.class, () -> context.eval("js",
+                    "fixtures.get('fixture', null, 0, (a) => ({ fn: () => 1 }))"));
+        }
+        assertEquals(0, sharedFixtures.size());
+    }
+
+    private static Context createContext() {
+        return Context.newBuilder("js")
+                .allowHostAccess(HostAccess.ALL)
+                .allowHostClassLookup(className -> true)
+                .build();
+    }
+
+    private static Object slowSetup(final AtomicInteger count, final CountDownLatch release) {
+        final int value = count.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
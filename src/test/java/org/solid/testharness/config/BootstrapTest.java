@@ -23,14 +23,41 @@
  */
 package org.solid.testharness.config;
 
+import com.intuit.karate.Suite;
 import org.junit.jupiter.api.Test;
 
+import static org.eclipse.rdf4j.model.util.Values.iri;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class BootstrapTest {
+    private static final String SUBJECT = "https://example.org/test";
+
     @Test
     void getInstance() {
         final Bootstrap bootstrap = Bootstrap.getInstance();
         assertNull(bootstrap);
     }
+
+    @Test
+    void registerTestSubject() {
+        final TestSubject testSubject = mock(TestSubject.class);
+        when(testSubject.getSubject()).thenReturn(iri(SUBJECT));
+        Bootstrap.register(testSubject);
+        try {
+            assertSame(testSubject, Bootstrap.findTestSubject(SUBJECT));
+            assertNull(Bootstrap.findTestSubject("https://example.org/other"));
+        } finally {
+            Bootstrap.unregister(testSubject);
+        }
+        assertNull(Bootstrap.findTestSubject(SUBJECT));
+    }
+
+    @Test
+    void findTestSubjectNull() {
+        assertNull(Bootstrap.findTestSubject((String) null));
+        assertNull(Bootstrap.findTestSubject((Suite) null));
+    }
 }
@@ -27,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 import org.solid.testharness.utils.TestUtils;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
@@ -56,6 +57,30 @@ class ConfigLogicTest {
         assertEquals(iri("https://example.org/testserver"), config.getTestSubject());
     }
 
+    @Test
+    void shardDefault() {
+        final Config config = new Config();
+        assertEquals(1, config.getShardIndex());
+        assertEquals(1, config.getShardCount());
+    }
+
+    @Test
+    void setShard() {
+        final Config config = new Config();
+        config.setShard(2, 4);
+        assertEquals(2, config.getShardIndex());
+        assertEquals(4, config.getShardCount());
+    }
+
+    @Test
+    void setShardInvalid() {
+        final Config config = new Config();
+        assertThrows(IllegalArgumentException.class, () -> config.setShard(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> config.setShard(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> config.setShard(1, 0));
+        assertEquals(1, config.getShardCount());
+    }
+
     @Test
     void getSubjectsUrlNoConfigException() {
         final Config config = new Config();
@@ -127,6 +152,112 @@ class ConfigLogicTest {
                 () -> config.setTolerableFailuresFile("missing-file.txt"));
     }
 
+    @Test
+    void setRerunReport() {
+        final Config config = new Config();
+        assertNull(config.getRerunReport());
+        config.setRerunReport("src/test/resources");
+        assertEquals(new File("src/test/resources"), config.getRerunReport());
+        config.setRerunReport("src/test/resources/config/empty.txt");
+        assertEquals(new File("src/test/resources/config/empty.txt"), config.getRerunReport());
+    }
+
+    @Test
+    void setRerunReportFails() {
+        final Config config = new Config();
+        assertThrows(TestHarnessInitializationException.class, () -> config.setRerunReport("missing"));
+        assertThrows(TestHarnessInitializationException.class, () -> config.setRerunReport(" "));
+    }
+
+    @Test
+    void getResultCache() {
+        final Config config = new Config();
+        config.resultCache = Optional.of("target/result-cache");
+        assertEquals(Path.of("target/result-cache").toAbsolutePath().normalize().toFile(), config.getResultCache());
+        config.setResultCacheDisabled(true);
+        assertNull(config.getResultCache());
+    }
+
+    @Test
+    void getResultCacheBlank() {
+        final Config config = new Config();
+        config.resultCache = Optional.of(" ");
+        assertNull(config.getResultCache());
+        config.resultCache = Optional.empty();
+        assertNull(config.getResultCache());
+    }
+
+    @Test
+    void getServerVersion() {
+        final Config config = new Config();
+        config.serverVersion = Optional.of(" 1.2.3 ");
+        assertEquals("1.2.3", config.getServerVersion());
+        config.serverVersion = Optional.of("");
+        assertNull(config.getServerVersion());
+    }
+
+    @Test
+    void getMinThreads() {
+        final Config config = new Config();
+        config.maxThreads = 4;
+        config.minThreads = 2;
+        assertEquals(2, config.getMinThreads());
+        config.minThreads = 0;
+        assertEquals(1, config.getMinThreads());
+        config.minThreads = 10;
+        assertEquals(4, config.getMinThreads());
+    }
+
+    @Test
+    void isAdaptiveConcurrency() {
+        final Config config = new Config();
+        assertFalse(config.isAdaptiveConcurrency());
+        config.adaptiveConcurrency = true;
+        assertTrue(config.isAdaptiveConcurrency());
+    }
+
+    @Test
+    void getEvents() {
+        final Config config = new Config();
+        config.events = Optional.of(" events.ndjson ");
+        assertEquals("events.ndjson", config.getEvents());
+        config.events = Optional.of(" ");
+        assertNull(config.getEvents());
+        config.events = Optional.empty();
+        assertNull(config.getEvents());
+    }
+
+    @Test
+    void getTimeouts() {
+        final Config config = new Config();
+        config.featureTimeout = 300;
+        config.scenarioTimeout = -1;
+        assertEquals(300, config.getFeatureTimeout());
+        assertEquals(0, config.getScenarioTimeout());
+    }
+
+    @Test
+    void getRetries() {
+        final Config config = new Config();
+        config.retries = 2;
+        config.retryBudget = -1;
+        assertEquals(2, config.getRetries());
+        assertEquals(0, config.getRetryBudget());
+        config.retries = -1;
+        config.retryBudget = 120;
+        assertEquals(0, config.getRetries());
+        assertEquals(120, config.getRetryBudget());
+    }
+
+    @Test
+    void getLoadRate() {
+        final Config config = new Config();
+        config.loadRate = 12.5;
+        assertEquals(12.5, config.getLoadRate());
+        config.loadRate = -1.0;
+        assertEquals(0, config.getLoadRate());
+    }
+
     @Test
     void getTestSourcesNoConfigException() {
         final Config config = new Config();
@@ -239,4 +370,48 @@ class ConfigLogicTest {
         config.userRegistrationEndpoint = Optional.empty();
         assertNull(config.getUserRegistrationEndpoint());
     }
+
+    @Test
+    void getParseCacheSizeNegative() {
+        final Config config = new Config();
+        config.parseCacheSize = -1L;
+        assertEquals(0, config.getParseCacheSize());
+    }
+
+    @Test
+    void getRdfaParser() {
+        final Config config = new Config();
+        config.rdfaParser = " Java ";
+        assertEquals("java", config.getRdfaParser());
+    }
+
+    @Test
+    void getRdfaParserPoolSize() {
+        final Config config = new Config();
+        config.rdfaParserPoolSize = Optional.of(2);
+        assertEquals(2, config.getRdfaParserPoolSize());
+    }
+
+    @Test
+    void getRdfaParserPoolSizeInvalid() {
+        final Config config = new Config();
+        config.maxThreads = 3;
+        config.rdfaParserPoolSize = Optional.of(0);
+        assertEquals(3, config.getRdfaParserPoolSize());
+    }
+
+    @Test
+    void getRdfaParserEngineCache() {
+        final Config config = new Config();
+        config.rdfaParserEngineCache = Optional.of("target/rdfa-engine.cache");
+        assertEquals(Path.of("target/rdfa-engine.cache").toAbsolutePath().normalize().toFile(),
+                config.getRdfaParserEngineCache());
+    }
+
+    @Test
+    void getRdfaParserEngineCacheNotSet() {
+        final Config config = new Config();
+        config.rdfaParserEngineCache = Optional.empty();
+        assertNull(config.getRdfaParserEngineCache());
+    }
 }
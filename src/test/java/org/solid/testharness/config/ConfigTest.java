@@ -158,6 +158,21 @@ class ConfigTest {
         assertEquals(4, config.getMaxThreads());
     }
 
+    @Test
+    void getParseCacheSizeDefault() {
+        assertEquals(0, config.getParseCacheSize());
+    }
+
+    @Test
+    void getRdfaParserDefault() {
+        assertEquals("graal", config.getRdfaParser());
+    }
+
+    @Test
+    void getRdfaParserPoolSizeDefault() {
+        assertEquals(4, config.getRdfaParserPoolSize());
+    }
+
     @Test
     void getOrigin() {
         assertEquals("https://testharness", config.getOrigin());
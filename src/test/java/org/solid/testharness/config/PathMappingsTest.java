@@ -101,6 +101,12 @@ class PathMappingsTest {
         assertEquals("https://example.org/test/group1/test.feature", iri);
     }
 
+    @Test
+    void unmapFeaturePathLongestPrefix() {
+        final String iri = pathMappings.unmapFeaturePath("src/test/resources/test-features/otherExample/test.feature");
+        assertEquals("https://example.org/test/group2/test.feature", iri);
+    }
+
     @Test
     void unmapFeaturePathHttpsFeature() {
         final String iri = pathMappings.unmapFeaturePath("https://example.org/remote/test.feature");
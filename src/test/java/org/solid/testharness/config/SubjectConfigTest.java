@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.config;
+
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.Test;
+import org.solid.testharness.http.HttpConstants;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubjectConfigTest {
+    private static final String ALICE_WEBID = "https://alice.css.example.org/profile/card#me";
+    private static final String BOB_WEBID = "https://bob.css.example.org/profile/card#me";
+
+    @Test
+    void load() {
+        final Config config = mockUsers();
+        when(config.getOptionalValue("css.RESOURCE_SERVER_ROOT", String.class))
+                .thenReturn(Optional.of("https://css.example.org"));
+        when(config.getOptionalValue("css.TEST_CONTAINER", String.class)).thenReturn(Optional.of("/test"));
+        when(config.getOptionalValue("css.SOLID_IDENTITY_PROVIDER", String.class))
+                .thenReturn(Optional.of("https://idp.css.example.org/path"));
+        when(config.getOptionalValue("css.LOGIN_ENDPOINT", String.class))
+                .thenReturn(Optional.of("https://idp.css.example.org/login"));
+        when(config.getOptionalValue("css.users.alice.refreshtoken", String.class)).thenReturn(Optional.of("TOKEN"));
+        when(config.getOptionalValue("css.users.alice.clientid", String.class)).thenReturn(Optional.of("ID"));
+        when(config.getOptionalValue("css.users.alice.clientsecret", String.class)).thenReturn(Optional.of("SECRET"));
+        when(config.getOptionalValue("css.users.bob.username", String.class)).thenReturn(Optional.of("bob"));
+        when(config.getOptionalValue("css.users.bob.password", String.class)).thenReturn(Optional.of("PASSWORD"));
+
+        final SubjectConfig subjectConfig = SubjectConfig.load(config, "css");
+
+        assertNotNull(subjectConfig);
+        assertEquals("https://css.example.org/", subjectConfig.getServerRoot());
+        assertEquals("/test/", subjectConfig.getTestContainer());
+        assertEquals(URI.create("https://idp.css.example.org/"), subjectConfig.getSolidIdentityProvider());
+        assertEquals(URI.create("https://idp.css.example.org/login"), subjectConfig.getLoginEndpoint());
+        assertNull(subjectConfig.getUserRegistrationEndpoint());
+        assertEquals(Map.of(HttpConstants.ALICE, ALICE_WEBID, HttpConstants.BOB, BOB_WEBID),
+                subjectConfig.getWebIds());
+        final UserCredentials alice = subjectConfig.getCredentials(HttpConstants.ALICE);
+        assertEquals(ALICE_WEBID, alice.webId());
+        assertTrue(alice.isUsingRefreshToken());
+        assertTrue(subjectConfig.getCredentials(HttpConstants.BOB).isUsingUsernamePassword());
+        assertNull(subjectConfig.getCredentials("carol"));
+    }
+
+    @Test
+    void loadWithoutUsers() {
+        final Config config = mock(Config.class);
+        when(config.getOptionalValue("css.users.alice.webid", String.class)).thenReturn(Optional.of(ALICE_WEBID));
+        when(config.getOptionalValue("css.users.bob.webid", String.class)).thenReturn(Optional.of(" "));
+        assertNull(SubjectConfig.load(config, "css"));
+        assertNull(SubjectConfig.load(config, ""));
+    }
+
+    @Test
+    void loadWithoutServer() {
+        final SubjectConfig subjectConfig = SubjectConfig.load(mockUsers(), "css");
+        assertNotNull(subjectConfig);
+        assertNull(subjectConfig.getServerRoot());
+        assertNull(subjectConfig.getTestContainer());
+        assertNull(subjectConfig.getSolidIdentityProvider());
+    }
+
+    private Config mockUsers() {
+        final Config config = mock(Config.class);
+        when(config.getOptionalValue("css.users.alice.webid", String.class)).thenReturn(Optional.of(ALICE_WEBID));
+        when(config.getOptionalValue("css.users.bob.webid", String.class)).thenReturn(Optional.of(BOB_WEBID));
+        return config;
+    }
+}
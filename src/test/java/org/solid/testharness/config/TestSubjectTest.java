@@ -25,14 +25,17 @@ package org.solid.testharness.config;
 
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.util.ModelBuilder;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.junit.jupiter.api.Test;
 import org.solid.common.vocab.PIM;
 import org.solid.testharness.http.Client;
 import org.solid.testharness.http.ClientRegistry;
 import org.solid.testharness.http.HttpConstants;
 import org.solid.testharness.http.SolidClientProvider;
+import org.solid.testharness.utils.DataRepository;
 import org.solid.testharness.utils.SolidContainerProvider;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 import org.solid.testharness.utils.TestUtils;
@@ -75,6 +78,9 @@ class TestSubjectTest {
     @InjectMock
     ClientRegistry clientRegistry;
 
+    @Inject
+    DataRepository dataRepository;
+
     @Test
     void setupMissingTarget() throws Exception {
         setupMockConfigMin(CONFIG_SAMPLE, null);
@@ -284,6 +290,30 @@ class TestSubjectTest {
         assertEquals(URI.create(SERVER_TEST_STORAGE), testSubject.findTestContainer());
     }
 
+    @Test
+    void forSubject() throws Exception {
+        final SubjectConfig subjectConfig = mock(SubjectConfig.class);
+        final Map<String, String> webIds = Map.of(HttpConstants.ALICE, "https://alice.other.example.org/#me",
+                HttpConstants.BOB, "https://bob.other.example.org/#me");
+        when(subjectConfig.getWebIds()).thenReturn(webIds);
+        when(subjectConfig.getServerRoot()).thenReturn("https://other/");
+        when(subjectConfig.getTestContainer()).thenReturn("/test/");
+        when(config.getServerRoot()).thenReturn("https://server/");
+        when(config.getTestContainer()).thenReturn("/test/");
+        final IRI other = iri("https://example.org/other");
+
+        final TestSubject subject = testSubject.forSubject(other, subjectConfig);
+
+        assertEquals(other, subject.getSubject());
+        assertSame(subjectConfig, subject.getSubjectConfig());
+        assertEquals(webIds, subject.getWebIds());
+        assertEquals(URI.create("https://other/test/"), subject.findTestContainer());
+        assertNotNull(subject.getClientRegistry());
+        assertNotSame(clientRegistry, subject.getClientRegistry());
+        assertTrue(subject.getClientRegistry().hasClient(ClientRegistry.ALICE_WEBID));
+        assertFalse(subject.getClientRegistry().hasClient(HttpConstants.ALICE));
+    }
+
     @Test
     void findTestContainerRootRelative() throws Exception {
         setupMockConfig(null, null);
@@ -324,7 +354,7 @@ class TestSubjectTest {
     @Test
     void findStorageProfileException() {
         final Client webIdClient = mock(Client.class);
-        when(webIdClient.getAsTurtle(any())).thenThrow(TestUtils.createException("FAIL"));
+        when(webIdClient.getAsTurtle(any(), any())).thenThrow(TestUtils.createException("FAIL"));
         when(clientRegistry.getClient(ClientRegistry.ALICE_WEBID)).thenReturn(webIdClient);
         setupMockConfig(null, null);
 
@@ -384,6 +414,24 @@ class TestSubjectTest {
         assertEquals(subject, targetServer.getSubject());
     }
 
+    @Test
+    void loadTestSubjectConfigReplacesPreviousSubject() throws Exception {
+        final URL testFileUrl = TestUtils.getFileUrl(CONFIG_SAMPLE);
+        final IRI subject1 = iri(testFileUrl.toURI().resolve("testserver").toString());
+        final IRI subject2 = iri(testFileUrl.toURI().resolve("testserver2").toString());
+        when(config.getSubjectsUrl()).thenReturn(testFileUrl);
+        when(config.getTestSubject()).thenReturn(subject1);
+        testSubject.loadTestSubjectConfig();
+        when(config.getTestSubject()).thenReturn(subject2);
+        testSubject.loadTestSubjectConfig();
+
+        assertEquals(subject2.stringValue(), testSubject.getTargetServer().getSubject());
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            assertFalse(conn.hasStatement(subject1, null, null, false));
+            assertTrue(conn.hasStatement(subject2, null, null, false));
+        }
+    }
+
     @Test
     void getTargetServerDefault() throws Exception {
         final URL testFileUrl = TestUtils.getFileUrl(CONFIG_SAMPLE_SINGLE);
@@ -452,8 +500,8 @@ class TestSubjectTest {
                     PIM.storage, iri(URI.create(TestUtils.SAMPLE_BASE).resolve(s).toString()))
             );
             final Model model = builder.build();
-            final HttpResponse<String> turtleResponse = TestUtils.mockStringResponse(200, TestUtils.toTurtle(model));
-            when(webIdClient.getAsTurtle(any())).thenReturn(turtleResponse);
+            when(webIdClient.getAsTurtle(any(), any()))
+                    .thenAnswer(TestUtils.handledResponse(200, TestUtils.toTurtle(model)));
         }
         when(clientRegistry.getClient(ClientRegistry.ALICE_WEBID)).thenReturn(webIdClient);
         // register owner client
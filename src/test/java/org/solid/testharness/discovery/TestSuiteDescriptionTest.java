@@ -252,6 +252,30 @@ class TestSuiteDescriptionTest {
         assertTrue(ask(null, EARL.test, iri(NS, "testcase")));
     }
 
+    @Test
+    void resetFailedTestCases() throws MalformedURLException {
+        testSuiteDescription.load(List.of(URI.create(NS + "test-manifest-sample-1.ttl").toURL()));
+        addAssertion("a1", iri(TCNS, "group1-feature1"), EARL.failed);
+        addAssertion("a2", iri(TCNS, "group1-feature2"), EARL.cantTell);
+        addAssertion("a3", iri(TCNS, "group2-feature1"), EARL.passed);
+        final List<IRI> testCases = testSuiteDescription.resetFailedTestCases(null, null);
+        assertThat("Reset test cases match", testCases,
+                containsInAnyOrder(iri(TCNS, "group1-feature1"), iri(TCNS, "group1-feature2")));
+        assertEquals(1, count(null, RDF.type, EARL.Assertion));
+        assertTrue(ask(null, EARL.test, iri(TCNS, "group2-feature1")));
+    }
+
+    @Test
+    void resetFailedTestCasesFiltered() throws MalformedURLException {
+        testSuiteDescription.load(List.of(URI.create(NS + "test-manifest-sample-1.ttl").toURL()));
+        addAssertion("a1", iri(TCNS, "group1-feature1"), EARL.failed);
+        addAssertion("a2", iri(TCNS, "group1-feature2"), EARL.failed);
+        final List<IRI> testCases = testSuiteDescription.resetFailedTestCases(List.of("feature1"), null);
+        assertEquals(List.of(iri(TCNS, "group1-feature1")), testCases);
+        assertFalse(ask(null, EARL.test, iri(TCNS, "group1-feature1")));
+        assertTrue(ask(null, EARL.test, iri(TCNS, "group1-feature2")));
+    }
+
     @Test
     void mapEmptyList() {
         assertDoesNotThrow(() -> testSuiteDescription.prepareTestCases(Config.RunMode.TEST));
@@ -290,6 +314,16 @@ class TestSuiteDescriptionTest {
         assertThat("Locations match", paths, containsInAnyOrder(expected));
     }
 
+    @Test
+    void prepareTestCasesRestricted() {
+        add(iri(NS, "testcase"), RDF.type, TD.TestCase);
+        add(iri(NS, "testcase"), SPEC.testScript, iri(NS, "features/test.feature"));
+        testSuiteDescription.prepareTestCases(Config.RunMode.TEST, List.of(iri(NS, "other")));
+        assertTrue(testSuiteDescription.getFeaturePaths().isEmpty());
+        testSuiteDescription.prepareTestCases(Config.RunMode.TEST, List.of(iri(NS, "testcase")));
+        assertEquals(1, testSuiteDescription.getFeaturePaths().size());
+    }
+
     @Test
     void prepareTestCasesWithAssertionInTestMode() {
         add(iri(NS, "testcase"), RDF.type, TD.TestCase);
@@ -394,6 +428,15 @@ class TestSuiteDescriptionTest {
         }
     }
 
+    private void addAssertion(final String name, final IRI testCase, final IRI outcome) {
+        final IRI assertion = iri(Namespaces.RESULTS_URI, name);
+        final IRI result = iri(Namespaces.RESULTS_URI, name + "-result");
+        add(assertion, RDF.type, EARL.Assertion);
+        add(assertion, EARL.test, testCase);
+        add(assertion, EARL.result, result);
+        add(result, EARL.outcome, outcome);
+    }
+
     private boolean ask(final Resource subject, final IRI predicate, final Value object) {
         try (RepositoryConnection conn = repository.getConnection()) {
             return conn.hasStatement(subject, predicate, object, false);
@@ -29,6 +29,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.solid.testharness.config.Config;
+import org.solid.testharness.config.SubjectConfig;
 import org.solid.testharness.config.TestCredentials;
 import org.solid.testharness.utils.TestHarnessInitializationException;
 
@@ -38,6 +39,10 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -54,6 +59,9 @@ class AuthManagerTest {
     @InjectMock
     Config config;
 
+    @Inject
+    ClientRegistry clientRegistry;
+
     @BeforeEach
     void setup() {
         System.clearProperty("jdk.internal.httpclient.disableHostnameVerification");
@@ -193,6 +201,28 @@ class AuthManagerTest {
         this.baseUri = baseUri;
     }
 
+    @Test
+    void authenticateForSubject() {
+        when(config.getWebIds()).thenReturn(ALICE_WEBID_MAP);
+        final TestCredentials credentials = new TestCredentials();
+        credentials.webId = baseUri.resolve("webID").toString();
+        credentials.refreshToken = Optional.of("REFRESH");
+        credentials.clientId = Optional.of("CLIENTID");
+        credentials.clientSecret = Optional.of("CLIENTSECRET");
+        final SubjectConfig subjectConfig = mock(SubjectConfig.class);
+        when(subjectConfig.getSolidIdentityProvider()).thenReturn(baseUri);
+        when(subjectConfig.getCredentials("subject_user")).thenReturn(credentials);
+        final ClientRegistry registry = new ClientRegistry(URI.create(credentials.webId), false);
+
+        final SolidClientProvider solidClientProvider = authManager.authenticate("subject_user", subjectConfig,
+                registry);
+
+        assertNotNull(solidClientProvider.getClient().getAccessToken());
+        assertSame(solidClientProvider.getClient(), registry.getClient("subject_user"));
+        assertFalse(clientRegistry.hasClient("subject_user"));
+        verify(config, never()).getCredentials(any());
+    }
+
     private void setupLogin(final URI idpBaseUri, final String testId,
                             final String loginEndpoint, final String userRegistrationEndpoint) {
         when(config.getSolidIdentityProvider()).thenReturn(idpBaseUri);
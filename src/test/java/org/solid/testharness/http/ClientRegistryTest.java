@@ -30,9 +30,11 @@ import org.junit.jupiter.api.Test;
 import org.solid.testharness.config.Config;
 
 import jakarta.inject.Inject;
+import java.net.URI;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -81,6 +83,15 @@ class ClientRegistryTest {
         assertEquals("newClient", clientRegistry.getClient("newClient").getUser());
     }
 
+    @Test
+    void separateRegistry() {
+        final ClientRegistry registry = new ClientRegistry(URI.create("https://alice.other.example.org/#me"), false);
+        registry.register("separateTest", new Client.Builder("separateTest").build());
+        assertTrue(registry.hasClient(ClientRegistry.DEFAULT));
+        assertTrue(registry.hasClient(ClientRegistry.ALICE_WEBID));
+        assertFalse(clientRegistry.hasClient("separateTest"));
+    }
+
     @Test
     void getClientDefault() {
         assertFalse(clientRegistry.getClient(ClientRegistry.DEFAULT).getHttpClient().cookieHandler().isPresent());
@@ -95,4 +106,20 @@ class ClientRegistryTest {
     void getClientNoLabel() {
         assertEquals(clientRegistry.getClient(ClientRegistry.DEFAULT), clientRegistry.getClient(null));
     }
+
+    @Test
+    void setRequestListener() {
+        final RequestListener listener = mock(RequestListener.class);
+        clientRegistry.register("listenerBefore", new Client.Builder("listenerBefore").build());
+        clientRegistry.setRequestListener(listener);
+        try {
+            clientRegistry.register("listenerAfter", new Client.Builder("listenerAfter").build());
+            assertEquals(listener, clientRegistry.getClient("listenerBefore").getRequestListener());
+            assertEquals(listener, clientRegistry.getClient("listenerAfter").getRequestListener());
+        } finally {
+            clientRegistry.setRequestListener(null);
+        }
+        assertNull(clientRegistry.getClient("listenerBefore").getRequestListener());
+        assertNull(clientRegistry.getClient("listenerAfter").getRequestListener());
+    }
 }
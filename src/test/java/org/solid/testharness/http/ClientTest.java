@@ -48,7 +48,14 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -296,6 +303,31 @@ class ClientTest {
         assertEquals(404, response.statusCode());
     }
 
+    @Test
+    void sendNotifiesRequestListeners() {
+        final Client client = new Client.Builder().build();
+        final RequestListener listener = mock(RequestListener.class);
+        final HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/get/404")).build();
+        client.setRequestListener(listener);
+        assertEquals(listener, client.getRequestListener());
+        assertEquals(404, client.send(request, STRING_BODY_HANDLER).statusCode());
+        verify(listener).beforeRequest(request);
+        verify(listener, timeout(1000)).responseReceived(eq(request), argThat(r -> r.statusCode() == 404), isNull(),
+                anyLong());
+        verify(listener, timeout(1000)).requestCompleted(request);
+    }
+
+    @Test
+    void sendWithoutRequestListener() {
+        final Client client = new Client.Builder().build();
+        final RequestListener listener = mock(RequestListener.class);
+        final HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/get/404")).build();
+        client.setRequestListener(listener);
+        client.setRequestListener(null);
+        assertEquals(404, client.send(request, STRING_BODY_HANDLER).statusCode());
+        verifyNoInteractions(listener);
+    }
+
     @Test
     void sendNullRequest() {
         final Client client = new Client.Builder().build();
@@ -368,6 +400,20 @@ class ClientTest {
         assertEquals("TURTLE-BEARER", response.body());
     }
 
+    @Test
+    void getAsTurtleWithHandler() {
+        final Client client = new Client.Builder().build();
+        final HttpResponse<String> response = client.getAsTurtle(baseUri.resolve("/get/turtle"),
+                STRING_BODY_HANDLER);
+        assertEquals("TURTLE-NOAUTH", response.body());
+    }
+
+    @Test
+    void getAsTurtleNullHandler() {
+        final Client client = new Client.Builder().build();
+        assertThrows(NullPointerException.class, () -> client.getAsTurtle(baseUri.resolve("/get/turtle"), null));
+    }
+
     @Test
     void getAsTurtleNull() {
         final Client client = new Client.Builder().build();
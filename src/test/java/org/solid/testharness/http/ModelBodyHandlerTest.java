@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.http;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.vocabulary.LDP;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.junit.jupiter.api.Test;
+import org.solid.testharness.utils.TestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelBodyHandlerTest {
+    private static final URI BASE = URI.create("https://example.org/container/");
+    private static final String LISTING = "@prefix ldp: <http://www.w3.org/ns/ldp#>.\n" +
+            "<> a ldp:BasicContainer; ldp:contains <a>, <b/>.\n" +
+            "<a> a ldp:Resource.";
+
+    @Test
+    void ofModel() {
+        final HttpResponse<Supplier<Model>> response = TestUtils.mockHandledResponse(200, LISTING,
+                ModelBodyHandler.ofModel(BASE));
+        final Model model = response.body().get();
+        assertEquals(4, model.size());
+        assertEquals(LDP.NAMESPACE, model.getNamespace("ldp").orElseThrow().getName());
+        assertTrue(model.contains(iri(BASE.resolve("a").toString()), RDF.TYPE, LDP.RESOURCE));
+    }
+
+    @Test
+    void ofPredicates() {
+        final HttpResponse<Supplier<Model>> response = TestUtils.mockHandledResponse(200, LISTING,
+                ModelBodyHandler.ofPredicates(BASE, LDP.CONTAINS));
+        final Model model = response.body().get();
+        assertEquals(2, model.size());
+        assertTrue(model.contains(iri(BASE.toString()), LDP.CONTAINS, iri(BASE.resolve("a").toString())));
+        assertTrue(model.contains(iri(BASE.toString()), LDP.CONTAINS, iri(BASE.resolve("b/").toString())));
+    }
+
+    @Test
+    void unsuccessfulResponse() {
+        final HttpResponse<Supplier<Model>> response = TestUtils.mockHandledResponse(404, "NOT FOUND",
+                ModelBodyHandler.ofModel(BASE));
+        assertNull(response.body());
+    }
+
+    @Test
+    void emptyBody() {
+        final HttpResponse<Supplier<Model>> response = TestUtils.mockHandledResponse(200, null,
+                ModelBodyHandler.ofModel(BASE));
+        assertTrue(response.body().get().isEmpty());
+    }
+
+    @Test
+    void badRdf() {
+        final HttpResponse<Supplier<Model>> response = TestUtils.mockHandledResponse(200, "NOT RDF",
+                ModelBodyHandler.ofModel(BASE));
+        final Supplier<Model> body = response.body();
+        assertThrows(RDFParseException.class, body::get);
+    }
+
+    @Test
+    void readFailure() {
+        final InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("FAIL");
+            }
+        };
+        final ModelBodyHandler handler = ModelBodyHandler.ofModel(BASE);
+        final Exception exception = assertThrows(UncheckedIOException.class, () -> handler.parse(failing));
+        assertEquals("FAIL", exception.getCause().getMessage());
+    }
+
+    @Test
+    void parseStream() {
+        final ModelBodyHandler handler = ModelBodyHandler.ofPredicates(BASE, RDF.TYPE);
+        final Model model = handler.parse(new ByteArrayInputStream(LISTING.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, model.size());
+    }
+
+    @Test
+    void nullArguments() {
+        assertThrows(NullPointerException.class, () -> ModelBodyHandler.ofModel(null));
+        assertThrows(NullPointerException.class, () -> ModelBodyHandler.ofPredicates(BASE, (IRI[]) null));
+    }
+}
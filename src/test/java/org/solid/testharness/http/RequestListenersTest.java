@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class RequestListenersTest {
+    private final HttpRequest request = HttpRequest.newBuilder(URI.create("https://example.org/")).build();
+
+    @Test
+    void notifiesAllListeners() {
+        final RequestListener first = mock(RequestListener.class);
+        final RequestListener second = mock(RequestListener.class);
+        final HttpResponse<?> response = mock(HttpResponse.class);
+        final RequestListeners listeners = new RequestListeners();
+        listeners.add(first);
+        listeners.add(second);
+        listeners.beforeRequest(request);
+        listeners.responseReceived(request, response, null, 10);
+        listeners.requestCompleted(request);
+        for (final RequestListener listener : new RequestListener[] {first, second}) {
+            verify(listener).beforeRequest(request);
+            verify(listener).responseReceived(request, response, null, 10);
+            verify(listener).requestCompleted(request);
+        }
+    }
+
+    @Test
+    void removedListenerNotNotified() {
+        final RequestListener listener = mock(RequestListener.class);
+        final RequestListeners listeners = new RequestListeners();
+        listeners.add(listener);
+        assertFalse(listeners.isEmpty());
+        listeners.remove(listener);
+        assertTrue(listeners.isEmpty());
+        listeners.requestCompleted(request);
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    void addNull() {
+        assertThrows(NullPointerException.class, () -> new RequestListeners().add(null));
+    }
+}
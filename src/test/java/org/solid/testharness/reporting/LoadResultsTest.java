@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.reporting;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadResultsTest {
+    private static final long MILLIS_10 = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void emptyResults() {
+        final LoadResults results = new LoadResults(0, 4);
+        assertEquals(0, results.getIterations());
+        assertEquals(0, results.getErrors());
+        assertEquals(0, results.getThroughput());
+        assertEquals("concurrency", results.getSummary().get("mode"));
+    }
+
+    @Test
+    void recordUnknownFeature() {
+        final LoadResults results = new LoadResults(0, 4);
+        assertThrows(IllegalArgumentException.class, () -> results.record("missing", MILLIS_10, false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void summary() {
+        final LoadResults results = new LoadResults(5, 2);
+        results.addFeature("feature1", "MUST");
+        results.addFeature("feature2", "MUST");
+        results.addFeature("feature3", null);
+        results.record("feature1", MILLIS_10, false);
+        results.record("feature2", MILLIS_10 * 2, true);
+        results.record("feature3", MILLIS_10 * 3, false);
+        results.setElapsedNanos(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(3, results.getIterations());
+        assertEquals(1, results.getErrors());
+        assertEquals(1.5, results.getThroughput(), 0.001);
+
+        final Map<String, Object> summary = results.getSummary();
+        assertEquals("rate", summary.get("mode"));
+        assertEquals(5.0, summary.get("rate"));
+        assertEquals(2, summary.get("concurrency"));
+        assertEquals(2000L, summary.get("durationMillis"));
+        final Map<String, Object> overall = (Map<String, Object>) summary.get("overall");
+        assertEquals(3L, overall.get("iterations"));
+        assertEquals(1L, overall.get("errors"));
+        assertEquals(30.0, (double) overall.get("max"), 0.1);
+        final Map<String, Map<String, Object>> levels = (Map<String, Map<String, Object>>) summary.get("requirements");
+        assertEquals(2L, levels.get("MUST").get("iterations"));
+        assertEquals(0.5, levels.get("MUST").get("errorRate"));
+        assertEquals(1L, levels.get("UNKNOWN").get("iterations"));
+        final Map<String, Map<String, Object>> features = (Map<String, Map<String, Object>>) summary.get("features");
+        assertEquals(3, features.size());
+        assertEquals(20.0, (double) features.get("feature2").get("p50"), 0.1);
+        assertDoesNotThrow(results::log);
+    }
+
+    @Test
+    void writeHistogram() {
+        final LoadResults results = new LoadResults(0, 1);
+        results.addFeature("feature1", "MUST");
+        results.record("feature1", MILLIS_10, false);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        results.writeHistogram(out);
+        final String histogram = out.toString(StandardCharsets.UTF_8);
+        assertTrue(histogram.contains("#[Max     =       10.00"));
+        assertTrue(histogram.contains("Total count    =            1]"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordMissed() {
+        final LoadResults results = new LoadResults(5, 1);
+        results.addFeature("feature1", "MUST");
+        results.addFeature("feature2", null);
+        results.record("feature1", MILLIS_10, false);
+        results.recordMissed("feature1");
+        results.recordMissed("feature2");
+        assertEquals(1, results.getIterations());
+        assertEquals(2, results.getMissed());
+        final Map<String, Object> summary = results.getSummary();
+        assertEquals(2L, ((Map<String, Object>) summary.get("overall")).get("missed"));
+        final Map<String, Map<String, Object>> levels = (Map<String, Map<String, Object>>) summary.get("requirements");
+        assertEquals(1L, levels.get("MUST").get("missed"));
+        assertEquals(1L, levels.get("MUST").get("iterations"));
+        assertThrows(IllegalArgumentException.class, () -> results.recordMissed("missing"));
+    }
+
+    @Test
+    void recordBeyondHighestTrackable() {
+        final LoadResults results = new LoadResults(0, 1);
+        results.addFeature("feature1", null);
+        assertDoesNotThrow(() -> results.record("feature1", TimeUnit.HOURS.toNanos(2), false));
+        assertEquals(1, results.getIterations());
+    }
+}
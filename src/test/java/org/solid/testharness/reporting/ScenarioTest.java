@@ -62,6 +62,22 @@ class ScenarioTest extends AbstractDataModelTests {
         assertEquals(0, scenario.getEndTime().compareTo(new XMLDateTime(("2021-04-15T13:01:00-04:00"))));
     }
 
+    @Test
+    void getRequestTimings() {
+        final Scenario scenario = new Scenario(iri(NS, "scenario1"));
+        assertEquals(2, scenario.getRequestCount());
+        assertEquals("12.000", scenario.getRequestTime());
+        assertEquals("8.125", scenario.getMaxRequestTime());
+        assertEquals("8.125", scenario.getP95RequestTime());
+    }
+
+    @Test
+    void getNoRequestTimings() {
+        final Scenario scenario = new Scenario(iri(NS, "scenario2"));
+        assertEquals(0, scenario.getRequestCount());
+        assertNull(scenario.getP95RequestTime());
+    }
+
     @Test
     void getGeneratedOutput() {
         final Scenario scenario = new Scenario(iri(NS, "scenario1"));
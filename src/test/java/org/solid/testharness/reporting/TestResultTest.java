@@ -31,6 +31,7 @@ import org.solid.testharness.utils.AbstractDataModelTests;
 
 import static org.eclipse.rdf4j.model.util.Values.iri;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
@@ -69,4 +70,20 @@ class TestResultTest extends AbstractDataModelTests {
         final TestResult testResult = new TestResult(iri(NS, "result1"));
         assertEquals(0, testResult.getDate().compareTo(new XMLDateTime("2021-04-06T17:41:20.889Z")));
     }
+
+    @Test
+    void getRequestTimings() {
+        final TestResult testResult = new TestResult(iri(NS, "result1"));
+        assertEquals(3, testResult.getRequestCount());
+        assertEquals("45.500", testResult.getRequestTime());
+        assertEquals("30.250", testResult.getMaxRequestTime());
+        assertEquals("30.250", testResult.getP95RequestTime());
+    }
+
+    @Test
+    void getNoRequestTimings() {
+        final TestResult testResult = new TestResult(iri(NS, "result2"));
+        assertEquals(0, testResult.getRequestCount());
+        assertNull(testResult.getRequestTime());
+    }
 }
@@ -27,11 +27,13 @@ import com.intuit.karate.Results;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.Test;
+import org.solid.testharness.utils.AdaptiveConcurrency;
 import org.solid.testharness.utils.DataRepository;
 import org.solid.testharness.utils.TestUtils;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -52,6 +54,7 @@ class TestSuiteResultsTest {
         assertEquals(0, testSuiteResults.getFeatureTotal());
         assertEquals(0, testSuiteResults.getTimeTakenMillis());
         assertNotNull(testSuiteResults.getResultDate());
+        assertTrue(testSuiteResults.getFeatures().isEmpty());
     }
 
     @Test
@@ -161,6 +164,28 @@ class TestSuiteResultsTest {
                 "  MustScenarios passed: 23, failed: 24\n  Total scenarios: 138", testSuiteResults.toString());
     }
 
+    @Test
+    void testToStringWithConcurrency() {
+        final TestSuiteResults testSuiteResults = TestSuiteResults.emptyResults();
+        addOutcomes(testSuiteResults);
+        testSuiteResults.setConcurrencyHistory(List.of(new AdaptiveConcurrency.Sample(0, 1),
+                new AdaptiveConcurrency.Sample(2500, 2)));
+        assertTrue(testSuiteResults.toString().endsWith("\n  Concurrency:     0.0s:1 -> 2.5s:2"));
+        assertDoesNotThrow(testSuiteResults::log);
+        testSuiteResults.setConcurrencyHistory(null);
+        assertTrue(testSuiteResults.getConcurrencyHistory().isEmpty());
+    }
+
+    @Test
+    void testToStringWithFlakyScenarios() {
+        final TestSuiteResults testSuiteResults = TestSuiteResults.emptyResults();
+        when(dataRepository.countFlakyScenarios()).thenReturn(2);
+        addOutcomes(testSuiteResults);
+        assertEquals(2, testSuiteResults.getFlakyScenarios());
+        assertTrue(testSuiteResults.toString().endsWith("\n  Flaky scenarios: 2 (passed on retry)"));
+        assertDoesNotThrow(testSuiteResults::log);
+    }
+
     @Test
     void testToStringEmpty() {
         final TestSuiteResults testSuiteResults = TestSuiteResults.emptyResults();
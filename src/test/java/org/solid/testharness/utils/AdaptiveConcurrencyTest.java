@@ -0,0 +1,275 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.KarateException;
+import com.intuit.karate.http.Response;
+import com.sun.net.httpserver.HttpServer;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.http.Client;
+
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// the harness client reads its settings from the application config
+@QuarkusTest
+class AdaptiveConcurrencyTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private AdaptiveConcurrency adaptiveConcurrency;
+
+    @BeforeEach
+    void setup() {
+        adaptiveConcurrency = new AdaptiveConcurrency();
+        adaptiveConcurrency.config = mock(Config.class);
+        when(adaptiveConcurrency.config.getMinThreads()).thenReturn(1);
+    }
+
+    @Test
+    void startsAtMinimum() {
+        when(adaptiveConcurrency.config.getMinThreads()).thenReturn(2);
+        adaptiveConcurrency.start(4);
+        assertEquals(2, adaptiveConcurrency.getLimit());
+        assertEquals(1, adaptiveConcurrency.getHistory().size());
+        assertEquals(2, adaptiveConcurrency.getHistory().get(0).getLimit());
+    }
+
+    @Test
+    void minimumCappedByMaximum() {
+        when(adaptiveConcurrency.config.getMinThreads()).thenReturn(8);
+        adaptiveConcurrency.start(4);
+        assertEquals(4, adaptiveConcurrency.getLimit());
+    }
+
+    @Test
+    void growsWhenSaturated() {
+        adaptiveConcurrency.start(3);
+        saturatedWindow();
+        assertEquals(2, adaptiveConcurrency.getLimit());
+        saturatedWindow();
+        assertEquals(3, adaptiveConcurrency.getLimit());
+        saturatedWindow();
+        assertEquals(3, adaptiveConcurrency.getLimit());
+        final List<AdaptiveConcurrency.Sample> history = adaptiveConcurrency.getHistory();
+        assertEquals(3, history.size());
+        assertEquals(3, history.get(2).getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhenIdle() {
+        when(adaptiveConcurrency.config.getMinThreads()).thenReturn(2);
+        adaptiveConcurrency.start(4);
+        // one feature at a time never reaches the limit of two
+        for (int i = 0; i < 4; i++) {
+            final Object feature = new Object();
+            adaptiveConcurrency.featureStarted(feature);
+            adaptiveConcurrency.responseReceived(200, FAST);
+            adaptiveConcurrency.featureFinished(feature);
+        }
+        assertEquals(2, adaptiveConcurrency.getLimit());
+    }
+
+    @Test
+    void halvesWhenThrottled() {
+        adaptiveConcurrency.start(8);
+        for (int i = 0; i < 4; i++) {
+            saturatedWindow();
+        }
+        assertEquals(5, adaptiveConcurrency.getLimit());
+        adaptiveConcurrency.responseReceived(503, FAST);
+        assertEquals(2, adaptiveConcurrency.getLimit());
+        // a second signal within the decrease interval is ignored
+        adaptiveConcurrency.responseReceived(504, FAST);
+        assertEquals(2, adaptiveConcurrency.getLimit());
+    }
+
+    @Test
+    void throttleRespectsMinimum() {
+        when(adaptiveConcurrency.config.getMinThreads()).thenReturn(4);
+        adaptiveConcurrency.start(8);
+        adaptiveConcurrency.responseReceived(429, FAST);
+        assertEquals(4, adaptiveConcurrency.getLimit());
+        assertEquals(1, adaptiveConcurrency.getHistory().size());
+    }
+
+    @Test
+    void karateResponseIsSignal() {
+        adaptiveConcurrency.start(4);
+        saturatedWindow();
+        assertEquals(2, adaptiveConcurrency.getLimit());
+        final Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(429);
+        when(response.getResponseTime()).thenReturn(10L);
+        adaptiveConcurrency.afterHttpCall(null, response, null);
+        assertEquals(1, adaptiveConcurrency.getLimit());
+    }
+
+    @Test
+    void clientResponseIsSignal() throws Exception {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            adaptiveConcurrency.start(4);
+            saturatedWindow();
+            assertEquals(2, adaptiveConcurrency.getLimit());
+            final Client client = new Client.Builder().build();
+            client.setMaxRetries(1);
+            client.setRequestListener(adaptiveConcurrency);
+            final HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + server.getAddress().getPort() + "/busy")).build();
+            assertEquals(429, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            // the listener is told about the attempt on the thread completing the response
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (adaptiveConcurrency.getLimit() != 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, adaptiveConcurrency.getLimit());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void clientTimeoutIsThrottling() {
+        adaptiveConcurrency.start(4);
+        saturatedWindow();
+        assertEquals(2, adaptiveConcurrency.getLimit());
+        adaptiveConcurrency.responseReceived(null, null,
+                new CompletionException(new HttpConnectTimeoutException("timed out")), FAST);
+        assertEquals(1, adaptiveConcurrency.getLimit());
+    }
+
+    @Test
+    void timeoutIsThrottling() {
+        adaptiveConcurrency.start(4);
+        saturatedWindow();
+        saturatedWindow();
+        assertEquals(3, adaptiveConcurrency.getLimit());
+        adaptiveConcurrency.timedOut();
+        assertEquals(1, adaptiveConcurrency.getLimit());
+    }
+
+    @Test
+    void isTimeout() {
+        assertTrue(AdaptiveConcurrency.isTimeout(new KarateException("failed",
+                new RuntimeException(new SocketTimeoutException("Read timed out")))));
+        assertFalse(AdaptiveConcurrency.isTimeout(new KarateException("failed", new RuntimeException())));
+        assertFalse(AdaptiveConcurrency.isTimeout(null));
+    }
+
+    @Test
+    void backsOffWhenLatencyRises() {
+        adaptiveConcurrency.start(8);
+        for (int i = 0; i < 4; i++) {
+            saturatedWindow();
+        }
+        assertEquals(5, adaptiveConcurrency.getLimit());
+        for (int i = 0; i < 10; i++) {
+            adaptiveConcurrency.responseReceived(200, TimeUnit.SECONDS.toNanos(1));
+        }
+        assertEquals(3, adaptiveConcurrency.getLimit());
+    }
+
+    @Test
+    void holdsBackFeaturesOverLimit() throws Exception {
+        adaptiveConcurrency.start(4);
+        final Object first = new Object();
+        final Object second = new Object();
+        adaptiveConcurrency.featureStarted(first);
+        final CompletableFuture<Void> waiting = CompletableFuture.runAsync(
+                () -> adaptiveConcurrency.featureStarted(second));
+        Thread.sleep(200);
+        assertFalse(waiting.isDone());
+        adaptiveConcurrency.featureFinished(first);
+        waiting.get(5, TimeUnit.SECONDS);
+        adaptiveConcurrency.featureFinished(second);
+    }
+
+    @Test
+    void unknownFeatureFinishedIgnored() throws Exception {
+        adaptiveConcurrency.start(4);
+        final Object first = new Object();
+        adaptiveConcurrency.featureStarted(first);
+        // a called feature finishing must not release the slot of the feature calling it
+        adaptiveConcurrency.featureFinished(new Object());
+        final CompletableFuture<Void> waiting = CompletableFuture.runAsync(
+                () -> adaptiveConcurrency.featureStarted(new Object()));
+        Thread.sleep(200);
+        assertFalse(waiting.isDone());
+        adaptiveConcurrency.stop();
+        waiting.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void stopReleasesWaitingFeatures() throws Exception {
+        adaptiveConcurrency.start(4);
+        adaptiveConcurrency.featureStarted(new Object());
+        final CompletableFuture<Void> waiting = CompletableFuture.runAsync(
+                () -> adaptiveConcurrency.featureStarted(new Object()));
+        Thread.sleep(200);
+        adaptiveConcurrency.stop();
+        waiting.get(5, TimeUnit.SECONDS);
+        adaptiveConcurrency.responseReceived(429, FAST);
+        adaptiveConcurrency.timedOut();
+        assertEquals(1, adaptiveConcurrency.getHistory().size());
+    }
+
+    @Test
+    void sampleToString() {
+        assertEquals("1.5s:3", new AdaptiveConcurrency.Sample(1500, 3).toString());
+    }
+
+    // fill the current limit with features so that completing them can grow it
+    private void saturatedWindow() {
+        final int limit = adaptiveConcurrency.getLimit();
+        final Object[] features = new Object[limit];
+        for (int i = 0; i < limit; i++) {
+            features[i] = new Object();
+            adaptiveConcurrency.featureStarted(features[i]);
+        }
+        for (int i = 0; i < limit; i++) {
+            adaptiveConcurrency.responseReceived(200, FAST);
+            adaptiveConcurrency.featureFinished(features[i]);
+        }
+    }
+}
@@ -26,11 +26,13 @@ package org.solid.testharness.utils;
 import com.intuit.karate.core.*;
 import com.intuit.karate.resource.Resource;
 import io.quarkus.test.junit.QuarkusTest;
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.util.Values;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.rio.RDFHandler;
 import org.junit.jupiter.api.Test;
 import org.solid.common.vocab.*;
 import org.solid.testharness.reporting.Scores;
@@ -39,8 +41,11 @@ import org.solid.testharness.reporting.TestSuiteResults;
 import jakarta.inject.Inject;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
@@ -50,12 +55,16 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.eclipse.rdf4j.model.util.Values.bnode;
 import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -172,6 +181,181 @@ class DataRepositoryTest {
         assertTrue(result.contains("dcterms:description \"\"\"Time lock acquired, begin\nSetup routine"));
     }
 
+    @Test
+    void addFeatureResultWithRequestTimings() {
+        final DataRepository dataRepository = createRepository();
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            conn.add(testCaseIri, SPEC.testScript, featureIri);
+        }
+
+        final Feature feature = mock(Feature.class);
+        when(feature.getName()).thenReturn("FEATURE NAME");
+        final Scenario scenario1 = mockScenario("SCENARIO 1", 1, 0, null);
+        final Scenario scenario2 = mockScenario("SCENARIO 2", 10, 1, null);
+        final ScenarioResult sr1 = mockScenarioResult(scenario1, false, 2000.0, null, null);
+        final ScenarioResult sr2 = mockScenarioResult(scenario2, false, 3000.0, null, null);
+        final FeatureResult fr = mockFeatureResult(feature, "DISPLAY_NAME", true, 1000.0, List.of(sr1, sr2));
+        final FeatureFileParser featureFileParser = mock(FeatureFileParser.class);
+
+        final RequestTimings.Timings timings1 = new RequestTimings.Timings();
+        timings1.record(TimeUnit.MILLISECONDS.toNanos(10));
+        timings1.record(TimeUnit.MILLISECONDS.toNanos(30));
+        final RequestTimings.Timings timings2 = new RequestTimings.Timings();
+        timings2.record(TimeUnit.MILLISECONDS.toNanos(20));
+        final RequestTimings requestTimings = mock(RequestTimings.class);
+        when(requestTimings.remove(scenario1)).thenReturn(timings1);
+        when(requestTimings.remove(scenario2)).thenReturn(timings2);
+
+        dataRepository.addFeatureResult(TestUtils.createEmptySuite(), fr, featureIri, featureFileParser,
+                requestTimings);
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            final var scenarioIri = conn.getStatements(null, DCTERMS.title, literal("SCENARIO 1"))
+                    .stream().findFirst().orElseThrow().getSubject();
+            assertTrue(conn.hasStatement(scenarioIri, SOLID_TEST.requestCount, literal(2), false));
+            assertTrue(conn.hasStatement(scenarioIri, SOLID_TEST.requestTime, literal(new BigDecimal("40.000")),
+                    false));
+            final var assertion = conn.getStatements(null, EARL.test, testCaseIri)
+                    .stream().findFirst().orElseThrow().getSubject();
+            final IRI result = (IRI) conn.getStatements(assertion, EARL.result, null)
+                    .stream().findFirst().orElseThrow().getObject();
+            assertTrue(conn.hasStatement(result, SOLID_TEST.requestCount, literal(3), false));
+            assertTrue(conn.hasStatement(result, SOLID_TEST.requestTime, literal(new BigDecimal("60.000")), false));
+            assertTrue(conn.hasStatement(result, SOLID_TEST.maxRequestTime, literal(new BigDecimal("30.000")),
+                    false));
+            assertTrue(conn.hasStatement(result, SOLID_TEST.p95RequestTime, literal(new BigDecimal("30.000")),
+                    false));
+        }
+    }
+
+    @Test
+    void retryFailedScenarios() {
+        final DataRepository dataRepository = createRepository();
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            conn.add(testCaseIri, SPEC.testScript, featureIri);
+        }
+        final Feature feature = mock(Feature.class);
+        when(feature.getName()).thenReturn("FEATURE NAME");
+        final Scenario scenario1 = mockScenario("SCENARIO 1", 1, 0, null);
+        final Scenario scenario2 = mockScenario("SCENARIO 2", 10, 1, null);
+        when(feature.getSections()).thenReturn(List.of(scenario1.getSection(), scenario2.getSection()));
+        final FeatureFileParser featureFileParser = mock(FeatureFileParser.class);
+        final FeatureResult fr = mockFeatureResult(feature, "DISPLAY_NAME", true, 1000.0, List.of(
+                mockScenarioResult(scenario1, true, 2000.0, null, "FAIL"),
+                mockScenarioResult(scenario2, true, 2000.0, null, "FAIL")
+        ));
+        assertEquals(EARL.failed,
+                dataRepository.addFeatureResult(TestUtils.createEmptySuite(), fr, featureIri, featureFileParser));
+        assertEquals(Map.of(featureIri, List.of(1, 10)), dataRepository.getFailedScenarios());
+        assertEquals(0, dataRepository.countFlakyScenarios());
+
+        final ScenarioResult retry1 = mockScenarioResult(scenario1, false, 500.0, null, null);
+        final ScenarioResult retry2 = mockScenarioResult(scenario2, true, 500.0, null, "FAIL");
+        when(retry2.getError()).thenReturn(new RuntimeException("RETRY FAILED"));
+        assertEquals(EARL.failed, dataRepository.addRetryResult(
+                mockFeatureResult(feature, "DISPLAY_NAME", true, 500.0, List.of(retry1, retry2)), featureIri));
+        assertEquals(Map.of(featureIri, List.of(10)), dataRepository.getFailedScenarios());
+        assertEquals(1, dataRepository.countFlakyScenarios());
+        String result = TestUtils.repositoryToString(dataRepository);
+        assertTrue(result.contains("dcterms:title \"Attempt 2\""));
+        assertTrue(result.contains("dcterms:description \"RETRY FAILED\""));
+        assertFalse(result.contains("dcterms:title \"Attempt 3\""));
+
+        final ScenarioResult retry3 = mockScenarioResult(scenario2, false, 500.0, null, null);
+        assertEquals(EARL.passed, dataRepository.addRetryResult(
+                mockFeatureResult(feature, "DISPLAY_NAME", false, 500.0, List.of(retry3)), featureIri));
+        assertTrue(dataRepository.getFailedScenarios().isEmpty());
+        assertEquals(2, dataRepository.countFlakyScenarios());
+        result = TestUtils.repositoryToString(dataRepository);
+        assertTrue(result.contains("dcterms:title \"Attempt 3\""));
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            final var assertion = conn.getStatements(null, EARL.test, testCaseIri)
+                    .stream().findFirst().orElseThrow().getSubject();
+            final IRI testResult = (IRI) conn.getStatements(assertion, EARL.result, null)
+                    .stream().findFirst().orElseThrow().getObject();
+            assertTrue(conn.hasStatement(testResult, EARL.outcome, EARL.passed, false));
+            assertTrue(conn.hasStatement(testResult, SOLID_TEST.flaky, literal(true), false));
+        }
+    }
+
+    @Test
+    void retryKeepsFirstAttempt() {
+        final DataRepository dataRepository = createRepository();
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            conn.add(testCaseIri, SPEC.testScript, featureIri);
+        }
+        final Feature feature = mock(Feature.class);
+        when(feature.getName()).thenReturn("FEATURE NAME");
+        final Scenario scenario = mockScenario("SCENARIO 1", 1, 0, null);
+        when(feature.getSections()).thenReturn(List.of(scenario.getSection()));
+        final FeatureFileParser featureFileParser = mock(FeatureFileParser.class);
+        final FeatureResult fr = mockFeatureResult(feature, "DISPLAY_NAME", true, 1000.0, List.of(
+                mockScenarioResult(scenario, true, 2000.0, null, "FAIL")
+        ));
+        assertEquals(EARL.failed,
+                dataRepository.addFeatureResult(TestUtils.createEmptySuite(), fr, featureIri, featureFileParser));
+        assertEquals(EARL.passed, dataRepository.addRetryResult(mockFeatureResult(feature, "DISPLAY_NAME", false,
+                500.0, List.of(mockScenarioResult(scenario, false, 500.0, null, null))), featureIri));
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            final var scenarioIri = conn.getStatements(null, DCTERMS.title, literal("SCENARIO 1"))
+                    .stream().findFirst().orElseThrow().getSubject();
+            final var firstResult = (IRI) conn.getStatements(scenarioIri, PROV.generated, null)
+                    .stream().findFirst().orElseThrow().getObject();
+            assertTrue(conn.hasStatement(firstResult, PROV.value, EARL.failed, false));
+            assertFalse(conn.hasStatement(firstResult, PROV.value, EARL.passed, false));
+            final var attempt = (IRI) conn.getStatements(scenarioIri, SOLID_TEST.attempt, null)
+                    .stream().findFirst().orElseThrow().getObject();
+            final var attemptResult = (IRI) conn.getStatements(attempt, PROV.generated, null)
+                    .stream().findFirst().orElseThrow().getObject();
+            assertTrue(conn.hasStatement(attemptResult, PROV.value, EARL.passed, false));
+            assertTrue(conn.hasStatement(scenarioIri, SOLID_TEST.flaky, literal(true), false));
+        }
+        assertTrue(dataRepository.getFailedScenarios().isEmpty());
+    }
+
+    @Test
+    void retryOutlineExamplesSharingLine() {
+        final DataRepository dataRepository = createRepository();
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            conn.add(testCaseIri, SPEC.testScript, featureIri);
+        }
+        final Feature feature = mock(Feature.class);
+        when(feature.getName()).thenReturn("FEATURE NAME");
+        // the examples of an outline with dynamic examples are all on the line of the outline
+        final Scenario example1 = mockScenario("EXAMPLE A", 20, 0, null);
+        final Scenario example2 = mockScenario("EXAMPLE B", 20, 1, null);
+        final Scenario example3 = mockScenario("EXAMPLE B", 20, 2, null);
+        when(feature.getSections()).thenReturn(List.of(example1.getSection(), example2.getSection(),
+                example3.getSection()));
+        final FeatureFileParser featureFileParser = mock(FeatureFileParser.class);
+        final FeatureResult fr = mockFeatureResult(feature, "DISPLAY_NAME", true, 1000.0, List.of(
+                mockScenarioResult(example1, true, 2000.0, null, "FAIL"),
+                mockScenarioResult(example2, false, 2000.0, null, null),
+                mockScenarioResult(example3, true, 2000.0, null, "FAIL")
+        ));
+        assertEquals(EARL.failed,
+                dataRepository.addFeatureResult(TestUtils.createEmptySuite(), fr, featureIri, featureFileParser));
+        assertEquals(Map.of(featureIri, List.of(20)), dataRepository.getFailedScenarios());
+
+        assertEquals(EARL.failed, dataRepository.addRetryResult(
+                mockFeatureResult(feature, "DISPLAY_NAME", false, 500.0, List.of(
+                        mockScenarioResult(example1, false, 500.0, null, null),
+                        mockScenarioResult(example2, false, 500.0, null, null),
+                        mockScenarioResult(example3, false, 500.0, null, null)
+                )), featureIri));
+        // only the example with a unique title can be matched to its retry
+        assertEquals(1, dataRepository.countFlakyScenarios());
+        assertEquals(Map.of(featureIri, List.of(20)), dataRepository.getFailedScenarios());
+        final String result = TestUtils.repositoryToString(dataRepository);
+        assertEquals(1, StringUtils.countMatches(result, "dcterms:title \"Attempt 2\""));
+    }
+
+    @Test
+    void addRetryResultNoTestCase() {
+        final DataRepository dataRepository = createRepository();
+        final FeatureResult fr = mockFeatureResult(mock(Feature.class), "DISPLAY_NAME", false, 500.0, List.of());
+        assertNull(dataRepository.addRetryResult(fr, featureIri));
+    }
+
     @Test
     void addFeatureResultTestFailed() {
         final DataRepository dataRepository = createRepository();
@@ -380,6 +564,175 @@ class DataRepositoryTest {
         assertThrows(Exception.class, () -> dataRepository.export(wr));
     }
 
+    @Test
+    void mergeReport() {
+        final DataRepository dataRepository = createRepository();
+        final IRI testCase2 = iri(TestUtils.SAMPLE_NS, "testCase2");
+        final String prefixes = "@prefix earl: <http://www.w3.org/ns/earl#> .\n" +
+                "@prefix dcterms: <http://purl.org/dc/terms/> .\n";
+        final String shard1 = Namespaces.TESTS_REPO_URI + "00000000-0000-0000-0000-000000000001#";
+        final String shard2 = Namespaces.TESTS_REPO_URI + "00000000-0000-0000-0000-000000000002#";
+        dataRepository.mergeReport(new StringReader(prefixes +
+                "<" + shard1 + "a1> a earl:Assertion; earl:test <" + testCaseIri + ">; earl:result <" + shard1 +
+                "r1> .\n<" + shard1 + "r1> earl:outcome earl:untested .\n" +
+                "<" + shard1 + "tests> dcterms:title \"Tests\" ."), "shard1");
+        dataRepository.mergeReport(new StringReader(prefixes +
+                "<" + shard2 + "a2> a earl:Assertion; earl:test <" + testCaseIri + ">; earl:result <" + shard2 +
+                "r2> .\n<" + shard2 + "r2> earl:outcome earl:untested .\n" +
+                "<" + shard2 + "a3> earl:test <" + testCase2 + ">; earl:result <" + shard2 + "r3> .\n" +
+                "<" + shard2 + "r3> earl:outcome earl:passed ."), "shard2");
+
+        assertEquals(8, dataRepositorySize(dataRepository));
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            assertEquals(1, conn.getStatements(null, EARL.test, testCaseIri).stream().count());
+            assertTrue(conn.hasStatement(iri(Namespaces.RESULTS_URI, "a1"), EARL.test, testCaseIri, false));
+            assertTrue(conn.hasStatement(iri(Namespaces.RESULTS_URI, "a3"), EARL.test, testCase2, false));
+            assertFalse(conn.hasStatement(iri(Namespaces.RESULTS_URI, "r2"), null, null, false));
+            assertTrue(conn.hasStatement(iri(Namespaces.RESULTS_URI, "tests"), DCTERMS.title, null, false));
+        }
+    }
+
+    @Test
+    void mergeReportBad() {
+        final DataRepository dataRepository = createRepository();
+        final StringReader reader = new StringReader("NOT RDF");
+        final Exception exception = assertThrows(TestHarnessInitializationException.class,
+                () -> dataRepository.mergeReport(reader, "bad.ttl"));
+        assertEquals("Failed to read report from [bad.ttl]", exception.getMessage());
+    }
+
+    @Test
+    void getTestCasesWithOutcome() {
+        final DataRepository dataRepository = createRepository();
+        mergeResults(dataRepository);
+        assertEquals(List.of(testCaseIri), dataRepository.getTestCasesWithOutcome(EARL.failed, EARL.cantTell));
+        assertEquals(List.of(iri(TestUtils.SAMPLE_NS, "testCase2")),
+                dataRepository.getTestCasesWithOutcome(EARL.passed));
+        assertTrue(dataRepository.getTestCasesWithOutcome(EARL.untested).isEmpty());
+    }
+
+    @Test
+    void removeResults() {
+        final DataRepository dataRepository = createRepository();
+        mergeResults(dataRepository);
+        dataRepository.removeResults(List.of(testCaseIri));
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            assertFalse(conn.hasStatement(null, EARL.test, testCaseIri, false));
+            assertFalse(conn.hasStatement(testCaseIri, DCTERMS.hasPart, null, false));
+            assertFalse(conn.hasStatement(iri(Namespaces.RESULTS_URI, "step1"), null, null, false));
+            assertFalse(conn.hasStatement(null, RDF.first, null, false));
+            assertTrue(conn.hasStatement(testCaseIri, DCTERMS.title, null, false));
+            assertTrue(conn.hasStatement(null, EARL.test, iri(TestUtils.SAMPLE_NS, "testCase2"), false));
+            assertTrue(conn.hasStatement(iri(Namespaces.RESULTS_URI, "r2"), EARL.outcome, EARL.passed, false));
+        }
+        assertEquals(4, dataRepositorySize(dataRepository));
+    }
+
+    @Test
+    void exportResults() throws TestHarnessException {
+        final DataRepository dataRepository = createRepository();
+        mergeResults(dataRepository);
+        final IRI featureIri = iri(TestUtils.SAMPLE_NS, "test.feature");
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            conn.add(testCaseIri, SPEC.testScript, featureIri);
+        }
+        final StringWriter wr = new StringWriter();
+        assertTrue(dataRepository.exportResults(featureIri, wr));
+
+        final DataRepository replayed = createRepository();
+        replayed.mergeReport(new StringReader(wr.toString()), "cache");
+        assertEquals(11, dataRepositorySize(replayed));
+        try (RepositoryConnection conn = replayed.getConnection()) {
+            assertTrue(conn.hasStatement(iri(Namespaces.RESULTS_URI, "a1"), EARL.test, testCaseIri, false));
+            assertTrue(conn.hasStatement(iri(Namespaces.RESULTS_URI, "step1"), DCTERMS.title, null, false));
+            assertTrue(conn.hasStatement(testCaseIri, DCTERMS.title, null, false));
+            assertFalse(conn.hasStatement(null, EARL.test, iri(TestUtils.SAMPLE_NS, "testCase2"), false));
+        }
+    }
+
+    @Test
+    void exportResultsNoAssertion() throws TestHarnessException {
+        final DataRepository dataRepository = createRepository();
+        final IRI featureIri = iri(TestUtils.SAMPLE_NS, "test.feature");
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            conn.add(testCaseIri, SPEC.testScript, featureIri);
+        }
+        assertFalse(dataRepository.exportResults(featureIri, new StringWriter()));
+        assertFalse(dataRepository.exportResults(iri(TestUtils.SAMPLE_NS, "missing.feature"), new StringWriter()));
+    }
+
+    @Test
+    void markTimedOut() {
+        final DataRepository dataRepository = createRepository();
+        final IRI featureIri = iri(TestUtils.SAMPLE_NS, "test.feature");
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            conn.add(testCaseIri, SPEC.testScript, featureIri);
+            dataRepository.createAssertion(conn, EARL.failed, new Date(), testCaseIri);
+        }
+        dataRepository.markTimedOut(featureIri, "Timed out");
+        dataRepository.markTimedOut(iri(TestUtils.SAMPLE_NS, "missing.feature"), "Timed out");
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            assertFalse(conn.hasStatement(null, EARL.outcome, EARL.failed, false));
+            assertTrue(conn.hasStatement(null, EARL.outcome, EARL.cantTell, false));
+            assertTrue(conn.hasStatement(null, DCTERMS.description, literal("Timed out"), false));
+        }
+    }
+
+    @Test
+    void forSubject() {
+        final DataRepository dataRepository = createRepository();
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            conn.add(testCaseIri, SPEC.testScript, featureIri);
+        }
+        final IRI subject1 = iri(TestUtils.SAMPLE_NS, "subject1");
+        final IRI subject2 = iri(TestUtils.SAMPLE_NS, "subject2");
+        final DataRepository view1 = dataRepository.forSubject(subject1);
+        final DataRepository view2 = dataRepository.forSubject(subject2);
+        try (RepositoryConnection conn = view1.getConnection()) {
+            assertTrue(conn.hasStatement(testCaseIri, SPEC.testScript, featureIri, false));
+            view1.createAssertion(conn, EARL.failed, new Date(), testCaseIri);
+        }
+        try (RepositoryConnection conn = view2.getConnection()) {
+            assertTrue(conn.hasStatement(testCaseIri, SPEC.testScript, featureIri, false));
+            assertFalse(conn.hasStatement(null, EARL.outcome, null, false));
+        }
+        try (RepositoryConnection conn = view1.getConnection()) {
+            assertTrue(conn.hasStatement(null, EARL.subject, subject1, false));
+        }
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            assertTrue(conn.hasStatement(null, EARL.outcome, EARL.failed, false, subject1));
+            assertFalse(conn.hasStatement(null, EARL.outcome, null, false, (IRI) null));
+        }
+        assertArrayEquals(new IRI[] {null, subject1}, view1.getReportContexts());
+        assertArrayEquals(new IRI[] {null}, dataRepository.getReportContexts());
+    }
+
+    @Test
+    void getRequirementLevel() {
+        final DataRepository dataRepository = createRepository();
+        try (RepositoryConnection conn = dataRepository.getConnection()) {
+            conn.add(testCaseIri, SPEC.testScript, featureIri);
+            conn.add(testCaseIri, SPEC.requirementReference, requirementIri);
+            conn.add(requirementIri, SPEC.requirementLevel, SPEC.MUST);
+        }
+        assertEquals("MUST", dataRepository.getRequirementLevel(featureIri));
+        assertNull(dataRepository.getRequirementLevel(iri(TestUtils.SAMPLE_NS, "missing.feature")));
+    }
+
+    private void mergeResults(final DataRepository dataRepository) {
+        final String run = Namespaces.TESTS_REPO_URI + "00000000-0000-0000-0000-000000000001#";
+        dataRepository.mergeReport(new StringReader("@prefix earl: <http://www.w3.org/ns/earl#> .\n" +
+                "@prefix dcterms: <http://purl.org/dc/terms/> .\n" +
+                "<" + testCaseIri + "> dcterms:title \"Test\"; dcterms:hasPart <" + run + "s1> .\n" +
+                "<" + run + "a1> earl:test <" + testCaseIri + ">; earl:result <" + run + "r1> .\n" +
+                "<" + run + "r1> earl:outcome earl:failed .\n" +
+                "<" + run + "s1> earl:result <" + run + "sr1>; dcterms:hasPart (<" + run + "step1>) .\n" +
+                "<" + run + "sr1> earl:outcome earl:failed .\n" +
+                "<" + run + "step1> dcterms:title \"Step\" .\n" +
+                "<" + run + "a2> earl:test <" + TestUtils.SAMPLE_NS + "testCase2>; earl:result <" + run + "r2> .\n" +
+                "<" + run + "r2> earl:outcome earl:passed ."), "previous");
+    }
+
     @Test
     void loadTurtle() throws MalformedURLException {
         final DataRepository dataRepository = new DataRepository();
@@ -407,7 +760,7 @@ class DataRepositoryTest {
     @Test
     void loadRdfa() throws Exception {
         final DataRepository dataRepository = new DataRepository();
-        dataRepository.setGraalRdfaParser(graalRdfaParser);
+        dataRepository.setRdfaParser(graalRdfaParser);
         try (RepositoryConnection conn = dataRepository.getConnection()) {
             conn.setNamespace(DCTERMS.PREFIX, DCTERMS.NAMESPACE);
             conn.setNamespace(SPEC.PREFIX, SPEC.NAMESPACE);
@@ -425,7 +778,7 @@ class DataRepositoryTest {
     @Test
     void loadRdfaWithNullBaseUri() throws Exception {
         final DataRepository dataRepository = new DataRepository();
-        dataRepository.setGraalRdfaParser(graalRdfaParser);
+        dataRepository.setRdfaParser(graalRdfaParser);
         dataRepository.load(TestUtils.getFileUrl("src/test/resources/rdfa-sample.html"), null);
         // Should use URL as base URI, resulting in different subject IRIs
         assertTrue(dataRepositorySize(dataRepository) > 0);
@@ -435,7 +788,7 @@ class DataRepositoryTest {
     void loadRdfaXhtmlExtension() throws Exception {
         // Test .xhtml extension branch (line 110)
         final DataRepository dataRepository = new DataRepository();
-        dataRepository.setGraalRdfaParser(graalRdfaParser);
+        dataRepository.setRdfaParser(graalRdfaParser);
         dataRepository.load(TestUtils.getFileUrl("src/test/resources/rdfa-sample.xhtml"), TestUtils.SAMPLE_BASE);
         assertTrue(dataRepositorySize(dataRepository) > 0);
     }
@@ -444,7 +797,7 @@ class DataRepositoryTest {
     void loadRdfaHtmExtension() throws Exception {
         // Test .htm extension branch (line 111)
         final DataRepository dataRepository = new DataRepository();
-        dataRepository.setGraalRdfaParser(graalRdfaParser);
+        dataRepository.setRdfaParser(graalRdfaParser);
         dataRepository.load(TestUtils.getFileUrl("src/test/resources/rdfa-sample.htm"), TestUtils.SAMPLE_BASE);
         assertTrue(dataRepositorySize(dataRepository) > 0);
     }
@@ -457,6 +810,24 @@ class DataRepositoryTest {
         );
     }
 
+    @Test
+    void loadRdfaFailsPartWay() throws Exception {
+        final DataRepository dataRepository = new DataRepository();
+        final RdfaParser parser = mock(RdfaParser.class);
+        doAnswer(invocation -> {
+            final RDFHandler handler = invocation.getArgument(3);
+            handler.startRDF();
+            handler.handleStatement(Values.getValueFactory().createStatement(iri(TestUtils.SAMPLE_BASE + "/s"),
+                    DCTERMS.title, literal("TITLE")));
+            throw new RdfaParseException("Failed part way");
+        }).when(parser).parse(any(InputStream.class), any(), any(), any());
+        dataRepository.setRdfaParser(parser);
+        assertThrows(RdfaParseException.class,
+                () -> dataRepository.load(TestUtils.getFileUrl("src/test/resources/rdfa-sample.html"),
+                        TestUtils.SAMPLE_BASE));
+        assertEquals(0, dataRepositorySize(dataRepository));
+    }
+
     @Test
     void loadRdfaBadData() {
         final DataRepository dataRepository = new DataRepository();
@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.karate.Runner;
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.FeatureResult;
+import org.eclipse.rdf4j.model.IRI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.solid.common.vocab.EARL;
+import org.solid.testharness.config.Bootstrap;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.config.PathMappings;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventStreamTest {
+    private static final IRI FEATURE_IRI = iri(TestUtils.SAMPLE_NS, "test.feature");
+
+    private EventStream eventStream;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setup() {
+        eventStream = new EventStream();
+        eventStream.config = mock(Config.class);
+        eventStream.pathMappings = mock(PathMappings.class);
+        eventStream.dataRepository = mock(DataRepository.class);
+        eventStream.objectMapper = objectMapper;
+        when(eventStream.dataRepository.getRequirementLevel(FEATURE_IRI)).thenReturn("MUST");
+    }
+
+    @Test
+    void isEnabled() {
+        assertFalse(eventStream.isEnabled());
+        when(eventStream.config.getEvents()).thenReturn("-");
+        assertTrue(eventStream.isEnabled());
+    }
+
+    @Test
+    void featureEvents(@TempDir final Path dir) throws IOException {
+        final Path events = dir.resolve("events.ndjson");
+        when(eventStream.config.getEvents()).thenReturn(events.toString());
+        eventStream.start();
+        eventStream.featureCompleted(mockFeatureResult(), FEATURE_IRI, EARL.failed);
+        eventStream.stop(Map.of("featuresFailed", 1));
+
+        final List<String> lines = Files.readAllLines(events);
+        assertEquals(3, lines.size());
+        assertEquals("start", objectMapper.readTree(lines.get(0)).get("event").asText());
+        final JsonNode feature = objectMapper.readTree(lines.get(1));
+        assertEquals("feature", feature.get("event").asText());
+        assertEquals(FEATURE_IRI.stringValue(), feature.get("iri").asText());
+        assertEquals("FEATURE", feature.get("title").asText());
+        assertEquals("failed", feature.get("outcome").asText());
+        assertEquals("MUST", feature.get("level").asText());
+        assertEquals(1500, feature.get("durationMillis").asLong());
+        assertEquals(0, feature.get("http").get("requests").asInt());
+        final JsonNode end = objectMapper.readTree(lines.get(2));
+        assertEquals("end", end.get("event").asText());
+        assertEquals(1, end.get("featuresFailed").asInt());
+    }
+
+    @Test
+    void subjectEvents(@TempDir final Path dir) throws IOException {
+        final Path events = dir.resolve("events.ndjson");
+        when(eventStream.config.getEvents()).thenReturn(events.toString());
+        final String subject = "https://example.org/test1";
+        eventStream.start(List.of(iri(subject), iri("https://example.org/test2")));
+        eventStream.featureCompleted(mockFeatureResult(), FEATURE_IRI, EARL.passed,
+                new Suite(Runner.builder().systemProperties(Map.of(Bootstrap.SUBJECT_PROPERTY, subject))));
+        eventStream.stop(null);
+
+        final List<String> lines = Files.readAllLines(events);
+        assertEquals(2, objectMapper.readTree(lines.get(0)).get("subjects").size());
+        assertEquals(subject, objectMapper.readTree(lines.get(1)).get("subject").asText());
+    }
+
+    @Test
+    void eventsAppended(@TempDir final Path dir) throws IOException {
+        final Path events = dir.resolve("events.ndjson");
+        when(eventStream.config.getEvents()).thenReturn(events.toString());
+        eventStream.start();
+        eventStream.stop(null);
+        eventStream.start();
+        eventStream.stop(null);
+        assertEquals(4, Files.readAllLines(events).size());
+    }
+
+    @Test
+    void notStarted() {
+        eventStream.featureCompleted(mockFeatureResult(), FEATURE_IRI, EARL.passed);
+        assertDoesNotThrow(() -> eventStream.stop(null));
+    }
+
+    @Test
+    void startFails(@TempDir final Path dir) {
+        when(eventStream.config.getEvents()).thenReturn(dir.resolve("missing/events.ndjson").toString());
+        eventStream.start();
+        assertDoesNotThrow(() -> eventStream.featureCompleted(mockFeatureResult(), FEATURE_IRI, EARL.passed));
+        eventStream.stop(null);
+        assertFalse(Files.exists(dir.resolve("missing")));
+    }
+
+    @Test
+    void httpStats() {
+        final EventStream.HttpStats stats = new EventStream.HttpStats();
+        stats.record(TimeUnit.MILLISECONDS.toNanos(20), false);
+        stats.record(TimeUnit.MILLISECONDS.toNanos(40), true);
+        final EventStream.HttpStats total = new EventStream.HttpStats();
+        total.add(stats);
+        total.add(stats);
+        assertEquals(Map.of("requests", 4, "errors", 2, "totalMillis", 120L, "maxMillis", 40L), total.toMap());
+    }
+
+    @Test
+    void scenarioHttpStats() {
+        final Object scenario = new Object();
+        final Thread thread = Thread.currentThread();
+        eventStream.scenarioStarted(scenario, thread);
+        // Karate calls, one of which fails without a response
+        final Object call = new Object();
+        eventStream.callStarted(call, scenario);
+        eventStream.callCompleted(call, 200, TimeUnit.MILLISECONDS.toNanos(20));
+        eventStream.callStarted(new Object(), scenario);
+        // a harness client request on the scenario's thread
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("https://example.org/")).build();
+        eventStream.beforeRequest(request);
+        eventStream.responseReceived(request, null, new IOException(), TimeUnit.MILLISECONDS.toNanos(40));
+        eventStream.requestCompleted(request);
+        // calls made by another scenario are not counted
+        final Object other = new Object();
+        eventStream.callStarted(other, new Object());
+        eventStream.callCompleted(other, 500, TimeUnit.MILLISECONDS.toNanos(80));
+        assertEquals(Map.of("requests", 3, "errors", 2, "totalMillis", 60L, "maxMillis", 40L),
+                eventStream.scenarioFinished(scenario, thread).toMap());
+    }
+
+    @Test
+    void scenarioHttpStatsUnknownScenario() {
+        assertEquals(0, eventStream.scenarioFinished(new Object(), Thread.currentThread()).toMap().get("requests"));
+    }
+
+    private FeatureResult mockFeatureResult() {
+        final FeatureResult fr = mock(FeatureResult.class);
+        final Feature feature = mock(Feature.class);
+        when(feature.getName()).thenReturn("FEATURE");
+        when(fr.getFeature()).thenReturn(feature);
+        when(fr.getDisplayName()).thenReturn("test.feature");
+        when(fr.getDurationMillis()).thenReturn(1500.0);
+        return fr;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.Results;
+import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.FeatureResult;
+import com.intuit.karate.resource.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.solid.testharness.config.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FeatureDurationsTest {
+    private Path tmp;
+    private FeatureDurations featureDurations;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tmp = Files.createTempDirectory(null);
+        tmp.toFile().deleteOnExit();
+        featureDurations = new FeatureDurations();
+        featureDurations.config = mock(Config.class);
+        when(featureDurations.config.getOutputDirectory()).thenReturn(tmp.toFile());
+    }
+
+    @Test
+    void orderWithoutHistory() {
+        final List<String> paths = List.of("a.feature", "b.feature");
+        assertSame(paths, featureDurations.order(paths));
+    }
+
+    @Test
+    void orderNullOrSingle() {
+        assertNull(featureDurations.order(null));
+        final List<String> paths = List.of("a.feature");
+        assertSame(paths, featureDurations.order(paths));
+    }
+
+    @Test
+    void orderLongestFirstUnknownFirst() throws IOException {
+        writeHistory("a.feature", 100, "b.feature", 3000, "c.feature", 100, "d.feature", 2000);
+        final List<String> ordered = featureDurations.order(
+                List.of("a.feature", "b.feature", "c.feature", "d.feature", "e.feature"));
+        assertEquals(List.of("e.feature", "b.feature", "d.feature", "a.feature", "c.feature"), ordered);
+    }
+
+    @Test
+    void orderNoOutputDirectory() {
+        when(featureDurations.config.getOutputDirectory()).thenReturn(null);
+        final List<String> paths = List.of("a.feature", "b.feature");
+        assertSame(paths, featureDurations.order(paths));
+    }
+
+    @Test
+    void loadIgnoresBadDurations() throws IOException {
+        Files.writeString(tmp.resolve(FeatureDurations.HISTORY_FILE),
+                "a=12\nb=slow\n", StandardCharsets.UTF_8);
+        assertEquals(Map.of("a", 12L), featureDurations.load());
+    }
+
+    @Test
+    void recordMergesHistory() throws IOException {
+        writeHistory("a.feature", 100, "b.feature", 200);
+        final Results results = mock(Results.class);
+        final FeatureResult fr1 = mockFeatureResult(new File("b.feature"), 1500.4);
+        final FeatureResult fr2 = mockFeatureResult(new File("c.feature"), 50);
+        final FeatureResult fr3 = mockFeatureResult(null, 10);
+        when(results.getFeatureResults()).thenReturn(Stream.of(fr1, fr2, fr3));
+
+        featureDurations.record(results);
+
+        final Map<String, Long> history = featureDurations.load();
+        assertEquals(3, history.size());
+        assertEquals(100L, history.get(FeatureDurations.key("a.feature")));
+        assertEquals(1500L, history.get(FeatureDurations.key("b.feature")));
+        assertEquals(50L, history.get(FeatureDurations.key("c.feature")));
+    }
+
+    @Test
+    void recordPerSubject() {
+        final Results results1 = mock(Results.class);
+        when(results1.getFeatureResults()).thenReturn(Stream.of(mockFeatureResult(new File("a.feature"), 3000),
+                mockFeatureResult(new File("b.feature"), 100)));
+        final Results results2 = mock(Results.class);
+        when(results2.getFeatureResults()).thenReturn(Stream.of(mockFeatureResult(new File("a.feature"), 100),
+                mockFeatureResult(new File("b.feature"), 3000)));
+
+        featureDurations.record(results1, "https://example.org/server1");
+        featureDurations.record(results2, "https://example.org/server2");
+
+        final List<String> paths = List.of("a.feature", "b.feature");
+        assertEquals(List.of("a.feature", "b.feature"), featureDurations.order(paths, "https://example.org/server1"));
+        assertEquals(List.of("b.feature", "a.feature"), featureDurations.order(paths, "https://example.org/server2"));
+        assertEquals(4, featureDurations.load().size());
+        assertNull(featureDurations.load().get(FeatureDurations.key("a.feature")));
+    }
+
+    @Test
+    void keyFromFileUri() {
+        final File file = new File("a.feature");
+        assertEquals(FeatureDurations.key(file.getPath()), FeatureDurations.key(file.toURI().toString()));
+    }
+
+    @Test
+    void recordNoOutputDirectory() {
+        when(featureDurations.config.getOutputDirectory()).thenReturn(null);
+        final Results results = mock(Results.class);
+        assertDoesNotThrow(() -> featureDurations.record(results));
+        assertFalse(tmp.resolve(FeatureDurations.HISTORY_FILE).toFile().exists());
+    }
+
+    @Test
+    void recordNullResults() {
+        assertDoesNotThrow(() -> featureDurations.record(null));
+    }
+
+    private void writeHistory(final Object... entries) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < entries.length; i += 2) {
+            sb.append(FeatureDurations.key((String) entries[i]).replace("\\", "\\\\").replace(":", "\\:"))
+                    .append('=').append(entries[i + 1]).append('\n');
+        }
+        Files.writeString(tmp.resolve(FeatureDurations.HISTORY_FILE), sb.toString(), StandardCharsets.UTF_8);
+    }
+
+    private FeatureResult mockFeatureResult(final File file, final double duration) {
+        final FeatureResult fr = mock(FeatureResult.class);
+        final Feature feature = mock(Feature.class);
+        final Resource resource = mock(Resource.class);
+        when(fr.getFeature()).thenReturn(feature);
+        when(fr.getDurationMillis()).thenReturn(duration);
+        when(feature.getResource()).thenReturn(resource);
+        when(resource.getFile()).thenReturn(file);
+        return fr;
+    }
+}
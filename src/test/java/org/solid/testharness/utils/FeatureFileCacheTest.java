@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureFileCacheTest {
+    private static final Path FEATURE1 = Path.of("src/test/resources/test-features/group1/feature1");
+    private static final Path FEATURE2 = Path.of("src/test/resources/test-features/group1/feature2");
+    private static final Path MISSING = Path.of("src/test/resources/test-features/missing");
+
+    @Test
+    void preloadParsesOnce() throws IOException {
+        final FeatureFileCache featureFileCache = new FeatureFileCache();
+        featureFileCache.preload(List.of(FEATURE1, FEATURE2, MISSING));
+        final FeatureFileParser parser = featureFileCache.get(FEATURE1);
+        assertEquals("Feature 1 title", parser.getFeatureTitle());
+        assertSame(parser, featureFileCache.get(FEATURE1.toAbsolutePath()));
+        assertEquals("Feature 2 title", featureFileCache.get(FEATURE2).getFeatureTitle());
+    }
+
+    @Test
+    void getWithoutPreload() throws IOException {
+        final FeatureFileCache featureFileCache = new FeatureFileCache();
+        final FeatureFileParser parser = featureFileCache.get(FEATURE1);
+        assertSame(parser, featureFileCache.get(FEATURE1));
+        featureFileCache.clear();
+        assertNotSame(parser, featureFileCache.get(FEATURE1));
+    }
+
+    @Test
+    void concurrentGetReturnsSameParser() throws IOException {
+        final FeatureFileCache featureFileCache = new FeatureFileCache();
+        final List<FeatureFileParser> parsers = IntStream.range(0, 16).parallel()
+                .mapToObj(i -> {
+                    try {
+                        return featureFileCache.get(FEATURE2);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toList();
+        parsers.forEach(parser -> assertSame(parsers.get(0), parser));
+        assertSame(parsers.get(0), featureFileCache.get(FEATURE2));
+    }
+
+    @Test
+    void getMissing() {
+        final FeatureFileCache featureFileCache = new FeatureFileCache();
+        featureFileCache.preload(List.of(MISSING));
+        assertThrows(IOException.class, () -> featureFileCache.get(MISSING));
+    }
+}
@@ -92,23 +92,23 @@ class FeatureFileParserTest {
     }
 
     @Test
-    void getFeatureTitle() {
-        assertEquals("Feature 1 title", FeatureFileParser.getFeatureTitle(
-                Path.of("src/test/resources/test-features/group1/feature1").toFile()
-        ));
+    void getFeatureTitle() throws IOException {
+        assertEquals("Feature 1 title", new FeatureFileParser(
+                Path.of("src/test/resources/test-features/group1/feature1")
+        ).getFeatureTitle());
     }
 
     @Test
-    void getFeatureTitleNoComment() {
-        assertEquals("Feature 2 title", FeatureFileParser.getFeatureTitle(
-                Path.of("src/test/resources/test-features/group1/feature2").toFile()
-        ));
+    void getFeatureTitleNoComment() throws IOException {
+        assertEquals("Feature 2 title", new FeatureFileParser(
+                Path.of("src/test/resources/test-features/group1/feature2")
+        ).getFeatureTitle());
     }
 
     @Test
-    void getFeatureTitleMissing() {
-        assertNull(FeatureFileParser.getFeatureTitle(
-                Path.of("src/test/resources/test-features/otherExample/feature1").toFile()
-        ));
+    void getFeatureTitleMissing() throws IOException {
+        assertNull(new FeatureFileParser(
+                Path.of("src/test/resources/test-features/otherExample/feature1")
+        ).getFeatureTitle());
     }
 }
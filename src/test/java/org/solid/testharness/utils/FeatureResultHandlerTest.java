@@ -23,6 +23,7 @@
  */
 package org.solid.testharness.utils;
 
+import com.intuit.karate.Runner;
 import com.intuit.karate.Suite;
 import com.intuit.karate.core.Feature;
 import com.intuit.karate.core.FeatureResult;
@@ -30,10 +31,14 @@ import com.intuit.karate.resource.Resource;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.Test;
+import org.solid.common.vocab.EARL;
+import org.solid.testharness.config.Bootstrap;
+import org.solid.testharness.config.TestSubject;
 
 import jakarta.inject.Inject;
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Map;
 
 import static org.eclipse.rdf4j.model.util.Values.iri;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -43,19 +48,61 @@ import static org.mockito.Mockito.*;
 
 @QuarkusTest
 class FeatureResultHandlerTest {
+    private static final String FEATURE = "https://example.org/features/test.feature";
+    private static final String SUBJECT = "https://example.org/subject";
 
     @Inject
     FeatureResultHandler featureResultHandler;
 
     @InjectMock
     DataRepository dataRepository;
+    @InjectMock
+    ResultCache resultCache;
+    @InjectMock
+    FeatureWatchdog featureWatchdog;
+    @InjectMock
+    EventStream eventStream;
+    @Inject
+    RequestTimings requestTimings;
 
     @Test
     void featureReport() {
         final FeatureResult fr = new FeatureResult(Feature.read("src/test/resources/test.feature"));
         featureResultHandler.featureReport(new Suite(), fr);
         verify(dataRepository).addFeatureResult(any(), any(), eq(iri("https://example.org/features/test.feature")),
-                any());
+                any(), eq(requestTimings));
+        verify(resultCache).store(fr, iri("https://example.org/features/test.feature"), null);
+    }
+
+    @Test
+    void featureReportForSubject() {
+        final TestSubject testSubject = mock(TestSubject.class);
+        final DataRepository subjectRepository = mock(DataRepository.class);
+        when(testSubject.getSubject()).thenReturn(iri(SUBJECT));
+        when(testSubject.getDataRepository()).thenReturn(subjectRepository);
+        final Suite suite = new Suite(Runner.builder().systemProperties(Map.of(Bootstrap.SUBJECT_PROPERTY, SUBJECT)));
+        final FeatureResult fr = new FeatureResult(Feature.read("src/test/resources/test.feature"));
+        Bootstrap.register(testSubject);
+        try {
+            featureResultHandler.featureReport(suite, fr);
+        } finally {
+            Bootstrap.unregister(testSubject);
+        }
+        verify(subjectRepository).addFeatureResult(any(), any(), eq(iri(FEATURE)), any(), eq(requestTimings));
+        verify(dataRepository, never()).addFeatureResult(any(), any(), any(), any(), any());
+        verify(resultCache).store(fr, iri(FEATURE), testSubject);
+        verify(eventStream).featureCompleted(eq(fr), eq(iri(FEATURE)), any(), eq(suite));
+    }
+
+    @Test
+    void featureReportTimedOut() {
+        final FeatureResult fr = new FeatureResult(Feature.read("src/test/resources/test.feature"));
+        when(featureWatchdog.getTimeout(eq(fr.getFeature()), any())).thenReturn("timeout");
+        featureResultHandler.featureReport(new Suite(), fr);
+        verify(dataRepository).markTimedOut(iri("https://example.org/features/test.feature"), "timeout");
+        verify(resultCache, never()).store(any(), any(), any());
+        verify(eventStream).featureCompleted(eq(fr), eq(iri("https://example.org/features/test.feature")),
+                eq(EARL.cantTell), any());
     }
 
     @Test
@@ -78,5 +125,6 @@ class FeatureResultHandlerTest {
         fr.setDisplayName("FAIL");
         featureResultHandler.featureReport(new Suite(), fr);
         verify(dataRepository, never()).addFeatureResult(any(), any(), any(), any());
+        verify(resultCache, never()).store(any(), any(), any());
     }
 }
@@ -0,0 +1,329 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.KarateException;
+import com.intuit.karate.Runner;
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.Feature;
+import com.intuit.karate.http.HttpClient;
+import com.intuit.karate.http.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.solid.testharness.config.Bootstrap;
+import org.solid.testharness.config.Config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeatureWatchdogTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private FeatureWatchdog featureWatchdog;
+    private Feature feature;
+    private final Object featureRuntime = new Object();
+    private final Object scenarioRuntime = new Object();
+
+    @BeforeEach
+    void setup() {
+        featureWatchdog = new FeatureWatchdog();
+        featureWatchdog.config = mock(Config.class);
+        when(featureWatchdog.config.getFeatureTimeout()).thenReturn(10);
+        when(featureWatchdog.config.getScenarioTimeout()).thenReturn(5);
+        feature = Feature.read("src/test/resources/test.feature");
+    }
+
+    @AfterEach
+    void tearDown() {
+        featureWatchdog.shutdown();
+    }
+
+    @Test
+    void isEnabled() {
+        assertTrue(featureWatchdog.isEnabled());
+        when(featureWatchdog.config.getFeatureTimeout()).thenReturn(0);
+        when(featureWatchdog.config.getScenarioTimeout()).thenReturn(0);
+        assertFalse(featureWatchdog.isEnabled());
+    }
+
+    @Test
+    void withinLimits() {
+        featureWatchdog.start();
+        featureWatchdog.featureStarted(featureRuntime, feature, null, 0);
+        assertTrue(featureWatchdog.scenarioStarted(scenarioRuntime, featureRuntime, "scenario",
+                Thread.currentThread(), 0));
+        featureWatchdog.check(4 * SECOND);
+        featureWatchdog.scenarioFinished(scenarioRuntime);
+        featureWatchdog.featureFinished(featureRuntime);
+        assertNull(featureWatchdog.getTimeout(feature, null));
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void featureTimeout() {
+        featureWatchdog.start();
+        featureWatchdog.featureStarted(featureRuntime, feature, null, 0);
+        featureWatchdog.check(11 * SECOND);
+        assertEquals("Feature stopped after exceeding the time limit of 10s",
+                featureWatchdog.getTimeout(feature, null));
+        assertFalse(featureWatchdog.scenarioStarted(scenarioRuntime, featureRuntime, "scenario",
+                Thread.currentThread(), 11 * SECOND));
+    }
+
+    @Test
+    void featureTimeoutForOneSubject() {
+        final Object otherRuntime = new Object();
+        featureWatchdog.start();
+        featureWatchdog.featureStarted(featureRuntime, feature, "https://example.org/server1", 0);
+        featureWatchdog.featureStarted(otherRuntime, feature, "https://example.org/server2", 5 * SECOND);
+        featureWatchdog.check(11 * SECOND);
+        final Suite suite1 = new Suite(Runner.builder()
+                .systemProperties(Map.of(Bootstrap.SUBJECT_PROPERTY, "https://example.org/server1")));
+        final Suite suite2 = new Suite(Runner.builder()
+                .systemProperties(Map.of(Bootstrap.SUBJECT_PROPERTY, "https://example.org/server2")));
+        assertNotNull(featureWatchdog.getTimeout(feature, suite1));
+        assertNull(featureWatchdog.getTimeout(feature, suite2));
+        assertTrue(featureWatchdog.scenarioStarted(scenarioRuntime, otherRuntime, "scenario",
+                Thread.currentThread(), 11 * SECOND));
+    }
+
+    @Test
+    void scenarioTimeoutInterruptsWorker(@TempDir final Path outputDir) throws InterruptedException, IOException {
+        when(featureWatchdog.config.getOutputDirectory()).thenReturn(outputDir.toFile());
+        featureWatchdog.start();
+        featureWatchdog.featureStarted(featureRuntime, feature, null, 0);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final Thread worker = new Thread(() -> {
+            featureWatchdog.beforeRequest(HttpRequest.newBuilder(URI.create("https://example.org/hang")).build());
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        }, "worker");
+        assertTrue(featureWatchdog.scenarioStarted(scenarioRuntime, featureRuntime, "hangs", worker, 0));
+        worker.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        featureWatchdog.check(6 * SECOND);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        assertTrue(interrupted.get());
+        assertEquals("Scenario 'hangs' stopped after exceeding the time limit of 5s",
+                featureWatchdog.getTimeout(feature, null));
+        final String capture = Files.readString(outputDir.resolve(FeatureWatchdog.CAPTURE_FILE));
+        assertTrue(capture.contains("Scenario 'hangs' stopped"));
+        assertTrue(capture.contains("GET https://example.org/hang"));
+        assertTrue(capture.contains("Thread worker"));
+    }
+
+    @Test
+    void completedRequestNotCaptured(@TempDir final Path outputDir) throws IOException {
+        when(featureWatchdog.config.getOutputDirectory()).thenReturn(outputDir.toFile());
+        featureWatchdog.start();
+        featureWatchdog.featureStarted(featureRuntime, feature, null, 0);
+        featureWatchdog.scenarioStarted(scenarioRuntime, featureRuntime, "scenario", Thread.currentThread(), 0);
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("https://example.org/done")).build();
+        featureWatchdog.beforeRequest(request);
+        featureWatchdog.requestCompleted(request);
+        featureWatchdog.check(11 * SECOND);
+        featureWatchdog.scenarioFinished(scenarioRuntime);
+        // the interrupt is cleared when the scenario finishes
+        assertFalse(Thread.currentThread().isInterrupted());
+        final String capture = Files.readString(outputDir.resolve(FeatureWatchdog.CAPTURE_FILE));
+        assertTrue(capture.contains("In-flight requests: none"));
+    }
+
+    @Test
+    void timeoutsClearedOnStart() {
+        featureWatchdog.start();
+        featureWatchdog.featureStarted(featureRuntime, feature, null, 0);
+        featureWatchdog.check(11 * SECOND);
+        featureWatchdog.stop();
+        assertNotNull(featureWatchdog.getTimeout(feature, null));
+        featureWatchdog.start();
+        assertNull(featureWatchdog.getTimeout(feature, null));
+    }
+
+    @Test
+    void scenarioTimeoutAbortsKarateCall(@TempDir final Path outputDir) throws Exception {
+        when(featureWatchdog.config.getOutputDirectory()).thenReturn(outputDir.toFile());
+        featureWatchdog.start();
+        featureWatchdog.featureStarted(featureRuntime, feature, null, 0);
+        final CountDownLatch invoked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final HttpClient delegate = mock(HttpClient.class);
+        when(delegate.invoke(any())).thenAnswer(invocation -> {
+            // a socket read which ignores interrupts
+            invoked.countDown();
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                    // keep blocking
+                }
+            }
+            return null;
+        });
+        final HttpClient client = new AbortableHttpClient(delegate, featureWatchdog);
+        final var request = mock(com.intuit.karate.http.HttpRequest.class);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread worker = new Thread(() -> {
+            featureWatchdog.callStarted(request, "POST", "https://example.org/slow", scenarioRuntime,
+                    featureRuntime, Thread.currentThread(), 0);
+            try {
+                client.invoke(request);
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        }, "worker");
+        assertTrue(featureWatchdog.scenarioStarted(scenarioRuntime, featureRuntime, "hangs", worker, 0));
+        worker.start();
+        assertTrue(invoked.await(5, TimeUnit.SECONDS));
+        featureWatchdog.check(6 * SECOND);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        release.countDown();
+        assertFalse(worker.isAlive());
+        assertInstanceOf(KarateException.class, failure.get());
+        assertEquals("Scenario 'hangs' stopped after exceeding the time limit of 5s", failure.get().getMessage());
+        final String capture = Files.readString(outputDir.resolve(FeatureWatchdog.CAPTURE_FILE));
+        assertTrue(capture.contains("POST https://example.org/slow"));
+    }
+
+    @Test
+    void callAfterTimeoutFails() {
+        featureWatchdog.start();
+        featureWatchdog.featureStarted(featureRuntime, feature, null, 0);
+        featureWatchdog.check(11 * SECOND);
+        final Object request = new Object();
+        featureWatchdog.callStarted(request, "GET", "https://example.org/", scenarioRuntime, featureRuntime,
+                Thread.currentThread(), 11 * SECOND);
+        final AtomicBoolean called = new AtomicBoolean();
+        final CompletableFuture<Response> call = featureWatchdog.call(request, () -> {
+            called.set(true);
+            return null;
+        });
+        final ExecutionException exception = assertThrows(ExecutionException.class, call::get);
+        assertInstanceOf(KarateException.class, exception.getCause());
+        assertFalse(called.get());
+    }
+
+    @Test
+    void callsBoundedByPool() throws Exception {
+        when(featureWatchdog.config.getMaxThreads()).thenReturn(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<CompletableFuture<Response>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            calls.add(featureWatchdog.call(new Object(), () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        Thread.sleep(200);
+        assertEquals(2, maxRunning.get());
+        assertFalse(calls.get(2).isDone());
+        release.countDown();
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    void shutdownStopsCalls() throws Exception {
+        final CountDownLatch invoked = new CountDownLatch(1);
+        final CompletableFuture<Response> call = featureWatchdog.call(new Object(), () -> {
+            invoked.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                throw new KarateException("interrupted", e);
+            }
+            return null;
+        });
+        assertTrue(invoked.await(5, TimeUnit.SECONDS));
+        featureWatchdog.shutdown();
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> call.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(KarateException.class, exception.getCause());
+    }
+
+    @Test
+    void karateCallPassesThrough() {
+        featureWatchdog.start();
+        final HttpClient delegate = mock(HttpClient.class);
+        final Response response = mock(Response.class);
+        final var request = mock(com.intuit.karate.http.HttpRequest.class);
+        when(delegate.invoke(request)).thenReturn(response);
+        final HttpClient client = new AbortableHttpClient(delegate, featureWatchdog);
+        assertEquals(response, client.invoke(request));
+        final var failing = mock(com.intuit.karate.http.HttpRequest.class);
+        when(delegate.invoke(failing)).thenThrow(new IllegalStateException("refused"));
+        assertEquals("refused", assertThrows(IllegalStateException.class, () -> client.invoke(failing)).getMessage());
+        client.setConfig(null);
+        verify(delegate).setConfig(null);
+    }
+
+    @Test
+    void failedKarateCallRemovedWithScenario(@TempDir final Path outputDir) throws IOException {
+        when(featureWatchdog.config.getOutputDirectory()).thenReturn(outputDir.toFile());
+        featureWatchdog.start();
+        featureWatchdog.featureStarted(featureRuntime, feature, null, 0);
+        featureWatchdog.scenarioStarted(scenarioRuntime, featureRuntime, "scenario", Thread.currentThread(), 0);
+        // afterHttpCall is not called when the call fails
+        featureWatchdog.callStarted(new Object(), "GET", "https://example.org/failed", scenarioRuntime,
+                featureRuntime, Thread.currentThread(), 0);
+        featureWatchdog.scenarioFinished(scenarioRuntime);
+        featureWatchdog.check(11 * SECOND);
+        final String capture = Files.readString(outputDir.resolve(FeatureWatchdog.CAPTURE_FILE));
+        assertTrue(capture.contains("In-flight requests: none"));
+    }
+}
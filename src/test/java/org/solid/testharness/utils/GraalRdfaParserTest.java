@@ -25,16 +25,37 @@ package org.solid.testharness.utils;
 
 import io.quarkus.test.junit.QuarkusTest;
 import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.impl.LinkedHashModel;
 import org.eclipse.rdf4j.model.util.Values;
 import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.graalvm.polyglot.Context;
 import org.junit.jupiter.api.Test;
+import org.solid.testharness.config.Config;
 
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for GraalJS-based RDFa parsing.
@@ -170,6 +191,87 @@ class GraalRdfaParserTest {
         assertTrue(model.contains(dave, schemaName, null), "Should have name statement");
     }
 
+    @Test
+    void testParseSpecialCharacters() {
+        final var html = "<html><body vocab=\"http://schema.org/\" typeof=\"Person\" about=\"#frank\">\n" +
+                "<span property=\"name\">O'Brien \\ \"Frank\"\t\r\n`${x}`</span></body></html>";
+
+        final var model = parser.parse(html, "http://example.org/", "text/html");
+
+        final var frank = Values.iri("http://example.org/#frank");
+        final var schemaName = Values.iri("http://schema.org/name");
+        final var name = model.filter(frank, schemaName, null).objects().iterator().next();
+        assertTrue(name.stringValue().startsWith("O'Brien \\ \"Frank\""));
+        assertTrue(name.stringValue().endsWith("`${x}`"));
+    }
+
+    @Test
+    void testParseReader() throws IOException {
+        // larger than the read buffer so the content is passed to the parser in several chunks
+        final var html = new StringBuilder("<html vocab=\"http://schema.org/\"><body>");
+        for (int i = 0; i < 2000; i++) {
+            html.append("<div typeof=\"Person\" about=\"#p").append(i).append("\">")
+                    .append("<span property=\"name\">Person ").append(i).append("</span></div>\n");
+        }
+        html.append("</body></html>");
+        final var model = new LinkedHashModel();
+
+        parser.parse(new StringReader(html.toString()), "http://example.org/", "text/html",
+                new StatementCollector(model));
+
+        final var schemaName = Values.iri("http://schema.org/name");
+        assertEquals(2000, model.filter(null, schemaName, null).size());
+        assertTrue(model.contains(Values.iri("http://example.org/#p1999"), schemaName, Values.literal("Person 1999")));
+    }
+
+    @Test
+    void testParseInputStream() throws IOException {
+        final var html = "<html vocab=\"http://schema.org/\"><body typeof=\"Person\" about=\"#zoe\">" +
+                "<span property=\"name\">Zoë</span></body></html>";
+        final var handler = mock(RDFHandler.class);
+        final var model = new LinkedHashModel();
+        final var collector = new StatementCollector(model);
+        doAnswer(invocation -> {
+            collector.handleStatement(invocation.getArgument(0));
+            return null;
+        }).when(handler).handleStatement(any());
+
+        parser.parse(new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)), "http://example.org/",
+                "text/html", handler);
+
+        verify(handler).startRDF();
+        verify(handler).endRDF();
+        // the stream is decoded as UTF-8
+        assertTrue(model.contains(null, Values.iri("http://schema.org/name"), Values.literal("Zoë")));
+    }
+
+    @Test
+    void testParseReaderError() {
+        final var testParser = new GraalRdfaParser();
+        testParser.initialize();
+        try {
+            injectMockParseRdfa(testParser, "{ success: false, error: 'Test stream error' }");
+
+            final var exception = assertThrows(RdfaParseException.class,
+                    () -> testParser.parse(new StringReader("<html></html>"), "http://example.org/", "text/html",
+                            new StatementCollector()));
+            assertTrue(exception.getMessage().contains("Test stream error"));
+        } finally {
+            testParser.cleanup();
+        }
+    }
+
+    @Test
+    void testBatchHandlerToRdfHandler() {
+        final var collector = new StatementCollector();
+        final var handler = new GraalRdfaParser.BatchHandler(collector);
+
+        handler.onBatch(encode("NamedNode", "http://example.org/subj", "NamedNode", "http://example.org/pred",
+                "NamedNode", "http://example.org/obj", null, null), 1);
+
+        assertEquals(1, collector.getStatements().size());
+    }
+
     @Test
     void testParseMinimalHtml() {
         final var html = "<html><body>Simple content</body></html>";
@@ -182,12 +284,31 @@ class GraalRdfaParserTest {
     }
 
     @Test
-    void testParseNotInitialized() {
-        final var uninitializedParser = new GraalRdfaParser();
+    void testParseInitializesOnFirstUse() {
+        final var lazyParser = new GraalRdfaParser();
         // Don't call initialize()
+        try {
+            final var model = lazyParser.parse("<html vocab=\"http://schema.org/\"><body typeof=\"Person\">" +
+                    "</body></html>", "http://example.org/", "text/html");
+            assertFalse(model.isEmpty());
+        } finally {
+            lazyParser.cleanup();
+        }
+    }
 
-        assertThrows(IllegalStateException.class, () ->
-                uninitializedParser.parse("<html></html>", "http://example.org/", "text/html"));
+    @Test
+    void testParseUnsupportedEngineCache() {
+        final var config = mock(Config.class);
+        when(config.getRdfaParserPoolSize()).thenReturn(1);
+        when(config.getRdfaParserEngineCache()).thenReturn(new File("target/rdfa-parser-engine.cache"));
+        final var cachedParser = new GraalRdfaParser();
+        cachedParser.config = config;
+        try {
+            // falls back to an uncached engine when the runtime does not support the cache options
+            assertNotNull(cachedParser.parse("<html></html>", "http://example.org/", "text/html"));
+        } finally {
+            cachedParser.cleanup();
+        }
     }
 
     @Test
@@ -207,6 +328,32 @@ class GraalRdfaParserTest {
                 testParser.parse("<html></html>", "http://example.org/", "text/html"));
     }
 
+    @Test
+    void testParseConcurrently() throws Exception {
+        final var testParser = new GraalRdfaParser();
+        testParser.setPoolSize(2);
+        testParser.initialize();
+        final var html = """
+            <html vocab="http://schema.org/">
+              <body typeof="Person" about="#eve"><span property="name">Eve</span></body>
+            </html>
+            """;
+        final var eve = Values.iri("http://example.org/#eve");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Model>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> testParser.parse(html, "http://example.org/", "text/html")));
+            }
+            for (Future<Model> future : futures) {
+                assertTrue(future.get().contains(eve, null, null));
+            }
+        } finally {
+            executor.shutdown();
+            testParser.cleanup();
+        }
+    }
+
     @Test
     void testQuadHandlerNullSubject() {
         final var model = new LinkedHashModel();
@@ -430,21 +577,6 @@ class GraalRdfaParserTest {
         assertEquals(XSD.STRING, literal.getDatatype());
     }
 
-    @Test
-    void testRdfaParseExceptionWithMessage() {
-        final var exception = new GraalRdfaParser.RdfaParseException("Test error");
-        assertEquals("Test error", exception.getMessage());
-        assertNull(exception.getCause());
-    }
-
-    @Test
-    void testRdfaParseExceptionWithCause() {
-        final var cause = new RuntimeException("Root cause");
-        final var exception = new GraalRdfaParser.RdfaParseException("Test error", cause);
-        assertEquals("Test error", exception.getMessage());
-        assertEquals(cause, exception.getCause());
-    }
-
     @Test
     void testParseErrorWithMessage() {
         // Create a parser and override parseRdfa to return an error
@@ -454,7 +586,7 @@ class GraalRdfaParserTest {
             // Inject a mock parseRdfa that returns an error
             injectMockParseRdfa(testParser, "{ success: false, error: 'Test parse error' }");
 
-            final var exception = assertThrows(GraalRdfaParser.RdfaParseException.class,
+            final var exception = assertThrows(RdfaParseException.class,
                     () -> testParser.parse("<html></html>", "http://example.org/", "text/html"));
             assertTrue(exception.getMessage().contains("Test parse error"));
         } finally {
@@ -471,7 +603,7 @@ class GraalRdfaParserTest {
             // Inject a mock parseRdfa that returns success: false with null error
             injectMockParseRdfa(testParser, "{ success: false, error: null }");
 
-            final var exception = assertThrows(GraalRdfaParser.RdfaParseException.class,
+            final var exception = assertThrows(RdfaParseException.class,
                     () -> testParser.parse("<html></html>", "http://example.org/", "text/html"));
             assertTrue(exception.getMessage().contains("Unknown parse error"));
         } finally {
@@ -480,34 +612,18 @@ class GraalRdfaParserTest {
     }
 
     @Test
-    void testInitializeExceptionFromBadJs() {
-        // Test initialization failure (lines 85-87) by injecting bad JS after context creation
+    void testInitializeFailure() {
+        final var config = mock(Config.class);
+        when(config.getRdfaParserPoolSize()).thenReturn(0);
         final var testParser = new GraalRdfaParser();
-
+        testParser.config = config;
         try {
-            final var contextField = GraalRdfaParser.class.getDeclaredField("context");
-            contextField.setAccessible(true);
-
-            // Initialize normally first
-            testParser.initialize();
-
-            // Get the context and inject bad JS that will break on next eval
-            final var context = (org.graalvm.polyglot.Context) contextField.get(testParser);
-
-            // Close the context to simulate a failure state
-            context.close();
-            contextField.set(testParser, null);
-
-            // Reset initialized flag
-            final var initializedField = GraalRdfaParser.class.getDeclaredField("initialized");
-            initializedField.setAccessible(true);
-            initializedField.set(testParser, false);
-
-            // Now trying to use the parser should fail since context is null
-            assertThrows(IllegalStateException.class, () ->
+            // a pool cannot be created with no capacity
+            final var exception = assertThrows(IllegalStateException.class, () ->
                     testParser.parse("<html></html>", "http://example.org/", "text/html"));
-        } catch (Exception e) {
-            fail("Reflection failed: " + e.getMessage());
+            assertEquals("Failed to initialize RDFa parser", exception.getMessage());
+        } finally {
+            testParser.cleanup();
         }
     }
 
@@ -542,17 +658,87 @@ class GraalRdfaParserTest {
     }
 
     /**
-     * Inject a mock parseRdfa function that returns the specified result.
-     * Uses reflection to access the private context field.
+     * Inject mock parser functions that return the specified result.
+     * Uses reflection to access the pooled context and rebinds the functions.
      */
+    @SuppressWarnings("unchecked")
     private void injectMockParseRdfa(final GraalRdfaParser parser, final String returnValue) {
         try {
-            final var contextField = GraalRdfaParser.class.getDeclaredField("context");
+            final var poolField = GraalRdfaParser.class.getDeclaredField("pool");
+            poolField.setAccessible(true);
+            final var pool = (BlockingQueue<Object>) poolField.get(parser);
+            final var parserContext = pool.take();
+            final var contextField = parserContext.getClass().getDeclaredField("context");
             contextField.setAccessible(true);
-            final var context = (org.graalvm.polyglot.Context) contextField.get(parser);
-            context.eval("js", "RdfaParser.parseRdfa = function() { return " + returnValue + "; }");
+            final var context = (Context) contextField.get(parserContext);
+            context.eval("js", "RdfaParser.parseRdfaBatched = function() { return " + returnValue + "; };" +
+                    "RdfaParser.startRdfaBatched = function() { return { write: function() {}, " +
+                    "end: function() { return " + returnValue + "; } }; };");
+            final var constructor = parserContext.getClass().getDeclaredConstructor(Context.class);
+            constructor.setAccessible(true);
+            pool.add(constructor.newInstance(context));
         } catch (Exception e) {
             throw new RuntimeException("Failed to inject mock", e);
         }
     }
+
+    @Test
+    void testBatchHandler() {
+        final var model = new LinkedHashModel();
+        final var handler = new GraalRdfaParser.BatchHandler(model);
+        final var chunk = encode("NamedNode", "http://example.org/subj", "NamedNode", "http://example.org/pred",
+                "Literal", "a~1:b", "en", "http://www.w3.org/1999/02/22-rdf-syntax-ns#langString") +
+                encode("BlankNode", "b0", "NamedNode", "http://example.org/pred",
+                        "NamedNode", "http://example.org/subj", null, null) +
+                encode("NamedNode", "http://example.org/subj", "BlankNode", "b1",
+                        "Literal", "ignored", null, null);
+
+        handler.onBatch(chunk, 3);
+
+        assertEquals(2, model.size());
+        final var literal = (Literal) model.filter(Values.iri("http://example.org/subj"), null, null)
+                .objects().iterator().next();
+        assertEquals("a~1:b", literal.stringValue());
+        assertEquals("en", literal.getLanguage().orElse(null));
+        final var subjects = model.filter(null, null, Values.iri("http://example.org/subj")).subjects();
+        assertTrue(subjects.iterator().next().isBNode());
+    }
+
+    @Test
+    void testBatchHandlerTypedLiteral() {
+        final var model = new LinkedHashModel();
+        final var handler = new GraalRdfaParser.BatchHandler(model);
+
+        handler.onBatch(encode("NamedNode", "http://example.org/subj", "NamedNode", "http://example.org/pred",
+                "Literal", "42", "", XSD.INTEGER.stringValue()), 1);
+
+        final var literal = (Literal) model.objects().iterator().next();
+        assertEquals(XSD.INTEGER, literal.getDatatype());
+    }
+
+    @Test
+    void testBatchHandlerInternsIris() {
+        final var model = new LinkedHashModel();
+        final var handler = new GraalRdfaParser.BatchHandler(model);
+        final var quad = encode("NamedNode", "http://example.org/subj", "NamedNode", "http://example.org/pred",
+                "NamedNode", "http://example.org/obj", null, null);
+
+        handler.onBatch(quad + quad.replace("obj", "obx"), 2);
+
+        assertEquals(2, model.size());
+        final var statements = model.stream().toList();
+        assertSame(statements.get(0).getPredicate(), statements.get(1).getPredicate());
+    }
+
+    private static String encode(final String... fields) {
+        final var sb = new StringBuilder();
+        for (String field : fields) {
+            if (field == null) {
+                sb.append('~');
+            } else {
+                sb.append(field.length()).append(':').append(field);
+            }
+        }
+        return sb.toString();
+    }
 }
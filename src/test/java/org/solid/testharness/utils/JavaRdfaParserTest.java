@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.util.RDFCollections;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.junit.jupiter.api.Test;
+import org.solid.common.vocab.DCTERMS;
+import org.solid.common.vocab.SPEC;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.eclipse.rdf4j.model.util.Values.literal;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaRdfaParserTest {
+    private static final String BASE = "https://example.org/";
+    private static final String TEXT_HTML = "text/html";
+    private static final String EX = "http://example.org/ns#";
+    private static final String SCHEMA = "http://schema.org/";
+
+    private final JavaRdfaParser parser = new JavaRdfaParser();
+
+    @Test
+    void parseSampleHtml() throws IOException {
+        final Model model = parser.parse(TestUtils.loadStringFromFile("src/test/resources/rdfa-sample.html"),
+                TestUtils.SAMPLE_BASE, TEXT_HTML);
+        assertSampleModel(model);
+    }
+
+    @Test
+    void parseSampleXhtml() throws IOException {
+        final Model model = parser.parse(TestUtils.loadStringFromFile("src/test/resources/rdfa-sample.xhtml"),
+                TestUtils.SAMPLE_BASE, "application/xhtml+xml");
+        assertSampleModel(model);
+    }
+
+    @Test
+    void parseSameAsGraalParser() throws IOException {
+        final GraalRdfaParser graalParser = new GraalRdfaParser();
+        try {
+            for (String file : List.of("rdfa-sample.html", "rdfa-sample.xhtml")) {
+                final String content = TestUtils.loadStringFromFile("src/test/resources/" + file);
+                final String contentType = file.endsWith(".xhtml") ? "application/xhtml+xml" : TEXT_HTML;
+                assertTrue(Models.isomorphic(graalParser.parse(content, TestUtils.SAMPLE_BASE, contentType),
+                        parser.parse(content, TestUtils.SAMPLE_BASE, contentType)), file);
+            }
+        } finally {
+            graalParser.cleanup();
+        }
+    }
+
+    @Test
+    void parseReader() throws IOException {
+        final String html = TestUtils.loadStringFromFile("src/test/resources/rdfa-sample.html");
+        final Model model = new LinkedHashModel();
+        parser.parse(new StringReader(html), TestUtils.SAMPLE_BASE, TEXT_HTML, new StatementCollector(model));
+        assertSampleModel(model);
+    }
+
+    @Test
+    void parseVocabularyAndChaining() {
+        final Model model = parser.parse("<html><body vocab=\"http://schema.org/\">" +
+                "<div about=\"#alice\" rel=\"knows\"><span typeof=\"Person\"><span property=\"name\">Bob</span>" +
+                "</span></div></body></html>", BASE, TEXT_HTML);
+
+        assertEquals(4, model.size());
+        assertTrue(model.contains(iri(BASE), iri("http://www.w3.org/ns/rdfa#usesVocabulary"), iri(SCHEMA)));
+        final Resource bob = Models.objectResource(model.filter(iri(BASE + "#alice"), iri(SCHEMA, "knows"), null))
+                .orElseThrow();
+        assertTrue(bob.isBNode());
+        assertTrue(model.contains(bob, RDF.TYPE, iri(SCHEMA, "Person")));
+        assertTrue(model.contains(bob, iri(SCHEMA, "name"), literal("Bob")));
+    }
+
+    @Test
+    void parseReverse() {
+        final Model model = parser.parse("<html><body prefix=\"ex: http://example.org/ns#\">" +
+                "<div about=\"#a\" rev=\"ex:child\" resource=\"#b\"></div></body></html>", BASE, TEXT_HTML);
+        assertEquals(1, model.size());
+        assertTrue(model.contains(iri(BASE + "#b"), iri(EX, "child"), iri(BASE + "#a")));
+    }
+
+    @Test
+    void parseList() {
+        final Model model = parser.parse("<html><body about=\"#a\" prefix=\"ex: http://example.org/ns#\">" +
+                "<p property=\"ex:list\" inlist=\"\">one</p><p property=\"ex:list\" inlist=\"\">two</p>" +
+                "<p rel=\"ex:empty\" inlist=\"\"></p></body></html>", BASE, TEXT_HTML);
+
+        assertTrue(model.contains(iri(BASE + "#a"), iri(EX, "empty"), RDF.NIL));
+        final Resource head = Models.objectResource(model.filter(iri(BASE + "#a"), iri(EX, "list"), null))
+                .orElseThrow();
+        final List<Value> values = RDFCollections.asValues(model, head, new ArrayList<>());
+        assertEquals(List.of(literal("one"), literal("two")), values);
+    }
+
+    @Test
+    void parseLiterals() {
+        final Model model = parser.parse("<html lang=\"en\"><body about=\"#e\" " +
+                "prefix=\"ex: http://example.org/ns#\"><time property=\"ex:date\">2012-03-18</time>" +
+                "<time property=\"ex:start\" datetime=\"2012-03-18T10:00:00Z\">ten</time>" +
+                "<span property=\"ex:label\">Label</span>" +
+                "<span property=\"ex:count\" datatype=\"xsd:integer\">42</span>" +
+                "<span property=\"ex:plain\" content=\"raw\" lang=\"\">x</span></body></html>", BASE, TEXT_HTML);
+
+        assertEquals(literal("2012-03-18", XSD.DATE), object(model, "date"));
+        assertEquals(literal("2012-03-18T10:00:00Z", XSD.DATETIME), object(model, "start"));
+        assertEquals("en", ((Literal) object(model, "label")).getLanguage().orElse(null));
+        assertEquals(literal("42", XSD.INTEGER), object(model, "count"));
+        assertEquals(literal("raw"), object(model, "plain"));
+    }
+
+    @Test
+    void parseBaseElement() {
+        final Model model = parser.parse("<html><head><base href=\"http://other.example/dir/\"></head>" +
+                "<body><p about=\"page\" property=\"dc:title\">T</p></body></html>", BASE, TEXT_HTML);
+        assertTrue(model.contains(iri("http://other.example/dir/page"), DCTERMS.title, literal("T")));
+    }
+
+    @Test
+    void parseXmlnsPrefix() {
+        final Model model = parser.parse("<html xmlns=\"http://www.w3.org/1999/xhtml\" " +
+                "xmlns:ex=\"http://example.org/ns#\"><body><p about=\"#x\" property=\"ex:p\">v</p></body></html>",
+                BASE, "application/xhtml+xml");
+        assertTrue(model.contains(iri(BASE + "#x"), iri(EX, "p"), literal("v")));
+    }
+
+    @Test
+    void parseInvalidBase() {
+        assertThrows(RdfaParseException.class,
+                () -> parser.parse("<html></html>", "http://exa mple.org/", TEXT_HTML));
+    }
+
+    @Test
+    void getTemporalType() {
+        assertEquals(XSD.DATE, JavaRdfaParser.getTemporalType("2012-03-18"));
+        assertEquals(XSD.TIME, JavaRdfaParser.getTemporalType("10:00:00"));
+        assertEquals(XSD.DURATION, JavaRdfaParser.getTemporalType("P2D"));
+        assertEquals(XSD.GYEARMONTH, JavaRdfaParser.getTemporalType("2012-03"));
+        assertEquals(XSD.GYEAR, JavaRdfaParser.getTemporalType("2012"));
+        assertNull(JavaRdfaParser.getTemporalType("P"));
+        assertNull(JavaRdfaParser.getTemporalType("yesterday"));
+    }
+
+    private Value object(final Model model, final String property) {
+        return Models.object(model.filter(iri(BASE + "#e"), iri(EX, property), null)).orElseThrow();
+    }
+
+    private void assertSampleModel(final Model model) {
+        final var doc = iri("https://example.org/doc");
+        final var spec1 = iri("https://example.org#spec1");
+        assertEquals(4, model.size());
+        assertTrue(model.contains(doc, DCTERMS.title, literal("TITLE")));
+        assertTrue(model.contains(doc, SPEC.requirement, spec1));
+        assertTrue(model.contains(spec1, SPEC.requirementSubject, SPEC.Server));
+        assertTrue(model.contains(spec1, SPEC.requirementLevel, SPEC.MUST));
+    }
+}
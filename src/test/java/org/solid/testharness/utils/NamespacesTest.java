@@ -69,6 +69,12 @@ class NamespacesTest {
         assertEquals("td:Testcase", Namespaces.shorten(iri("http://www.w3.org/2006/03/test-description#Testcase")));
     }
 
+    @Test
+    void shortenOnlyLeadingNamespace() {
+        assertEquals("earl:http://www.w3.org/ns/earl#x",
+                Namespaces.shorten(iri("http://www.w3.org/ns/earl#http://www.w3.org/ns/earl#x")));
+    }
+
     @Test
     void shortenUnknown() {
         assertEquals("https://example.org#Unknown", Namespaces.shorten(iri("https://example.org#Unknown")));
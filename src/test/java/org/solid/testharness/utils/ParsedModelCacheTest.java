@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedModelCacheTest {
+    private static final String TURTLE = "text/turtle";
+
+    private ParsedModelCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        cache = new ParsedModelCache();
+        cache.setMaxBytes(100);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getCachesModel() throws IOException {
+        final Model first = cache.get("data", TURTLE, TestUtils.SAMPLE_BASE, this::load);
+        final Model second = cache.get("data", TURTLE, TestUtils.SAMPLE_BASE, this::load);
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void getReturnsUnmodifiableModel() throws IOException {
+        final Model model = cache.get("data", TURTLE, TestUtils.SAMPLE_BASE, this::load);
+        assertThrows(UnsupportedOperationException.class, () -> model.add(iri("https://example.org/s"),
+                iri("https://example.org/p"), iri("https://example.org/o")));
+    }
+
+    @Test
+    void getKeyIncludesContentTypeAndBase() throws IOException {
+        cache.get("data", TURTLE, TestUtils.SAMPLE_BASE, this::load);
+        cache.get("data", "application/ld+json", TestUtils.SAMPLE_BASE, this::load);
+        cache.get("data", TURTLE, "https://example.org/other", this::load);
+        cache.get("other", TURTLE, TestUtils.SAMPLE_BASE, this::load);
+        assertEquals(4, loads.get());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void getEvictsLeastRecentlyUsed() throws IOException {
+        final String data1 = "1".repeat(40);
+        final String data2 = "2".repeat(40);
+        final String data3 = "3".repeat(40);
+        cache.get(data1, TURTLE, null, this::load);
+        cache.get(data2, TURTLE, null, this::load);
+        cache.get(data1, TURTLE, null, this::load);
+        cache.get(data3, TURTLE, null, this::load);
+        assertEquals(2, cache.size());
+        cache.get(data1, TURTLE, null, this::load);
+        assertEquals(3, loads.get());
+        cache.get(data2, TURTLE, null, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void getSkipsLargeContent() throws IOException {
+        cache.get("x".repeat(101), TURTLE, null, this::load);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getDisabled() throws IOException {
+        cache.setMaxBytes(0);
+        cache.get("data", TURTLE, null, this::load);
+        cache.get("data", TURTLE, null, this::load);
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getDoesNotCacheFailure() throws IOException {
+        assertThrows(IOException.class, () -> cache.get("data", TURTLE, null, () -> {
+            throw new IOException("FAIL");
+        }));
+        assertEquals(0, cache.size());
+        assertNotNull(cache.get("data", TURTLE, null, this::load));
+    }
+
+    @Test
+    void clear() throws IOException {
+        cache.get("data", TURTLE, null, this::load);
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.get("data", TURTLE, null, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private Model load() {
+        loads.incrementAndGet();
+        return new LinkedHashModel();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+    private final PrefixTrie<String> trie = PrefixTrie.<String>builder()
+            .add("https://example.org/", "ex")
+            .add("https://example.org/test/", "test")
+            .add("https://example.org/test/", "duplicate")
+            .build();
+
+    @Test
+    void longestMatch() {
+        final PrefixTrie.Match<String> match = trie.longestMatch("https://example.org/test/a");
+        assertNotNull(match);
+        assertEquals("https://example.org/test/", match.getPrefix());
+        assertEquals("test", match.getValue());
+    }
+
+    @Test
+    void shorterMatch() {
+        assertEquals("ex", trie.longestMatch("https://example.org/other").getValue());
+    }
+
+    @Test
+    void exactMatch() {
+        assertEquals("test", trie.longestMatch("https://example.org/test/").getValue());
+    }
+
+    @Test
+    void noMatch() {
+        assertNull(trie.longestMatch("https://example.com/"));
+        assertNull(trie.longestMatch(""));
+    }
+
+    @Test
+    void nullKey() {
+        assertThrows(NullPointerException.class, () -> trie.longestMatch(null));
+    }
+
+    @Test
+    void replacePrefixOnlyAtStart() {
+        assertEquals("test:https://example.org/test/x",
+                trie.replacePrefix("https://example.org/test/https://example.org/test/x", v -> v + ":"));
+    }
+
+    @Test
+    void replacePrefixNoMatch() {
+        assertNull(trie.replacePrefix("https://example.com/", v -> v));
+    }
+
+    @Test
+    void memoized() {
+        final PrefixTrie<String> cached = PrefixTrie.<String>builder()
+                .add("https://example.org/", "ex")
+                .memoize(1)
+                .build();
+        assertEquals("ex", cached.longestMatch("https://example.org/a").getValue());
+        assertEquals("ex", cached.longestMatch("https://example.org/a").getValue());
+        assertNull(cached.longestMatch("https://example.com/"));
+        assertNull(cached.longestMatch("https://example.com/"));
+        assertEquals("ex", cached.longestMatch("https://example.org/a").getValue());
+    }
+
+    @Test
+    void emptyPrefix() {
+        final PrefixTrie<String> fallback = PrefixTrie.<String>builder().add("", "all").build();
+        assertEquals("all", fallback.longestMatch("anything").getValue());
+    }
+}
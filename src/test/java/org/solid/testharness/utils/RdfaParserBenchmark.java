@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.eclipse.rdf4j.model.util.Models;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the time taken by the Graal and Java RDFa engines to parse the sample fixtures and a generated document the
+ * size of a specification, both on one thread and in parallel. It is excluded from the unit tests and is run with
+ * <code>mvn test -Pbenchmark</code>. The iterations and threads can be changed with the
+ * <code>benchmark.iterations</code> and <code>benchmark.threads</code> system properties.
+ */
+@Tag("benchmark")
+class RdfaParserBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(RdfaParserBenchmark.class);
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 4);
+    private static final int REQUIREMENTS = 500;
+    private static final String TEXT_HTML = "text/html";
+    private static final String XHTML = "application/xhtml+xml";
+
+    private static GraalRdfaParser graalParser;
+    private static JavaRdfaParser javaParser;
+    private static List<Document> documents;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        graalParser = new GraalRdfaParser();
+        javaParser = new JavaRdfaParser();
+        documents = List.of(
+                new Document("rdfa-sample.html", TestUtils.loadStringFromFile("src/test/resources/rdfa-sample.html"),
+                        TEXT_HTML),
+                new Document("rdfa-sample.xhtml",
+                        TestUtils.loadStringFromFile("src/test/resources/rdfa-sample.xhtml"), XHTML),
+                new Document("generated spec", generateSpecification(REQUIREMENTS), TEXT_HTML)
+        );
+    }
+
+    @AfterAll
+    static void teardown() {
+        graalParser.cleanup();
+    }
+
+    @Test
+    void compareEngines() throws Exception {
+        for (Document document : documents) {
+            // the engines must agree before their times are worth comparing
+            assertTrue(Models.isomorphic(graalParser.parse(document.content, TestUtils.SAMPLE_BASE, document.type),
+                    javaParser.parse(document.content, TestUtils.SAMPLE_BASE, document.type)), document.name);
+        }
+        final var sb = new StringBuilder(String.format(Locale.ROOT,
+                "%nRDFa parser benchmark (%d iterations, %d threads)%n%-20s %-6s %12s %14s%n",
+                ITERATIONS, THREADS, "Document", "Engine", "ms/parse", "parses/s (MT)"));
+        for (Document document : documents) {
+            for (RdfaParser parser : List.of(graalParser, javaParser)) {
+                final String engine = parser == graalParser ? "graal" : "java";
+                // warm up so the JIT has compiled the hot paths of both engines
+                runSequential(parser, document, ITERATIONS);
+                final double perParse = runSequential(parser, document, ITERATIONS) / (double) ITERATIONS;
+                final double throughput = runParallel(parser, document, ITERATIONS * THREADS);
+                sb.append(String.format(Locale.ROOT, "%-20s %-6s %12.3f %14.1f%n", document.name, engine,
+                        perParse / 1_000_000.0, throughput));
+            }
+        }
+        logger.info("{}", sb);
+    }
+
+    // Returns the elapsed time in nanoseconds
+    private static long runSequential(final RdfaParser parser, final Document document, final int iterations) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parser.parse(document.content, TestUtils.SAMPLE_BASE, document.type);
+        }
+        return System.nanoTime() - start;
+    }
+
+    // Returns the number of documents parsed per second
+    private static double runParallel(final RdfaParser parser, final Document document, final int iterations)
+            throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>(iterations);
+            final long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                futures.add(executor.submit(() -> parser.parse(document.content, TestUtils.SAMPLE_BASE,
+                        document.type)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return iterations / ((System.nanoTime() - start) / 1_000_000_000.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Follows the structure of the sample fixture, repeated for each requirement
+    private static String generateSpecification(final int requirements) {
+        final var sb = new StringBuilder("<html xmlns=\"http://www.w3.org/1999/xhtml\" "
+                + "prefix=\"dc: http://purl.org/dc/terms/ spec: http://www.w3.org/ns/spec#\">\n<body about=\"doc\">\n"
+                + "<h1 property=\"dc:title\">Generated specification</h1>\n<ul>\n");
+        for (int i = 1; i <= requirements; i++) {
+            sb.append(String.format(Locale.ROOT, "<li rel=\"spec:requirement\" resource=\"#spec%1$d\">"
+                    + "Requirement %1$d</li>%n", i));
+        }
+        sb.append("</ul>\n");
+        for (int i = 1; i <= requirements; i++) {
+            sb.append(String.format(Locale.ROOT, "<section about=\"#spec%1$d\">%n"
+                    + "<p property=\"spec:statement\">Servers MUST support requirement %1$d.</p>%n"
+                    + "<dl><dt>Role</dt><dd property=\"spec:requirementSubject\" resource=\"spec:Server\">Server</dd>"
+                    + "</dl>%n"
+                    + "<dl><dt>Level</dt><dd property=\"spec:requirementLevel\" resource=\"spec:MUST\">MUST</dd></dl>%n"
+                    + "</section>%n", i));
+        }
+        return sb.append("</body>\n</html>\n").toString();
+    }
+
+    private static final class Document {
+        private final String name;
+        private final String content;
+        private final String type;
+
+        private Document(final String name, final String content, final String type) {
+            this.name = name;
+            this.content = content;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import org.junit.jupiter.api.Test;
+import org.solid.testharness.config.Config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RdfaParserProviderTest {
+    @Test
+    void getParserGraal() {
+        final RdfaParserProvider provider = createProvider(RdfaParserProvider.GRAAL);
+        assertSame(provider.graalRdfaParser, provider.getParser());
+    }
+
+    @Test
+    void getParserJava() {
+        final RdfaParserProvider provider = createProvider(RdfaParserProvider.JAVA);
+        assertSame(provider.javaRdfaParser, provider.getParser());
+    }
+
+    @Test
+    void getParserUnknown() {
+        final RdfaParserProvider provider = createProvider("semargl");
+        final var exception = assertThrows(TestHarnessInitializationException.class, provider::getParser);
+        assertEquals("Unknown RDFa parser engine: semargl", exception.getMessage());
+    }
+
+    private RdfaParserProvider createProvider(final String engine) {
+        final Config config = mock(Config.class);
+        when(config.getRdfaParser()).thenReturn(engine);
+        final RdfaParserProvider provider = new RdfaParserProvider();
+        provider.config = config;
+        provider.graalRdfaParser = new GraalRdfaParser();
+        provider.javaRdfaParser = new JavaRdfaParser();
+        return provider;
+    }
+}
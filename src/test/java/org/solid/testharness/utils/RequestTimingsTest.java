@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.core.Scenario;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RequestTimingsTest {
+    @Test
+    void emptyTimings() {
+        final RequestTimings.Timings timings = new RequestTimings.Timings();
+        assertEquals(0, timings.getRequestCount());
+        assertEquals(new BigDecimal("0.000"), timings.getTotalTime());
+        assertEquals(new BigDecimal("0.000"), timings.getMaxTime());
+        assertEquals(new BigDecimal("0.000"), timings.getP95Time());
+    }
+
+    @Test
+    void timings() {
+        final RequestTimings.Timings timings = new RequestTimings.Timings();
+        timings.record(TimeUnit.MICROSECONDS.toNanos(2500));
+        timings.record(TimeUnit.MILLISECONDS.toNanos(10));
+        timings.record(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(3, timings.getRequestCount());
+        assertEquals(new BigDecimal("13.500"), timings.getTotalTime());
+        assertEquals(new BigDecimal("10.000"), timings.getMaxTime());
+        assertEquals(new BigDecimal("10.000"), timings.getP95Time());
+    }
+
+    @Test
+    void p95UsesNearestRank() {
+        final RequestTimings.Timings timings = new RequestTimings.Timings();
+        for (int i = 100; i > 0; i--) {
+            timings.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(100, timings.getRequestCount());
+        assertEquals(new BigDecimal("95.000"), timings.getP95Time());
+        assertEquals(new BigDecimal("100.000"), timings.getMaxTime());
+    }
+
+    @Test
+    void combine() {
+        final RequestTimings.Timings first = new RequestTimings.Timings();
+        first.record(TimeUnit.MILLISECONDS.toNanos(5));
+        final RequestTimings.Timings second = new RequestTimings.Timings();
+        second.record(TimeUnit.MILLISECONDS.toNanos(20));
+        second.record(TimeUnit.MILLISECONDS.toNanos(15));
+        final RequestTimings.Timings combined = RequestTimings.Timings.combine(Arrays.asList(first, null, second));
+        assertEquals(3, combined.getRequestCount());
+        assertEquals(new BigDecimal("40.000"), combined.getTotalTime());
+        assertEquals(new BigDecimal("20.000"), combined.getMaxTime());
+        assertEquals(1, first.getRequestCount());
+    }
+
+    @Test
+    void combineNone() {
+        assertEquals(0, RequestTimings.Timings.combine(List.of()).getRequestCount());
+    }
+
+    @Test
+    void requestOutsideScenarioIgnored() {
+        final RequestTimings requestTimings = new RequestTimings();
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("https://example.org/")).build();
+        requestTimings.beforeRequest(request);
+        assertDoesNotThrow(() -> requestTimings.responseReceived(request, null, null, 1000));
+        requestTimings.requestCompleted(request);
+        assertNull(requestTimings.remove(mock(Scenario.class)));
+    }
+
+    @Test
+    void scenarioTimings() {
+        final RequestTimings requestTimings = new RequestTimings();
+        final Object scenario = new Object();
+        final Thread thread = Thread.currentThread();
+        requestTimings.scenarioStarted(scenario, thread);
+        // a Karate call and a harness client request
+        requestTimings.callCompleted(scenario, TimeUnit.MILLISECONDS.toNanos(30));
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("https://example.org/")).build();
+        requestTimings.beforeRequest(request);
+        requestTimings.responseReceived(request, null, null, TimeUnit.MILLISECONDS.toNanos(10));
+        requestTimings.requestCompleted(request);
+        // a call made by another scenario
+        requestTimings.callCompleted(new Object(), TimeUnit.MILLISECONDS.toNanos(50));
+        final RequestTimings.Timings timings = requestTimings.scenarioFinished(scenario, thread);
+        assertEquals(2, timings.getRequestCount());
+        assertEquals(new BigDecimal("40.000"), timings.getTotalTime());
+        assertNull(requestTimings.scenarioFinished(scenario, thread));
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.FeatureResult;
+import com.intuit.karate.resource.Resource;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.util.ModelBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.solid.common.vocab.SOLID_TEST;
+import org.solid.testharness.config.Config;
+import org.solid.testharness.config.TargetServer;
+import org.solid.testharness.config.TestSubject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.eclipse.rdf4j.model.util.Values.bnode;
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ResultCacheTest {
+    private static final IRI FEATURE_IRI = iri(TestUtils.SAMPLE_NS, "test.feature");
+    private static final IRI CONFIG = iri(TestUtils.SAMPLE_NS, "config");
+
+    private Path tmp;
+    private Path cacheDir;
+    private ResultCache resultCache;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tmp = Files.createTempDirectory(null);
+        tmp.toFile().deleteOnExit();
+        cacheDir = tmp.resolve("cache");
+        resultCache = new ResultCache();
+        resultCache.config = mock(Config.class);
+        resultCache.testSubject = mock(TestSubject.class);
+        resultCache.dataRepository = mock(DataRepository.class);
+        when(resultCache.config.getResultCache()).thenReturn(cacheDir.toFile());
+        when(resultCache.config.getServerVersion()).thenReturn("1.0");
+    }
+
+    @Test
+    void isEnabled() {
+        assertTrue(resultCache.isEnabled());
+        when(resultCache.config.getResultCache()).thenReturn(null);
+        assertFalse(resultCache.isEnabled());
+    }
+
+    @Test
+    void disabledWithoutServerVersion() throws IOException {
+        when(resultCache.config.getServerVersion()).thenReturn(null);
+        assertFalse(resultCache.isEnabled());
+        final Path feature = writeFeature();
+        assertEquals(List.of(feature.toString()), resultCache.replay(List.of(feature.toString())));
+        resultCache.store(mockFeatureResult(feature, false), FEATURE_IRI);
+        assertFalse(Files.exists(cacheDir));
+        verifyNoInteractions(resultCache.dataRepository);
+    }
+
+    @Test
+    void keyFollowsFixtures() throws IOException {
+        final Path feature = writeFeature();
+        final String key = resultCache.key(feature, "subject");
+        assertNotNull(key);
+        assertEquals(key, resultCache.key(feature, "subject"));
+        assertNotEquals(key, resultCache.key(feature, "other subject"));
+        Files.writeString(tmp.resolve("data.json"), "{\"a\": 2}");
+        assertNotEquals(key, resultCache.key(feature, "subject"));
+        final String dataKey = resultCache.key(feature, "subject");
+        Files.writeString(tmp.resolve("setup.js"), "function() { return read('data.json') }");
+        assertNotEquals(dataKey, resultCache.key(feature, "subject"));
+    }
+
+    @Test
+    void keyMissingFeature() {
+        assertNull(resultCache.key(tmp.resolve("missing.feature"), "subject"));
+        assertNull(resultCache.key(null, "subject"));
+    }
+
+    @Test
+    void subjectFingerprint() {
+        final TargetServer targetServer = mock(TargetServer.class);
+        when(resultCache.testSubject.getTargetServer()).thenReturn(targetServer);
+        final IRI server = iri(TestUtils.SAMPLE_NS, "server");
+        when(targetServer.getModel()).thenReturn(new ModelBuilder()
+                .add(server, SOLID_TEST.skip, "acp").add(server, CONFIG, bnode()).build());
+        final String fingerprint = resultCache.subjectFingerprint();
+        assertTrue(fingerprint.contains("version:1.0"));
+        assertTrue(fingerprint.contains("acp"));
+        when(targetServer.getModel()).thenReturn(new ModelBuilder()
+                .add(server, CONFIG, bnode()).add(server, SOLID_TEST.skip, "acp").build());
+        assertEquals(fingerprint, resultCache.subjectFingerprint());
+        when(resultCache.config.getServerVersion()).thenReturn("1.1");
+        assertNotEquals(fingerprint, resultCache.subjectFingerprint());
+    }
+
+    @Test
+    void subjectFingerprintServerRoot() {
+        when(resultCache.testSubject.getServerRoot()).thenReturn("https://server1.example/");
+        when(resultCache.testSubject.getTestContainer()).thenReturn("test/");
+        final String fingerprint = resultCache.subjectFingerprint();
+        assertTrue(fingerprint.contains("serverRoot:https://server1.example/"));
+        when(resultCache.testSubject.getServerRoot()).thenReturn("https://server2.example/");
+        assertNotEquals(fingerprint, resultCache.subjectFingerprint());
+        final String fingerprint2 = resultCache.subjectFingerprint();
+        when(resultCache.testSubject.getTestContainer()).thenReturn("other/");
+        assertNotEquals(fingerprint2, resultCache.subjectFingerprint());
+    }
+
+    @Test
+    void subjectFingerprintNoTargetServer() {
+        assertEquals("version:1.0\nserverRoot:null\ntestContainer:null\n", resultCache.subjectFingerprint());
+    }
+
+    @Test
+    void replay() throws IOException {
+        final Path feature = writeFeature();
+        final Path other = tmp.resolve("other.feature");
+        Files.writeString(other, "Feature: other");
+        Files.createDirectories(cacheDir);
+        Files.writeString(cacheDir.resolve(resultCache.key(feature, resultCache.subjectFingerprint()) + ".ttl"),
+                "<https://example.org/a> <https://example.org/b> 1 .");
+
+        final List<String> remaining = resultCache.replay(List.of(feature.toUri().toString(), other.toString()));
+        assertEquals(List.of(other.toString()), remaining);
+        verify(resultCache.dataRepository).mergeReport(any(), any());
+    }
+
+    @Test
+    void replayBadEntry() throws IOException {
+        final Path feature = writeFeature();
+        Files.createDirectories(cacheDir);
+        Files.writeString(cacheDir.resolve(resultCache.key(feature, resultCache.subjectFingerprint()) + ".ttl"),
+                "NOT RDF");
+        doThrow(new TestHarnessInitializationException("BAD")).when(resultCache.dataRepository)
+                .mergeReport(any(), any());
+        final List<String> paths = List.of(feature.toString());
+        assertEquals(paths, resultCache.replay(paths));
+    }
+
+    @Test
+    void replayDisabled() {
+        when(resultCache.config.getResultCache()).thenReturn(null);
+        final List<String> paths = List.of("a.feature");
+        assertSame(paths, resultCache.replay(paths));
+        assertNull(resultCache.replay(null));
+    }
+
+    @Test
+    void store() throws Exception {
+        final Path feature = writeFeature();
+        when(resultCache.dataRepository.exportResults(eq(FEATURE_IRI), any())).thenAnswer(inv -> {
+            inv.getArgument(1, Writer.class).write("<https://example.org/a> <https://example.org/b> 1 .");
+            return true;
+        });
+        resultCache.store(mockFeatureResult(feature, false), FEATURE_IRI);
+        final Path entry = cacheDir.resolve(resultCache.key(feature, resultCache.subjectFingerprint()) + ".ttl");
+        assertTrue(Files.isRegularFile(entry));
+        assertTrue(Files.readString(entry).contains("example.org"));
+        try (var files = Files.list(cacheDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void storeNoResults() throws Exception {
+        final Path feature = writeFeature();
+        when(resultCache.dataRepository.exportResults(any(), any())).thenReturn(false);
+        resultCache.store(mockFeatureResult(feature, false), FEATURE_IRI);
+        try (var files = Files.list(cacheDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void storeFailedFeature() throws Exception {
+        final Path feature = writeFeature();
+        resultCache.store(mockFeatureResult(feature, true), FEATURE_IRI);
+        verify(resultCache.dataRepository, never()).exportResults(any(), any());
+        assertFalse(Files.exists(cacheDir));
+    }
+
+    @Test
+    void storeWriteFails() throws Exception {
+        final Path feature = writeFeature();
+        when(resultCache.dataRepository.exportResults(any(), any())).thenThrow(new TestHarnessException("FAIL"));
+        assertDoesNotThrow(() -> resultCache.store(mockFeatureResult(feature, false), FEATURE_IRI));
+    }
+
+    private Path writeFeature() throws IOException {
+        Files.writeString(tmp.resolve("data.json"), "{\"a\": 1}");
+        Files.writeString(tmp.resolve("setup.js"), "function() { return 1 }");
+        final Path feature = tmp.resolve("test.feature");
+        Files.writeString(feature, "Feature: test\n  Background:\n" +
+                "    * def setup = callonce read('this:setup.js')\n" +
+                "    * def data = read('data.json')\n" +
+                "    * def lib = read('classpath:missing.js')\n" +
+                "  Scenario: test\n    * match data.a == 1\n");
+        return feature;
+    }
+
+    private FeatureResult mockFeatureResult(final Path file, final boolean failed) {
+        final FeatureResult fr = mock(FeatureResult.class);
+        final Feature feature = mock(Feature.class);
+        final Resource resource = mock(Resource.class);
+        when(fr.getFeature()).thenReturn(feature);
+        when(feature.getResource()).thenReturn(resource);
+        when(resource.getFile()).thenReturn(file.toFile());
+        when(fr.isFailed()).thenReturn(failed);
+        when(fr.isEmpty()).thenReturn(false);
+        return fr;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019 - 2022 W3C Solid Community Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.solid.testharness.utils;
+
+import com.intuit.karate.Runner;
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.FeatureResult;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+import org.solid.testharness.config.Bootstrap;
+import org.solid.testharness.config.TestSubject;
+
+import jakarta.inject.Inject;
+import java.util.Map;
+
+import static org.eclipse.rdf4j.model.util.Values.iri;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class RetryResultHandlerTest {
+
+    @Inject
+    RetryResultHandler retryResultHandler;
+
+    @InjectMock
+    DataRepository dataRepository;
+
+    @Test
+    void featureReport() {
+        final FeatureResult fr = new FeatureResult(Feature.read("src/test/resources/test.feature"));
+        retryResultHandler.featureReport(new Suite(), fr);
+        verify(dataRepository).addRetryResult(fr, iri("https://example.org/features/test.feature"));
+        verify(dataRepository, never()).addFeatureResult(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void featureReportForSubject() {
+        final String subject = "https://example.org/subject";
+        final TestSubject testSubject = mock(TestSubject.class);
+        final DataRepository subjectRepository = mock(DataRepository.class);
+        when(testSubject.getSubject()).thenReturn(iri(subject));
+        when(testSubject.getDataRepository()).thenReturn(subjectRepository);
+        final Suite suite = new Suite(Runner.builder().systemProperties(Map.of(Bootstrap.SUBJECT_PROPERTY, subject)));
+        final FeatureResult fr = new FeatureResult(Feature.read("src/test/resources/test.feature"));
+        Bootstrap.register(testSubject);
+        try {
+            retryResultHandler.featureReport(suite, fr);
+        } finally {
+            Bootstrap.unregister(testSubject);
+        }
+        verify(subjectRepository).addRetryResult(fr, iri("https://example.org/features/test.feature"));
+        verify(dataRepository, never()).addRetryResult(any(), any());
+    }
+
+    @Test
+    void featureReportFails() {
+        final FeatureResult fr = new FeatureResult(Feature.read("src/test/resources/test.feature"));
+        fr.setDisplayName("FAIL");
+        retryResultHandler.featureReport(new Suite(), fr);
+        verify(dataRepository, never()).addRetryResult(any(), any());
+    }
+}
@@ -30,7 +30,6 @@ import org.junit.jupiter.api.Test;
 import org.solid.testharness.accesscontrol.AccessDataset;
 import org.solid.testharness.accesscontrol.AccessDatasetBuilder;
 import org.solid.testharness.config.Config;
-import org.solid.testharness.http.Client;
 import org.solid.testharness.http.HttpConstants;
 import org.solid.testharness.http.SolidClientProvider;
 
@@ -322,11 +321,7 @@ class SolidResourceProviderTest {
     void getAccessDatasetBuilder() throws Exception {
         final AccessDatasetBuilder accessDatasetBuilder = mock(AccessDatasetBuilder.class);
         when(solidClientProvider.getAccessDatasetBuilder(any())).thenReturn(accessDatasetBuilder);
-        final Client client = mock(Client.class);
-        when(client.getUser()).thenReturn(HttpConstants.ALICE);
-        when(solidClientProvider.getClient()).thenReturn(client);
-        when(config.getWebIds()).thenReturn(Map.of(HttpConstants.ALICE,
-                "https://alice.target.example.org/profile/card#me"));
+        when(solidClientProvider.getWebId()).thenReturn("https://alice.target.example.org/profile/card#me");
         final SolidResourceProvider resource = new SolidResourceProvider(solidClientProvider, TEST_URL);
         final AccessDatasetBuilder builder = resource.getAccessDatasetBuilder();
         assertNotNull(builder);
@@ -40,6 +40,7 @@ import org.eclipse.rdf4j.rio.RDFWriter;
 import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.helpers.BasicWriterSettings;
 import org.jose4j.jwk.PublicJsonWebKey;
+import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 import org.solid.testharness.http.HttpConstants;
 import org.solid.testharness.http.HttpUtils;
@@ -55,12 +56,15 @@ import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
 import java.util.stream.Collectors;
 
 import static org.mockito.Mockito.mock;
@@ -128,6 +132,49 @@ public final class TestUtils {
         return mockResponse;
     }
 
+    /**
+     * Feed a body through a real body handler and wrap the result in a mock response.
+     * @param status the response status
+     * @param body the response body or null for an empty body
+     * @param handler the handler to apply
+     * @param <T> the body type produced by the handler
+     * @return the mock response
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> HttpResponse<T> mockHandledResponse(final int status, final String body,
+                                                          final HttpResponse.BodyHandler<T> handler) {
+        final HttpHeaders mockHeaders = HttpHeaders.of(Collections.emptyMap(), (k, v) -> true);
+        final HttpResponse.ResponseInfo responseInfo = mock(HttpResponse.ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(status);
+        when(responseInfo.headers()).thenReturn(mockHeaders);
+        when(responseInfo.version()).thenReturn(HttpClient.Version.HTTP_1_1);
+        final HttpResponse.BodySubscriber<T> subscriber = handler.apply(responseInfo);
+        subscriber.onSubscribe(mock(Flow.Subscription.class));
+        if (body != null) {
+            subscriber.onNext(List.of(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8))));
+        }
+        subscriber.onComplete();
+        final T result = subscriber.getBody().toCompletableFuture().join();
+
+        final HttpResponse<T> mockResponse = mock(HttpResponse.class);
+        when(mockResponse.version()).thenReturn(HttpClient.Version.HTTP_1_1);
+        when(mockResponse.statusCode()).thenReturn(status);
+        when(mockResponse.body()).thenReturn(result);
+        when(mockResponse.headers()).thenReturn(mockHeaders);
+        return mockResponse;
+    }
+
+    /**
+     * Answer for stubbing methods which take a body handler as their second argument.
+     * @param status the response status
+     * @param body the response body or null for an empty body
+     * @param <T> the body type produced by the handler
+     * @return the answer
+     */
+    public static <T> Answer<HttpResponse<T>> handledResponse(final int status, final String body) {
+        return invocation -> mockHandledResponse(status, body, invocation.getArgument(1));
+    }
+
     public static String toTurtle(final Model model) {
         Namespaces.addToModel(model);
         final StringWriter sw = new StringWriter();
@@ -195,7 +242,7 @@ public final class TestUtils {
     }
 
     public static Model parseRdfa(final String data, final String baseUri) {
-        final GraalRdfaParser parser = CDI.current().select(GraalRdfaParser.class).get();
+        final RdfaParser parser = CDI.current().select(RdfaParserProvider.class).get().getParser();
         return parser.parse(data, baseUri, HttpConstants.MEDIA_TYPE_TEXT_HTML);
     }
 